@@ -0,0 +1,109 @@
+package com.asterix.controller;
+
+import com.asterix.model.simulation.TheaterSnapshot;
+import com.asterix.model.simulation.policy.ChiefCommand;
+import com.asterix.model.simulation.policy.ChiefPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Chief policy handing the turn to the user through the JavaFX interface.
+ * <p>
+ * Chiefs take turns in round-robin, one per tick. When it is the turn of a chief, the
+ * simulation thread is paused until the user clicks "End turn" ({@link #endTurn()}).
+ * The user's actions are applied directly by the controller while the simulation thread
+ * waits, so the returned command list is always empty. The other chiefs do nothing
+ * during that tick. Their decisions may be evaluated while the user plays, but they are
+ * only applied once the turn is over.
+ * </p>
+ */
+public class HumanChiefPolicy implements ChiefPolicy {
+
+    private final Object pauseLock = new Object();
+    private final Consumer<TheaterSnapshot.ChiefView> onTurnStart;
+    private volatile boolean isPausedForUser = false;
+    private volatile boolean active = true;
+
+    /**
+     * Creates a human policy.
+     *
+     * @param onTurnStart Called on the simulation thread when a user turn begins,
+     *                    typically to enable the chief controls.
+     */
+    public HumanChiefPolicy(Consumer<TheaterSnapshot.ChiefView> onTurnStart) {
+        this.onTurnStart = onTurnStart;
+    }
+
+    @Override
+    public List<ChiefCommand> decide(TheaterSnapshot.ChiefView chief, TheaterSnapshot snapshot) {
+        if (!active || !chief.equals(currentChief(snapshot))) {
+            return List.of();
+        }
+        synchronized (pauseLock) {
+            isPausedForUser = true;
+            onTurnStart.accept(chief);
+            try {
+                while (isPausedForUser && active) {
+                    pauseLock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                isPausedForUser = false;
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Ends the current user turn and resumes the simulation thread.
+     */
+    public void endTurn() {
+        synchronized (pauseLock) {
+            isPausedForUser = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    /**
+     * Releases a waiting simulation thread and stops asking the user until {@link #resume()}.
+     */
+    public void cancel() {
+        synchronized (pauseLock) {
+            active = false;
+            isPausedForUser = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    /**
+     * Makes the policy ask the user again, after a {@link #cancel()}.
+     */
+    public void resume() {
+        active = true;
+    }
+
+    /**
+     * Checks if the simulation is waiting for the user.
+     *
+     * @return {@code true} during a user turn.
+     */
+    public boolean isPausedForUser() {
+        return isPausedForUser;
+    }
+
+    /**
+     * Finds the chief whose turn it is, in round-robin over the settlement chiefs by tick.
+     */
+    private static TheaterSnapshot.ChiefView currentChief(TheaterSnapshot snapshot) {
+        List<TheaterSnapshot.ChiefView> chiefs = new ArrayList<>();
+        for (TheaterSnapshot.ChiefView view : snapshot.getChiefs()) {
+            if (!view.automated()) {
+                chiefs.add(view);
+            }
+        }
+        if (chiefs.isEmpty()) return null;
+        return chiefs.get((int) (snapshot.getTick() % chiefs.size()));
+    }
+}
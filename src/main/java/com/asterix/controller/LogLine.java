@@ -0,0 +1,34 @@
+package com.asterix.controller;
+
+import com.asterix.model.simulation.SimulationLog.Level;
+
+/**
+ * A line of the event log shown by the view.
+ *
+ * @param level The level of the message.
+ * @param text  The text of the line, without line break.
+ */
+public record LogLine(Level level, String text) {
+
+    /**
+     * Tells whether the line passes the filters of the view.
+     *
+     * @param minimum The lowest level shown.
+     * @param query   The text searched, case-insensitively; {@code null} or empty to show every line.
+     * @return {@code true} if the line is shown.
+     */
+    public boolean matches(Level minimum, String query) {
+        if (level.compareTo(minimum) < 0) {
+            return false;
+        }
+        if (query == null || query.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i + query.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,174 @@
+package com.asterix.controller;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Carries log lines from any thread to the JavaFX view, one batch per frame.
+ * <p>
+ * Producers only add the line to a concurrent queue ({@link #offer(Object)}). An
+ * {@link AnimationTimer} drains it once per JavaFX pulse and hands at most
+ * {@code linesPerFrame} lines to the view in a single call, so a burst of messages costs one
+ * update per frame instead of one {@code Platform.runLater} per line, and the rest waits for
+ * the next frames.
+ * </p>
+ * <p>
+ * The backlog is bounded: when the view cannot keep up, new lines are dropped and counted,
+ * and the count is reported on the FX thread so it can be shown to the user.
+ * </p>
+ *
+ * @param <T> The type of the lines.
+ */
+public class LogPump<T> {
+
+    /** Default maximum number of lines handed to the view per frame. */
+    public static final int DEFAULT_LINES_PER_FRAME = 200;
+    /** Default maximum number of lines waiting for the view. */
+    public static final int DEFAULT_MAX_BACKLOG = 20_000;
+
+    private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+
+    private final Consumer<List<T>> view;
+    private final LongConsumer droppedView;
+    private final int linesPerFrame;
+    private final int maxBacklog;
+
+    /** Dropped count last reported to {@link #droppedView}; only used on the FX thread. */
+    private long reportedDropped;
+    private AnimationTimer timer;
+
+    /**
+     * Creates a pump with the default limits.
+     *
+     * @param view        Receives each frame's lines, on the FX thread.
+     * @param droppedView Receives the total dropped count when it changes, on the FX thread.
+     */
+    public LogPump(Consumer<List<T>> view, LongConsumer droppedView) {
+        this(view, droppedView, DEFAULT_LINES_PER_FRAME, DEFAULT_MAX_BACKLOG);
+    }
+
+    /**
+     * Creates a pump.
+     *
+     * @param view          Receives each frame's lines, on the FX thread.
+     * @param droppedView   Receives the total dropped count when it changes, on the FX thread.
+     * @param linesPerFrame The maximum number of lines handed to the view per frame, at least 1.
+     * @param maxBacklog    The maximum number of lines waiting, at least {@code linesPerFrame}.
+     * @throws IllegalArgumentException if a limit is out of range.
+     */
+    public LogPump(Consumer<List<T>> view, LongConsumer droppedView, int linesPerFrame, int maxBacklog) {
+        if (linesPerFrame < 1 || maxBacklog < linesPerFrame) {
+            throw new IllegalArgumentException("A log pump needs at least 1 line per frame and a backlog of at least one frame.");
+        }
+        this.view = view;
+        this.droppedView = droppedView;
+        this.linesPerFrame = linesPerFrame;
+        this.maxBacklog = maxBacklog;
+    }
+
+    /**
+     * Queues a line for the view. Can be called from any thread.
+     *
+     * @param line The line.
+     * @return {@code true} if queued, {@code false} if dropped because the backlog is full.
+     */
+    public boolean offer(T line) {
+        if (backlog.incrementAndGet() > maxBacklog) {
+            backlog.decrementAndGet();
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        pending.add(line);
+        return true;
+    }
+
+    /**
+     * Starts draining the queue on every JavaFX pulse. Must be called on the FX thread.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    drainFrame();
+                }
+            };
+        }
+        timer.start();
+    }
+
+    /**
+     * Stops draining the queue; the lines already queued are kept.
+     */
+    public void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Hands the next lines to the view, at most one frame's worth, and reports a new dropped
+     * count. Called by the timer on every pulse.
+     *
+     * @return The number of lines handed to the view.
+     */
+    int drainFrame() {
+        List<T> lines = null;
+        T line;
+        while ((lines == null || lines.size() < linesPerFrame) && (line = pending.poll()) != null) {
+            if (lines == null) lines = new ArrayList<>(Math.min(linesPerFrame, backlog.get()));
+            lines.add(line);
+        }
+        int count = 0;
+        if (lines != null) {
+            count = lines.size();
+            backlog.addAndGet(-count);
+            deliveredCount.addAndGet(count);
+            view.accept(lines);
+        }
+        long dropped = droppedCount.get();
+        if (dropped != reportedDropped) {
+            reportedDropped = dropped;
+            droppedView.accept(dropped);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of lines waiting for the view.
+     *
+     * @return The backlog.
+     */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Gets the number of lines handed to the view.
+     *
+     * @return The delivered count.
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * Gets the number of lines dropped because the backlog was full.
+     *
+     * @return The dropped count.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,122 @@
+package com.asterix.controller;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Observable list of the last log lines, stored in a fixed ring.
+ * <p>
+ * Lines are only appended, in batches ({@link #append(List)}). Once the ring is full, each
+ * batch evicts as many of the oldest lines, so memory stays bounded however long the run.
+ * A batch is reported to the listeners as a single change (removal at the head, addition at
+ * the tail), whose cost depends on the size of the batch, not on the number of lines held.
+ * It is meant to back a virtualized {@link javafx.scene.control.ListView}, which only builds
+ * cells for the visible lines.
+ * </p>
+ *
+ * @param <T> The type of the lines.
+ */
+public class LogRing<T> extends ObservableListBase<T> {
+
+    /** Default number of lines kept. */
+    public static final int DEFAULT_CAPACITY = 5000;
+
+    private final Object[] lines;
+    /** Slot of the oldest line. */
+    private int head;
+    private int size;
+
+    /**
+     * Creates an empty ring.
+     *
+     * @param capacity The number of lines kept, at least 1.
+     * @throws IllegalArgumentException if the capacity is lower than 1.
+     */
+    public LogRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A log ring must hold at least 1 line.");
+        }
+        this.lines = new Object[capacity];
+    }
+
+    /**
+     * Appends lines after the newest one, evicting the oldest lines beyond the capacity.
+     * Must be called on the thread that owns the listeners (the FX thread for a view).
+     *
+     * @param batch The lines to append, oldest first.
+     */
+    public void append(List<? extends T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int capacity = lines.length;
+        // lines of the batch that would be evicted by the batch itself are never stored
+        int skipped = Math.max(0, batch.size() - capacity);
+        int incoming = batch.size() - skipped;
+        int evicted = Math.max(0, size + incoming - capacity);
+
+        beginChange();
+        try {
+            if (evicted > 0) {
+                List<T> removed = new ArrayList<>(evicted);
+                for (int i = 0; i < evicted; i++) {
+                    removed.add(get(i));
+                    lines[(head + i) % capacity] = null;
+                }
+                head = (head + evicted) % capacity;
+                size -= evicted;
+                nextRemove(0, removed);
+            }
+            int from = size;
+            for (int i = skipped; i < batch.size(); i++) {
+                lines[(head + size) % capacity] = batch.get(i);
+                size++;
+            }
+            nextAdd(from, size);
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Removes every line.
+     */
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        List<T> removed = new ArrayList<>(this);
+        Arrays.fill(lines, null);
+        head = 0;
+        size = 0;
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) lines[(head + index) % lines.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of lines the ring keeps.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return lines.length;
+    }
+}
@@ -4,23 +4,33 @@ import com.asterix.model.character.CharacterFactory;
 import com.asterix.model.character.CharacterType;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.gaul.Druid;
-import com.asterix.model.item.Cauldron;
 import com.asterix.model.item.FoodFactory;
 import com.asterix.model.place.*;
 import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.SimulationLog;
+import com.asterix.model.simulation.TheaterSnapshot;
+import com.asterix.model.simulation.policy.ChiefCommand;
 import com.asterix.model.character.Chief;
-import com.asterix.utils.XmlScenarioLoader;
+import com.asterix.utils.AutosaveService;
+import com.asterix.utils.ScenarioCache;
+import com.asterix.utils.TickJournal;
 import com.asterix.utils.XmlScenarioSaver;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.FileChooser;
 import javafx.util.StringConverter;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Main Controller managing the temporal logic of the simulation and user interactions.
@@ -35,7 +45,10 @@ import java.util.stream.Collectors;
  */
 public class SimulationController implements Runnable {
 
-    @FXML private TextArea outputArea;
+    @FXML private ListView<LogLine> logList;
+    @FXML private ComboBox<SimulationLog.Level> comboLogLevel;
+    @FXML private TextField inputLogSearch;
+    @FXML private Label lblLogStatus;
     @FXML private Button btnStart;
     @FXML private Button btnStop;
 
@@ -55,8 +68,28 @@ public class SimulationController implements Runnable {
 
     private volatile boolean isRunning = false;
     private Thread simulationThread;
-    private int chiefTurnIndex = 0;
     private Chief activeChief;
+    /** Only touched by the autosave lifecycle thread. */
+    private AutosaveService autosave;
+    /** Only touched by the autosave lifecycle thread. */
+    private TickJournal journal;
+    /** Set when a new model is installed: its journal must not continue the previous one. */
+    private boolean freshJournal = true;
+    /** Opens and closes the autosave in order, so that the FX thread never waits for the disk. */
+    private final ExecutorService autosaveLifecycle = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "autosave-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Completes once the autosave requested by the last start is attached to the model. */
+    private Future<?> autosaveReady = CompletableFuture.completedFuture(null);
+    private final ScenarioCache scenarioCache = new ScenarioCache(CACHE_DIRECTORY);
+    /** Last lines of the event log; older lines are evicted. */
+    private final LogRing<LogLine> logLines = new LogRing<>(LogRing.DEFAULT_CAPACITY);
+    /** Lines of {@link #logLines} passing the level filter and the search. */
+    private final FilteredList<LogLine> visibleLogLines = new FilteredList<>(logLines);
+    /** Carries the log lines to {@link #logLines}, one batch per frame. */
+    private final LogPump<LogLine> logPump = new LogPump<>(this::appendToView, this::showDroppedLines);
 
     @FXML private TextField inputPlaceName;
     @FXML private TextField inputPlaceArea;
@@ -71,9 +104,12 @@ public class SimulationController implements Runnable {
     @FXML private ComboBox<Character> comboMoveChar;
     @FXML private ComboBox<Place> comboMoveDest;
 
-    private final Object pauseLock = new Object();
-    private volatile boolean isPausedForUser = false;
+    /** Policy of the chiefs played by the user; pauses the simulation thread during user turns. */
+    private final HumanChiefPolicy humanPolicy = new HumanChiefPolicy(this::beginUserTurn);
     private static final int TIME_STEP = 2000;
+    private static final File AUTOSAVE_DIRECTORY = new File("autosave");
+    private static final File JOURNAL_FILE = new File(AUTOSAVE_DIRECTORY, "theater.journal");
+    private static final File CACHE_DIRECTORY = new File("cache");
 
     /**
      * Initializes the controller class. This method is automatically called
@@ -81,6 +117,9 @@ public class SimulationController implements Runnable {
      */
     @FXML
     public void initialize() {
+        initLogView();
+        logPump.start();
+        SimulationLog.global().addSink(entry -> logPump.offer(new LogLine(entry.level(), entry.message())));
         logToView("Initializing Armorique System V5...");
 
         setChiefControlsDisable(true);
@@ -103,12 +142,73 @@ public class SimulationController implements Runnable {
         } catch (Exception e) {
             logToView("Info : " + e.getMessage());
             logToView("Creating an empty default Theater.");
-            this.model = new InvasionTheater("Default Armorique");
+            setModel(new InvasionTheater("Default Armorique"));
         }
 
         refreshPlaceList();
     }
 
+    /**
+     * Sets up the event log: a virtualized list of the last lines, filtered by level and search.
+     * The list follows the newest line unless the user selected one.
+     */
+    private void initLogView() {
+        logList.setItems(visibleLogLines);
+        logList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(LogLine line, boolean empty) {
+                super.updateItem(line, empty);
+                setText(empty || line == null ? null : line.text());
+                setStyle(!empty && line != null && line.level() == SimulationLog.Level.WARN
+                        ? "-fx-text-fill: #b71c1c;" : null);
+            }
+        });
+
+        if (comboLogLevel != null) {
+            comboLogLevel.setItems(FXCollections.observableArrayList(
+                    SimulationLog.Level.DEBUG, SimulationLog.Level.INFO, SimulationLog.Level.WARN));
+            comboLogLevel.setValue(SimulationLog.global().getLevel());
+            comboLogLevel.valueProperty().addListener((obs, oldLevel, newLevel) -> {
+                adjustSimulationLogLevel(newLevel);
+                updateLogFilter();
+            });
+        }
+        if (inputLogSearch != null) {
+            inputLogSearch.textProperty().addListener((obs, oldText, newText) -> updateLogFilter());
+        }
+        updateLogFilter();
+    }
+
+    /**
+     * Lets the simulation build DEBUG messages only while they are shown.
+     * <p>
+     * The combo box is a filter of the view: hiding INFO lines must not stop the simulation
+     * from producing them, or they would be lost for the console and for a later INFO filter.
+     * The global level is therefore only lowered to DEBUG when DEBUG is selected, and put back
+     * to INFO when another level is chosen; the view never raises it above INFO.
+     * </p>
+     *
+     * @param selected The level selected in the view.
+     */
+    private void adjustSimulationLogLevel(SimulationLog.Level selected) {
+        SimulationLog log = SimulationLog.global();
+        if (selected == SimulationLog.Level.DEBUG) {
+            log.setLevel(SimulationLog.Level.DEBUG);
+        } else if (selected != null && log.getLevel() == SimulationLog.Level.DEBUG) {
+            log.setLevel(SimulationLog.Level.INFO);
+        }
+    }
+
+    /**
+     * Applies the selected level and the searched text to the event log.
+     */
+    private void updateLogFilter() {
+        SimulationLog.Level level = comboLogLevel != null && comboLogLevel.getValue() != null
+                ? comboLogLevel.getValue() : SimulationLog.Level.DEBUG;
+        String query = inputLogSearch != null ? inputLogSearch.getText() : null;
+        visibleLogLines.setPredicate(line -> line.matches(level, query));
+    }
+
     /**
      * Sets up listeners to dynamically update the character list when a source place is selected.
      */
@@ -133,16 +233,28 @@ public class SimulationController implements Runnable {
     }
 
     /**
-     * Loads the simulation model from an XML file.
+     * Loads the simulation model from an XML file, through the scenario cache.
      *
      * @param xmlPath The path to the XML file.
      * @throws Exception If parsing fails.
      */
     public void initializeModel(String xmlPath) throws Exception {
-        this.model = XmlScenarioLoader.loadTheater(xmlPath);
+        setModel(scenarioCache.load(new File(xmlPath)));
         logToView("Theater loaded: " + model.getName());
     }
 
+    /**
+     * Installs a theater and hands its chiefs to the user.
+     *
+     * @param theater The new model.
+     */
+    private void setModel(InvasionTheater theater) {
+        stopAutosave();
+        freshJournal = true;
+        this.model = theater;
+        theater.setDefaultChiefPolicy(humanPolicy);
+    }
+
     /**
      * Starts the simulation thread.
      */
@@ -150,9 +262,10 @@ public class SimulationController implements Runnable {
     private void handleStart() {
         if (!isRunning) {
             isRunning = true;
-            isPausedForUser = false;
+            humanPolicy.resume();
             simulationThread = new Thread(this);
             simulationThread.setName("Simu-Thread");
+            startAutosave();
             simulationThread.start();
             btnStart.setDisable(true);
             btnStop.setDisable(false);
@@ -166,28 +279,92 @@ public class SimulationController implements Runnable {
     @FXML
     private void handleStop() {
         isRunning = false;
-        synchronized (pauseLock) {
-            isPausedForUser = false;
-            pauseLock.notifyAll();
-        }
+        humanPolicy.cancel();
+        stopAutosave();
         btnStart.setDisable(false);
         btnStop.setDisable(true);
         setChiefControlsDisable(true);
         logToView(">>> Simulation stopped.");
     }
 
+    /**
+     * Starts saving the running model in the background, at tick boundaries, and journaling
+     * its events in between.
+     * <p>
+     * The services are opened on the autosave lifecycle thread, after any previous one is
+     * closed; the simulation thread waits for them before its first tick (see {@link #run()}).
+     * The journal of a new model starts over, with a checkpoint taken at once: a crash is
+     * recovered with {@link com.asterix.utils.CheckpointWriter#restore(File)} followed by
+     * {@link TickJournal#replay(InvasionTheater, File)}.
+     * </p>
+     */
+    private void startAutosave() {
+        if (model == null) return;
+        InvasionTheater theater = model;
+        boolean fresh = freshJournal;
+        freshJournal = false;
+        autosaveReady = autosaveLifecycle.submit(() -> openAutosave(theater, fresh));
+    }
+
+    private void openAutosave(InvasionTheater theater, boolean fresh) {
+        if (autosave != null) return;
+        try {
+            autosave = new AutosaveService(AUTOSAVE_DIRECTORY, theater);
+        } catch (IOException e) {
+            logToView("Autosave disabled: " + e.getMessage());
+            return;
+        }
+        try {
+            if (fresh && JOURNAL_FILE.exists() && !JOURNAL_FILE.delete()) {
+                throw new IOException("cannot reset " + JOURNAL_FILE);
+            }
+            journal = new TickJournal(JOURNAL_FILE, theater);
+            if (fresh) {
+                autosave.saveAsync();
+            }
+        } catch (IOException e) {
+            logToView("Journal disabled: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the journal and the autosave on the autosave lifecycle thread, which waits for the
+     * save in flight to reach the disk.
+     */
+    private void stopAutosave() {
+        autosaveLifecycle.execute(this::closeAutosave);
+    }
+
+    private void closeAutosave() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logToView("Journal not saved: " + e.getMessage());
+            }
+            journal = null;
+        }
+        if (autosave == null) return;
+        autosave.close();
+        logToView(String.format("Autosave: %d saves, %d bytes, %.1f ms average.",
+                autosave.getCompletedCount(), autosave.getBytesWritten(), autosave.getAverageSaveMillis()));
+        autosave = null;
+    }
+
     /**
      * Main loop of the simulation thread.
      */
     @Override
     public void run() {
+        awaitAutosave();
         while (isRunning) {
             try {
                 simulateStep();
-                Platform.runLater(this::updateView);
-                triggerUserTurn();
-
-                if (model != null) model.applyDailyHunger();
+                if (model != null) {
+                    model.playChiefTurns();
+                    model.applyDailyHunger();
+                    model.endTick();
+                }
 
                 Thread.sleep(TIME_STEP);
             } catch (InterruptedException e) {
@@ -198,6 +375,20 @@ public class SimulationController implements Runnable {
         }
     }
 
+    /**
+     * Waits, on the simulation thread, until the autosave is attached to the model.
+     */
+    private void awaitAutosave() {
+        try {
+            autosaveReady.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isRunning = false;
+        } catch (ExecutionException e) {
+            logToView("Autosave disabled: " + e.getCause().getMessage());
+        }
+    }
+
     /**
      * Executes automatic simulation steps (fights, random events, food generation).
      */
@@ -211,42 +402,23 @@ public class SimulationController implements Runnable {
     }
 
     /**
-     * Pauses the simulation thread to allow user interaction via the Clan Chief.
+     * Hands the controls to the user for the turn of a chief.
+     * Called by {@link HumanChiefPolicy} on the simulation thread, which then waits for "End turn".
      *
-     * @throws InterruptedException If the thread is interrupted while waiting.
+     * @param view The chief whose turn it is.
      */
-    private void triggerUserTurn() throws InterruptedException {
-        if (model == null || model.getPlaces().isEmpty()) return;
-
-        List<Chief> availableChiefs = model.getPlaces().stream()
-                .filter(place -> place instanceof Settlement)
-                .map(place -> ((Settlement) place).getChief())
-                .filter(chief -> chief != null)
-                .collect(Collectors.toList());
-
-        if (availableChiefs.isEmpty()) return;
-
-        Chief currentChief = availableChiefs.get(chiefTurnIndex % availableChiefs.size());
-        chiefTurnIndex++;
-
-        synchronized (pauseLock) {
-            isPausedForUser = true;
-
-            Platform.runLater(() -> {
-                if (lblCurrentChief != null) {
-                    String locationName = currentChief.getLocation().getName();
-                    lblCurrentChief.setText("Chef : " + currentChief.getName() + "\n📍 " + locationName);
-                }
-
-                this.activeChief = currentChief;
-                logToView(">>> Your turn, Chief " + currentChief.getName() + " of " + currentChief.getLocation().getName() + "!");
-                setChiefControlsDisable(false);
-            });
-
-            while (isPausedForUser && isRunning) {
-                pauseLock.wait();
+    private void beginUserTurn(TheaterSnapshot.ChiefView view) {
+        Chief currentChief = ((Settlement) model.getPlaceById(view.settlementId())).getChief();
+        Platform.runLater(() -> {
+            if (lblCurrentChief != null) {
+                String locationName = currentChief.getLocation().getName();
+                lblCurrentChief.setText("Chef : " + currentChief.getName() + "\n📍 " + locationName);
             }
-        }
+
+            this.activeChief = currentChief;
+            logToView(">>> Your turn, Chief " + currentChief.getName() + " of " + currentChief.getLocation().getName() + "!");
+            setChiefControlsDisable(false);
+        });
     }
 
     /**
@@ -255,9 +427,8 @@ public class SimulationController implements Runnable {
     @FXML
     public void handleFeed() {
         if (this.activeChief == null) return;
-        this.activeChief.feedCharactersInLocation();
+        model.applyCommand(this.activeChief, ChiefCommand.feed());
         logToView("Chef " + this.activeChief.getName() + " distributed food!");
-        updateView();
     }
 
     /**
@@ -266,9 +437,8 @@ public class SimulationController implements Runnable {
     @FXML
     public void handleHeal() {
         if (this.activeChief == null) return;
-        this.activeChief.healCharactersInLocation();
+        model.applyCommand(this.activeChief, ChiefCommand.heal());
         logToView("Chief " + this.activeChief.getName() + " healed the wounded!");
-        updateView();
     }
 
     /**
@@ -300,7 +470,7 @@ public class SimulationController implements Runnable {
         try {
             logToView(">>> 🏃 Chief " + activeChief.getName() + " is leaving " + source.getName() + "...");
 
-            activeChief.setLocation(destination);
+            model.moveChief(activeChief, destination);
 
             logToView("✅ Arrival confirmed at: " + destination.getName());
 
@@ -345,8 +515,7 @@ public class SimulationController implements Runnable {
         }
 
         logToView(">>> 🧪 The chief asks " + druid.getName() + " to brew the potion!");
-        Cauldron cauldron = village.getCauldron();
-        boolean success = cauldron.brew();
+        boolean success = model.brewCauldron(village);
 
         if (success) {
             logToView("✅ EXCELLENT! The magic potion is ready (10 doses)!");
@@ -385,7 +554,7 @@ public class SimulationController implements Runnable {
         logToView("🌱 Wild ingredients appeared in " + village.getName() + ".");
         logToView(">>> " + druid.getName() + " goes gathering...");
 
-        int count = druid.gatherIngredients(village);
+        int count = model.gatherIngredients(druid, village);
 
         if (count > 0) {
             logToView("✅ Success! " + count + " ingredients added to the cauldron.");
@@ -402,15 +571,12 @@ public class SimulationController implements Runnable {
      */
     @FXML
     public void handleEndTurn() {
-        synchronized (pauseLock) {
-            isPausedForUser = false;
-            setChiefControlsDisable(true);
-            if (lblCurrentChief != null) {
-                lblCurrentChief.setText("Simulation running...");
-            }
-            logToView(">>> End of user turn.");
-            pauseLock.notifyAll();
+        setChiefControlsDisable(true);
+        if (lblCurrentChief != null) {
+            lblCurrentChief.setText("Simulation running...");
         }
+        logToView(">>> End of user turn.");
+        humanPolicy.endTurn();
     }
 
     /**
@@ -462,7 +628,7 @@ public class SimulationController implements Runnable {
     public void handleCreateTheater() {
         String name = inputTheaterName.getText();
         if (name == null || name.trim().isEmpty()) name = "Custom Theater";
-        this.model = new InvasionTheater(name);
+        setModel(new InvasionTheater(name));
         logToView("New theater created: " + name);
         refreshPlaceList();
     }
@@ -472,7 +638,7 @@ public class SimulationController implements Runnable {
      */
     @FXML
     public void handleCreatePlace() {
-        if (this.model == null) this.model = new InvasionTheater("New Theater");
+        if (this.model == null) setModel(new InvasionTheater("New Theater"));
 
         String name = inputPlaceName.getText();
         String areaStr = inputPlaceArea.getText();
@@ -610,22 +776,36 @@ public class SimulationController implements Runnable {
     }
 
     /**
-     * Appends the model's string representation to the output area.
+     * Logs a message to the event log. Can be called from any thread: the message is
+     * queued in the {@link LogPump} and shown on the next frame.
+     *
+     * @param message The message to display.
      */
-    private void updateView() {
-        if (model != null) {
-            outputArea.appendText(model.toString() + "\n");
-            outputArea.setScrollTop(Double.MAX_VALUE);
+    private void logToView(String message) {
+        logPump.offer(new LogLine(SimulationLog.Level.INFO, message));
+    }
+
+    /**
+     * Appends one frame's worth of log lines to the event log, in a single change.
+     *
+     * @param lines The lines to display.
+     */
+    private void appendToView(List<LogLine> lines) {
+        logLines.append(lines);
+        if (logList.getSelectionModel().isEmpty() && !visibleLogLines.isEmpty()) {
+            logList.scrollTo(visibleLogLines.size() - 1);
         }
     }
 
     /**
-     * Logs a message to the output area on the JavaFX Application Thread.
+     * Shows how many log lines were dropped because the view could not keep up.
      *
-     * @param message The message to display.
+     * @param dropped The total number of dropped lines.
      */
-    private void logToView(String message) {
-        Platform.runLater(() -> outputArea.appendText(message + "\n"));
+    private void showDroppedLines(long dropped) {
+        if (lblLogStatus != null) {
+            lblLogStatus.setText("⚠️ " + dropped + " lignes ignorées (journal saturé)");
+        }
     }
 
     /**
@@ -666,7 +846,7 @@ public class SimulationController implements Runnable {
         File file = fileChooser.showOpenDialog(null);
         if (file != null) {
             try {
-                this.model = XmlScenarioLoader.loadTheaterFromFile(file);
+                setModel(scenarioCache.load(file));
                 refreshPlaceList();
                 logToView("Loaded: " + model.getName());
             } catch (Exception e) {
@@ -2,6 +2,10 @@ package com.asterix.model.character;
 
 import com.asterix.model.item.Cauldron;
 import com.asterix.model.item.Food;
+import com.asterix.model.simulation.EntityRegistry;
+import com.asterix.model.simulation.SimulationLog;
+
+import java.util.List;
 
 /**
  * Abstract basic class representing any character in the simulation.
@@ -11,7 +15,10 @@ import com.asterix.model.item.Food;
  * within the simulation (fighting, eating, moving).
  * </p>
  */
-public abstract class Character {
+public abstract class Character implements Cloneable {
+
+    /** Dense identifier assigned by the theater's {@link EntityRegistry}. */
+    private int id = EntityRegistry.UNASSIGNED_ID;
 
     protected String name;
     protected Gender gender;
@@ -99,34 +106,137 @@ public abstract class Character {
         double dose = cauldron.takeLadle();
         if (dose <= 0) return "NONE";
 
-        System.out.println(this.name + " drinks magic potion.");
+        SimulationLog.debug(() -> this.name + " drinks magic potion.");
         this.drinkPotion(dose);
 
+        return applyPotionEffects(dose, cauldron, true) ? "DUPLICATE" : "NONE";
+    }
+
+    /**
+     * Absorbs a dose already served from a cauldron, without console output.
+     * <p>
+     * This is the batch path used when a whole squad is served at once
+     * (see {@link com.asterix.model.character.gaul.Druid#distributePotion(List)}):
+     * the same rules as {@link #drinkPotionFromCauldron(Cauldron)} apply.
+     * </p>
+     *
+     * @param dose     The dose taken from the cauldron.
+     * @param cauldron The cauldron the dose comes from (gives the special effects).
+     * @return {@code true} if the duplication effect is triggered.
+     */
+    public boolean absorbServedDose(double dose, Cauldron cauldron) {
+        if (!isAlive() || dose <= 0) return false;
+        this.potionLevel += dose;
+        return applyPotionEffects(dose, cauldron, false);
+    }
+
+    /**
+     * Applies the lifetime dose counter (statue rule) and the cauldron's special effects.
+     *
+     * @return {@code true} if the duplication effect is triggered.
+     */
+    private boolean applyPotionEffects(double dose, Cauldron cauldron, boolean verbose) {
         this.lifetimePotionDoses += dose;
         if (this.lifetimePotionDoses >= 20.0) {
             this.isStatue = true;
             this.potionLevel = 0;
-            System.out.println(this.name + " turns into granite statue");
-            return "NONE";
+            if (verbose) SimulationLog.info(() -> this.name + " turns into granite statue");
+            return false;
         }
 
         // Apply special effects based on Cauldron flags
         if (cauldron.isNourishing()) {
             this.hunger = 0.0;
-            System.out.println(this.name + " is fully fed !");
+            if (verbose) SimulationLog.debug(() -> this.name + " is fully fed !");
         }
         if (cauldron.causesLycanthropy()) {
             this.isLycanthrope = true;
-            System.out.println(this.name + " transforms into a lycanthrope !");
+            if (verbose) SimulationLog.info(() -> this.name + " transforms into a lycanthrope !");
         }
-        if (cauldron.causesDuplication()) {
-            return "DUPLICATE";
+        return cauldron.causesDuplication();
+    }
+
+    /**
+     * Creates a copy of this character (prototype pattern).
+     * <p>
+     * The copy keeps the concrete type of the original (a cloned {@code Druid} is still a Druid)
+     * and its whole state: physical attributes, health, hunger, potion level and transformations.
+     * It is not registered in any theater yet and is named after the original with a
+     * {@code " (Clone)"} suffix. Subclasses holding mutable references override this method
+     * to detach them.
+     * </p>
+     *
+     * @return An unregistered copy of this character.
+     */
+    public Character duplicate() {
+        try {
+            Character copy = (Character) super.clone();
+            copy.id = EntityRegistry.UNASSIGNED_ID;
+            copy.name = this.name + " (Clone)";
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Character implements Cloneable", e);
         }
-        return "NONE";
+    }
+
+    /**
+     * Restores the runtime state of the character, as it was saved in a snapshot.
+     * <p>
+     * The physical attributes are given to the constructor; this method puts back what
+     * changes during a run.
+     * </p>
+     *
+     * @param health              The health points.
+     * @param hunger              The hunger level.
+     * @param belligerence        The belligerence.
+     * @param potionLevel         The magic potion level.
+     * @param lifetimePotionDoses The total amount of potion drunk.
+     * @param statue              {@code true} if the character is a granite statue.
+     * @param lycanthrope         {@code true} if the character has turned into a lycanthrope.
+     */
+    public void restoreState(double health, double hunger, double belligerence, double potionLevel,
+                             double lifetimePotionDoses, boolean statue, boolean lycanthrope) {
+        this.health = health;
+        this.hunger = hunger;
+        this.belligerence = belligerence;
+        this.potionLevel = potionLevel;
+        this.lifetimePotionDoses = lifetimePotionDoses;
+        this.isStatue = statue;
+        this.isLycanthrope = lycanthrope;
+    }
+
+    /**
+     * Gets the total amount of potion drunk by the character (statue rule).
+     *
+     * @return The lifetime potion doses.
+     */
+    public double getLifetimePotionDoses() {
+        return lifetimePotionDoses;
     }
 
     // --- Getters ---
 
+    /**
+     * Gets the identifier of the character.
+     *
+     * @return The id, or {@link EntityRegistry#UNASSIGNED_ID} if not registered yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Assigns the identifier of the character.
+     * <p>
+     * Called by the {@link EntityRegistry} when the character enters a theater.
+     * </p>
+     *
+     * @param id The new id.
+     */
+    public void assignId(int id) {
+        this.id = id;
+    }
+
     /**
      * Gets the name of the character.
      * @return The name.
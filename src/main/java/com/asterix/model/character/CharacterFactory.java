@@ -3,6 +3,7 @@ package com.asterix.model.character;
 import com.asterix.model.character.gaul.*;
 import com.asterix.model.character.roman.*;
 import com.asterix.model.character.creature.Lycanthrope;
+import com.asterix.model.simulation.EntityRegistry;
 import java.util.Random;
 
 /**
@@ -40,7 +41,6 @@ public class CharacterFactory {
         Gender gender = random.nextBoolean() ? Gender.MALE : Gender.FEMALE;
         // Generate a random height between 1.60m and 1.90m
         double height = 1.60 + (random.nextDouble() * 0.30);
-        int id = 0; // Internal ID counter for Generals (scope is local, effectively 0 every call)
 
         return switch (type) {
             case GAUL_MERCHANT -> new Merchant(name, age, height, 10, 10, gender);
@@ -50,7 +50,7 @@ public class CharacterFactory {
 
             case ROMAN_LEGIONNAIRE -> new Legionnaire(name, age, height, 15, 15, Gender.MALE);
             case ROMAN_PREFECT -> new Prefect(name, age, height, 10, 10, Gender.MALE);
-            case ROMAN_GENERAL -> new General(id++, name, age, height, 20, 15, Gender.MALE);
+            case ROMAN_GENERAL -> new General(EntityRegistry.UNASSIGNED_ID, name, age, height, 20, 15, Gender.MALE);
 
             default -> throw new IllegalArgumentException("Unknown character type: " + type);
         };
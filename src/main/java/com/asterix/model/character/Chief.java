@@ -1,8 +1,11 @@
 package com.asterix.model.character;
 
 import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.gaul.Gaul;
 import com.asterix.model.place.Place;
 import com.asterix.model.item.Food;
+import com.asterix.model.simulation.SimulationLog;
+import java.util.ArrayList;
 import java.util.List;
 import static com.asterix.model.character.Character.MAX_HEALTH;
 
@@ -58,41 +61,46 @@ public class Chief {
     public void healCharactersInLocation() {
         if (place == null) return;
 
-        List<Character> characters = place.getCharacters();
+        List<Character> characters = place.getAliveCharacters();
         int healedCount = 0;
 
         for (Character p : characters) {
             p.heal(MAX_HEALTH);
             healedCount++;
         }
+        place.markDirty();
 
-        System.out.println(this.name + " has healed " + healedCount + " characters in " + place.getName());
+        int healed = healedCount;
+        SimulationLog.info(() -> this.name + " has healed " + healed + " characters in " + place.getName());
     }
 
     /**
      * Feeds characters in the location using available food.
      * <p>
      * [cite_start]Characters consume food found in the location to reduce their hunger[cite: 310].
+     * The hungriest characters are served first, each with the best item they can eat
+     * (see {@link FeedingAllocator}); the eaten items leave the pantry in a single pass.
      * </p>
      */
     public void feedCharactersInLocation() {
         if (place == null) return;
 
-        List<Character> hungryPeople = place.getCharacters();
         List<Food> pantry = place.getFoods();
 
         if (pantry.isEmpty()) {
-            System.out.println("No food available in " + place.getName() + "!");
+            SimulationLog.warn(() -> "No food available in " + place.getName() + "!");
             return;
         }
 
-        for (Character p : hungryPeople) {
-            if (pantry.isEmpty()) break;
-
-            Food food = pantry.remove(0);
-            p.eat(food);
-            System.out.println(p.getName() + " ate " + food.getName());
+        List<FeedingAllocator.Meal> meals = FeedingAllocator.allocate(place.getAliveCharacters(), pantry);
+        List<Food> eaten = new ArrayList<>(meals.size());
+        for (FeedingAllocator.Meal meal : meals) {
+            meal.eater().eat(meal.food());
+            eaten.add(meal.food());
+            SimulationLog.debug(() -> meal.eater().getName() + " ate " + meal.food().getName());
         }
+        place.removeFoods(eaten);
+        place.markDirty();
     }
 
     /**
@@ -106,8 +114,34 @@ public class Chief {
     public void orderPotion(Druid druid) {
         if (druid != null) {
             druid.concoctPotion();
-            System.out.println(this.name + " ordered " + druid.getName() + " to brew potion.");
+            if (place != null) place.markDirty();
+            SimulationLog.info(() -> this.name + " ordered " + druid.getName() + " to brew potion.");
+        }
+    }
+
+    /**
+     * Has a Druid serve his current cauldron to every Gaul of the location at once.
+     * <p>
+     * Druids themselves do not drink. The whole squad is served through
+     * {@link Druid#distributePotion(List)}.
+     * </p>
+     *
+     * @param druid The Druid holding the brewed cauldron.
+     * @return The distribution summary.
+     */
+    public PotionDistribution distributePotion(Druid druid) {
+        if (place == null || druid == null) return PotionDistribution.NONE;
+
+        List<Character> squad = new ArrayList<>();
+        for (Character c : place.getAliveCharacters()) {
+            if (c instanceof Gaul && !(c instanceof Druid)) {
+                squad.add(c);
+            }
         }
+        PotionDistribution distribution = druid.distributePotion(squad);
+        place.markDirty();
+        SimulationLog.info(() -> this.name + " had " + distribution.served().size() + " warriors drink the potion.");
+        return distribution;
     }
 
     /**
@@ -121,7 +155,8 @@ public class Chief {
     public void makeCharacterDrinkPotion(Character target) {
         if (target != null) {
             target.drinkPotion(1);
-            System.out.println(this.name + " made " + target.getName() + " drink potion.");
+            if (place != null) place.markDirty();
+            SimulationLog.debug(() -> this.name + " made " + target.getName() + " drink potion.");
         }
     }
 
@@ -136,16 +171,16 @@ public class Chief {
      */
     public void transferCharacter(Character target, Place destination) {
         if (target == null) {
-            System.out.println("Target character is null.");
+            SimulationLog.warn(() -> "Target character is null.");
             return;
         }
 
         if (destination.canEnter(target)) {
             place.removeCharacter(target);
             destination.addCharacter(target);
-            System.out.println(this.name + " transferred " + target.getName() + " to " + destination.getName());
+            SimulationLog.info(() -> this.name + " transferred " + target.getName() + " to " + destination.getName());
         } else {
-            System.out.println("You can't move " + target.getName() + " to " + destination.getName());
+            SimulationLog.warn(() -> "You can't move " + target.getName() + " to " + destination.getName());
         }
     }
 
@@ -160,7 +195,7 @@ public class Chief {
     public void recruitCharacter(Character newCharacter) {
         if (place != null && newCharacter != null) {
             place.addCharacter(newCharacter);
-            System.out.println(this.name + " recruited " + newCharacter.getName() + ".");
+            SimulationLog.info(() -> this.name + " recruited " + newCharacter.getName() + ".");
         }
     }
 
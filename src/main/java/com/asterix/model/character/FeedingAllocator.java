@@ -0,0 +1,117 @@
+package com.asterix.model.character;
+
+import com.asterix.model.character.gaul.Gaul;
+import com.asterix.model.character.roman.Roman;
+import com.asterix.model.item.Food;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Matches the hungriest characters of a place with the best food they are allowed to eat.
+ * <p>
+ * Characters are served from a priority heap ordered by hunger (hungriest first).
+ * The pantry is split into per-faction buckets (food edible by Gauls, food edible by Romans,
+ * any food for creatures), each sorted by nutritional score, so every character receives
+ * the best remaining item it can actually eat. A food item edible by both factions appears
+ * in both buckets but is only served once.
+ * </p>
+ */
+public final class FeedingAllocator {
+
+    /**
+     * A single allocation: who eats what.
+     *
+     * @param eater The character receiving the food.
+     * @param food  The food item allocated to the character.
+     */
+    public record Meal(Character eater, Food food) {}
+
+    private FeedingAllocator() {
+    }
+
+    /**
+     * Allocates at most one food item to each hungry, living character.
+     * <p>
+     * Neither the characters nor the pantry are modified: the caller applies the meals
+     * and removes the allocated food from the pantry in one pass.
+     * </p>
+     *
+     * @param characters The characters to feed.
+     * @param pantry     The available food.
+     * @return The meals, hungriest characters first.
+     */
+    public static List<Meal> allocate(List<Character> characters, List<Food> pantry) {
+        List<Meal> meals = new ArrayList<>();
+        if (characters.isEmpty() || pantry.isEmpty()) {
+            return meals;
+        }
+
+        Bucket gaulBucket = new Bucket();
+        Bucket romanBucket = new Bucket();
+        Bucket anyBucket = new Bucket();
+        for (int i = 0; i < pantry.size(); i++) {
+            Food food = pantry.get(i);
+            anyBucket.add(i);
+            if (food.canBeEatenByGaul()) gaulBucket.add(i);
+            if (food.canBeEatenByRoman()) romanBucket.add(i);
+        }
+        Comparator<Integer> bestFirst = Comparator.comparingInt((Integer i) -> pantry.get(i).getScore()).reversed();
+        gaulBucket.sort(bestFirst);
+        romanBucket.sort(bestFirst);
+        anyBucket.sort(bestFirst);
+
+        PriorityQueue<Character> hungriestFirst = new PriorityQueue<>(
+                Math.max(1, characters.size()),
+                Comparator.comparingDouble(Character::getHunger).reversed());
+        for (Character c : characters) {
+            if (c.isAlive() && c.getHunger() > 0) {
+                hungriestFirst.add(c);
+            }
+        }
+
+        boolean[] consumed = new boolean[pantry.size()];
+        int remaining = pantry.size();
+        while (!hungriestFirst.isEmpty() && remaining > 0) {
+            Character eater = hungriestFirst.poll();
+            Bucket bucket = (eater instanceof Gaul) ? gaulBucket
+                    : (eater instanceof Roman) ? romanBucket
+                    : anyBucket;
+            int index = bucket.takeBest(consumed);
+            if (index >= 0) {
+                consumed[index] = true;
+                remaining--;
+                meals.add(new Meal(eater, pantry.get(index)));
+            }
+        }
+        return meals;
+    }
+
+    /**
+     * Pantry indices edible by one faction, best score first, consumed through a cursor.
+     */
+    private static final class Bucket {
+        private final List<Integer> indices = new ArrayList<>();
+        private int cursor = 0;
+
+        void add(int index) {
+            indices.add(index);
+        }
+
+        void sort(Comparator<Integer> order) {
+            indices.sort(order);
+        }
+
+        int takeBest(boolean[] consumed) {
+            while (cursor < indices.size()) {
+                int index = indices.get(cursor++);
+                if (!consumed[index]) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+    }
+}
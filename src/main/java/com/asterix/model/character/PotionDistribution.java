@@ -0,0 +1,18 @@
+package com.asterix.model.character;
+
+import java.util.List;
+
+/**
+ * Summary of a potion distribution to a whole squad.
+ *
+ * @param served     The characters who received a dose.
+ * @param duplicated The characters whose dose triggered the duplication effect.
+ * @param petrified  The number of characters turned into statues by this dose.
+ */
+public record PotionDistribution(List<Character> served, List<Character> duplicated, int petrified) {
+
+    /**
+     * An empty distribution (no potion, nobody served).
+     */
+    public static final PotionDistribution NONE = new PotionDistribution(List.of(), List.of(), 0);
+}
@@ -3,6 +3,7 @@ package com.asterix.model.character.creature;
 import com.asterix.model.ability.Fighter;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents a lycanthrope (human-wolf hybrid).
@@ -54,6 +55,24 @@ public class Lycanthrope extends Creature implements Fighter {
         return inWolfForm;
     }
 
+    /**
+     * Returns the strength of the lycanthrope in human form.
+     *
+     * @return The base strength.
+     */
+    public double getBaseStrength() {
+        return baseStrength;
+    }
+
+    /**
+     * Returns the stamina of the lycanthrope in human form.
+     *
+     * @return The base stamina.
+     */
+    public double getBaseStamina() {
+        return baseStamina;
+    }
+
     /**
      * Transforms the lycanthrope into wolf form.
      * <p>
@@ -100,11 +119,11 @@ public class Lycanthrope extends Creature implements Fighter {
     @Override
     public void fight(Character opponent) {
         if (opponent == null) {
-            System.out.println(name + " (Lycanthrope) growls at the moon, but there is no opponent.");
+            SimulationLog.debug(() -> name + " (Lycanthrope) growls at the moon, but there is no opponent.");
             return;
         }
 
-        System.out.println(name + " (Lycanthrope in "
+        SimulationLog.debug(() -> name + " (Lycanthrope in "
                 + (inWolfForm ? "wolf" : "human")
                 + " form) attacks " + opponent.getName() + "!");
 
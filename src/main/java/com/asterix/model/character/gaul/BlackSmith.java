@@ -2,6 +2,7 @@ package com.asterix.model.character.gaul;
 
 import com.asterix.model.ability.Worker;
 import com.asterix.model.character.Gender;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents a Blacksmith in the Gaulish village.
@@ -36,8 +37,8 @@ public class BlackSmith extends Gaul implements Worker {
     @Override
     public void work() {
         // Using internal attributes to make the text dynamic
-        System.out.println(this.getName() + " raises his hammer with his strength of " + this.strength + "...");
-        System.out.println("A new sword is being forged for the glory of the village");
+        SimulationLog.info(() -> this.getName() + " raises his hammer with his strength of " + this.strength + "...");
+        SimulationLog.info(() -> "A new sword is being forged for the glory of the village");
     }
 
     /**
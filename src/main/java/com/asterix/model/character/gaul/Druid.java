@@ -5,13 +5,15 @@ import com.asterix.model.ability.Leader;
 import com.asterix.model.ability.Worker;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
+import com.asterix.model.character.PotionDistribution;
 import com.asterix.model.item.Cauldron;
 import com.asterix.model.item.Food;
 import com.asterix.model.item.FoodType;
 import com.asterix.model.item.PerishableFood;
 import com.asterix.model.place.GaulVillage;
+import com.asterix.model.simulation.SimulationLog;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -56,110 +58,172 @@ public class Druid extends Gaul implements Worker, Fighter, Leader {
      * </p>
      */
     public void concoctPotion() {
-        System.out.println(this.getName() + " lights a fire under the cauldron...");
-        this.currentCauldron = new Cauldron();
+        Cauldron cauldron = prepareCauldron();
+        cauldron.brew();
+        this.currentCauldron = cauldron;
+    }
+
+    /**
+     * Fills a fresh cauldron with the ingredients of a randomly selected recipe, without brewing it.
+     * <p>
+     * The returned cauldron is not attached to the druid: it can be brewed on another thread
+     * (see {@link com.asterix.model.simulation.BrewingService}) and handed back later with
+     * {@link #receiveCauldron(Cauldron)}.
+     * </p>
+     *
+     * @return The filled, unbrewed cauldron.
+     */
+    public Cauldron prepareCauldron() {
+        SimulationLog.info(() -> this.getName() + " lights a fire under the cauldron...");
+        Cauldron cauldron = new Cauldron();
 
         // basic ingredients
-        currentCauldron.addIngredient(FoodType.MISTLETOE.create());
-        currentCauldron.addIngredient(FoodType.CARROT.create());
+        cauldron.addIngredient(FoodType.MISTLETOE.create());
+        cauldron.addIngredient(FoodType.CARROT.create());
 
         // fish
         Food fish = FoodType.FISH.create();
         if(fish instanceof PerishableFood) ((PerishableFood) fish).passTime();
-        currentCauldron.addIngredient(fish);
+        cauldron.addIngredient(fish);
 
         // random recipe
         double roll = random.nextDouble();
 
         if (roll < 0.6) {
             // standard potion
-            currentCauldron.addIngredient(FoodType.ROCK_OIL.create());
-            System.out.println("Standard potion");
+            cauldron.addIngredient(FoodType.ROCK_OIL.create());
+            SimulationLog.info(() -> "Standard potion");
         }
 
         else if (roll < 0.75) {
             // feeding potion
-            currentCauldron.addIngredient(FoodType.ROCK_OIL.create());
-            currentCauldron.addIngredient(new Food(FoodType.FISH) {
-                @Override public String getName() {
-                    return "Lobster";
-                }
-
-                @Override public int getScore() {
-                    return 10;
-                }
-            });
-            System.out.println("Feeding potion");
+            cauldron.addIngredient(FoodType.ROCK_OIL.create());
+            cauldron.addIngredient(FoodType.LOBSTER.create());
+            SimulationLog.info(() -> "Feeding potion");
         }
         else if (roll < 0.90) {
             // duplication potion
-            currentCauldron.addIngredient(FoodType.ROCK_OIL.create());
-            currentCauldron.addIngredient(new Food(FoodType.MEAD) {
-                @Override public String getName() {
-                    return "Two headed unicorn milk";
-                }
-                @Override public int getScore() {
-                    return 0;
-                }
-            });
-            System.out.println("Duplication potion");
+            cauldron.addIngredient(FoodType.ROCK_OIL.create());
+            cauldron.addIngredient(FoodType.UNICORN_MILK.create());
+            SimulationLog.info(() -> "Duplication potion");
         }
         else {
             // Metamorphosis Potion (Lycanthropy)
-            currentCauldron.addIngredient(FoodType.ROCK_OIL.create());
-            currentCauldron.addIngredient(new Food(FoodType.MISTLETOE) {
-                @Override public String getName() {
-                    return "Idefix's hair";
-                }
-
-                @Override public int getScore() {
-                    return 0;
-                }
-            });
-            System.out.println("Metamorphic potion");
+            cauldron.addIngredient(FoodType.ROCK_OIL.create());
+            cauldron.addIngredient(FoodType.IDEFIX_HAIR.create());
+            SimulationLog.info(() -> "Metamorphic potion");
         }
-        this.currentCauldron.brew();
+        return cauldron;
+    }
+
+    /**
+     * Hands a brewed cauldron to the druid, replacing the current one.
+     *
+     * @param cauldron The cauldron to use from now on.
+     */
+    public void receiveCauldron(Cauldron cauldron) {
+        this.currentCauldron = cauldron;
     }
 
     /**
-     * Serves a dose of magic potion to a fellow Gaul.
+     * Picks up every potion ingredient lying in the village and drops it into the village cauldron.
+     * <p>
+     * Eligibility comes from the {@link FoodType#isUsableInPotion()} metadata, so no ingredient
+     * name is hard-coded here.
+     * </p>
      *
+     * @param village The village to gather from.
+     * @return The number of gathered ingredients.
      */
     public int gatherIngredients(GaulVillage village) {
-        if (village == null) return 0;
+        return gatherIngredients(village, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Picks up at most {@code budget} potion ingredients lying in the village.
+     * <p>
+     * The matching items are drained from the pantry in one compaction pass
+     * (see {@link com.asterix.model.place.Place#drainFoods(long, int)}) and added to the
+     * cauldron as a batch. Nothing is picked up while the village cauldron is already
+     * brewed, so ingredients are never wasted.
+     * </p>
+     *
+     * @param village The village to gather from.
+     * @param budget  The maximum number of items picked up this turn.
+     * @return The number of gathered ingredients.
+     */
+    public int gatherIngredients(GaulVillage village, int budget) {
+        if (village == null || budget <= 0) return 0;
 
         Cauldron villageCauldron = village.getCauldron();
-        List<Food> groundItems = village.getFoods();
+        if (villageCauldron == null || villageCauldron.isReady()) return 0;
+
+        List<Food> gathered = village.drainFoods(FoodType.potionIngredientMask(), budget);
+        if (gathered.isEmpty()) return 0;
 
-        int gatheredCount = 0;
+        villageCauldron.addIngredients(gathered);
+        SimulationLog.debug(() -> "🌿 " + this.getName() + " ramasse " + gathered.size() + " ingrédient(s).");
+        return gathered.size();
+    }
 
-        // Liste des noms d'ingrédients que le chaudron accepte (Basé sur votre classe Cauldron)
-        // Vous pouvez aussi utiliser check sur FoodType si vous y avez accès
-        List<String> validIngredients = List.of(
-                "Mistletoe", "Carrot", "Salt", "Honey", "Mead",
-                "Secret Ingredient", "Clover", "Fish", "Rock oil", "Beet Juice", "Lobster", "Two headed unicorn milk"
-        );
+    public void servePotion(Gaul gaul) {
+        if (currentCauldron != null) {
+            gaul.drinkPotionFromCauldron(currentCauldron);
+        }
+    }
 
-        // Utilisation d'un itérateur pour pouvoir supprimer de la liste en la parcourant
-        Iterator<Food> it = groundItems.iterator();
-        while (it.hasNext()) {
-            Food item = it.next();
-            if (validIngredients.contains(item.getName())) {
-                System.out.println("🌿 " + this.getName() + " ramasse : " + item.getName());
-                villageCauldron.addIngredient(item);
+    /**
+     * Serves the current cauldron to a whole squad in one operation.
+     * <p>
+     * The doses for every living member are taken from the cauldron with a single atomic
+     * {@link Cauldron#serve(int)}; when the cauldron runs short, members are served in
+     * squad order. Potion effects are then applied to each served member and reported
+     * once for the whole squad.
+     * </p>
+     *
+     * @param squad The characters to serve.
+     * @return The distribution summary, {@link PotionDistribution#NONE} if there is no potion.
+     */
+    public PotionDistribution distributePotion(List<? extends Character> squad) {
+        if (currentCauldron == null || squad == null || squad.isEmpty()) {
+            return PotionDistribution.NONE;
+        }
 
-                it.remove();
+        List<Character> drinkers = new ArrayList<>(squad.size());
+        for (Character c : squad) {
+            if (c.isAlive()) drinkers.add(c);
+        }
+        int granted = currentCauldron.serve(drinkers.size());
+        if (granted == 0) {
+            return PotionDistribution.NONE;
+        }
 
-                gatheredCount++;
+        List<Character> served = drinkers.subList(0, granted);
+        List<Character> duplicated = new ArrayList<>();
+        int petrified = 0;
+        for (Character c : served) {
+            if (c.absorbServedDose(1.0, currentCauldron)) {
+                duplicated.add(c);
             }
+            if (c.isStatue()) petrified++;
         }
-        return gatheredCount;
+
+        int statues = petrified;
+        SimulationLog.info(() -> this.getName() + " serves " + granted + " doses of magic potion"
+                + (statues > 0 ? " (" + statues + " turned into statues)" : "") + ".");
+        return new PotionDistribution(List.copyOf(served), duplicated, petrified);
     }
 
-    public void servePotion(Gaul gaul) {
-        if (currentCauldron != null) {
-            gaul.drinkPotionFromCauldron(currentCauldron);
-        }
+    /**
+     * Creates a copy of this druid. The clone knows the recipes but starts without a cauldron.
+     *
+     * @return An unregistered copy of this druid.
+     */
+    @Override
+    public Druid duplicate() {
+        Druid copy = (Druid) super.duplicate();
+        copy.currentCauldron = null;
+        return copy;
     }
 
     /**
@@ -175,14 +239,14 @@ public class Druid extends Gaul implements Worker, Fighter, Leader {
      * Implementation of the {@link Worker} interface.
      */
     @Override public void work() {
-        System.out.println(this.getName() + " gathers mistletoe.");
+        SimulationLog.info(() -> this.getName() + " gathers mistletoe.");
     }
 
     /**
      * Implementation of the {@link Leader} interface.
      */
     @Override public void command() {
-        System.out.println(this.getName() + " raises a hand.");
+        SimulationLog.info(() -> this.getName() + " raises a hand.");
     }
 
     /**
@@ -3,6 +3,7 @@ package com.asterix.model.character.gaul;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
 import com.asterix.model.item.Food;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents a generic Gaul character in the village.
@@ -41,7 +42,7 @@ public abstract class Gaul extends Character {
 
         // if dose=1.0, write "dose". else write "doses"
         String unit = (dose == 1.0) ? "dose" : "doses";
-        System.out.println(this.name + " drinks " + dose + " " + unit + " of magic potion!");
+        SimulationLog.debug(() -> this.name + " drinks " + dose + " " + unit + " of magic potion!");
     }
 
     /**
@@ -61,7 +62,7 @@ public abstract class Gaul extends Character {
         // Check if this food is specifically allowed for Gauls (Boar, Fish, etc.)
         // Ensure your Food class has this method corresponding to the Roman one.
         if (!food.canBeEatenByGaul()) {
-            System.out.println(this.name + " cannot eat " + food.getName() + " (not suitable for Gauls, by Toutatis!).");
+            SimulationLog.debug(() -> this.name + " cannot eat " + food.getName() + " (not suitable for Gauls, by Toutatis!).");
             return;
         }
 
@@ -73,7 +74,7 @@ public abstract class Gaul extends Character {
         // Basic rule for hunger: eating always reduces hunger a bit
         this.hunger = Math.max(0.0, this.hunger - Math.abs(score) / 2.0);
 
-        System.out.println(this.name + " eats " + food.getName() + " and gains " + score + " points of health.");
+        SimulationLog.debug(() -> this.name + " eats " + food.getName() + " and gains " + score + " points of health.");
     }
 
     /**
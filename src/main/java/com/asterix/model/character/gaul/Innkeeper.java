@@ -2,6 +2,7 @@ package com.asterix.model.character.gaul;
 
 import com.asterix.model.ability.Worker;
 import com.asterix.model.character.Gender;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents an Innkeeper in the Gaulish village.
@@ -37,8 +38,8 @@ public class Innkeeper extends Gaul implements Worker {
      */
     @Override
     public void work() {
-        System.out.println(this.getName() + " cleans the counter and brings out the mugs");
-        System.out.println("\"Who wants beer and wildboar ?\"");
+        SimulationLog.info(() -> this.getName() + " cleans the counter and brings out the mugs");
+        SimulationLog.info(() -> "\"Who wants beer and wildboar ?\"");
     }
 
     /**
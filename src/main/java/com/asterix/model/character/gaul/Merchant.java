@@ -2,6 +2,7 @@ package com.asterix.model.character.gaul;
 
 import com.asterix.model.ability.Worker;
 import com.asterix.model.character.Gender;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents a Merchant in the Gaulish village.
@@ -36,8 +37,8 @@ public class Merchant extends Gaul implements Worker {
      */
     @Override
     public void work() {
-        System.out.println(this.getName() + " sets up his stall at the village market");
-        System.out.println("\"Fresh fish ! My fish is fucking fresh ! Fresh from the Vieux-Port !\"");
+        SimulationLog.info(() -> this.getName() + " sets up his stall at the village market");
+        SimulationLog.info(() -> "\"Fresh fish ! My fish is fucking fresh ! Fresh from the Vieux-Port !\"");
     }
 
     /**
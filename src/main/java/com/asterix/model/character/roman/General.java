@@ -3,6 +3,7 @@ package com.asterix.model.character.roman;
 import com.asterix.model.ability.Leader;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents a Roman general.
@@ -13,13 +14,12 @@ import com.asterix.model.character.Gender;
  */
 public class General extends Soldier implements Leader {
 
-    /**
-     * Internal identifier for this general.
-     */
-    private final int id;
-
     /**
      * Creates a new Roman general with the given attributes and identifier.
+     * <p>
+     * The identifier is provisional: it is replaced by a dense id when the
+     * general is registered in a theater.
+     * </p>
      *
      * @param id       internal identifier for the general
      * @param name     the character's name
@@ -37,16 +37,7 @@ public class General extends Soldier implements Leader {
                    double stamina,
                    Gender gender) {
         super(name, age, height, strength, stamina, gender);
-        this.id = id;
-    }
-
-    /**
-     * Returns the internal identifier of this general.
-     *
-     * @return the general id
-     */
-    public int getId() {
-        return id;
+        assignId(id);
     }
 
     /**
@@ -58,7 +49,7 @@ public class General extends Soldier implements Leader {
      */
     @Override
     public void command() {
-        System.out.println(name + " (General) leads the Roman troops into battle!");
+        SimulationLog.info(() -> name + " (General) leads the Roman troops into battle!");
     }
 
     /**
@@ -69,11 +60,11 @@ public class General extends Soldier implements Leader {
     @Override
     public void fight(Character opponent) {
         if (opponent == null) {
-            System.out.println(name + " (General) prepares a strike, but there is no opponent.");
+            SimulationLog.debug(() -> name + " (General) prepares a strike, but there is no opponent.");
             return;
         }
 
-        System.out.println(name + " (General) strategically attacks " + opponent.getName() + "!");
+        SimulationLog.debug(() -> name + " (General) strategically attacks " + opponent.getName() + "!");
         resolveFight(opponent);
     }
 
@@ -85,7 +76,7 @@ public class General extends Soldier implements Leader {
      * </p>
      */
     public void attack() {
-        System.out.println(name + " (General) orders a powerful offensive maneuver!");
+        SimulationLog.info(() -> name + " (General) orders a powerful offensive maneuver!");
     }
 
     /**
@@ -2,6 +2,7 @@ package com.asterix.model.character.roman;
 
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents a Roman legionary soldier.
@@ -42,11 +43,11 @@ public class Legionnaire extends Soldier {
     @Override
     public void fight(Character opponent) {
         if (opponent == null) {
-            System.out.println(name + " (Legionnaire) swings his gladius, but there is no opponent.");
+            SimulationLog.debug(() -> name + " (Legionnaire) swings his gladius, but there is no opponent.");
             return;
         }
 
-        System.out.println(name + " (Legionnaire) attacks " + opponent.getName() + " in close combat!");
+        SimulationLog.debug(() -> name + " (Legionnaire) attacks " + opponent.getName() + " in close combat!");
         resolveFight(opponent);
     }
 
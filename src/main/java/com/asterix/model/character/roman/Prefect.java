@@ -3,6 +3,7 @@ package com.asterix.model.character.roman;
 import com.asterix.model.ability.Leader;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Represents a Roman prefect.
@@ -41,7 +42,7 @@ public class Prefect extends Roman implements Leader {
      */
     @Override
     public void command() {
-        System.out.println(name + " (Prefect) manages the Roman city and issues civil orders.");
+        SimulationLog.info(() -> name + " (Prefect) manages the Roman city and issues civil orders.");
     }
 
     /**
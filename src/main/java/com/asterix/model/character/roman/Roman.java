@@ -3,6 +3,7 @@ package com.asterix.model.character.roman;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
 import com.asterix.model.item.Food;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Abstract base class for all Roman characters in the simulation.
@@ -53,7 +54,7 @@ public abstract class Roman extends Character {
 
         // First, check if this food is allowed for Romans
         if (!food.canBeEatenByRoman()) {
-            System.out.println(this.name + " cannot eat " + food.getName()
+            SimulationLog.debug(() -> this.name + " cannot eat " + food.getName()
                     + " (not suitable for Romans).");
             // Optional: you could increase hunger or apply a small penalty instead
             return;
@@ -67,7 +68,7 @@ public abstract class Roman extends Character {
         // Basic rule for hunger: eating always reduces hunger a bit
         this.hunger = Math.max(0.0, this.hunger - Math.abs(score) / 2.0);
 
-        System.out.println(this.name + " eats " + food.getName()
+        SimulationLog.debug(() -> this.name + " eats " + food.getName()
                 + " and gains " + score + " points of health.");
     }
 
@@ -90,7 +91,7 @@ public abstract class Roman extends Character {
         this.potionLevel += dose;
 
         String unit = (dose == 1.0) ? "dose" : "doses";
-        System.out.println(this.name + " drinks " + dose + " " + unit + " of magic potion!");
+        SimulationLog.debug(() -> this.name + " drinks " + dose + " " + unit + " of magic potion!");
     }
 
     /**
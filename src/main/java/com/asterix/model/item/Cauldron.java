@@ -1,7 +1,12 @@
 package com.asterix.model.item;
 
+import com.asterix.model.simulation.SimulationLog;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents the druid's cauldron containing the mixture of ingredients.
@@ -10,6 +15,10 @@ import java.util.List;
  * validates the recipe, and determines specific effects (nourishing, duplication,
  * [cite_start]lycanthropy) based on the added ingredients[cite: 41, 48, 53].
  * </p>
+ * <p>
+ * Contents are tracked as a {@link FoodType} mask plus a count per type, and brewing
+ * resolves the mask through the precompiled {@link RecipeBook}.
+ * </p>
  */
 public class Cauldron {
 
@@ -19,15 +28,26 @@ public class Cauldron {
     private final List<Food> ingredients;
 
     /**
-     * The number of doses available in the cauldron.
+     * Mask of the {@link FoodType}s present in the cauldron.
+     */
+    private long ingredientMask;
+
+    /**
+     * Number of ingredients of each {@link FoodType}, indexed by ordinal.
+     */
+    private final int[] ingredientCounts;
+
+    /**
+     * The number of doses (ladles) available in the cauldron.
      * [cite_start]A full cauldron contains several doses[cite: 50].
+     * Doses are handed out with compare-and-set, so several threads can serve concurrently.
      */
-    private double doses;
+    private final AtomicInteger doses;
 
     /**
      * Indicates if the potion has been successfully brewed and is ready to be served.
      */
-    private boolean isReady;
+    private volatile boolean isReady;
 
     // base before effects
     /** Flag indicating if the potion restores hunger to zero. */
@@ -43,7 +63,9 @@ public class Cauldron {
      */
     public Cauldron() {
         this.ingredients = new ArrayList<>();
-        this.doses = 0;
+        this.ingredientMask = 0L;
+        this.ingredientCounts = new int[FoodType.values().length];
+        this.doses = new AtomicInteger(0);
         this.isReady = false;
     }
 
@@ -57,92 +79,161 @@ public class Cauldron {
      */
     public void addIngredient(Food food) {
         if (isReady) {
-            System.out.println("The potion is ready! No more ingredients.");
+            SimulationLog.warn(() -> "The potion is ready! No more ingredients.");
             return;
         }
         if (food != null) {
             this.ingredients.add(food);
-            System.out.println(food.getName() + " falls into the cauldron.");
+            FoodType type = food.getFoodType();
+            this.ingredientMask |= type.bit();
+            this.ingredientCounts[type.ordinal()]++;
+            SimulationLog.debug(() -> food.getName() + " falls into the cauldron.");
+        }
+    }
+
+    /**
+     * Adds several ingredients at once.
+     * <p>
+     * Same rules as {@link #addIngredient(Food)}, but the batch is reported with a single line.
+     * </p>
+     *
+     * @param foods The ingredients to add.
+     * @return The number of ingredients actually added ({@code 0} if the potion is ready).
+     */
+    public int addIngredients(Collection<? extends Food> foods) {
+        if (isReady) {
+            SimulationLog.warn(() -> "The potion is ready! No more ingredients.");
+            return 0;
+        }
+        int added = 0;
+        for (Food food : foods) {
+            if (food != null) {
+                this.ingredients.add(food);
+                FoodType type = food.getFoodType();
+                this.ingredientMask |= type.bit();
+                this.ingredientCounts[type.ordinal()]++;
+                added++;
+            }
+        }
+        if (added > 0) {
+            int count = added;
+            SimulationLog.debug(() -> count + " ingredients fall into the cauldron.");
         }
+        return added;
     }
 
     /**
      * Attempts to brew the magic potion.
      * <p>
      * This method validates the recipe based on the ingredients present.
-     * If the recipe is correct, the cauldron becomes ready with 10 doses
-     * and special effects are calculated. Otherwise, the mixture is ruined.
+     * If the recipe is correct, the cauldron becomes ready with the recipe's doses
+     * and special effects are set. Otherwise, the mixture is ruined.
+     * The outcome is a single {@link RecipeBook} lookup on the ingredient mask.
      * </p>
      *
      * @return {@code true} if the potion was successfully brewed, {@code false} otherwise.
      */
     public boolean brew() {
-        if (checkRecipe()) {
+        RecipeBook.Outcome outcome = RecipeBook.lookup(ingredientMask);
+        this.isNourishing = outcome.effects().contains(PotionEffect.NOURISHING);
+        this.causesDuplication = outcome.effects().contains(PotionEffect.DUPLICATION);
+        this.causesLycanthropy = outcome.effects().contains(PotionEffect.LYCANTHROPY);
+
+        if (outcome.isSuccess()) {
+            this.doses.set(outcome.recipe().getDoses());
             this.isReady = true;
-            this.doses = 10.0;
-            checkSpecialEffects();
-            System.out.println("The potion is ready !");
+            SimulationLog.info(() -> "The potion is ready !");
             return true;
         } else {
-            System.out.println("It's a nasty soup...");
+            SimulationLog.warn(() -> "It's a nasty soup...");
             this.isReady = false;
-            this.doses = 0;
+            this.doses.set(0);
             return false;
         }
     }
 
     /**
-     * Analyzes ingredients to determine special effects.
+     * Serves a ladle of magic potion.
+     *
+     * @return 1.0 dose if available, 0.0 otherwise.
+     */
+    public double takeLadle() {
+        return serve(1);
+    }
+
+    /**
+     * Atomically takes up to {@code requested} doses from the cauldron.
      * <p>
-     * Rules implemented:
-     * <ul>
-     * [cite_start]<li>Lobster, Strawberries, or Beet juice make the potion nourishing[cite: 49].</li>
-     * [cite_start]<li>Two-headed unicorn milk adds the power of duplication[cite: 53].</li>
-     * [cite_start]<li>Idéfix's Hair adds the power of metamorphosis (lycanthropy)[cite: 53].</li>
-     * </ul>
+     * This is the batch counterpart of {@link #takeLadle()}: a whole squad can be served
+     * with one call, and concurrent callers never receive more doses than were brewed.
      * </p>
+     *
+     * @param requested The number of doses wanted.
+     * @return The number of doses actually granted (0 if the potion is not ready or empty).
      */
-    private void checkSpecialEffects() {
-        for (Food f : ingredients) {
-            String name = f.getName();
-            if (name.equals("Lobster") || name.equals("Strawberries") || name.equals("Beet juice")) {
-                this.isNourishing = true;
-            }
-            if (name.equals("Two headed unicorn milk")) {
-                this.causesDuplication = true;
+    public int serve(int requested) {
+        if (requested <= 0 || !isReady) {
+            return 0;
+        }
+        while (true) {
+            int available = doses.get();
+            int granted = Math.min(available, requested);
+            if (granted <= 0) {
+                return 0;
             }
-            if (name.equals("Idefix's Hair")) {
-                this.causesLycanthropy = true;
+            if (doses.compareAndSet(available, available - granted)) {
+                return granted;
             }
         }
     }
 
     /**
-     * Validates the basic recipe.
+     * Returns the number of doses left in the cauldron.
+     *
+     * @return The remaining doses.
+     */
+    public int getRemainingDoses() {
+        return doses.get();
+    }
+
+    /**
+     * Restores the result of a brew, as it was saved in a snapshot.
      * <p>
-     * [cite_start]Currently checks for the mandatory presence of Mistletoe[cite: 48].
+     * The ingredients are added first with {@link #addIngredients(Collection)}; this method
+     * then puts back the outcome of {@link #brew()} without looking the recipe up again.
      * </p>
      *
-     * @return {@code true} if the base recipe is valid.
+     * @param ready       {@code true} if the potion can be served.
+     * @param doses       The number of doses left.
+     * @param nourishing  The nourishing effect flag.
+     * @param duplication The duplication effect flag.
+     * @param lycanthropy The lycanthropy effect flag.
      */
-    private boolean checkRecipe() {
-        for (Food f : ingredients) {
-            if (f.getName().equals("Mistletoe")) return true;
-        }
-        return false;
+    public void restoreBrew(boolean ready, int doses, boolean nourishing, boolean duplication, boolean lycanthropy) {
+        this.isNourishing = nourishing;
+        this.causesDuplication = duplication;
+        this.causesLycanthropy = lycanthropy;
+        this.doses.set(doses);
+        this.isReady = ready;
     }
 
     /**
-     * Serves a ladle of magic potion.
+     * Empties the cauldron: no ingredient, no dose, no effect.
+     */
+    public void empty() {
+        this.ingredients.clear();
+        this.ingredientMask = 0L;
+        Arrays.fill(this.ingredientCounts, 0);
+        restoreBrew(false, 0, false, false, false);
+    }
+
+    /**
+     * Checks if the potion has been brewed and can be served.
      *
-     * @return 1.0 dose if available, 0.0 otherwise.
+     * @return {@code true} if the cauldron is ready.
      */
-    public double takeLadle() {
-        if (isReady && doses > 0) {
-            doses -= 1.0;
-            return 1.0;
-        }
-        return 0.0;
+    public boolean isReady() {
+        return isReady;
     }
 
     /**
@@ -152,6 +243,21 @@ public class Cauldron {
      */
     public List<Food> getIngredients() { return new ArrayList<>(ingredients); }
 
+    /**
+     * Returns the mask of the food types present in the cauldron.
+     *
+     * @return The ingredient mask ({@link FoodType#bit()} of each present type).
+     */
+    public long getIngredientMask() { return ingredientMask; }
+
+    /**
+     * Returns how many ingredients of a given type were added.
+     *
+     * @param type The food type.
+     * @return The number of ingredients of that type.
+     */
+    public int getIngredientCount(FoodType type) { return ingredientCounts[type.ordinal()]; }
+
     /**
      * Checks if the potion is nourishing.
      *
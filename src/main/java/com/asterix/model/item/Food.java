@@ -1,5 +1,7 @@
 package com.asterix.model.item;
 
+import com.asterix.model.simulation.EntityRegistry;
+
 /**
  * Represents a generic food item in the simulation.
  * <p>
@@ -23,6 +25,9 @@ public abstract class Food {
     /** The underlying enum constant defining the food's properties. */
     protected final FoodType foodType;
 
+    /** Dense identifier assigned by the theater's {@link EntityRegistry}. */
+    private int id = EntityRegistry.UNASSIGNED_ID;
+
     /**
      * Creates a new {@code Food} based on its Enum definition.
      * <p>
@@ -40,6 +45,21 @@ public abstract class Food {
         this.romanEdible = foodType.isRomanCanEat();
     }
 
+    /**
+     * Gets the identifier of the food item.
+     *
+     * @return The id, or {@link EntityRegistry#UNASSIGNED_ID} if not registered yet.
+     */
+    public int getId() { return id; }
+
+    /**
+     * Assigns the identifier of the food item.
+     * Called by the {@link EntityRegistry} when the food appears in a place of a theater.
+     *
+     * @param id The new id.
+     */
+    public void assignId(int id) { this.id = id; }
+
     /**
      * Gets the name of the food.
      *
@@ -22,7 +22,7 @@ public enum FoodType {
             true,
             true,
             false,
-            true
+            false
     ),
     MISTLETOE(
             "Mistletoe",
@@ -49,7 +49,7 @@ public enum FoodType {
             true,
             true,
             true,
-            false
+            true
     ),
     CARROT(
             "Carrot",
@@ -58,7 +58,7 @@ public enum FoodType {
             true,
             true,
             true,
-            false
+            true
     ),
     SALT(
             "Salt",
@@ -76,7 +76,7 @@ public enum FoodType {
             false,
             false,
             true,
-            false
+            true
     ),
     BEET_JUICE(
             "Beet Juice",
@@ -103,7 +103,7 @@ public enum FoodType {
             true,
             true,
             true,
-            true
+            false
     ),
     MEAD(
             "Mead",
@@ -148,7 +148,7 @@ public enum FoodType {
             true,
             true,
             true,
-            false
+            true
     ),
     CLOVER(
             "Clover",
@@ -222,6 +222,56 @@ public enum FoodType {
         this.usableInPotion = usableInPotion;
     }
 
+    /**
+     * Mask of every food type flagged as usable in potions.
+     */
+    private static final long POTION_INGREDIENT_MASK;
+
+    static {
+        if (values().length > Long.SIZE) {
+            throw new ExceptionInInitializerError("FoodType masks are limited to " + Long.SIZE + " constants.");
+        }
+        long mask = 0L;
+        for (FoodType type : values()) {
+            if (type.usableInPotion) {
+                mask |= type.bit();
+            }
+        }
+        POTION_INGREDIENT_MASK = mask;
+    }
+
+    /**
+     * Returns the bit of this food type in a 64-bit ingredient mask.
+     *
+     * @return {@code 1L << ordinal()}
+     */
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Builds the ingredient mask containing the given food types.
+     *
+     * @param types the food types to include
+     * @return the union of their bits
+     */
+    public static long maskOf(FoodType... types) {
+        long mask = 0L;
+        for (FoodType type : types) {
+            mask |= type.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the mask of the food types that can be used as potion ingredients.
+     *
+     * @return the union of the bits of every type flagged {@code usableInPotion}
+     */
+    public static long potionIngredientMask() {
+        return POTION_INGREDIENT_MASK;
+    }
+
     /**
      * Creates a concrete {@link Food} instance corresponding to this type.
      */
@@ -0,0 +1,59 @@
+package com.asterix.model.item;
+
+/**
+ * Enumerates the special effects a brewed potion can carry.
+ * <p>
+ * Each effect is triggered by the presence of at least one of its trigger ingredients
+ * (compiled into a {@link FoodType} mask).
+ * </p>
+ */
+public enum PotionEffect {
+
+    /**
+     * [cite_start]Lobster, Strawberries, or Beet juice make the potion nourishing[cite: 49].
+     */
+    NOURISHING(FoodType.LOBSTER, FoodType.STRAWBERRY, FoodType.BEET_JUICE),
+
+    /**
+     * [cite_start]Two-headed unicorn milk adds the power of duplication[cite: 53].
+     */
+    DUPLICATION(FoodType.UNICORN_MILK),
+
+    /**
+     * [cite_start]Idéfix's Hair adds the power of metamorphosis (lycanthropy)[cite: 53].
+     */
+    LYCANTHROPY(FoodType.IDEFIX_HAIR);
+
+    /**
+     * Mask of the ingredients triggering this effect.
+     */
+    private final long triggerMask;
+
+    /**
+     * Creates an effect.
+     *
+     * @param triggers the ingredients triggering the effect
+     */
+    PotionEffect(FoodType... triggers) {
+        this.triggerMask = FoodType.maskOf(triggers);
+    }
+
+    /**
+     * Returns the mask of ingredients triggering this effect.
+     *
+     * @return the trigger mask
+     */
+    public long getTriggerMask() {
+        return triggerMask;
+    }
+
+    /**
+     * Checks if the given cauldron contents trigger this effect.
+     *
+     * @param ingredientMask the mask of ingredients present in the cauldron
+     * @return {@code true} if at least one trigger ingredient is present
+     */
+    public boolean isTriggeredBy(long ingredientMask) {
+        return (ingredientMask & triggerMask) != 0;
+    }
+}
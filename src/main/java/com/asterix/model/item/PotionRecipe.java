@@ -0,0 +1,65 @@
+package com.asterix.model.item;
+
+/**
+ * Enumerates the potion recipes a cauldron can brew.
+ * <p>
+ * A recipe is data: the set of mandatory ingredients (compiled into a {@link FoodType} mask)
+ * and the number of doses produced. Recipes are evaluated by {@link RecipeBook}.
+ * </p>
+ */
+public enum PotionRecipe {
+
+    /**
+     * The magic potion: [cite_start]Mistletoe is the mandatory ingredient[cite: 48].
+     */
+    MAGIC_POTION(10, FoodType.MISTLETOE);
+
+    /**
+     * Mask of the ingredients that must be present in the cauldron.
+     */
+    private final long requiredMask;
+
+    /**
+     * Number of doses in a full cauldron of this potion.
+     */
+    private final int doses;
+
+    /**
+     * Creates a recipe.
+     *
+     * @param doses    the number of doses produced
+     * @param required the mandatory ingredients
+     */
+    PotionRecipe(int doses, FoodType... required) {
+        this.doses = doses;
+        this.requiredMask = FoodType.maskOf(required);
+    }
+
+    /**
+     * Returns the mask of mandatory ingredients.
+     *
+     * @return the required ingredient mask
+     */
+    public long getRequiredMask() {
+        return requiredMask;
+    }
+
+    /**
+     * Returns the number of doses produced by this recipe.
+     *
+     * @return the dose count
+     */
+    public int getDoses() {
+        return doses;
+    }
+
+    /**
+     * Checks if the given cauldron contents satisfy this recipe.
+     *
+     * @param ingredientMask the mask of ingredients present in the cauldron
+     * @return {@code true} if every mandatory ingredient is present
+     */
+    public boolean isSatisfiedBy(long ingredientMask) {
+        return (ingredientMask & requiredMask) == requiredMask;
+    }
+}
@@ -0,0 +1,117 @@
+package com.asterix.model.item;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Compiled lookup table of every {@link PotionRecipe} and {@link PotionEffect}.
+ * <p>
+ * Only a handful of food types take part in a recipe or an effect. The table is indexed
+ * by the projection of a cauldron's ingredient mask onto those relevant types, so resolving
+ * a brew costs a fixed number of bit operations, whatever the number of ingredients.
+ * </p>
+ */
+public final class RecipeBook {
+
+    /**
+     * Result of brewing a given set of ingredients.
+     *
+     * @param recipe  the recipe obtained, or {@code null} for a failed brew
+     * @param effects the special effects carried by the potion (empty for a failed brew)
+     */
+    public record Outcome(PotionRecipe recipe, Set<PotionEffect> effects) {
+
+        /**
+         * Checks if the brew produced a potion.
+         *
+         * @return {@code true} if a recipe was matched
+         */
+        public boolean isSuccess() {
+            return recipe != null;
+        }
+    }
+
+    /**
+     * Food types appearing in at least one recipe or effect, in key bit order.
+     */
+    private static final long[] RELEVANT_BITS;
+
+    /**
+     * Outcome for every combination of relevant ingredients.
+     */
+    private static final Outcome[] TABLE;
+
+    static {
+        long relevant = 0L;
+        for (PotionRecipe recipe : PotionRecipe.values()) {
+            relevant |= recipe.getRequiredMask();
+        }
+        for (PotionEffect effect : PotionEffect.values()) {
+            relevant |= effect.getTriggerMask();
+        }
+
+        RELEVANT_BITS = new long[Long.bitCount(relevant)];
+        long remaining = relevant;
+        for (int i = 0; i < RELEVANT_BITS.length; i++) {
+            RELEVANT_BITS[i] = Long.lowestOneBit(remaining);
+            remaining &= remaining - 1;
+        }
+
+        TABLE = new Outcome[1 << RELEVANT_BITS.length];
+        for (int key = 0; key < TABLE.length; key++) {
+            TABLE[key] = compile(expand(key));
+        }
+    }
+
+    private RecipeBook() {
+    }
+
+    /**
+     * Resolves the outcome of brewing a cauldron.
+     *
+     * @param ingredientMask the {@link FoodType} mask of the cauldron contents
+     * @return the precompiled outcome
+     */
+    public static Outcome lookup(long ingredientMask) {
+        int key = 0;
+        for (int i = 0; i < RELEVANT_BITS.length; i++) {
+            if ((ingredientMask & RELEVANT_BITS[i]) != 0) {
+                key |= 1 << i;
+            }
+        }
+        return TABLE[key];
+    }
+
+    /**
+     * Rebuilds the ingredient mask corresponding to a table key.
+     */
+    private static long expand(int key) {
+        long mask = 0L;
+        for (int i = 0; i < RELEVANT_BITS.length; i++) {
+            if ((key & (1 << i)) != 0) {
+                mask |= RELEVANT_BITS[i];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Evaluates the recipes and effects against one ingredient mask.
+     * Recipes are tried in declaration order; effects only apply to a successful brew.
+     */
+    private static Outcome compile(long mask) {
+        for (PotionRecipe recipe : PotionRecipe.values()) {
+            if (recipe.isSatisfiedBy(mask)) {
+                EnumSet<PotionEffect> effects = EnumSet.noneOf(PotionEffect.class);
+                for (PotionEffect effect : PotionEffect.values()) {
+                    if (effect.isTriggeredBy(mask)) {
+                        effects.add(effect);
+                    }
+                }
+                return new Outcome(recipe, Collections.unmodifiableSet(effects));
+            }
+        }
+        return new Outcome(null, Collections.emptySet());
+    }
+}
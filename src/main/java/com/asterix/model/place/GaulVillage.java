@@ -21,9 +21,16 @@ public final class GaulVillage extends Settlement {
     }
 
     public Cauldron getCauldron() {
+        ensureResident();
         return cauldron;
     }
 
+    @Override
+    protected void discardContents() {
+        super.discardContents();
+        cauldron.empty();
+    }
+
     @Override
     public boolean canEnter(Character c) {
         return (c instanceof Gaul) || (c instanceof Creature);
@@ -3,8 +3,16 @@ package com.asterix.model.place;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Chief;
 import com.asterix.model.item.Food;
+import com.asterix.model.item.PerishableFood;
+import com.asterix.model.simulation.EntityRegistry;
+import com.asterix.model.simulation.SimulationEventListener;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Abstract sealed class representing a generic location in the simulation.
@@ -13,14 +21,78 @@ import java.util.List;
  * (characters and food). It defines the base logic for adding/removing characters
  * based on specific access rules defined by subclasses.
  * </p>
+ * <p>
+ * The roster is split in two segments: {@link #characters} only holds live characters,
+ * while dead characters and statues are moved to a tombstone segment by {@link #sweepDead()}.
+ * Tombstones stay visible through {@link #getCharacters()} until the theater archives them.
+ * </p>
+ * <p>
+ * A place may also be opened without its contents (see {@link #deferContents(ContentLoader)}):
+ * its roster, pantry and cauldron are then loaded the first time one of them is touched.
+ * </p>
+ * <p>
+ * Every change of the contents bumps the {@link #getDirtyEpoch() dirty epoch} of the place,
+ * so that checkpoints only save the places that changed since the previous one.
+ * </p>
  */
 public abstract sealed class Place permits Battlefield, Settlement, CreatureEnclosure {
 
+    /** Dense identifier assigned by the theater's {@link EntityRegistry}. */
+    private int id = EntityRegistry.UNASSIGNED_ID;
+    /** Registry of the theater owning this place, {@code null} while the place is standalone. */
+    private EntityRegistry registry;
+
     protected String name;
     protected double area;
+    /** Alive segment of the roster. */
     protected List<Character> characters;
+    /** Tombstone segment of the roster: dead characters and statues waiting to be archived. */
+    private final List<Character> tombstones;
     protected List<Food> foods;
 
+    /**
+     * Position of each character of the roster, used for O(1) lookups and swap-removal:
+     * {@code i} for slot {@code i} of {@link #characters}, {@code -(i + 1)} for slot {@code i}
+     * of {@link #tombstones} (see {@link #tombstoneSlot(int)}).
+     */
+    private final Map<Character, Integer> slots;
+
+    /** Default maximum number of living characters a place accepts through {@link #admit(Character)}. */
+    public static final int DEFAULT_POPULATION_LIMIT = 500;
+    /** Maximum number of living characters accepted through {@link #admit(Character)}. */
+    private int populationLimit;
+
+    /**
+     * Loads the contents of a place that is not resident yet.
+     */
+    @FunctionalInterface
+    public interface ContentLoader {
+
+        /**
+         * Fills the place with its characters, food items and cauldron.
+         * Entities must be added with their saved ids already restored in the registry.
+         *
+         * @param place The place to fill.
+         */
+        void load(Place place);
+    }
+
+    /**
+     * Loader of the contents not read yet, {@code null} once the place is resident.
+     * Only cleared once the loader has succeeded, so other threads never see a half-filled place.
+     */
+    private volatile ContentLoader pendingContents;
+    /** {@code true} while the loader runs; only read and written under the lock of the place. */
+    private boolean loading;
+    /** Receiver of the roster and pantry events, {@code null} if nobody listens. */
+    private SimulationEventListener listener;
+    /** Incremented on every change of the contents of this place (see {@link #markDirty()}). */
+    private long dirtyEpoch;
+    /** Characters moved to the tombstone segment since the place was created (not saved). */
+    private long casualtyCount;
+    /** Characters added through {@link #admit(Character)} since the place was created (not saved). */
+    private long spawnCount;
+
     /**
      * Constructs a new Place.
      *
@@ -31,10 +103,170 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
         this.name = name;
         this.area = area;
         this.characters = new ArrayList<>();
+        this.tombstones = new ArrayList<>();
         this.foods = new ArrayList<>();
+        this.slots = new IdentityHashMap<>();
+        this.populationLimit = DEFAULT_POPULATION_LIMIT;
+    }
+
+    /**
+     * Attaches this place to the registry of a theater.
+     * <p>
+     * The place, its current characters and its food items receive their ids;
+     * entities added later are registered as they arrive.
+     * </p>
+     *
+     * @param registry The registry of the owning theater.
+     */
+    public void attachTo(EntityRegistry registry) {
+        this.registry = registry;
+        registry.register(this);
+        for (Character c : characters) {
+            registry.register(c);
+        }
+        for (Character c : tombstones) {
+            registry.register(c);
+        }
+        for (Food food : foods) {
+            registry.register(food);
+        }
     }
 
 
+    /**
+     * Defers the loading of the contents of this empty place until they are first needed.
+     * <p>
+     * Used to open large snapshots quickly: the theater only reads the place shells, and
+     * each place decodes its roster and pantry the first time they are accessed.
+     * </p>
+     *
+     * @param loader The loader of the contents.
+     */
+    public void deferContents(ContentLoader loader) {
+        this.pendingContents = loader;
+    }
+
+    /**
+     * Checks if the contents of this place are loaded.
+     *
+     * @return {@code false} while the contents are deferred.
+     */
+    public boolean isResident() {
+        return pendingContents == null;
+    }
+
+    /**
+     * Loads the deferred contents of this place, if any. A thread calling it while another
+     * thread is loading the contents waits until the loading is over.
+     */
+    public final void ensureResident() {
+        if (pendingContents != null) {
+            materialize();
+        }
+    }
+
+    private synchronized void materialize() {
+        ContentLoader loader = pendingContents;
+        // the loader fills the place through addCharacter and addFood, which come back here
+        if (loader == null || loading) {
+            return;
+        }
+        loading = true;
+        // loading saved contents is not a change of the simulation
+        SimulationEventListener muted = listener;
+        listener = null;
+        boolean loaded = false;
+        try {
+            loader.load(this);
+            loaded = true;
+        } finally {
+            if (!loaded) {
+                // the place stays deferred, and empty, rather than pretending to hold its saved state
+                discardContents();
+            }
+            listener = muted;
+            loading = false;
+            if (loaded) {
+                pendingContents = null;
+            }
+        }
+    }
+
+    /**
+     * Empties the place after a failed load: the characters and food items added by the loader
+     * are taken out and their ids released. Subclasses also reset what they own (e.g. a cauldron).
+     */
+    protected void discardContents() {
+        if (registry != null) {
+            for (Character c : characters) {
+                registry.release(c);
+            }
+            for (Character c : tombstones) {
+                registry.release(c);
+            }
+            for (Food food : foods) {
+                registry.release(food);
+            }
+        }
+        characters.clear();
+        tombstones.clear();
+        slots.clear();
+        foods.clear();
+    }
+
+    /**
+     * Sets the receiver of the roster and pantry events of this place.
+     * Called by the theater owning the place.
+     *
+     * @param listener The listener, or {@code null} to stop sending events.
+     */
+    public void setEventListener(SimulationEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Records that the contents of this place changed.
+     * <p>
+     * The place calls it itself when its roster, pantry or settings change. Code changing
+     * the state of the characters or of the cauldron of the place must call it as well.
+     * Ageing (see {@code InvasionTheater#ageCharacters()}) does not mark places: it is
+     * deterministic and counted by the theater instead.
+     * </p>
+     */
+    public void markDirty() {
+        dirtyEpoch++;
+    }
+
+    /**
+     * Makes time pass for the living characters of this place (hunger, potion wearing off).
+     * Does not mark the place dirty.
+     */
+    public void ageCharacters() {
+        for (Character c : getAliveCharacters()) {
+            c.passTime();
+        }
+    }
+
+    /**
+     * Makes the perishable food of this place age. Does not mark the place dirty.
+     */
+    public void ageFood() {
+        for (Food food : getFoods()) {
+            if (food instanceof PerishableFood perishable) {
+                perishable.passTime();
+            }
+        }
+    }
+
+    /**
+     * Gets the dirty epoch of this place. Two equal values mean that the contents did not change in between.
+     *
+     * @return The number of changes recorded so far.
+     */
+    public long getDirtyEpoch() {
+        return dirtyEpoch;
+    }
+
     /**
      * Abstract method to validate if a specific character is allowed to enter this place.
      * <p>
@@ -55,32 +287,271 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
      * Reference:
      */
     public void addCharacter(Character c) {
+        ensureResident();
         if (c == null) {
             throw new IllegalArgumentException("Cannot add a null character to a place.");
         }
         if (!canEnter(c)) {
             throw new IllegalArgumentException("Character " + c.getName() + " is not allowed in " + this.name);
         }
-        this.characters.add(c);
+        if (containsCharacter(c)) {
+            return;
+        }
+        if (c.isAlive()) {
+            slots.put(c, characters.size());
+            this.characters.add(c);
+        } else {
+            slots.put(c, tombstoneSlot(tombstones.size()));
+            tombstones.add(c);
+        }
+        if (registry != null) {
+            registry.register(c);
+        }
+        markDirty();
+        if (listener != null) {
+            listener.characterEntered(this, c);
+        }
+    }
+
+    /**
+     * Adds a character spawned by the simulation (e.g. a clone) if the population budget allows it.
+     * <p>
+     * Unlike {@link #addCharacter(Character)}, which places characters explicitly, this method
+     * applies backpressure: it refuses the character instead of letting the population grow
+     * past {@link #getPopulationLimit()}.
+     * </p>
+     *
+     * @param c The character to admit.
+     * @return {@code true} if the character was added, {@code false} if the place is full
+     *         or the character is not allowed in.
+     */
+    public boolean admit(Character c) {
+        if (c == null || remainingCapacity() <= 0 || !canEnter(c)) {
+            return false;
+        }
+        addCharacter(c);
+        spawnCount++;
+        return true;
+    }
+
+    /**
+     * Gets the number of characters spawned in this place through {@link #admit(Character)},
+     * e.g. clones. The counter starts at 0 when the place is created or loaded.
+     *
+     * @return The spawn count.
+     */
+    public long getSpawnCount() {
+        return spawnCount;
+    }
+
+    /**
+     * Returns how many more living characters the population budget allows.
+     *
+     * @return The remaining capacity, {@code 0} if the place is full.
+     */
+    public int remainingCapacity() {
+        ensureResident();
+        return Math.max(0, populationLimit - characters.size());
+    }
+
+    /**
+     * Gets the population budget of this place.
+     *
+     * @return The maximum number of living characters accepted through {@link #admit(Character)}.
+     */
+    public int getPopulationLimit() {
+        return populationLimit;
+    }
+
+    /**
+     * Sets the population budget of this place.
+     *
+     * @param populationLimit The maximum number of living characters, at least 0.
+     * @throws IllegalArgumentException if the limit is negative.
+     */
+    public void setPopulationLimit(int populationLimit) {
+        if (populationLimit < 0) {
+            throw new IllegalArgumentException("Population limit cannot be negative.");
+        }
+        this.populationLimit = populationLimit;
+        markDirty();
     }
 
     /**
      * Removes a character from this place.
+     * <p>
+     * The last character of the roster takes the slot of the removed one,
+     * so removal is O(1) but does not preserve the roster order.
+     * </p>
      *
      * @param c The character to remove
      * Reference:
      */
     public void removeCharacter(Character c) {
-        this.characters.remove(c);
+        ensureResident();
+        Integer slot = slots.remove(c);
+        if (slot == null) {
+            return;
+        }
+        if (slot < 0) {
+            int index = tombstoneSlot(slot);
+            Character last = tombstones.remove(tombstones.size() - 1);
+            if (last != c) {
+                tombstones.set(index, last);
+                slots.put(last, slot);
+            }
+        } else {
+            Character last = characters.remove(characters.size() - 1);
+            if (last != c) {
+                characters.set(slot, last);
+                slots.put(last, slot);
+            }
+        }
+        markDirty();
+        if (listener != null) {
+            listener.characterLeft(this, c);
+        }
+    }
+
+    /**
+     * Moves the characters that died or turned into statues since the last sweep
+     * from the alive segment to the tombstone segment. A place whose contents are still
+     * deferred has not changed since it was saved, so there is nothing to sweep.
+     *
+     * @return The number of characters moved to the tombstone segment.
+     */
+    public int sweepDead() {
+        if (!isResident()) {
+            return 0;
+        }
+        int moved = 0;
+        int i = 0;
+        while (i < characters.size()) {
+            Character c = characters.get(i);
+            if (c.isAlive()) {
+                i++;
+                continue;
+            }
+            Character last = characters.remove(characters.size() - 1);
+            if (last != c) {
+                characters.set(i, last);
+                slots.put(last, i);
+            }
+            slots.put(c, tombstoneSlot(tombstones.size()));
+            tombstones.add(c);
+            moved++;
+        }
+        if (moved > 0) {
+            casualtyCount += moved;
+            markDirty();
+        }
+        return moved;
     }
 
     /**
-     * Returns a defensive copy of the list of characters currently in this place.
+     * Gets the number of characters moved to the tombstone segment by {@link #sweepDead()}.
+     * The counter starts at 0 when the place is created or loaded.
+     *
+     * @return The casualty count.
+     */
+    public long getCasualtyCount() {
+        return casualtyCount;
+    }
+
+    /**
+     * Removes and returns every tombstone of this place.
+     *
+     * @return The characters that were in the tombstone segment.
+     */
+    public List<Character> drainTombstones() {
+        ensureResident();
+        List<Character> drained = new ArrayList<>(tombstones);
+        if (!drained.isEmpty()) {
+            for (Character c : drained) {
+                slots.remove(c);
+            }
+            tombstones.clear();
+            markDirty();
+        }
+        return drained;
+    }
+
+    /**
+     * Removes a character from this place using its theater id.
+     *
+     * @param characterId The id of the character to remove.
+     * @return {@code true} if the character was present and has been removed.
+     */
+    public boolean removeCharacterById(int characterId) {
+        if (registry == null) {
+            return false;
+        }
+        Character c = registry.getCharacter(characterId);
+        if (c == null || !containsCharacter(c)) {
+            return false;
+        }
+        removeCharacter(c);
+        return true;
+    }
+
+    /**
+     * Checks if a character is currently in this place.
+     *
+     * @param c The character to look for.
+     * @return {@code true} if the character is present.
+     */
+    public boolean containsCharacter(Character c) {
+        ensureResident();
+        return slots.containsKey(c);
+    }
+
+    /**
+     * Converts between an index of the tombstone segment and its negative slot in {@link #slots}.
+     * The conversion is its own inverse.
+     *
+     * @param index The index in {@link #tombstones}, or the negative slot.
+     * @return The negative slot, or the index.
+     */
+    private static int tombstoneSlot(int index) {
+        return -index - 1;
+    }
+
+    /**
+     * Returns a defensive copy of the list of characters currently in this place,
+     * including dead characters and statues that have not been archived yet.
      *
      * @return A new List containing the characters.
      */
     public List<Character> getCharacters() {
-        return new ArrayList<>(this.characters);
+        ensureResident();
+        List<Character> all = new ArrayList<>(characters.size() + tombstones.size());
+        all.addAll(this.characters);
+        all.addAll(this.tombstones);
+        return all;
+    }
+
+    /**
+     * Returns a read-only view of the alive segment of the roster.
+     * <p>
+     * The view is not a copy: the place must not be modified while iterating over it.
+     * Characters killed during the current tick stay in this segment until the next sweep.
+     * </p>
+     *
+     * @return The characters that were alive at the last sweep.
+     */
+    public List<Character> getAliveCharacters() {
+        ensureResident();
+        return Collections.unmodifiableList(characters);
+    }
+
+    /**
+     * Returns a read-only view of the tombstone segment of the roster.
+     *
+     * @return The dead characters and statues waiting to be archived.
+     */
+    public List<Character> getTombstones() {
+        ensureResident();
+        return Collections.unmodifiableList(tombstones);
     }
 
     /**
@@ -89,6 +560,7 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
      * @return The list of food items.
      */
     public List<Food> getFoods() {
+        ensureResident();
         return this.foods;
     }
 
@@ -99,8 +571,16 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
      * @param food The food item to add.
      */
     public void addFood(Food food) {
+        ensureResident();
         if (food != null) {
             this.foods.add(food);
+            if (registry != null) {
+                registry.register(food);
+            }
+            markDirty();
+            if (listener != null) {
+                listener.foodAdded(this, food);
+            }
         }
     }
 
@@ -110,7 +590,117 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
      * @param food The food item to consume/remove.
      */
     public void removeFood(Food food) {
-        this.foods.remove(food);
+        ensureResident();
+        if (this.foods.remove(food)) {
+            markDirty();
+            if (registry != null) {
+                registry.release(food);
+            }
+            if (listener != null) {
+                listener.foodRemoved(this, food);
+            }
+        }
+    }
+
+    /**
+     * Removes several food items from this place in a single pass over the pantry.
+     *
+     * @param eaten The food items to remove.
+     * @return The number of removed items.
+     */
+    public int removeFoods(Collection<Food> eaten) {
+        ensureResident();
+        if (eaten.isEmpty()) {
+            return 0;
+        }
+        Set<Food> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(eaten);
+        int before = foods.size();
+        // only the items found in this pantry are released: the others may belong to another place
+        foods.removeIf(food -> {
+            if (!gone.contains(food)) return false;
+            if (registry != null) registry.release(food);
+            if (listener != null) listener.foodRemoved(this, food);
+            return true;
+        });
+        if (foods.size() != before) {
+            markDirty();
+        }
+        return before - foods.size();
+    }
+
+    /**
+     * Takes out of the pantry the food items whose type belongs to the given mask.
+     * <p>
+     * The pantry is compacted in place in a single pass, keeping the order of the
+     * remaining items. Once {@code limit} items have been taken the scan stops and the
+     * untouched tail is shifted in one block, so a small budget stays cheap on a large pantry.
+     * </p>
+     *
+     * @param typeMask The accepted food types, as a {@link com.asterix.model.item.FoodType#maskOf} mask.
+     * @param limit    The maximum number of items to take.
+     * @return The removed items, in pantry order.
+     */
+    public List<Food> drainFoods(long typeMask, int limit) {
+        ensureResident();
+        List<Food> drained = new ArrayList<>();
+        if (typeMask == 0L || limit <= 0) {
+            return drained;
+        }
+        int write = 0;
+        int read = 0;
+        int size = foods.size();
+        while (read < size && drained.size() < limit) {
+            Food food = foods.get(read++);
+            if ((food.getFoodType().bit() & typeMask) != 0L) {
+                drained.add(food);
+            } else {
+                foods.set(write++, food);
+            }
+        }
+        foods.subList(write, read).clear();
+        if (!drained.isEmpty()) {
+            markDirty();
+        }
+        if (registry != null) {
+            for (Food food : drained) {
+                registry.release(food);
+            }
+        }
+        if (listener != null) {
+            for (Food food : drained) {
+                listener.foodRemoved(this, food);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Gets the identifier of this place.
+     *
+     * @return The id, or {@link EntityRegistry#UNASSIGNED_ID} if the place is not in a theater.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Assigns the identifier of this place.
+     * Called by the {@link EntityRegistry} when the place is added to a theater.
+     *
+     * @param id The new id.
+     */
+    public void assignId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the registry of the theater owning this place.
+     *
+     * @return The registry, or {@code null} if the place is standalone.
+     */
+    public EntityRegistry getRegistry() {
+        return registry;
     }
 
     /**
@@ -129,6 +719,7 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
      */
     public void setName(String name) {
         this.name = name;
+        markDirty();
     }
 
     /**
@@ -147,6 +738,7 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
      */
     public void setArea(double area) {
         this.area = area;
+        markDirty();
     }
 
     /**
@@ -157,6 +749,7 @@ public abstract sealed class Place permits Battlefield, Settlement, CreatureEncl
 
     @Override
     public String toString() {
+        ensureResident();
         return "Place{" +
                 "name='" + name + '\'' +
                 ", area=" + area +
@@ -1,6 +1,7 @@
 package com.asterix.model.place;
 
 import com.asterix.model.character.Chief;
+import com.asterix.model.simulation.SimulationLog;
 
 /**
  * Abstract sealed class representing a settlement managed by a Chief.
@@ -29,6 +30,7 @@ public abstract sealed class Settlement extends Place
      */
     public void setChief(Chief chief) {
         this.chief = chief;
+        markDirty();
     }
 
     /**
@@ -44,9 +46,10 @@ public abstract sealed class Settlement extends Place
      * Allows the chief to examine the place, displaying characteristics and contents.
      */
     public void examine() {
-        System.out.println("Examining settlement: " + this.name);
-        System.out.println("Managed by: " + (chief != null ? chief.getName() : "No Chief"));
-        System.out.println("Population: " + this.characters.size());
+        SimulationLog.info(() -> "Examining settlement: " + this.name);
+        SimulationLog.info(() -> "Managed by: " + (chief != null ? chief.getName() : "No Chief"));
+        ensureResident();
+        SimulationLog.info(() -> "Population: " + this.characters.size());
         // Logic to display food details could be added here
     }
 }
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.asterix.model.simulation;
+
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.item.Cauldron;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Brews potions for many villages in parallel.
+ * <p>
+ * A druid submits a brew job: a bounded pool of worker threads fills the cauldron
+ * ({@link Druid#prepareCauldron()}: ingredients and recipe roll) and brews it, so none of
+ * this work is done on the simulation thread. A druid has at most one job in flight, so its
+ * own state is never touched by two workers at once.
+ * Finished cauldrons wait in a completion queue until the theater collects them at the
+ * next tick boundary ({@link #collectCompleted()}), so the model is only mutated by the
+ * simulation thread.
+ * </p>
+ * <p>
+ * The pending-job queue is bounded: when it is full, the submission is rejected and the
+ * village simply tries again on a later tick. Queue depth, in-flight jobs and brewing
+ * latency (submission to completion) are exposed as metrics.
+ * </p>
+ */
+public class BrewingService implements AutoCloseable {
+
+    /**
+     * A finished brew job, waiting to be handed back to its druid.
+     *
+     * @param druid        The druid who ordered the brew.
+     * @param cauldron     The brewed cauldron.
+     * @param success      {@code true} if the recipe succeeded.
+     * @param latencyNanos Time between submission and completion, in nanoseconds.
+     */
+    public record Brew(Druid druid, Cauldron cauldron, boolean success, long latencyNanos) {}
+
+    /** Default number of worker threads. */
+    public static final int DEFAULT_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    /** Default capacity of the pending-job queue. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private final ThreadPoolExecutor executor;
+    private final Queue<Brew> completed;
+    /** Druids with a job submitted but not collected yet. */
+    private final Set<Druid> pending;
+
+    private final AtomicLong submittedCount;
+    private final AtomicLong completedCount;
+    private final AtomicLong rejectedCount;
+    private final AtomicLong totalLatencyNanos;
+    private final AtomicLong maxLatencyNanos;
+
+    /**
+     * Constructs a brewing service with the default pool size and queue capacity.
+     */
+    public BrewingService() {
+        this(DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a brewing service.
+     *
+     * @param workers       The number of worker threads, at least 1.
+     * @param queueCapacity The maximum number of jobs waiting for a worker, at least 1.
+     * @throws IllegalArgumentException if a parameter is lower than 1.
+     */
+    public BrewingService(int workers, int queueCapacity) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("A brewing service needs at least 1 worker and a queue of at least 1 job.");
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "brewing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.completed = new ConcurrentLinkedQueue<>();
+        this.pending = ConcurrentHashMap.newKeySet();
+        this.submittedCount = new AtomicLong();
+        this.completedCount = new AtomicLong();
+        this.rejectedCount = new AtomicLong();
+        this.totalLatencyNanos = new AtomicLong();
+        this.maxLatencyNanos = new AtomicLong();
+    }
+
+    /**
+     * Submits a brew job for a druid.
+     * <p>
+     * A druid can only have one job in flight: submitting again before the previous
+     * cauldron has been collected is refused.
+     * </p>
+     *
+     * @param druid The druid who brews.
+     * @return {@code true} if the job was accepted, {@code false} if the druid already has a
+     *         pending job or the queue is full.
+     */
+    public boolean submit(Druid druid) {
+        if (druid == null || executor.isShutdown() || !pending.add(druid)) {
+            return false;
+        }
+        long submittedAt = System.nanoTime();
+        submittedCount.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                Cauldron cauldron = druid.prepareCauldron();
+                boolean success = cauldron.brew();
+                long latency = System.nanoTime() - submittedAt;
+                totalLatencyNanos.addAndGet(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                completed.add(new Brew(druid, cauldron, success, latency));
+                completedCount.incrementAndGet();
+                synchronized (this) {
+                    notifyAll();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submittedCount.decrementAndGet();
+            pending.remove(druid);
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drains the finished jobs. Must be called from the simulation thread, at a tick boundary.
+     *
+     * @return The brews finished since the last call, in completion order.
+     */
+    public List<Brew> collectCompleted() {
+        List<Brew> brews = new ArrayList<>();
+        Brew brew;
+        while ((brew = completed.poll()) != null) {
+            pending.remove(brew.druid());
+            brews.add(brew);
+        }
+        return brews;
+    }
+
+    /**
+     * Checks if a druid has a job submitted and not collected yet.
+     *
+     * @param druid The druid to check.
+     * @return {@code true} if a brew is pending for this druid.
+     */
+    public boolean isPending(Druid druid) {
+        return pending.contains(druid);
+    }
+
+    /**
+     * Waits until every submitted job has finished brewing (collected or not).
+     *
+     * @param timeoutMillis The maximum time to wait, in milliseconds.
+     * @return {@code true} if all jobs finished, {@code false} on timeout.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public synchronized boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (completedCount.get() < submittedCount.get()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of jobs waiting for a worker.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of jobs submitted and not finished yet (queued or brewing).
+     *
+     * @return The number of in-flight jobs.
+     */
+    public long getInFlightCount() {
+        return submittedCount.get() - completedCount.get();
+    }
+
+    /**
+     * Returns the number of accepted jobs.
+     *
+     * @return The submitted job count.
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * Returns the number of finished jobs.
+     *
+     * @return The completed job count.
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Returns the number of submissions refused because the queue was full.
+     *
+     * @return The rejected job count.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Returns the mean brewing latency (submission to completion).
+     *
+     * @return The average latency in milliseconds, {@code 0} if nothing was brewed yet.
+     */
+    public double getAverageLatencyMillis() {
+        long done = completedCount.get();
+        return done == 0 ? 0.0 : totalLatencyNanos.get() / (done * 1_000_000.0);
+    }
+
+    /**
+     * Returns the worst brewing latency observed so far.
+     *
+     * @return The maximum latency in milliseconds.
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Stops the worker threads. Jobs already queued are still brewed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
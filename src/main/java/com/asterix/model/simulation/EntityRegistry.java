@@ -0,0 +1,270 @@
+package com.asterix.model.simulation;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.item.Food;
+import com.asterix.model.place.Place;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Global identity index of an {@link InvasionTheater}.
+ * <p>
+ * Every {@link Character}, {@link Food} and {@link Place} entering the theater receives
+ * a dense integer id (one id space per entity kind, starting at 0). The id is the index
+ * of the entity in the corresponding table, so lookups are O(1) array accesses.
+ * Ids are never reused: releasing an entity only clears its slot.
+ * </p>
+ */
+public class EntityRegistry {
+
+    /**
+     * Id carried by entities that have not been registered in a theater yet.
+     */
+    public static final int UNASSIGNED_ID = -1;
+
+    private final List<Character> characters;
+    private final List<Food> foods;
+    private final List<Place> places;
+
+    /**
+     * Constructs an empty registry.
+     */
+    public EntityRegistry() {
+        this.characters = new ArrayList<>();
+        this.foods = new ArrayList<>();
+        this.places = new ArrayList<>();
+    }
+
+    /**
+     * Registers a character and assigns it the next dense id.
+     * <p>
+     * Registering a character already known by this registry is a no-op,
+     * so characters keep their id when they move between places.
+     * </p>
+     *
+     * @param character The character to register.
+     * @return The id of the character.
+     */
+    public int register(Character character) {
+        if (contains(character)) {
+            return character.getId();
+        }
+        int id = characters.size();
+        characters.add(character);
+        character.assignId(id);
+        return id;
+    }
+
+    /**
+     * Registers a food item and assigns it the next dense id.
+     *
+     * @param food The food item to register.
+     * @return The id of the food item.
+     */
+    public int register(Food food) {
+        if (contains(food)) {
+            return food.getId();
+        }
+        int id = foods.size();
+        foods.add(food);
+        food.assignId(id);
+        return id;
+    }
+
+    /**
+     * Registers a place and assigns it the next dense id.
+     *
+     * @param place The place to register.
+     * @return The id of the place.
+     */
+    public int register(Place place) {
+        if (contains(place)) {
+            return place.getId();
+        }
+        int id = places.size();
+        places.add(place);
+        place.assignId(id);
+        return id;
+    }
+
+    /**
+     * Registers a character under a given id, as it was saved in a snapshot.
+     * <p>
+     * The table grows with empty slots if needed, so ids are restored exactly and
+     * entities registered later still receive fresh ids.
+     * </p>
+     *
+     * @param character The character to register.
+     * @param id        The id to restore.
+     * @throws IllegalStateException if the id is already taken by another character.
+     */
+    public void restore(Character character, int id) {
+        put(characters, character, id);
+        character.assignId(id);
+    }
+
+    /**
+     * Registers a food item under a given id, as it was saved in a snapshot.
+     *
+     * @param food The food item to register.
+     * @param id   The id to restore.
+     * @throws IllegalStateException if the id is already taken by another food item.
+     */
+    public void restore(Food food, int id) {
+        put(foods, food, id);
+        food.assignId(id);
+    }
+
+    /**
+     * Registers a place under a given id, as it was saved in a snapshot.
+     *
+     * @param place The place to register.
+     * @param id    The id to restore.
+     * @throws IllegalStateException if the id is already taken by another place.
+     */
+    public void restore(Place place, int id) {
+        put(places, place, id);
+        place.assignId(id);
+    }
+
+    /**
+     * Grows the id tables to the given sizes with empty slots, so that the next ids
+     * handed out match those of the saved theater.
+     *
+     * @param characterCount The minimum number of character ids.
+     * @param foodCount      The minimum number of food ids.
+     * @param placeCount     The minimum number of place ids.
+     */
+    public void reserve(int characterCount, int foodCount, int placeCount) {
+        pad(characters, characterCount);
+        pad(foods, foodCount);
+        pad(places, placeCount);
+    }
+
+    private static <T> void put(List<T> table, T entity, int id) {
+        pad(table, id + 1);
+        T current = table.get(id);
+        if (current != null && current != entity) {
+            throw new IllegalStateException("Id " + id + " is already taken.");
+        }
+        table.set(id, entity);
+    }
+
+    private static <T> void pad(List<T> table, int size) {
+        while (table.size() < size) {
+            table.add(null);
+        }
+    }
+
+    /**
+     * Releases the slot of a character that never really joined the simulation
+     * (e.g. read from a corrupted snapshot). The id is not reused.
+     *
+     * @param character The character to release.
+     */
+    public void release(Character character) {
+        if (contains(character)) {
+            characters.set(character.getId(), null);
+        }
+    }
+
+    /**
+     * Releases the slot of a food item that left the simulation (e.g. eaten).
+     * The id is not reused.
+     *
+     * @param food The food item to release.
+     */
+    public void release(Food food) {
+        if (contains(food)) {
+            foods.set(food.getId(), null);
+        }
+    }
+
+    /**
+     * Gets a character by id.
+     *
+     * @param id The character id.
+     * @return The character, or {@code null} if the id is unknown.
+     */
+    public Character getCharacter(int id) {
+        return (id >= 0 && id < characters.size()) ? characters.get(id) : null;
+    }
+
+    /**
+     * Gets a food item by id.
+     *
+     * @param id The food id.
+     * @return The food item, or {@code null} if the id is unknown or released.
+     */
+    public Food getFood(int id) {
+        return (id >= 0 && id < foods.size()) ? foods.get(id) : null;
+    }
+
+    /**
+     * Gets a place by id.
+     *
+     * @param id The place id.
+     * @return The place, or {@code null} if the id is unknown.
+     */
+    public Place getPlace(int id) {
+        return (id >= 0 && id < places.size()) ? places.get(id) : null;
+    }
+
+    /**
+     * Checks if this registry owns the given character.
+     *
+     * @param character The character to check.
+     * @return {@code true} if the character was registered here.
+     */
+    public boolean contains(Character character) {
+        return character != null && getCharacter(character.getId()) == character;
+    }
+
+    /**
+     * Checks if this registry owns the given food item.
+     *
+     * @param food The food item to check.
+     * @return {@code true} if the food item was registered here and not released.
+     */
+    public boolean contains(Food food) {
+        return food != null && getFood(food.getId()) == food;
+    }
+
+    /**
+     * Checks if this registry owns the given place.
+     *
+     * @param place The place to check.
+     * @return {@code true} if the place was registered here.
+     */
+    public boolean contains(Place place) {
+        return place != null && getPlace(place.getId()) == place;
+    }
+
+    /**
+     * Returns the number of character ids handed out so far.
+     *
+     * @return The size of the character id space.
+     */
+    public int getCharacterCount() {
+        return characters.size();
+    }
+
+    /**
+     * Returns the number of food ids handed out so far.
+     *
+     * @return The size of the food id space.
+     */
+    public int getFoodCount() {
+        return foods.size();
+    }
+
+    /**
+     * Returns the number of place ids handed out so far.
+     *
+     * @return The size of the place id space.
+     */
+    public int getPlaceCount() {
+        return places.size();
+    }
+}
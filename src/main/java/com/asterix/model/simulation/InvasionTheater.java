@@ -2,22 +2,32 @@ package com.asterix.model.simulation;
 
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Chief;
+import com.asterix.model.character.PotionDistribution;
 import com.asterix.model.character.gaul.Druid;
 import com.asterix.model.character.gaul.Gaul;
 import com.asterix.model.character.roman.Roman;
 import com.asterix.model.item.Cauldron;
 import com.asterix.model.item.Food;
 import com.asterix.model.item.FoodFactory;
-import com.asterix.model.item.PerishableFood;
 import com.asterix.model.place.Battlefield;
 import com.asterix.model.place.Place;
 import com.asterix.model.place.Settlement;
 import com.asterix.model.place.GaulVillage;
+import com.asterix.model.simulation.policy.ChiefCommand;
+import com.asterix.model.simulation.policy.ChiefPolicy;
+import com.asterix.model.simulation.policy.RuleBasedChiefPolicy;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Represents the invasion theater where the simulation takes place.
@@ -31,8 +41,36 @@ public class InvasionTheater {
     private String name;
     private List<Place> places;
     private final Random random;
+    /** Id index of every place, character and food item of the theater. */
+    private final EntityRegistry registry;
+    /** Dead characters and statues removed from the rosters by tombstone compaction. */
+    private final List<Character> archive;
+    /** Number of ticks completed since the theater was created. */
+    private long tick;
+    /** Number of ticks between two tombstone compactions. */
+    private int compactionInterval;
+    /** Number of clones refused because their place had reached its population budget. */
+    private long rejectedCloneCount;
+    /** Number of calls to {@link #ageCharacters()}, which do not mark places dirty. */
+    private long characterAgeingCount;
+    /** Number of calls to {@link #ageFood()}, which do not mark places dirty. */
+    private long foodAgeingCount;
+    /** Policies assigned to specific chiefs. */
+    private final Map<Chief, ChiefPolicy> chiefPolicies;
+    /** Policy of the chiefs without an assigned one. */
+    private ChiefPolicy defaultChiefPolicy;
+    /** Optional executor evaluating the chief policies in parallel; {@code null} means sequential. */
+    private ExecutorService decisionExecutor;
+    /** Optional asynchronous brewing pipeline; {@code null} means druids brew synchronously. */
+    private BrewingService brewingService;
+    /** Receivers of the domain events. */
+    private final List<SimulationEventListener> listeners;
+    /** Dispatcher to {@link #listeners}, {@code null} while nobody listens. */
+    private SimulationEventListener events;
 
     private static final double RANDOM_EVENT_PROBABILITY = 0.30;
+    /** Default number of ticks between two tombstone compactions. */
+    public static final int DEFAULT_COMPACTION_INTERVAL = 10;
 
     /**
      * Constructs a new Invasion Theater.
@@ -43,6 +81,13 @@ public class InvasionTheater {
         this.name = name;
         this.places = new ArrayList<>();
         this.random = new Random();
+        this.registry = new EntityRegistry();
+        this.archive = new ArrayList<>();
+        this.tick = 0;
+        this.compactionInterval = DEFAULT_COMPACTION_INTERVAL;
+        this.chiefPolicies = new IdentityHashMap<>();
+        this.defaultChiefPolicy = new RuleBasedChiefPolicy();
+        this.listeners = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -59,12 +104,48 @@ public class InvasionTheater {
      */
     public void addPlace(Place place) {
         if (place != null) {
+            place.attachTo(registry);
+            place.setEventListener(events);
             this.places.add(place);
         } else {
             System.err.println("Error : Attempted to add a null place to the Theater.");
         }
     }
 
+    /**
+     * Registers a receiver of the domain events of the theater and of its places.
+     *
+     * @param listener The listener.
+     */
+    public void addEventListener(SimulationEventListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+            updateEventDispatch();
+        }
+    }
+
+    /**
+     * Unregisters a receiver of the domain events.
+     *
+     * @param listener The listener.
+     */
+    public void removeEventListener(SimulationEventListener listener) {
+        if (listeners.remove(listener)) {
+            updateEventDispatch();
+        }
+    }
+
+    /**
+     * Points the theater and its places to the current listeners, or to nothing if there are none,
+     * so that a theater nobody listens to does not pay for the events.
+     */
+    private void updateEventDispatch() {
+        events = listeners.isEmpty() ? null : new Dispatcher(listeners);
+        for (Place place : places) {
+            place.setEventListener(events);
+        }
+    }
+
     /**
      * Returns a copy of the list of places.
      *
@@ -74,6 +155,86 @@ public class InvasionTheater {
         return new ArrayList<>(places);
     }
 
+    /**
+     * Gets the id index of the theater.
+     *
+     * @return The entity registry.
+     */
+    public EntityRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Finds a character of the theater by id.
+     * <p>
+     * If the id is unknown while some places are not resident yet, their contents are
+     * loaded and the lookup is retried.
+     * </p>
+     *
+     * @param id The character id.
+     * @return The character, or {@code null} if unknown.
+     */
+    public Character getCharacterById(int id) {
+        Character c = registry.getCharacter(id);
+        if (c == null && loadDeferredPlaces()) {
+            c = registry.getCharacter(id);
+        }
+        return c;
+    }
+
+    /**
+     * Finds a place of the theater by id.
+     *
+     * @param id The place id.
+     * @return The place, or {@code null} if unknown.
+     */
+    public Place getPlaceById(int id) {
+        return registry.getPlace(id);
+    }
+
+    /**
+     * Finds a food item of the theater by id.
+     *
+     * @param id The food id.
+     * @return The food item, or {@code null} if unknown or already consumed.
+     */
+    public Food getFoodById(int id) {
+        Food food = registry.getFood(id);
+        if (food == null && loadDeferredPlaces()) {
+            food = registry.getFood(id);
+        }
+        return food;
+    }
+
+    /**
+     * Loads the contents of every place that is not resident yet.
+     *
+     * @return {@code true} if at least one place was loaded.
+     */
+    public boolean loadDeferredPlaces() {
+        boolean loaded = false;
+        for (Place place : places) {
+            if (!place.isResident()) {
+                place.ensureResident();
+                loaded = true;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Counts the places whose contents are loaded.
+     *
+     * @return The number of resident places.
+     */
+    public int getResidentPlaceCount() {
+        int resident = 0;
+        for (Place place : places) {
+            if (place.isResident()) resident++;
+        }
+        return resident;
+    }
+
     /**
      * Systematically increases the hunger of ALL characters in ALL places.
      * <p>
@@ -83,110 +244,487 @@ public class InvasionTheater {
      */
     public void applyDailyHunger() {
         if (this.places == null) return;
+        this.ageCharacters();
+        this.ageFood();
+    }
+
+    /**
+     * Makes time pass for the living characters of every place: hunger rises and
+     * the potion wears off.
+     */
+    public void ageCharacters() {
         for (Place place : this.places) {
-            for (Character character : place.getCharacters()) {
-                character.passTime();
-            }
+            place.ageCharacters();
         }
+        characterAgeingCount++;
+        if (events != null) events.charactersAged();
+    }
 
-        this.ageFood();
+    /**
+     * Gets the number of times the characters were aged since the theater was created.
+     *
+     * @return The character ageing count.
+     */
+    public long getCharacterAgeingCount() {
+        return characterAgeingCount;
     }
 
+    /**
+     * Gets the number of times the food was aged since the theater was created.
+     *
+     * @return The food ageing count.
+     */
+    public long getFoodAgeingCount() {
+        return foodAgeingCount;
+    }
 
     /**
-     * Passes control to clan chiefs to manage their settlements.
+     * Closes the current tick.
+     * <p>
+     * Characters that died or turned into statues during the tick are moved to the
+     * tombstone segment of their place, and every {@link #getCompactionInterval()} ticks
+     * the tombstones are compacted into the archive, out of the rosters.
+     * Cauldrons finished by the {@link BrewingService}, if any, are handed back to their druids.
+     * </p>
+     *
+     * @return The number of characters moved to the tombstone segments during this tick.
      */
-    public void triggerChiefsLogic() {
-        if (this.places == null) return;
+    public int endTick() {
+        deliverBrews();
+        int casualties = 0;
+        for (Place place : places) {
+            casualties += place.sweepDead();
+        }
+        tick++;
+        if (tick % compactionInterval == 0) {
+            compactTombstones();
+        }
+        if (events != null) events.tickEnded(this);
+        return casualties;
+    }
 
-        for (Place place : this.places) {
-            // Only Settlements have chiefs logic
-            if (place instanceof Settlement) {
-                Settlement settlement = (Settlement) place;
+    /**
+     * Moves the tombstones of every place into the archive.
+     *
+     * @return The number of archived characters.
+     */
+    public int compactTombstones() {
+        int archived = 0;
+        for (Place place : places) {
+            List<Character> dead = place.drainTombstones();
+            archive.addAll(dead);
+            archived += dead.size();
+        }
+        return archived;
+    }
+
+    /**
+     * Gets the number of ticks completed so far.
+     *
+     * @return The current tick.
+     */
+    public long getTick() {
+        return tick;
+    }
 
-                // get the clan chief
-                Chief chief = settlement.getChief();
+    /**
+     * Restores the counters and the archive of a saved theater.
+     * <p>
+     * Used when loading a snapshot: places are added as usual, then this method puts back
+     * the progress of the run. The archived characters must already be registered.
+     * </p>
+     *
+     * @param tick               The number of completed ticks.
+     * @param rejectedCloneCount The number of clones refused so far.
+     * @param archived           The characters archived by tombstone compaction.
+     */
+    public void restoreState(long tick, long rejectedCloneCount, List<Character> archived) {
+        this.tick = tick;
+        this.rejectedCloneCount = rejectedCloneCount;
+        this.archive.clear();
+        this.archive.addAll(archived);
+    }
 
-                // if no chief, create one
-                if (chief == null) {
-                    chief = new Chief("Automated Chief", "MALE", 50, settlement);
-                }
+    /**
+     * Gets the number of ticks between two tombstone compactions.
+     *
+     * @return The compaction interval.
+     */
+    public int getCompactionInterval() {
+        return compactionInterval;
+    }
 
-                // generic chief methods
-                chief.healCharactersInLocation();
-                chief.feedCharactersInLocation();
+    /**
+     * Sets the number of ticks between two tombstone compactions.
+     *
+     * @param compactionInterval The new interval, at least 1.
+     * @throws IllegalArgumentException if the interval is lower than 1.
+     */
+    public void setCompactionInterval(int compactionInterval) {
+        if (compactionInterval < 1) {
+            throw new IllegalArgumentException("Compaction interval must be at least 1 tick.");
+        }
+        this.compactionInterval = compactionInterval;
+    }
 
-                // potions logic
-                if (place instanceof GaulVillage) {
-                    handleVillagePotions((GaulVillage) place, chief);
-                }
+    /**
+     * Gets the asynchronous brewing pipeline.
+     *
+     * @return The brewing service, or {@code null} if druids brew synchronously.
+     */
+    public BrewingService getBrewingService() {
+        return brewingService;
+    }
+
+    /**
+     * Sets the asynchronous brewing pipeline.
+     * <p>
+     * With a service, a village in need of potion submits a brew job and is served on a
+     * later tick, once the cauldron has been handed back by {@link #endTick()}.
+     * Without one ({@code null}, the default), the druid brews and serves within the same turn.
+     * </p>
+     *
+     * @param brewingService The brewing service, or {@code null} to brew synchronously.
+     */
+    public void setBrewingService(BrewingService brewingService) {
+        this.brewingService = brewingService;
+    }
+
+    /**
+     * Hands the cauldrons finished by the brewing service back to their druids.
+     *
+     * @return The number of delivered cauldrons.
+     */
+    public int deliverBrews() {
+        if (brewingService == null) return 0;
+        List<BrewingService.Brew> brews = brewingService.collectCompleted();
+        for (BrewingService.Brew brew : brews) {
+            brew.druid().receiveCauldron(brew.cauldron());
+            for (Place place : places) {
+                if (place.containsCharacter(brew.druid())) place.markDirty();
             }
+            if (events != null) events.potionBrewed(brew.druid());
+        }
+        return brews.size();
+    }
+
+    /**
+     * Returns a read-only view of the characters archived by tombstone compaction.
+     *
+     * @return The archived characters.
+     */
+    public List<Character> getArchive() {
+        return Collections.unmodifiableList(archive);
+    }
+
+
+    /**
+     * Assigns a policy to a specific chief.
+     *
+     * @param chief  The chief.
+     * @param policy The policy, or {@code null} to fall back to the default policy.
+     */
+    public void setChiefPolicy(Chief chief, ChiefPolicy policy) {
+        if (policy == null) {
+            chiefPolicies.remove(chief);
+        } else {
+            chiefPolicies.put(chief, policy);
+        }
+    }
+
+    /**
+     * Gets the policy driving a chief.
+     *
+     * @param chief The chief.
+     * @return The policy assigned to the chief, or the default policy.
+     */
+    public ChiefPolicy getChiefPolicy(Chief chief) {
+        return chiefPolicies.getOrDefault(chief, defaultChiefPolicy);
+    }
+
+    /**
+     * Gets the policy used by chiefs without an assigned policy.
+     *
+     * @return The default policy ({@link RuleBasedChiefPolicy} unless changed).
+     */
+    public ChiefPolicy getDefaultChiefPolicy() {
+        return defaultChiefPolicy;
+    }
+
+    /**
+     * Sets the policy used by chiefs without an assigned policy.
+     *
+     * @param policy The new default policy.
+     * @throws IllegalArgumentException if the policy is null.
+     */
+    public void setDefaultChiefPolicy(ChiefPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Default chief policy cannot be null.");
         }
+        this.defaultChiefPolicy = policy;
+    }
+
+    /**
+     * Gets the executor evaluating the chief policies.
+     *
+     * @return The executor, or {@code null} if policies are evaluated on the calling thread.
+     */
+    public ExecutorService getDecisionExecutor() {
+        return decisionExecutor;
+    }
+
+    /**
+     * Sets the executor evaluating the chief policies, one task per settlement.
+     * The theater does not shut the executor down.
+     *
+     * @param decisionExecutor The executor, or {@code null} to evaluate on the calling thread.
+     */
+    public void setDecisionExecutor(ExecutorService decisionExecutor) {
+        this.decisionExecutor = decisionExecutor;
     }
 
-    private void handleVillagePotions(GaulVillage village, Chief chief) {
-        Druid druid = null;
-        for (Character c : village.getCharacters()) {
-            if (c instanceof Druid) {
-                druid = (Druid) c;
-                break;
+    /**
+     * Captures an immutable copy of the current state of the theater.
+     *
+     * @return The snapshot.
+     */
+    public TheaterSnapshot snapshot() {
+        return TheaterSnapshot.capture(this);
+    }
+
+    /**
+     * Passes control to the clan chiefs to manage their settlements.
+     * <p>
+     * The policies of all settlement chiefs decide against the same {@link TheaterSnapshot},
+     * in parallel when a {@link #setDecisionExecutor(ExecutorService) decision executor} is set.
+     * Their commands are then applied on the calling thread in settlement order, so the
+     * outcome does not depend on which decision finishes first. A settlement without a chief
+     * is run by a temporary automated chief with the default policy.
+     * </p>
+     *
+     * @return The number of commands that had an effect.
+     */
+    public int playChiefTurns() {
+        TheaterSnapshot snapshot = snapshot();
+        List<TheaterSnapshot.ChiefView> views = snapshot.getChiefs();
+        List<Chief> chiefs = new ArrayList<>(views.size());
+        List<Callable<List<ChiefCommand>>> decisions = new ArrayList<>(views.size());
+        for (TheaterSnapshot.ChiefView view : views) {
+            Settlement settlement = (Settlement) registry.getPlace(view.settlementId());
+            Chief chief = settlement.getChief();
+
+            // if no chief, create one
+            if (chief == null) {
+                chief = new Chief("Automated Chief", "MALE", 50, settlement);
             }
+            ChiefPolicy policy = getChiefPolicy(chief);
+            chiefs.add(chief);
+            decisions.add(() -> policy.decide(view, snapshot));
         }
 
-        if (druid != null) {
-            boolean needPotion = false;
-            for (Character c : village.getCharacters()) {
-                if (c instanceof Gaul && c.isAlive() && c.getPotionLevel() == 0 && !(c instanceof Druid)) {
-                    needPotion = true;
-                    break;
+        List<List<ChiefCommand>> orders = evaluate(decisions);
+        int applied = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            for (ChiefCommand command : orders.get(i)) {
+                if (applyCommand(chiefs.get(i), command)) {
+                    applied++;
                 }
             }
+        }
+        return applied;
+    }
 
-            if (needPotion) {
-                System.out.println("Alert : Low potion ! Druid starts brewing...");
-                druid.concoctPotion();
-                Cauldron cauldron = druid.getCauldron();
-
-                if (cauldron != null) {
-                    List<Character> clonesToAdd = new ArrayList<>();
-                    List<Character> villagers = new ArrayList<>(village.getCharacters());
-
-                    for (Character c : villagers) {
-                        if (c instanceof Gaul && c.isAlive() && !(c instanceof Druid)) {
-                            String result = c.drinkPotionFromCauldron(cauldron);
-
-                            if ("DUPLICATE".equals(result)) {
-                                Character clone = createClone(c);
-                                if (clone != null) {
-                                    clonesToAdd.add(clone);
-                                    System.out.println("Clone well created : " + clone.getName());
-                                }
-                            }
-                        }
-                    }
-                    // Ajout des clones
-                    for (Character clone : clonesToAdd) {
-                        village.addCharacter(clone);
-                    }
+    /**
+     * Executes a command on behalf of a chief and reports the characters it changed.
+     * <p>
+     * Meant for commands given outside of {@link #playChiefTurns()}, e.g. by the user during
+     * the turn of a chief, so that they reach the listeners like the decided ones.
+     * </p>
+     *
+     * @param chief   The chief giving the order.
+     * @param command The command.
+     * @return {@code true} if the command had an effect.
+     */
+    public boolean applyCommand(Chief chief, ChiefCommand command) {
+        if (!command.apply(chief, this)) {
+            return false;
+        }
+        if (events != null && changesVitals(command)) {
+            reportChanged(chief.getLocation());
+        }
+        return true;
+    }
+
+    /**
+     * Sends the chief of a settlement to another place.
+     * <p>
+     * The location of a chief is saved with its settlement, which is marked dirty.
+     * </p>
+     *
+     * @param chief       The chief, responsible for one of the settlements of the theater.
+     * @param destination The new location of the chief.
+     * @throws IllegalArgumentException if the chief has no settlement in this theater.
+     */
+    public void moveChief(Chief chief, Place destination) {
+        Settlement settlement = settlementOf(chief);
+        if (settlement == null) {
+            throw new IllegalArgumentException("Chief " + chief.getName() + " has no settlement in this theater.");
+        }
+        chief.setLocation(destination);
+        settlement.markDirty();
+        if (events != null) events.chiefMoved(settlement, destination);
+    }
+
+    private Settlement settlementOf(Chief chief) {
+        for (Place place : places) {
+            if (place instanceof Settlement settlement && settlement.getChief() == chief) {
+                return settlement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Has a druid pick up the potion ingredients lying in a village and put them in its cauldron.
+     *
+     * @param druid   The druid.
+     * @param village The village.
+     * @return The number of gathered ingredients.
+     */
+    public int gatherIngredients(Druid druid, GaulVillage village) {
+        int count = druid.gatherIngredients(village);
+        if (count > 0 && events != null) events.cauldronChanged(village);
+        return count;
+    }
+
+    /**
+     * Brews the cauldron of a village with the ingredients it holds.
+     *
+     * @param village The village.
+     * @return {@code true} if the cauldron now holds a potion.
+     */
+    public boolean brewCauldron(GaulVillage village) {
+        boolean success = village.getCauldron().brew();
+        village.markDirty();
+        if (events != null) events.cauldronChanged(village);
+        return success;
+    }
+
+    /**
+     * Checks if a command changes the state of the characters of the chief's location.
+     * Potions are reported when served, transfers and recruits by the places themselves.
+     */
+    private static boolean changesVitals(ChiefCommand command) {
+        return command instanceof ChiefCommand.Feed || command instanceof ChiefCommand.Heal;
+    }
+
+    private void reportChanged(Place place) {
+        for (Character c : place.getAliveCharacters()) {
+            events.characterChanged(c);
+        }
+    }
+
+    /**
+     * Runs the decisions, on the decision executor if any, and returns them in submission order.
+     */
+    private List<List<ChiefCommand>> evaluate(List<Callable<List<ChiefCommand>>> decisions) {
+        List<List<ChiefCommand>> orders = new ArrayList<>(decisions.size());
+        try {
+            if (decisionExecutor == null || decisions.size() < 2) {
+                for (Callable<List<ChiefCommand>> decision : decisions) {
+                    orders.add(decision.call());
+                }
+            } else {
+                for (Future<List<ChiefCommand>> future : decisionExecutor.invokeAll(decisions)) {
+                    orders.add(future.get());
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (Exception e) {
+            throw propagate(e);
         }
+        return orders;
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) return runtime;
+        if (cause instanceof Error error) throw error;
+        return new IllegalStateException("Chief policy failed.", cause);
+    }
+
+    /**
+     * Runs a whole tick without any user interaction: fights, food generation,
+     * chief turns, hunger and tick closing.
+     *
+     * @return The number of casualties of the tick (see {@link #endTick()}).
+     */
+    public int step() {
+        handleFights();
+        generateFood();
+        playChiefTurns();
+        applyDailyHunger();
+        return endTick();
     }
 
     /**
-     * Creates a clone
+     * Has a druid brew the magic potion for its village and serve it to the warriors.
+     * <p>
+     * Without a {@link BrewingService} the chief orders the potion and it is served at once.
+     * With one, a brew job is submitted and the village is served on a later turn,
+     * once the cauldron has been handed back.
+     * </p>
+     *
+     * @param chief   The chief giving the order.
+     * @param village The village to supply, where the chief is.
+     * @param druid   The druid of the village.
      */
-    private Character createClone(Character original) {
-        if (original instanceof Gaul) {
-            return new Gaul(original.getName() + " (Clone)", original.getAge(), original.getHeight(),
-                    original.getStrength(), original.getStamina(), original.getGender()) {
-            };
-        } else if (original instanceof Roman) {
-            return new Roman(original.getName() + " (Clone)", original.getAge(), original.getHeight(),
-                    original.getStrength(), original.getStamina(), original.getGender()) {
-            };
+    public void supplyPotion(Chief chief, GaulVillage village, Druid druid) {
+        if (brewingService != null) {
+            Cauldron cauldron = druid.getCauldron();
+            if (cauldron != null && cauldron.getRemainingDoses() > 0) {
+                servePotion(chief, village, druid);
+            } else if (!brewingService.isPending(druid) && brewingService.submit(druid)) {
+                SimulationLog.warn(() -> "Alert : Low potion ! " + druid.getName() + " sends a brew to the cauldron workers...");
+            }
+            return;
         }
-        return null;
+        SimulationLog.warn(() -> "Alert : Low potion ! Druid starts brewing...");
+        chief.orderPotion(druid);
+        if (events != null) events.potionBrewed(druid);
+        if (druid.getCauldron() != null) {
+            servePotion(chief, village, druid);
+        }
+    }
+
+    private void servePotion(Chief chief, GaulVillage village, Druid druid) {
+        PotionDistribution distribution = chief.distributePotion(druid);
+        if (events != null) {
+            for (Character c : distribution.served()) {
+                events.characterChanged(c);
+            }
+            events.characterChanged(druid);
+        }
+        for (Character original : distribution.duplicated()) {
+            Character clone = original.duplicate();
+            if (village.admit(clone)) {
+                SimulationLog.info(() -> "Clone well created : " + clone.getName());
+            } else {
+                rejectedCloneCount++;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of clones refused since the start because their place was full.
+     *
+     * @return The rejected clone count.
+     */
+    public long getRejectedCloneCount() {
+        return rejectedCloneCount;
     }
 
     /**
@@ -198,7 +736,7 @@ public class InvasionTheater {
         for (Place place : this.places) {
             if (place instanceof Battlefield) {
                 Battlefield battlefield = (Battlefield) place;
-                List<Character> combatants = battlefield.getCharacters();
+                List<Character> combatants = battlefield.getAliveCharacters();
 
                 if (combatants.size() < 2) continue;
 
@@ -224,23 +762,52 @@ public class InvasionTheater {
                     Character gaul = gaulCamp.get(i);
                     Character roman = romanCamp.get(i);
                     gaul.resolveFight(roman);
-                }
-
-                List<Character> casualties = new ArrayList<>();
-                for (Character c : combatants) {
-                    if (!c.isAlive()) {
-                        casualties.add(c);
+                    battlefield.markDirty();
+                    if (events != null) {
+                        events.characterChanged(gaul);
+                        events.characterChanged(roman);
                     }
                 }
 
-                for (Character dead : casualties) {
-                    System.out.println("✝️ " + dead.getName() + " has fallen at " + battlefield.getName());
-                    battlefield.removeCharacter(dead);
+                battlefield.sweepDead();
+                List<Character> fallen = battlefield.drainTombstones();
+                archive.addAll(fallen);
+                for (Character dead : fallen) {
+                    SimulationLog.info(() -> "✝️ " + dead.getName() + " has fallen at " + battlefield.getName());
+                    if (events != null) events.characterArchived(battlefield, dead);
                 }
             }
         }
     }
 
+    /**
+     * Takes a fallen character out of its place and archives it at once, without waiting
+     * for the next compaction. The place is swept first.
+     * <p>
+     * Meant to replay a {@link SimulationEventListener#characterArchived} event; the fights
+     * archive all the fallen of a battlefield in one pass instead.
+     * </p>
+     *
+     * @param place The place the character fell in.
+     * @param dead  The character, which must be dead or a statue.
+     */
+    public void archiveFallen(Place place, Character dead) {
+        place.sweepDead();
+        // after a sweep, every dead character of the place is a tombstone
+        if (dead.isAlive() || !place.containsCharacter(dead)) {
+            throw new IllegalArgumentException(dead.getName() + " is not a tombstone of " + place.getName());
+        }
+        SimulationEventListener muted = events;
+        place.setEventListener(null);
+        try {
+            place.removeCharacter(dead);
+        } finally {
+            place.setEventListener(muted);
+        }
+        archive.add(dead);
+        if (events != null) events.characterArchived(place, dead);
+    }
+
     /**
      * Generates food in every eligible location at every turn.
      */
@@ -255,7 +822,7 @@ public class InvasionTheater {
             Food newFood = FoodFactory.createRandomFood();
             place.addFood(newFood);
 
-            System.out.println("   -> 🍎 (Guaranteed) A " + newFood.getName() + " appeared in " + place.getName());
+            SimulationLog.debug(() -> "   -> 🍎 (Guaranteed) A " + newFood.getName() + " appeared in " + place.getName());
         }
     }
 
@@ -266,12 +833,10 @@ public class InvasionTheater {
         if (places == null) return;
 
         for (Place place : places) {
-            for (Food food : place.getFoods()) {
-                if (food instanceof PerishableFood) {
-                    ((PerishableFood) food).passTime();
-                }
-            }
+            place.ageFood();
         }
+        foodAgeingCount++;
+        if (events != null) events.foodAged();
     }
     /**
      * Returns a string representation of the entire theater state.
@@ -333,4 +898,75 @@ public class InvasionTheater {
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Forwards every event to the listeners of the theater, in registration order.
+     */
+    private static final class Dispatcher implements SimulationEventListener {
+        private final List<SimulationEventListener> targets;
+
+        Dispatcher(List<SimulationEventListener> targets) {
+            this.targets = targets;
+        }
+
+        @Override
+        public void characterEntered(Place place, Character character) {
+            for (SimulationEventListener l : targets) l.characterEntered(place, character);
+        }
+
+        @Override
+        public void characterLeft(Place place, Character character) {
+            for (SimulationEventListener l : targets) l.characterLeft(place, character);
+        }
+
+        @Override
+        public void characterChanged(Character character) {
+            for (SimulationEventListener l : targets) l.characterChanged(character);
+        }
+
+        @Override
+        public void characterArchived(Place place, Character character) {
+            for (SimulationEventListener l : targets) l.characterArchived(place, character);
+        }
+
+        @Override
+        public void foodAdded(Place place, Food food) {
+            for (SimulationEventListener l : targets) l.foodAdded(place, food);
+        }
+
+        @Override
+        public void foodRemoved(Place place, Food food) {
+            for (SimulationEventListener l : targets) l.foodRemoved(place, food);
+        }
+
+        @Override
+        public void potionBrewed(Druid druid) {
+            for (SimulationEventListener l : targets) l.potionBrewed(druid);
+        }
+
+        @Override
+        public void chiefMoved(Settlement settlement, Place destination) {
+            for (SimulationEventListener l : targets) l.chiefMoved(settlement, destination);
+        }
+
+        @Override
+        public void cauldronChanged(GaulVillage village) {
+            for (SimulationEventListener l : targets) l.cauldronChanged(village);
+        }
+
+        @Override
+        public void charactersAged() {
+            for (SimulationEventListener l : targets) l.charactersAged();
+        }
+
+        @Override
+        public void foodAged() {
+            for (SimulationEventListener l : targets) l.foodAged();
+        }
+
+        @Override
+        public void tickEnded(InvasionTheater theater) {
+            for (SimulationEventListener l : targets) l.tickEnded(theater);
+        }
+    }
+}
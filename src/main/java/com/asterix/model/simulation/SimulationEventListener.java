@@ -0,0 +1,114 @@
+package com.asterix.model.simulation;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.item.Food;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.Settlement;
+
+/**
+ * Receives the domain events of a running simulation.
+ * <p>
+ * Events are sent on the thread that changes the theater, as the change happens.
+ * Roster and pantry events come from the places themselves, so they are also sent for
+ * changes made outside of a tick (e.g. by the user); the other events are sent by the
+ * {@link InvasionTheater}. All methods do nothing by default.
+ * </p>
+ * <p>
+ * The events are enough to replay a run from a snapshot: births and moves carry the whole
+ * character, vital changes (fights, meals, healing, potion, deaths) carry the character
+ * whose state must be read again, the chief moves and village cauldrons changed by the user
+ * carry their new state, and the deterministic phases of a tick (ageing, sweeping,
+ * compaction) are reported as a single event.
+ * </p>
+ */
+public interface SimulationEventListener {
+
+    /**
+     * A character was added to a place: recruit, clone, or arrival after a transfer.
+     *
+     * @param place     The place.
+     * @param character The character.
+     */
+    default void characterEntered(Place place, Character character) { }
+
+    /**
+     * A character was removed from a place, usually to be transferred.
+     *
+     * @param place     The place.
+     * @param character The character.
+     */
+    default void characterLeft(Place place, Character character) { }
+
+    /**
+     * The state of a character changed: fight, meal, healing, potion, death.
+     *
+     * @param character The character, holding its new state.
+     */
+    default void characterChanged(Character character) { }
+
+    /**
+     * A fallen character was archived straight from its place, outside of tombstone compaction.
+     *
+     * @param place     The place it fell in.
+     * @param character The character.
+     */
+    default void characterArchived(Place place, Character character) { }
+
+    /**
+     * A food item appeared in a place.
+     *
+     * @param place The place.
+     * @param food  The food item, already registered.
+     */
+    default void foodAdded(Place place, Food food) { }
+
+    /**
+     * A food item left a place: eaten, or taken for a cauldron.
+     *
+     * @param place The place.
+     * @param food  The food item, still carrying its id.
+     */
+    default void foodRemoved(Place place, Food food) { }
+
+    /**
+     * A druid received a newly brewed cauldron.
+     *
+     * @param druid The druid, holding the cauldron.
+     */
+    default void potionBrewed(Druid druid) { }
+
+    /**
+     * The chief of a settlement travelled to another place (see {@link InvasionTheater#moveChief}).
+     *
+     * @param settlement  The settlement the chief is responsible for.
+     * @param destination The new location of the chief.
+     */
+    default void chiefMoved(Settlement settlement, Place destination) { }
+
+    /**
+     * The cauldron of a village was filled or brewed
+     * (see {@link InvasionTheater#gatherIngredients} and {@link InvasionTheater#brewCauldron}).
+     *
+     * @param village The village, holding the cauldron.
+     */
+    default void cauldronChanged(GaulVillage village) { }
+
+    /**
+     * The living characters of every place got hungrier (see {@link InvasionTheater#ageCharacters()}).
+     */
+    default void charactersAged() { }
+
+    /**
+     * The perishable food of every place aged (see {@link InvasionTheater#ageFood()}).
+     */
+    default void foodAged() { }
+
+    /**
+     * A tick was closed (see {@link InvasionTheater#endTick()}).
+     *
+     * @param theater The theater, whose tick counter has just been incremented.
+     */
+    default void tickEnded(InvasionTheater theater) { }
+}
@@ -0,0 +1,360 @@
+package com.asterix.model.simulation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Leveled, asynchronous log of the simulation.
+ * <p>
+ * Domain methods log through the static {@link #debug(Supplier)}, {@link #info(Supplier)} and
+ * {@link #warn(Supplier)} methods of the {@link #global() global log}. The message is a
+ * {@link Supplier}: it is only built, on the calling thread, when its level is enabled, so a
+ * disabled message costs a single volatile read. The {@link Level#SILENT} level disables
+ * every message, for batch runs.
+ * </p>
+ * <p>
+ * Built messages go into a bounded lock-free ring buffer (several producers, one consumer).
+ * A daemon thread drains it and hands the entries to the sinks, so the simulation never
+ * waits on a {@link java.io.PrintStream}. When the ring is full the message is dropped and
+ * counted (see {@link #getDroppedCount()}) rather than blocking the simulation.
+ * </p>
+ */
+public final class SimulationLog implements AutoCloseable {
+
+    /**
+     * Severity of a message. A log emits the messages whose level is at least its own.
+     */
+    public enum Level {
+        /** Per-character detail: meals, attacks, doses. */
+        DEBUG,
+        /** Events of the run: brews, deaths, clones, orders. */
+        INFO,
+        /** Something did not go as planned: no food, low potion, refused move. */
+        WARN,
+        /** Threshold only: no message is emitted. */
+        SILENT
+    }
+
+    /**
+     * A message waiting in the log or handed to a sink.
+     *
+     * @param sequence   The position of the message since the log was created.
+     * @param timeMillis The time the message was logged.
+     * @param level      The level.
+     * @param message    The message.
+     */
+    public record Entry(long sequence, long timeMillis, Level level, String message) { }
+
+    /** Default capacity of the ring buffer. */
+    public static final int DEFAULT_CAPACITY = 8192;
+    /** Default level of the global log. */
+    public static final Level DEFAULT_LEVEL = Level.INFO;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final SimulationLog GLOBAL = new SimulationLog(DEFAULT_CAPACITY, DEFAULT_LEVEL);
+
+    static {
+        GLOBAL.addSink(entry -> System.out.println(entry.message()));
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Entry> slots;
+    /** Vyukov sequences: {@code position} when a slot is free, {@code position + 1} once published. */
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    /** Next position to drain; only touched by the drain thread. */
+    private long head;
+
+    private final List<Consumer<Entry>> sinks = new CopyOnWriteArrayList<>();
+    private final Thread drainer;
+    private volatile boolean drainerParked;
+    private volatile boolean closed;
+    private volatile int threshold;
+
+    private final AtomicLong drainedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Creates a log and starts its drain thread.
+     *
+     * @param capacity The number of messages the ring buffer holds, rounded up to a power of two.
+     * @param level    The initial level.
+     * @throws IllegalArgumentException if the capacity is lower than 2.
+     */
+    public SimulationLog(int capacity, Level level) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Log capacity must be between 2 and 2^30 messages.");
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        setLevel(level);
+        this.drainer = new Thread(this::drainLoop, "simulation-log");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Returns the log used by the domain classes. It prints to the console at
+     * {@link #DEFAULT_LEVEL} until told otherwise.
+     *
+     * @return The global log.
+     */
+    public static SimulationLog global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Logs a detail message on the global log.
+     *
+     * @param message Builds the message, only called if {@link Level#DEBUG} is enabled.
+     */
+    public static void debug(Supplier<String> message) {
+        GLOBAL.log(Level.DEBUG, message);
+    }
+
+    /**
+     * Logs an event message on the global log.
+     *
+     * @param message Builds the message, only called if {@link Level#INFO} is enabled.
+     */
+    public static void info(Supplier<String> message) {
+        GLOBAL.log(Level.INFO, message);
+    }
+
+    /**
+     * Logs a warning on the global log.
+     *
+     * @param message Builds the message, only called if {@link Level#WARN} is enabled.
+     */
+    public static void warn(Supplier<String> message) {
+        GLOBAL.log(Level.WARN, message);
+    }
+
+    /**
+     * Tells whether messages of a level are emitted, to guard code that prepares a message.
+     *
+     * @param level The level of the message.
+     * @return {@code true} if the message would be emitted.
+     */
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold && level != Level.SILENT;
+    }
+
+    /**
+     * Logs a message if its level is enabled.
+     *
+     * @param level   The level of the message.
+     * @param message Builds the message, only called if the level is enabled.
+     * @return {@code true} if the message was queued, {@code false} if disabled or dropped.
+     */
+    public boolean log(Level level, Supplier<String> message) {
+        if (level.ordinal() < threshold || level == Level.SILENT) {
+            return false;
+        }
+        return offer(level, message.get());
+    }
+
+    /**
+     * Logs a message already built, if its level is enabled.
+     *
+     * @param level   The level of the message.
+     * @param message The message.
+     * @return {@code true} if the message was queued, {@code false} if disabled or dropped.
+     */
+    public boolean log(Level level, String message) {
+        if (level.ordinal() < threshold || level == Level.SILENT) {
+            return false;
+        }
+        return offer(level, message);
+    }
+
+    private boolean offer(Level level, String message) {
+        if (closed) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, new Entry(position, System.currentTimeMillis(), level, message));
+                    sequences.set(index, position + 1);
+                    if (drainerParked) {
+                        LockSupport.unpark(drainer);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the slot still holds a message of the previous lap: the ring is full
+                droppedCount.incrementAndGet();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // --- Draining ---
+
+    private void drainLoop() {
+        while (true) {
+            int drained = drainAvailable();
+            if (drained > 0) {
+                synchronized (this) {
+                    notifyAll();
+                }
+                continue;
+            }
+            if (closed) {
+                return;
+            }
+            drainerParked = true;
+            if (!hasPublished()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            drainerParked = false;
+        }
+    }
+
+    private boolean hasPublished() {
+        return sequences.get((int) (head & mask)) == head + 1;
+    }
+
+    private int drainAvailable() {
+        int drained = 0;
+        while (hasPublished()) {
+            int index = (int) (head & mask);
+            Entry entry = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, head + capacity);
+            head++;
+            for (Consumer<Entry> sink : sinks) {
+                try {
+                    sink.accept(entry);
+                } catch (RuntimeException e) {
+                    // a failing sink must not stop the others, nor the drain thread
+                }
+            }
+            drainedCount.incrementAndGet();
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Waits until every message logged before the call has been handed to the sinks.
+     *
+     * @param timeoutMillis The maximum time to wait, in milliseconds.
+     * @return {@code true} if the messages were drained, {@code false} on timeout.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public synchronized boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long target = tail.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (drainedCount.get() < target) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.unpark(drainer);
+            wait(Math.min(remaining, 10));
+        }
+        return true;
+    }
+
+    /**
+     * Drains the messages already queued, then stops the drain thread. Later messages are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Configuration and metrics ---
+
+    /**
+     * Adds a receiver of the drained messages. Sinks are called on the drain thread, in order.
+     *
+     * @param sink The sink.
+     */
+    public void addSink(Consumer<Entry> sink) {
+        sinks.add(sink);
+    }
+
+    /**
+     * Removes a sink.
+     *
+     * @param sink The sink to remove.
+     */
+    public void removeSink(Consumer<Entry> sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Gets the lowest level emitted.
+     *
+     * @return The level.
+     */
+    public Level getLevel() {
+        return Level.values()[threshold];
+    }
+
+    /**
+     * Sets the lowest level emitted; {@link Level#SILENT} disables every message.
+     *
+     * @param level The level.
+     */
+    public void setLevel(Level level) {
+        this.threshold = level.ordinal();
+    }
+
+    /**
+     * Gets the capacity of the ring buffer.
+     *
+     * @return The number of messages it holds.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of messages handed to the sinks.
+     *
+     * @return The drained count.
+     */
+    public long getDrainedCount() {
+        return drainedCount.get();
+    }
+
+    /**
+     * Gets the number of enabled messages lost because the ring was full or the log closed.
+     *
+     * @return The dropped count.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,184 @@
+package com.asterix.model.simulation;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.gaul.Gaul;
+import com.asterix.model.character.roman.Roman;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.GalloRomanTown;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.PlaceType;
+import com.asterix.model.place.RomanCamp;
+import com.asterix.model.place.Settlement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable copy of the state of an {@link InvasionTheater} at the start of the chiefs' turns.
+ * <p>
+ * Chief policies read the snapshot instead of the live model, so they can be evaluated
+ * concurrently while nothing is mutated: every view is a record of primitive values and
+ * ids, and every list is unmodifiable. The decisions are then applied to the live model
+ * on the simulation thread (see {@link InvasionTheater#playChiefTurns()}).
+ * </p>
+ */
+public final class TheaterSnapshot {
+
+    /**
+     * State of one living character.
+     *
+     * @param id          The theater id of the character.
+     * @param name        The name.
+     * @param gaul        {@code true} for Gauls (druids included).
+     * @param roman       {@code true} for Romans.
+     * @param druid       {@code true} for druids.
+     * @param health      The health points.
+     * @param hunger      The hunger level.
+     * @param potionLevel The magic potion level.
+     * @param strength    The strength.
+     * @param stamina     The stamina.
+     */
+    public record CharacterView(int id, String name, boolean gaul, boolean roman, boolean druid,
+                                double health, double hunger, double potionLevel,
+                                double strength, double stamina) {}
+
+    /**
+     * State of one place.
+     *
+     * @param id         The theater id of the place.
+     * @param name       The name.
+     * @param type       The kind of place.
+     * @param characters The living characters, in roster order.
+     * @param foods      The type of each food item of the pantry, in pantry order.
+     */
+    public record PlaceView(int id, String name, PlaceType type,
+                            List<CharacterView> characters, List<FoodType> foods) {
+
+        /**
+         * Checks if this place is managed by a chief.
+         *
+         * @return {@code true} for settlements.
+         */
+        public boolean isSettlement() {
+            return type != PlaceType.BATTLEFIELD && type != PlaceType.CREATURE_ENCLOSURE;
+        }
+    }
+
+    /**
+     * A chief to play during this tick.
+     *
+     * @param settlementId The theater id of the settlement the chief is responsible for.
+     * @param name         The name of the chief.
+     * @param locationId   The theater id of the place where the chief stands.
+     * @param automated    {@code true} if the settlement has no chief and is run by a temporary one.
+     */
+    public record ChiefView(int settlementId, String name, int locationId, boolean automated) {}
+
+    private final long tick;
+    private final List<PlaceView> places;
+    private final PlaceView[] placesById;
+    private final List<ChiefView> chiefs;
+
+    private TheaterSnapshot(long tick, List<PlaceView> places, List<ChiefView> chiefs) {
+        this.tick = tick;
+        this.places = List.copyOf(places);
+        this.chiefs = List.copyOf(chiefs);
+        int maxId = -1;
+        for (PlaceView place : places) {
+            maxId = Math.max(maxId, place.id());
+        }
+        this.placesById = new PlaceView[maxId + 1];
+        for (PlaceView place : places) {
+            if (place.id() >= 0) placesById[place.id()] = place;
+        }
+    }
+
+    /**
+     * Captures the current state of a theater.
+     *
+     * @param theater The theater to copy.
+     * @return The snapshot.
+     */
+    public static TheaterSnapshot capture(InvasionTheater theater) {
+        List<PlaceView> places = new ArrayList<>();
+        List<ChiefView> chiefs = new ArrayList<>();
+        for (Place place : theater.getPlaces()) {
+            List<CharacterView> characters = new ArrayList<>(place.getAliveCharacters().size());
+            for (Character c : place.getAliveCharacters()) {
+                characters.add(new CharacterView(c.getId(), c.getName(),
+                        c instanceof Gaul, c instanceof Roman, c instanceof Druid,
+                        c.getHealth(), c.getHunger(), c.getPotionLevel(), c.getStrength(), c.getStamina()));
+            }
+            List<FoodType> foods = new ArrayList<>(place.getFoods().size());
+            for (Food food : place.getFoods()) {
+                foods.add(food.getFoodType());
+            }
+            places.add(new PlaceView(place.getId(), place.getName(), typeOf(place),
+                    List.copyOf(characters), List.copyOf(foods)));
+
+            if (place instanceof Settlement settlement) {
+                Chief chief = settlement.getChief();
+                if (chief == null) {
+                    chiefs.add(new ChiefView(place.getId(), "Automated Chief", place.getId(), true));
+                } else {
+                    Place location = chief.getLocation();
+                    chiefs.add(new ChiefView(place.getId(), chief.getName(),
+                            location == null ? EntityRegistry.UNASSIGNED_ID : location.getId(), false));
+                }
+            }
+        }
+        return new TheaterSnapshot(theater.getTick(), places, chiefs);
+    }
+
+    private static PlaceType typeOf(Place place) {
+        if (place instanceof GaulVillage) return PlaceType.GAUL_VILLAGE;
+        if (place instanceof RomanCamp) return PlaceType.ROMAN_CAMP;
+        if (place instanceof GalloRomanTown) return PlaceType.GALLO_ROMAN_TOWN;
+        if (place instanceof Battlefield) return PlaceType.BATTLEFIELD;
+        if (place instanceof Settlement) return PlaceType.ROMAN_CITY;
+        return PlaceType.CREATURE_ENCLOSURE;
+    }
+
+    /**
+     * Gets the tick the snapshot was taken at.
+     *
+     * @return The tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets every place, in theater order.
+     *
+     * @return The places.
+     */
+    public List<PlaceView> getPlaces() {
+        return places;
+    }
+
+    /**
+     * Finds a place by id.
+     *
+     * @param id The theater id of the place.
+     * @return The place, or {@code null} if unknown.
+     */
+    public PlaceView getPlace(int id) {
+        return (id >= 0 && id < placesById.length) ? placesById[id] : null;
+    }
+
+    /**
+     * Gets the chief of every settlement, in theater order. This is the order in which
+     * their decisions are applied.
+     *
+     * @return The chiefs.
+     */
+    public List<ChiefView> getChiefs() {
+        return chiefs;
+    }
+}
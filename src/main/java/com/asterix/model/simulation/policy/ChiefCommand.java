@@ -0,0 +1,162 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.CharacterFactory;
+import com.asterix.model.character.CharacterType;
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+
+/**
+ * An action decided by a {@link ChiefPolicy} for one Clan Chief.
+ * <p>
+ * Each command drives one of the existing {@link Chief} actions (feed, heal, order potion,
+ * transfer, recruit). Characters and places are referenced by their theater id rather than
+ * by object, so a decision can be taken on one thread and applied later on the simulation
+ * thread. A command whose target no longer exists is ignored when applied.
+ * </p>
+ */
+public sealed interface ChiefCommand
+        permits ChiefCommand.Feed, ChiefCommand.Heal, ChiefCommand.OrderPotion,
+                ChiefCommand.Transfer, ChiefCommand.Recruit {
+
+    /**
+     * Executes the command on behalf of a chief.
+     *
+     * @param chief   The chief giving the order.
+     * @param theater The theater the chief belongs to.
+     * @return {@code true} if the command had an effect, {@code false} if it was ignored.
+     */
+    boolean apply(Chief chief, InvasionTheater theater);
+
+    /**
+     * Feeds the characters of the chief's location.
+     *
+     * @return The command.
+     */
+    static ChiefCommand feed() {
+        return new Feed();
+    }
+
+    /**
+     * Heals the characters of the chief's location.
+     *
+     * @return The command.
+     */
+    static ChiefCommand heal() {
+        return new Heal();
+    }
+
+    /**
+     * Orders a druid of the chief's village to brew and serve the magic potion.
+     *
+     * @param druidId The theater id of the druid.
+     * @return The command.
+     */
+    static ChiefCommand orderPotion(int druidId) {
+        return new OrderPotion(druidId);
+    }
+
+    /**
+     * Moves a character of the chief's location to another place.
+     *
+     * @param characterId   The theater id of the character.
+     * @param destinationId The theater id of the destination place.
+     * @return The command.
+     */
+    static ChiefCommand transfer(int characterId, int destinationId) {
+        return new Transfer(characterId, destinationId);
+    }
+
+    /**
+     * Recruits a new character in the chief's location.
+     *
+     * @param type The kind of character.
+     * @param name The name of the recruit.
+     * @param age  The age of the recruit.
+     * @return The command.
+     */
+    static ChiefCommand recruit(CharacterType type, String name, int age) {
+        return new Recruit(type, name, age);
+    }
+
+    /**
+     * See {@link #feed()}.
+     */
+    record Feed() implements ChiefCommand {
+        @Override
+        public boolean apply(Chief chief, InvasionTheater theater) {
+            if (chief.getLocation() == null) return false;
+            chief.feedCharactersInLocation();
+            return true;
+        }
+    }
+
+    /**
+     * See {@link #heal()}.
+     */
+    record Heal() implements ChiefCommand {
+        @Override
+        public boolean apply(Chief chief, InvasionTheater theater) {
+            if (chief.getLocation() == null) return false;
+            chief.healCharactersInLocation();
+            return true;
+        }
+    }
+
+    /**
+     * See {@link #orderPotion(int)}.
+     *
+     * @param druidId The theater id of the druid.
+     */
+    record OrderPotion(int druidId) implements ChiefCommand {
+        @Override
+        public boolean apply(Chief chief, InvasionTheater theater) {
+            if (!(chief.getLocation() instanceof GaulVillage village)) return false;
+            if (!(theater.getCharacterById(druidId) instanceof Druid druid)) return false;
+            if (!village.containsCharacter(druid) || !druid.isAlive()) return false;
+            theater.supplyPotion(chief, village, druid);
+            return true;
+        }
+    }
+
+    /**
+     * See {@link #transfer(int, int)}.
+     *
+     * @param characterId   The theater id of the character.
+     * @param destinationId The theater id of the destination place.
+     */
+    record Transfer(int characterId, int destinationId) implements ChiefCommand {
+        @Override
+        public boolean apply(Chief chief, InvasionTheater theater) {
+            Place source = chief.getLocation();
+            Character target = theater.getCharacterById(characterId);
+            Place destination = theater.getPlaceById(destinationId);
+            if (source == null || target == null || destination == null || destination == source) return false;
+            if (!source.containsCharacter(target) || !destination.canEnter(target)) return false;
+            chief.transferCharacter(target, destination);
+            return true;
+        }
+    }
+
+    /**
+     * See {@link #recruit(CharacterType, String, int)}.
+     *
+     * @param type The kind of character.
+     * @param name The name of the recruit.
+     * @param age  The age of the recruit.
+     */
+    record Recruit(CharacterType type, String name, int age) implements ChiefCommand {
+        @Override
+        public boolean apply(Chief chief, InvasionTheater theater) {
+            Place place = chief.getLocation();
+            if (place == null) return false;
+            Character recruit = CharacterFactory.createCharacter(type, name, age);
+            if (!place.canEnter(recruit)) return false;
+            chief.recruitCharacter(recruit);
+            return true;
+        }
+    }
+}
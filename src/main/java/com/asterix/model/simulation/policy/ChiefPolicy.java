@@ -0,0 +1,32 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.TheaterSnapshot;
+
+import java.util.List;
+
+/**
+ * Strategy deciding what a Clan Chief does during its turn.
+ * <p>
+ * The theater asks the policy of every chief for a list of {@link ChiefCommand}s once per
+ * tick (see {@link InvasionTheater#playChiefTurns()}) and applies them in order. Policies
+ * can be assigned per chief, so human-driven, scripted and automated chiefs can share a
+ * theater; a headless run simply uses no human policy and never blocks.
+ * </p>
+ * <p>
+ * Policies only read the immutable {@link TheaterSnapshot} and may be evaluated on several
+ * threads at once; a policy instance shared by several chiefs must therefore be thread-safe.
+ * </p>
+ */
+@FunctionalInterface
+public interface ChiefPolicy {
+
+    /**
+     * Decides the commands of a chief for the current tick.
+     *
+     * @param chief    The chief whose turn it is.
+     * @param snapshot The state of the theater at the start of the turns.
+     * @return The commands to apply, in order (possibly empty, never {@code null}).
+     */
+    List<ChiefCommand> decide(TheaterSnapshot.ChiefView chief, TheaterSnapshot snapshot);
+}
@@ -0,0 +1,387 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.place.PlaceType;
+import com.asterix.model.simulation.TheaterSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Abstract, cheaply forkable copy of the part of the world a chief cares about,
+ * used by {@link MctsChiefPolicy} to play turns ahead.
+ * <p>
+ * The model holds the units of the chief's location and of every battlefield as flat
+ * arrays, and replays the rules of the engine at a coarse grain: one chief order per turn,
+ * pairwise fights on battlefields (a Gaul hits its Roman opponent for {@value #FIGHT_DAMAGE}
+ * points), hunger and potion decay, and one new food item per turn at home.
+ * Forking only copies the mutable arrays.
+ * </p>
+ */
+final class ForwardModel {
+
+    static final int IDLE = 0;
+    static final int FEED = 1;
+    static final int HEAL = 2;
+    static final int ORDER_POTION = 3;
+    /** Action {@code FIRST_SEND + b} sends the strongest available warrior to battlefield {@code b}. */
+    static final int FIRST_SEND = 4;
+
+    static final double FIGHT_DAMAGE = 5.0;
+    private static final double HUNGER_PER_TURN = 2.0;
+    private static final double POTION_DECAY = 0.5;
+    private static final int POTION_DOSES = 10;
+    /** Hunger level considered as fully starving by the evaluation. */
+    private static final double HUNGER_SCALE = 50.0;
+
+    private static final int HOME = 0;
+
+    // Immutable per-unit data, shared between forks.
+    private final int[] ids;
+    private final boolean[] gaul;
+    private final boolean[] friendly;
+    private final boolean[] druid;
+    private final double[] strength;
+    private final int[] battlefieldIds;
+    private final String[] battlefieldNames;
+    private final boolean village;
+    private final boolean friendlyGaul;
+    private final double initialEnemyHealth;
+    private final int friendlyCount;
+
+    // Mutable state, copied on fork.
+    private final double[] health;
+    private final double[] hunger;
+    private final double[] potion;
+    /** {@link #HOME} or {@code 1 + battlefield index}. */
+    private final int[] location;
+    private int homeFood;
+
+    private ForwardModel(int[] ids, boolean[] gaul, boolean[] friendly, boolean[] druid, double[] strength,
+                         int[] battlefieldIds, String[] battlefieldNames, boolean village, boolean friendlyGaul,
+                         double[] health, double[] hunger, double[] potion, int[] location, int homeFood) {
+        this.ids = ids;
+        this.gaul = gaul;
+        this.friendly = friendly;
+        this.druid = druid;
+        this.strength = strength;
+        this.battlefieldIds = battlefieldIds;
+        this.battlefieldNames = battlefieldNames;
+        this.village = village;
+        this.friendlyGaul = friendlyGaul;
+        this.health = health;
+        this.hunger = hunger;
+        this.potion = potion;
+        this.location = location;
+        this.homeFood = homeFood;
+        double enemyHealth = 0;
+        int friends = 0;
+        for (int u = 0; u < ids.length; u++) {
+            if (friendly[u]) friends++;
+            else if (isEnemy(u)) enemyHealth += Math.max(0, health[u]);
+        }
+        this.initialEnemyHealth = enemyHealth;
+        this.friendlyCount = friends;
+    }
+
+    private ForwardModel(ForwardModel source) {
+        this.ids = source.ids;
+        this.gaul = source.gaul;
+        this.friendly = source.friendly;
+        this.druid = source.druid;
+        this.strength = source.strength;
+        this.battlefieldIds = source.battlefieldIds;
+        this.battlefieldNames = source.battlefieldNames;
+        this.village = source.village;
+        this.friendlyGaul = source.friendlyGaul;
+        this.initialEnemyHealth = source.initialEnemyHealth;
+        this.friendlyCount = source.friendlyCount;
+        this.health = source.health.clone();
+        this.hunger = source.hunger.clone();
+        this.potion = source.potion.clone();
+        this.location = source.location.clone();
+        this.homeFood = source.homeFood;
+    }
+
+    /**
+     * Builds the model of a chief's situation.
+     *
+     * @param snapshot The theater snapshot.
+     * @param chief    The chief to plan for.
+     * @return The model, or {@code null} if the chief stands nowhere.
+     */
+    static ForwardModel from(TheaterSnapshot snapshot, TheaterSnapshot.ChiefView chief) {
+        TheaterSnapshot.PlaceView home = snapshot.getPlace(chief.locationId());
+        if (home == null) return null;
+
+        List<TheaterSnapshot.PlaceView> battlefields = new ArrayList<>();
+        for (TheaterSnapshot.PlaceView place : snapshot.getPlaces()) {
+            if (place.type() == PlaceType.BATTLEFIELD && place != home) {
+                battlefields.add(place);
+            }
+        }
+
+        List<TheaterSnapshot.CharacterView> units = new ArrayList<>();
+        List<Integer> locations = new ArrayList<>();
+        int homeGauls = 0;
+        for (TheaterSnapshot.CharacterView c : home.characters()) {
+            units.add(c);
+            locations.add(HOME);
+            if (c.gaul()) homeGauls++;
+        }
+        int homeCount = units.size();
+        for (int b = 0; b < battlefields.size(); b++) {
+            for (TheaterSnapshot.CharacterView c : battlefields.get(b).characters()) {
+                if (c.gaul() || c.roman()) {
+                    units.add(c);
+                    locations.add(1 + b);
+                }
+            }
+        }
+
+        int n = units.size();
+        int[] ids = new int[n];
+        boolean[] gaul = new boolean[n];
+        boolean[] friendly = new boolean[n];
+        boolean[] druid = new boolean[n];
+        double[] strength = new double[n];
+        double[] health = new double[n];
+        double[] hunger = new double[n];
+        double[] potion = new double[n];
+        int[] location = new int[n];
+        for (int u = 0; u < n; u++) {
+            TheaterSnapshot.CharacterView c = units.get(u);
+            ids[u] = c.id();
+            gaul[u] = c.gaul();
+            friendly[u] = u < homeCount;
+            druid[u] = c.druid();
+            strength[u] = c.strength() * (1 + c.potionLevel());
+            health[u] = c.health();
+            hunger[u] = c.hunger();
+            potion[u] = c.potionLevel();
+            location[u] = locations.get(u);
+        }
+        int[] battlefieldIds = new int[battlefields.size()];
+        String[] battlefieldNames = new String[battlefields.size()];
+        for (int b = 0; b < battlefields.size(); b++) {
+            battlefieldIds[b] = battlefields.get(b).id();
+            battlefieldNames[b] = battlefields.get(b).name();
+        }
+        boolean village = home.type() == PlaceType.GAUL_VILLAGE;
+        boolean friendlyGaul = village || homeGauls * 2 > homeCount;
+        return new ForwardModel(ids, gaul, friendly, druid, strength, battlefieldIds, battlefieldNames,
+                village, friendlyGaul, health, hunger, potion, location, home.foods().size());
+    }
+
+    /**
+     * Creates an independent copy of the mutable state.
+     *
+     * @return The fork.
+     */
+    ForwardModel fork() {
+        return new ForwardModel(this);
+    }
+
+    /**
+     * Gets the number of action ids (legal or not) of this model.
+     *
+     * @return The size of the action space.
+     */
+    int actionCount() {
+        return FIRST_SEND + battlefieldIds.length;
+    }
+
+    /**
+     * Lists the orders that have an effect in the current state. {@link #IDLE} is always legal.
+     *
+     * @param into The list to fill (cleared first).
+     */
+    void legalActions(List<Integer> into) {
+        into.clear();
+        into.add(IDLE);
+        if (homeFood > 0) into.add(FEED);
+        into.add(HEAL);
+        if (village && friendlyGaul && hasDruidAtHome()) into.add(ORDER_POTION);
+        if (sendCandidate() >= 0) {
+            for (int b = 0; b < battlefieldIds.length; b++) {
+                into.add(FIRST_SEND + b);
+            }
+        }
+    }
+
+    /**
+     * Applies a chief order to the home location.
+     *
+     * @param action The action id.
+     */
+    void apply(int action) {
+        switch (action) {
+            case FEED -> {
+                for (int u = 0; u < ids.length && homeFood > 0; u++) {
+                    if (atHome(u) && hunger[u] > 0) {
+                        hunger[u] = 0;
+                        homeFood--;
+                    }
+                }
+            }
+            case HEAL -> {
+                for (int u = 0; u < ids.length; u++) {
+                    if (atHome(u)) health[u] = Character.MAX_HEALTH;
+                }
+            }
+            case ORDER_POTION -> {
+                int doses = POTION_DOSES;
+                for (int u = 0; u < ids.length && doses > 0; u++) {
+                    if (atHome(u) && gaul[u] && !druid[u]) {
+                        potion[u] += 1.0;
+                        doses--;
+                    }
+                }
+            }
+            case IDLE -> { }
+            default -> {
+                int unit = sendCandidate();
+                if (unit >= 0) location[unit] = 1 + (action - FIRST_SEND);
+            }
+        }
+    }
+
+    /**
+     * Plays the rest of the turn: battlefield fights, hunger and potion decay, food generation.
+     *
+     * @param random The random source used to pair fighters.
+     */
+    void endTurn(SplittableRandom random) {
+        int n = ids.length;
+        int[] gauls = new int[n];
+        int[] romans = new int[n];
+        for (int b = 1; b <= battlefieldIds.length; b++) {
+            int g = 0;
+            int r = 0;
+            for (int u = 0; u < n; u++) {
+                if (location[u] != b || health[u] <= 0) continue;
+                if (gaul[u]) gauls[g++] = u;
+                else romans[r++] = u;
+            }
+            shuffle(gauls, g, random);
+            shuffle(romans, r, random);
+            for (int i = 0; i < Math.min(g, r); i++) {
+                health[romans[i]] -= FIGHT_DAMAGE;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            if (health[u] <= 0) continue;
+            hunger[u] += HUNGER_PER_TURN;
+            if (potion[u] > 0) potion[u] = Math.max(0, potion[u] - POTION_DECAY);
+        }
+        homeFood++;
+    }
+
+    /**
+     * Scores the state from the chief's point of view, in {@code [0, 1]}.
+     * <p>
+     * Weighted sum of the health of the chief's own units, the damage dealt to the enemy
+     * faction on the battlefields, how well fed the own units are and their potion level.
+     * </p>
+     *
+     * @return The score, higher is better.
+     */
+    double evaluate() {
+        if (friendlyCount == 0) return 0.0;
+        double ownHealth = 0;
+        double ownHunger = 0;
+        double ownPotion = 0;
+        int alive = 0;
+        double enemyHealth = 0;
+        for (int u = 0; u < ids.length; u++) {
+            if (friendly[u]) {
+                if (health[u] <= 0) continue;
+                alive++;
+                ownHealth += health[u];
+                ownHunger += Math.min(1.0, hunger[u] / HUNGER_SCALE);
+                ownPotion += Math.min(1.0, potion[u]);
+            } else if (isEnemy(u)) {
+                enemyHealth += Math.max(0, health[u]);
+            }
+        }
+        double healthScore = ownHealth / (friendlyCount * Character.MAX_HEALTH);
+        double damageScore = initialEnemyHealth == 0 ? 0 : (initialEnemyHealth - enemyHealth) / initialEnemyHealth;
+        double fedScore = alive == 0 ? 0 : 1.0 - ownHunger / alive;
+        double potionScore = alive == 0 ? 0 : ownPotion / alive;
+        return 0.3 * healthScore + 0.4 * damageScore + 0.2 * fedScore + 0.1 * potionScore;
+    }
+
+    /**
+     * Finds the warrior that a send order would move: the strongest living, non-druid unit
+     * of the chief's faction at home.
+     *
+     * @return The unit index, or {@code -1} if nobody can be sent.
+     */
+    int sendCandidate() {
+        int best = -1;
+        for (int u = 0; u < ids.length; u++) {
+            if (atHome(u) && !druid[u] && gaul[u] == friendlyGaul && (best < 0 || strength[u] > strength[best])) {
+                best = u;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the theater id of the first druid at home.
+     *
+     * @return The druid id, or {@code -1} if there is none.
+     */
+    int druidAtHomeId() {
+        for (int u = 0; u < ids.length; u++) {
+            if (atHome(u) && druid[u]) return ids[u];
+        }
+        return -1;
+    }
+
+    int unitId(int unit) {
+        return ids[unit];
+    }
+
+    int battlefieldId(int action) {
+        return battlefieldIds[action - FIRST_SEND];
+    }
+
+    /**
+     * Gets a readable name for an action id.
+     *
+     * @param action The action id.
+     * @return The name.
+     */
+    String describe(int action) {
+        return switch (action) {
+            case IDLE -> "IDLE";
+            case FEED -> "FEED";
+            case HEAL -> "HEAL";
+            case ORDER_POTION -> "ORDER_POTION";
+            default -> "SEND -> " + battlefieldNames[action - FIRST_SEND];
+        };
+    }
+
+    private boolean atHome(int u) {
+        return friendly[u] && location[u] == HOME && health[u] > 0;
+    }
+
+    private boolean hasDruidAtHome() {
+        return druidAtHomeId() >= 0;
+    }
+
+    private boolean isEnemy(int u) {
+        return gaul[u] != friendlyGaul;
+    }
+
+    private static void shuffle(int[] units, int size, SplittableRandom random) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = units[i];
+            units[i] = units[j];
+            units[j] = tmp;
+        }
+    }
+}
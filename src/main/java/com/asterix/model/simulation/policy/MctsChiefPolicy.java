@@ -0,0 +1,311 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.simulation.TheaterSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chief planning several turns ahead with Monte Carlo tree search.
+ * <p>
+ * Each decision builds a {@link ForwardModel} of the chief's location and of the battlefields
+ * from the snapshot, then searches sequences of orders (feed, heal, order potion, send the
+ * strongest warrior to a battlefield, or wait) up to a fixed horizon. Tree nodes are open-loop:
+ * every iteration forks the root model and replays the path, so random battle pairings are
+ * sampled anew each time. Selection uses UCB1 and rollouts play random legal orders.
+ * </p>
+ * <p>
+ * Search is root-parallel: each worker thread grows its own tree from the same root until
+ * the time budget (or the optional playout limit) is spent, then the visit counts of the root
+ * orders are summed and the most visited order is played. The last {@link SearchReport}
+ * gives the number of playouts and the playouts per second, to tune the budget.
+ * </p>
+ */
+public class MctsChiefPolicy implements ChiefPolicy, AutoCloseable {
+
+    /**
+     * Statistics of one decision.
+     *
+     * @param playouts     The number of simulated games, over all threads.
+     * @param elapsedNanos The wall-clock search time.
+     * @param bestAction   A readable name of the chosen order.
+     */
+    public record SearchReport(long playouts, long elapsedNanos, String bestAction) {
+
+        /**
+         * Gets the search throughput.
+         *
+         * @return The number of playouts per second.
+         */
+        public double playoutsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : playouts * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+
+    /** Default number of turns simulated ahead. */
+    public static final int DEFAULT_HORIZON = 6;
+    /** Default UCB1 exploration constant. */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    private final long timeBudgetNanos;
+    private final long maxPlayoutsPerThread;
+    private final int threads;
+    private final int horizon;
+    private final double exploration;
+    private final long seed;
+    private final ExecutorService workers;
+    private final AtomicLong decisionCount;
+    private final AtomicLong totalPlayouts;
+    private volatile SearchReport lastReport;
+
+    /**
+     * Creates a planner bounded by time only.
+     *
+     * @param timeBudgetMillis The search time per decision, in milliseconds.
+     * @param threads          The number of root-parallel search threads, at least 1.
+     */
+    public MctsChiefPolicy(long timeBudgetMillis, int threads) {
+        this(timeBudgetMillis, Long.MAX_VALUE, threads, DEFAULT_HORIZON, DEFAULT_EXPLORATION, System.nanoTime());
+    }
+
+    /**
+     * Creates a planner.
+     *
+     * @param timeBudgetMillis     The search time per decision, in milliseconds.
+     * @param maxPlayoutsPerThread The maximum number of playouts per thread and decision.
+     * @param threads              The number of root-parallel search threads, at least 1.
+     * @param horizon              The number of turns simulated ahead, at least 1.
+     * @param exploration          The UCB1 exploration constant.
+     * @param seed                 The seed of the random sources.
+     * @throws IllegalArgumentException if a bound is not positive.
+     */
+    public MctsChiefPolicy(long timeBudgetMillis, long maxPlayoutsPerThread, int threads, int horizon,
+                           double exploration, long seed) {
+        if (timeBudgetMillis < 0 || maxPlayoutsPerThread < 1 || threads < 1 || horizon < 1) {
+            throw new IllegalArgumentException("MCTS needs a non-negative budget, and at least 1 playout, thread and turn.");
+        }
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.maxPlayoutsPerThread = maxPlayoutsPerThread;
+        this.threads = threads;
+        this.horizon = horizon;
+        this.exploration = exploration;
+        this.seed = seed;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = threads == 1 ? null : Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "mcts-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.decisionCount = new AtomicLong();
+        this.totalPlayouts = new AtomicLong();
+    }
+
+    @Override
+    public List<ChiefCommand> decide(TheaterSnapshot.ChiefView chief, TheaterSnapshot snapshot) {
+        ForwardModel root = ForwardModel.from(snapshot, chief);
+        if (root == null) return List.of();
+
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        long decisionSeed = seed ^ (decisionCount.getAndIncrement() * 0x9E3779B97F4A7C15L) ^ chief.settlementId();
+        List<Callable<Search>> searches = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Search search = new Search(root, new SplittableRandom(decisionSeed + t));
+            searches.add(() -> search.run(deadline));
+        }
+
+        long[] visits = new long[root.actionCount()];
+        long playouts = 0;
+        for (Search search : runAll(searches)) {
+            for (int a = 0; a < visits.length; a++) {
+                Node child = search.root.children[a];
+                if (child != null) visits[a] += child.visits;
+            }
+            playouts += search.playouts;
+        }
+
+        int best = ForwardModel.IDLE;
+        for (int a = 0; a < visits.length; a++) {
+            if (visits[a] > visits[best]) best = a;
+        }
+        totalPlayouts.addAndGet(playouts);
+        lastReport = new SearchReport(playouts, System.nanoTime() - start, root.describe(best));
+        return toCommands(best, root);
+    }
+
+    private List<Search> runAll(List<Callable<Search>> searches) {
+        List<Search> done = new ArrayList<>(searches.size());
+        try {
+            if (workers == null) {
+                for (Callable<Search> search : searches) {
+                    done.add(search.call());
+                }
+            } else {
+                for (Future<Search> future : workers.invokeAll(searches)) {
+                    done.add(future.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS search failed.", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("MCTS search failed.", e);
+        }
+        return done;
+    }
+
+    private static List<ChiefCommand> toCommands(int action, ForwardModel root) {
+        switch (action) {
+            case ForwardModel.FEED:
+                return List.of(ChiefCommand.feed());
+            case ForwardModel.HEAL:
+                return List.of(ChiefCommand.heal());
+            case ForwardModel.ORDER_POTION:
+                return List.of(ChiefCommand.orderPotion(root.druidAtHomeId()));
+            case ForwardModel.IDLE:
+                return List.of();
+            default:
+                int unit = root.sendCandidate();
+                if (unit < 0) return List.of();
+                return List.of(ChiefCommand.transfer(root.unitId(unit), root.battlefieldId(action)));
+        }
+    }
+
+    /**
+     * Gets the statistics of the last decision taken by this policy.
+     *
+     * @return The report, or {@code null} before the first decision.
+     */
+    public SearchReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Gets the number of playouts run since the policy was created.
+     *
+     * @return The total playout count.
+     */
+    public long getTotalPlayouts() {
+        return totalPlayouts.get();
+    }
+
+    /**
+     * Stops the search threads.
+     */
+    @Override
+    public void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Open-loop tree node: statistics of an order sequence.
+     */
+    private static final class Node {
+        final Node[] children;
+        long visits;
+        double totalReward;
+
+        Node(int actionCount) {
+            this.children = new Node[actionCount];
+        }
+    }
+
+    /**
+     * One root-parallel search: a private tree and random source.
+     */
+    private final class Search {
+        final ForwardModel model;
+        final SplittableRandom random;
+        final Node root;
+        long playouts;
+
+        Search(ForwardModel model, SplittableRandom random) {
+            this.model = model;
+            this.random = random;
+            this.root = new Node(model.actionCount());
+        }
+
+        Search run(long deadline) {
+            List<Integer> legal = new ArrayList<>();
+            Node[] path = new Node[horizon + 1];
+            while (playouts < maxPlayoutsPerThread && (playouts == 0 || System.nanoTime() < deadline)) {
+                ForwardModel state = model.fork();
+                Node node = root;
+                path[0] = root;
+                int depth = 0;
+                boolean expanded = false;
+
+                // Selection and expansion.
+                while (depth < horizon && !expanded) {
+                    state.legalActions(legal);
+                    int action = untried(node, legal);
+                    if (action >= 0) {
+                        node.children[action] = new Node(state.actionCount());
+                        expanded = true;
+                    } else {
+                        action = select(node, legal);
+                    }
+                    state.apply(action);
+                    state.endTurn(random);
+                    node = node.children[action];
+                    path[++depth] = node;
+                }
+
+                // Rollout.
+                for (int d = depth; d < horizon; d++) {
+                    state.legalActions(legal);
+                    state.apply(legal.get(random.nextInt(legal.size())));
+                    state.endTurn(random);
+                }
+
+                double reward = state.evaluate();
+                for (int d = 0; d <= depth; d++) {
+                    path[d].visits++;
+                    path[d].totalReward += reward;
+                }
+                playouts++;
+            }
+            return this;
+        }
+
+        private int untried(Node node, List<Integer> legal) {
+            int count = 0;
+            for (int action : legal) {
+                if (node.children[action] == null) count++;
+            }
+            if (count == 0) return -1;
+            int pick = random.nextInt(count);
+            for (int action : legal) {
+                if (node.children[action] == null && pick-- == 0) return action;
+            }
+            return -1;
+        }
+
+        private int select(Node node, List<Integer> legal) {
+            double logVisits = Math.log(Math.max(1, node.visits));
+            int best = legal.get(0);
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int action : legal) {
+                Node child = node.children[action];
+                double score = child.totalReward / child.visits
+                        + exploration * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = action;
+                }
+            }
+            return best;
+        }
+    }
+}
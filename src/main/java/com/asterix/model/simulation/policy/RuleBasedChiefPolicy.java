@@ -0,0 +1,48 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.place.PlaceType;
+import com.asterix.model.simulation.TheaterSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Automated chief following simple rules, in this order:
+ * <ol>
+ * <li>heal the location if someone is wounded;</li>
+ * <li>feed the location if someone is hungry and there is food;</li>
+ * <li>in a Gaul village, order the potion when a warrior has none left and a druid is present.</li>
+ * </ol>
+ * This is the default policy of the theater. It is stateless, hence thread-safe.
+ */
+public class RuleBasedChiefPolicy implements ChiefPolicy {
+
+    @Override
+    public List<ChiefCommand> decide(TheaterSnapshot.ChiefView chief, TheaterSnapshot snapshot) {
+        List<ChiefCommand> commands = new ArrayList<>();
+        TheaterSnapshot.PlaceView place = snapshot.getPlace(chief.locationId());
+        if (place == null) return commands;
+
+        boolean wounded = false;
+        boolean hungry = false;
+        boolean potionNeeded = false;
+        TheaterSnapshot.CharacterView druid = null;
+        for (TheaterSnapshot.CharacterView c : place.characters()) {
+            if (c.health() < Character.MAX_HEALTH) wounded = true;
+            if (c.hunger() > 0) hungry = true;
+            if (c.druid()) {
+                if (druid == null) druid = c;
+            } else if (c.gaul() && c.potionLevel() == 0) {
+                potionNeeded = true;
+            }
+        }
+
+        if (wounded) commands.add(ChiefCommand.heal());
+        if (hungry && !place.foods().isEmpty()) commands.add(ChiefCommand.feed());
+        if (place.type() == PlaceType.GAUL_VILLAGE && druid != null && potionNeeded) {
+            commands.add(ChiefCommand.orderPotion(druid.id()));
+        }
+        return commands;
+    }
+}
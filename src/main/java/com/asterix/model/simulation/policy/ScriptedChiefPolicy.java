@@ -0,0 +1,64 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.simulation.TheaterSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chief playing a fixed script, one entry per turn.
+ * <p>
+ * Useful for reproducible scenarios and tests. Once the script is exhausted the chief
+ * does nothing, unless the policy was created as a loop.
+ * </p>
+ * <p>
+ * Every chief follows the script at its own pace: the position in the script is kept per
+ * settlement, so one instance can be shared by several chiefs (e.g. as the default policy)
+ * and each chief gets the same turns whatever the order in which the decisions are evaluated.
+ * </p>
+ */
+public class ScriptedChiefPolicy implements ChiefPolicy {
+
+    private final List<List<ChiefCommand>> turns;
+    private final boolean loop;
+    /** Index of the next turn of each chief, by settlement id. */
+    private final Map<Integer, Integer> nextTurns = new HashMap<>();
+
+    /**
+     * Creates a scripted policy.
+     *
+     * @param turns The commands of each turn, in order.
+     * @param loop  {@code true} to start the script again once exhausted.
+     */
+    public ScriptedChiefPolicy(List<List<ChiefCommand>> turns, boolean loop) {
+        this.turns = new ArrayList<>();
+        for (List<ChiefCommand> turn : turns) {
+            this.turns.add(List.copyOf(turn));
+        }
+        this.loop = loop;
+    }
+
+    @Override
+    public synchronized List<ChiefCommand> decide(TheaterSnapshot.ChiefView chief, TheaterSnapshot snapshot) {
+        if (turns.isEmpty()) return List.of();
+        int nextTurn = nextTurns.getOrDefault(chief.settlementId(), 0);
+        if (nextTurn >= turns.size()) {
+            if (!loop) return List.of();
+            nextTurn = 0;
+        }
+        nextTurns.put(chief.settlementId(), nextTurn + 1);
+        return turns.get(nextTurn);
+    }
+
+    /**
+     * Gets the number of turns a chief played so far in the current pass of the script.
+     *
+     * @param settlementId The theater id of the settlement of the chief.
+     * @return The index of the next turn of this chief.
+     */
+    public synchronized int getNextTurn(int settlementId) {
+        return nextTurns.getOrDefault(settlementId, 0);
+    }
+}
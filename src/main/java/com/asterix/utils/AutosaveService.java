@@ -0,0 +1,298 @@
+package com.asterix.utils;
+
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.SimulationEventListener;
+import com.asterix.model.simulation.SimulationLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves a running theater in the background every few ticks.
+ * <p>
+ * The service listens to the theater: at the end of every {@code intervalTicks}-th tick, on
+ * the simulation thread, it {@link CheckpointWriter#capture() captures} a checkpoint in
+ * memory. Only the places changed since the previous save are encoded, so the pause follows
+ * the activity of the simulation. The checkpoint is then written and forced to the disk by a
+ * single background thread while the next ticks run.
+ * </p>
+ * <p>
+ * Only one save is in flight at a time: if the disk is slower than the interval, the
+ * autosave of that tick is skipped rather than queued. Old saves are deleted as configured by
+ * {@code retainedBases} (see {@link CheckpointWriter}), and {@link CheckpointWriter#restore(File)}
+ * rebuilds the theater from the save directory. Save durations, capture pauses and written
+ * bytes are exposed as metrics.
+ * </p>
+ */
+public class AutosaveService implements SimulationEventListener, AutoCloseable {
+
+    /** Default number of ticks between two saves. */
+    public static final int DEFAULT_INTERVAL_TICKS = 10;
+    /** Default number of chains (a base and its deltas) kept on disk. */
+    public static final int DEFAULT_RETAINED_BASES = 2;
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final InvasionTheater theater;
+    private final CheckpointWriter writer;
+    private final int intervalTicks;
+    private final ExecutorService executor;
+    private final AtomicBoolean saving;
+
+    private final AtomicLong completedCount;
+    private final AtomicLong failedCount;
+    private final AtomicLong skippedCount;
+    private final AtomicLong bytesWritten;
+    private final AtomicLong totalSaveNanos;
+    private final AtomicLong maxSaveNanos;
+    private final AtomicLong maxCaptureNanos;
+    private volatile long lastSaveNanos;
+    private volatile long lastCaptureNanos;
+    private volatile CheckpointWriter.Checkpoint lastCheckpoint;
+    private volatile IOException lastFailure;
+    private volatile boolean closed;
+
+    /**
+     * Starts saving a theater every {@code intervalTicks} ticks.
+     *
+     * @param directory     The save directory, created if missing.
+     * @param theater       The theater to save.
+     * @param intervalTicks The number of ticks between two saves, at least 1.
+     * @param retainedBases The number of chains kept on disk, at least 1.
+     * @throws IOException If the directory cannot be created or listed.
+     * @throws IllegalArgumentException if a parameter is lower than 1.
+     */
+    public AutosaveService(File directory, InvasionTheater theater, int intervalTicks, int retainedBases) throws IOException {
+        if (intervalTicks < 1) {
+            throw new IllegalArgumentException("Autosave interval must be at least 1 tick.");
+        }
+        this.writer = new CheckpointWriter(directory, theater, CheckpointWriter.DEFAULT_COMPACTION_THRESHOLD, retainedBases);
+        this.theater = theater;
+        this.intervalTicks = intervalTicks;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.saving = new AtomicBoolean();
+        this.completedCount = new AtomicLong();
+        this.failedCount = new AtomicLong();
+        this.skippedCount = new AtomicLong();
+        this.bytesWritten = new AtomicLong();
+        this.totalSaveNanos = new AtomicLong();
+        this.maxSaveNanos = new AtomicLong();
+        this.maxCaptureNanos = new AtomicLong();
+        theater.addEventListener(this);
+    }
+
+    /**
+     * Starts saving a theater every {@link #DEFAULT_INTERVAL_TICKS} ticks, keeping
+     * {@link #DEFAULT_RETAINED_BASES} chains.
+     *
+     * @param directory The save directory, created if missing.
+     * @param theater   The theater to save.
+     * @throws IOException If the directory cannot be created or listed.
+     */
+    public AutosaveService(File directory, InvasionTheater theater) throws IOException {
+        this(directory, theater, DEFAULT_INTERVAL_TICKS, DEFAULT_RETAINED_BASES);
+    }
+
+    @Override
+    public void tickEnded(InvasionTheater theater) {
+        if (theater.getTick() % intervalTicks == 0) {
+            saveAsync();
+        }
+    }
+
+    /**
+     * Captures a checkpoint now and writes it in the background. Must be called between two
+     * ticks, on the simulation thread.
+     *
+     * @return {@code true} if a save was started, {@code false} if one is still in flight or
+     *         the service is closed.
+     */
+    public boolean saveAsync() {
+        if (closed || !saving.compareAndSet(false, true)) {
+            skippedCount.incrementAndGet();
+            return false;
+        }
+        long start = System.nanoTime();
+        CheckpointWriter.PendingCheckpoint pending = writer.capture();
+        long captured = System.nanoTime();
+        lastCaptureNanos = captured - start;
+        maxCaptureNanos.accumulateAndGet(lastCaptureNanos, Math::max);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    CheckpointWriter.Checkpoint checkpoint = writer.write(pending);
+                    long duration = System.nanoTime() - captured;
+                    lastSaveNanos = duration;
+                    totalSaveNanos.addAndGet(duration);
+                    maxSaveNanos.accumulateAndGet(duration, Math::max);
+                    bytesWritten.addAndGet(checkpoint.bytes());
+                    lastCheckpoint = checkpoint;
+                    completedCount.incrementAndGet();
+                } catch (IOException e) {
+                    lastFailure = e;
+                    failedCount.incrementAndGet();
+                    SimulationLog.warn(() -> "⚠️ Sauvegarde automatique impossible : " + e.getMessage());
+                } finally {
+                    saving.set(false);
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // closed while capturing
+            saving.set(false);
+            skippedCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the save in flight, if any, is on the disk.
+     *
+     * @param timeoutMillis The maximum time to wait, in milliseconds.
+     * @return {@code true} if no save is in flight anymore, {@code false} on timeout.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public synchronized boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (saving.get()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of saves written to the disk.
+     *
+     * @return The completed save count.
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Returns the number of saves that could not be written.
+     *
+     * @return The failed save count.
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Returns the number of autosaves skipped because the previous one was still in flight.
+     *
+     * @return The skipped save count.
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * Returns the total size of the written saves.
+     *
+     * @return The number of bytes written.
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Returns the duration of the last completed save, from capture to the disk.
+     *
+     * @return The duration in milliseconds, {@code 0} if nothing was saved yet.
+     */
+    public double getLastSaveMillis() {
+        return lastSaveNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the mean duration of a save, from capture to the disk.
+     *
+     * @return The average duration in milliseconds, {@code 0} if nothing was saved yet.
+     */
+    public double getAverageSaveMillis() {
+        long done = completedCount.get();
+        return done == 0 ? 0.0 : totalSaveNanos.get() / (done * 1_000_000.0);
+    }
+
+    /**
+     * Returns the longest save observed so far.
+     *
+     * @return The maximum duration in milliseconds.
+     */
+    public double getMaxSaveMillis() {
+        return maxSaveNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Returns the time the simulation thread spent capturing the last checkpoint.
+     *
+     * @return The pause in milliseconds.
+     */
+    public double getLastCaptureMillis() {
+        return lastCaptureNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the longest capture pause observed so far.
+     *
+     * @return The maximum pause in milliseconds.
+     */
+    public double getMaxCaptureMillis() {
+        return maxCaptureNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Returns the last checkpoint written.
+     *
+     * @return The checkpoint, or {@code null} if nothing was saved yet.
+     */
+    public CheckpointWriter.Checkpoint getLastCheckpoint() {
+        return lastCheckpoint;
+    }
+
+    /**
+     * Returns the error of the last failed save.
+     *
+     * @return The error, or {@code null} if no save failed.
+     */
+    public IOException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Stops listening to the theater and waits for the save in flight to reach the disk.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        theater.removeEventListener(this);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                SimulationLog.warn(() -> "⚠️ Sauvegarde automatique toujours en cours à la fermeture.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.asterix.utils;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitive encodings written by {@link BinaryWriter} from a {@link ByteBuffer}.
+ * <p>
+ * The buffer may be a heap array or a memory-mapped file. Reading past its end or an
+ * overlong varint is reported as an {@link IOException}, the file being truncated or corrupted.
+ * </p>
+ */
+final class BinaryReader {
+
+    private final ByteBuffer buffer;
+
+    BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    BinaryReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    int readByte() throws IOException {
+        try {
+            return buffer.get() & 0xFF;
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    int readInt() throws IOException {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    long readLong() throws IOException {
+        try {
+            return buffer.getLong();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in snapshot.");
+    }
+
+    int readVarInt() throws IOException {
+        long value = readVarLong();
+        if ((value >>> 32) != 0) {
+            throw new IOException("Malformed varint in snapshot.");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a count or a length, rejecting values that cannot fit in the remaining bytes.
+     */
+    int readCount() throws IOException {
+        int count = readVarInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IOException("Invalid count in snapshot: " + count);
+        }
+        return count;
+    }
+
+    long readSignedVarLong() throws IOException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    double readDouble() throws IOException {
+        long value = readVarLong();
+        int tag = (int) (value & 3);
+        long payload = value >>> 2;
+        long number = (payload >>> 1) ^ -(payload & 1);
+        return switch (tag) {
+            case BinaryWriter.DOUBLE_INTEGER -> (double) number;
+            case BinaryWriter.DOUBLE_HUNDREDTHS -> number / 100.0;
+            case BinaryWriter.DOUBLE_RAW -> Double.longBitsToDouble(readLong());
+            default -> throw new IOException("Malformed double in snapshot.");
+        };
+    }
+
+    String readString() throws IOException {
+        int length = readCount();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    void position(int position) {
+        buffer.position(position);
+    }
+
+    int remaining() {
+        return buffer.remaining();
+    }
+
+    private static IOException truncated() {
+        return new IOException("Snapshot is truncated.");
+    }
+}
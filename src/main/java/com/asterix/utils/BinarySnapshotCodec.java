@@ -0,0 +1,679 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.creature.Creature;
+import com.asterix.model.character.creature.Lycanthrope;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.gaul.Innkeeper;
+import com.asterix.model.character.gaul.Merchant;
+import com.asterix.model.character.roman.General;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.character.roman.Prefect;
+import com.asterix.model.item.Cauldron;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodState;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.item.FreshState;
+import com.asterix.model.item.PartiallyFreshState;
+import com.asterix.model.item.PerishableFood;
+import com.asterix.model.item.RottenState;
+import com.asterix.model.item.SimpleFood;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.CreatureEnclosure;
+import com.asterix.model.place.GalloRomanTown;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.RomanCamp;
+import com.asterix.model.place.RomanCity;
+import com.asterix.model.place.Settlement;
+import com.asterix.model.simulation.EntityRegistry;
+import com.asterix.model.simulation.InvasionTheater;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of the complete state of an {@link InvasionTheater}.
+ * <p>
+ * Unlike the XML scenario format, a snapshot keeps everything needed to resume a paused run:
+ * entity ids, health, hunger, belligerence, potion level and lifetime doses, statue and
+ * lycanthrope flags, creature forms, the pantry of every place with the freshness of each
+ * item, the village and druid cauldrons, the archive and the theater counters.
+ * </p>
+ * <p>
+ * Layout (version {@value #VERSION}): the magic number {@code "ASTX"}, the version, a table of
+ * every distinct string (names and chief genders, each stored once and front-coded against
+ * the previous one, so "Legionnaire12" after "Legionnaire11" costs three bytes), then the body.
+ * Integers are varints, ids are zig-zag deltas from the previous id of the same kind inside
+ * a place, food items are a single varint packing the {@link FoodType} ordinal and the
+ * freshness, and doubles holding whole numbers or hundredths are stored as varints
+ * (see {@link BinaryWriter}). The runtime values of a character are only written when they
+ * differ from those of a new character, a bit mask telling which ones follow.
+ * </p>
+ */
+public class BinarySnapshotCodec {
+
+    /** First four bytes of every snapshot: "ASTX". */
+    public static final int MAGIC = 0x41535458;
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    // Place kinds.
+    static final int BATTLEFIELD = 0;
+    static final int CREATURE_ENCLOSURE = 1;
+    static final int GAUL_VILLAGE = 2;
+    static final int ROMAN_CAMP = 3;
+    static final int ROMAN_CITY = 4;
+    static final int GALLO_ROMAN_TOWN = 5;
+
+    // Character kinds.
+    static final int MERCHANT = 0;
+    static final int DRUID = 1;
+    static final int BLACKSMITH = 2;
+    static final int INNKEEPER = 3;
+    static final int LEGIONNAIRE = 4;
+    static final int GENERAL = 5;
+    static final int PREFECT = 6;
+    static final int LYCANTHROPE = 7;
+
+    // Character state bits: flags, then the runtime values that differ from a new character.
+    private static final int STATUE = 1;
+    private static final int LYCANTHROPY = 2;
+    private static final int FERAL = 4;
+    private static final int WOLF_FORM = 8;
+    private static final int HAS_CAULDRON = 16;
+    private static final int HEALTH = 32;
+    private static final int HUNGER = 64;
+    private static final int BELLIGERENCE = 128;
+    private static final int POTION_LEVEL = 256;
+    private static final int LIFETIME_DOSES = 512;
+
+    // Food freshness.
+    private static final int SIMPLE = 0;
+    private static final int FRESH = 1;
+    private static final int PARTIALLY_FRESH = 2;
+    private static final int ROTTEN = 3;
+
+    // Cauldron flags.
+    private static final int READY = 1;
+    private static final int NOURISHING = 2;
+    private static final int DUPLICATION = 4;
+    private static final int LYCANTHROPY_EFFECT = 8;
+
+    /**
+     * Saves a snapshot of a theater to a file.
+     *
+     * @param theater The theater to save.
+     * @param file    The destination file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(InvasionTheater theater, File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+            write(theater, out);
+        }
+    }
+
+    /**
+     * Loads a theater from a snapshot file.
+     *
+     * @param file The snapshot file.
+     * @return The restored theater.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static InvasionTheater load(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return decode(in.readAllBytes());
+        }
+    }
+
+    /**
+     * Writes a snapshot of a theater to a stream. The stream is not closed.
+     *
+     * @param theater The theater to save.
+     * @param out     The destination stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(InvasionTheater theater, OutputStream out) throws IOException {
+        new Encoder().encode(theater).writeTo(out);
+    }
+
+    /**
+     * Encodes a snapshot of a theater in memory.
+     *
+     * @param theater The theater to save.
+     * @return The snapshot bytes.
+     */
+    public static byte[] encode(InvasionTheater theater) {
+        return new Encoder().encode(theater).toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot.
+     *
+     * @param bytes The snapshot bytes.
+     * @return The restored theater.
+     * @throws IOException If the bytes are not a valid snapshot.
+     */
+    public static InvasionTheater decode(byte[] bytes) throws IOException {
+        return new Decoder(new BinaryReader(bytes)).decode();
+    }
+
+    // --- Encoding ---
+
+    /**
+     * Writes the body first, collecting the strings, then the header and the string table.
+     */
+    static final class Encoder {
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> table = new ArrayList<>();
+        private final BinaryWriter body = new BinaryWriter(4096);
+
+        BinaryWriter encode(InvasionTheater theater) {
+            body.writeVarInt(string(theater.getName()));
+            body.writeVarLong(theater.getTick());
+            body.writeVarInt(theater.getCompactionInterval());
+            body.writeVarLong(theater.getRejectedCloneCount());
+            EntityRegistry registry = theater.getRegistry();
+            body.writeVarInt(registry.getCharacterCount());
+            body.writeVarInt(registry.getFoodCount());
+            body.writeVarInt(registry.getPlaceCount());
+
+            List<Place> places = theater.getPlaces();
+            body.writeVarInt(places.size());
+            for (Place place : places) {
+                writePlaceShell(body, place);
+                writePlaceContents(body, place);
+            }
+
+            List<Character> archive = theater.getArchive();
+            body.writeVarInt(archive.size());
+            long previousId = EntityRegistry.UNASSIGNED_ID;
+            for (Character c : archive) {
+                previousId = writeCharacter(body, c, previousId);
+            }
+
+            BinaryWriter out = new BinaryWriter(body.size() + 64);
+            writeHeader(out);
+            out.writeBytes(body);
+            return out;
+        }
+
+        void writeHeader(BinaryWriter out) {
+            out.writeInt(MAGIC);
+            out.writeVarInt(VERSION);
+            writeStringTable(out);
+        }
+
+        /**
+         * Writes the strings collected so far, each one front-coded against the previous one.
+         */
+        void writeStringTable(BinaryWriter out) {
+            out.writeVarInt(table.size());
+            String previous = "";
+            for (String s : table) {
+                int shared = sharedPrefix(previous, s);
+                out.writeVarInt(shared);
+                out.writeString(s.substring(shared));
+                previous = s;
+            }
+        }
+
+        /**
+         * Gets the index of a string in the table, adding it if needed. 0 stands for {@code null}.
+         */
+        int string(String value) {
+            if (value == null) return 0;
+            Integer index = strings.get(value);
+            if (index == null) {
+                table.add(value);
+                index = table.size();
+                strings.put(value, index);
+            }
+            return index;
+        }
+
+        /**
+         * Writes what identifies a place: id, kind, name, area, population limit and chief.
+         */
+        void writePlaceShell(BinaryWriter out, Place place) {
+            out.writeSignedVarLong(place.getId());
+            out.writeByte(kindOf(place));
+            out.writeVarInt(string(place.getName()));
+            out.writeDouble(place.getArea());
+            out.writeVarInt(place.getPopulationLimit());
+
+            Chief chief = place instanceof Settlement settlement ? settlement.getChief() : null;
+            if (chief == null) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                out.writeVarInt(string(chief.getName()));
+                out.writeVarInt(string(chief.getGender()));
+                out.writeSignedVarLong(chief.getAge());
+                Place location = chief.getLocation();
+                out.writeSignedVarLong(location == null ? EntityRegistry.UNASSIGNED_ID : location.getId());
+            }
+        }
+
+        /**
+         * Writes what a place holds: its cauldron for villages, its roster and its pantry.
+         */
+        void writePlaceContents(BinaryWriter out, Place place) {
+            if (place instanceof GaulVillage village) {
+                writeCauldron(out, village.getCauldron());
+            }
+
+            long previousId = place.getId();
+            List<Character> alive = place.getAliveCharacters();
+            out.writeVarInt(alive.size());
+            for (Character c : alive) {
+                previousId = writeCharacter(out, c, previousId);
+            }
+            List<Character> tombstones = place.getTombstones();
+            out.writeVarInt(tombstones.size());
+            for (Character c : tombstones) {
+                previousId = writeCharacter(out, c, previousId);
+            }
+
+            List<Food> foods = place.getFoods();
+            out.writeVarInt(foods.size());
+            previousId = EntityRegistry.UNASSIGNED_ID;
+            for (Food food : foods) {
+                out.writeSignedVarLong(food.getId() - previousId);
+                previousId = food.getId();
+                out.writeVarInt(foodCode(food));
+            }
+        }
+
+        long writeCharacter(BinaryWriter out, Character c, long previousId) {
+            out.writeSignedVarLong(c.getId() - previousId);
+            out.writeByte(kindOf(c) | (c.getGender() == null ? 0 : c.getGender().ordinal() + 1) << 4);
+            out.writeVarInt(string(c.getName()));
+            out.writeSignedVarLong(c.getAge());
+            out.writeDouble(c.getHeight());
+            if (c instanceof Lycanthrope lycanthrope) {
+                out.writeDouble(lycanthrope.getBaseStrength());
+                out.writeDouble(lycanthrope.getBaseStamina());
+            } else {
+                out.writeDouble(c.getStrength());
+                out.writeDouble(c.getStamina());
+            }
+            writeState(out, c);
+            return c.getId();
+        }
+
+        /**
+         * Writes what changes during a run: transformations, vitals that differ from their
+         * initial value, and the druid's cauldron.
+         */
+        void writeState(BinaryWriter out, Character c) {
+            int flags = 0;
+            if (c.isStatue()) flags |= STATUE;
+            if (c.isLycanthrope()) flags |= LYCANTHROPY;
+            if (c instanceof Creature creature && creature.isFeral()) flags |= FERAL;
+            if (c instanceof Lycanthrope lycanthrope && lycanthrope.isInWolfForm()) flags |= WOLF_FORM;
+            Cauldron cauldron = c instanceof Druid druid ? druid.getCauldron() : null;
+            if (cauldron != null) flags |= HAS_CAULDRON;
+            if (Double.compare(c.getHealth(), Character.MAX_HEALTH) != 0) flags |= HEALTH;
+            if (Double.compare(c.getHunger(), 0.0) != 0) flags |= HUNGER;
+            if (Double.compare(c.getBelligerence(), 0.0) != 0) flags |= BELLIGERENCE;
+            if (Double.compare(c.getPotionLevel(), 0.0) != 0) flags |= POTION_LEVEL;
+            if (Double.compare(c.getLifetimePotionDoses(), 0.0) != 0) flags |= LIFETIME_DOSES;
+            out.writeVarInt(flags);
+            if ((flags & HEALTH) != 0) out.writeDouble(c.getHealth());
+            if ((flags & HUNGER) != 0) out.writeDouble(c.getHunger());
+            if ((flags & BELLIGERENCE) != 0) out.writeDouble(c.getBelligerence());
+            if ((flags & POTION_LEVEL) != 0) out.writeDouble(c.getPotionLevel());
+            if ((flags & LIFETIME_DOSES) != 0) out.writeDouble(c.getLifetimePotionDoses());
+            if (cauldron != null) {
+                writeCauldron(out, cauldron);
+            }
+        }
+
+        void writeCauldron(BinaryWriter out, Cauldron cauldron) {
+            List<Food> ingredients = cauldron.getIngredients();
+            out.writeVarInt(ingredients.size());
+            for (Food food : ingredients) {
+                out.writeVarInt(foodCode(food));
+            }
+            int flags = 0;
+            if (cauldron.isReady()) flags |= READY;
+            if (cauldron.isNourishing()) flags |= NOURISHING;
+            if (cauldron.causesDuplication()) flags |= DUPLICATION;
+            if (cauldron.causesLycanthropy()) flags |= LYCANTHROPY_EFFECT;
+            out.writeByte(flags);
+            out.writeVarInt(cauldron.getRemainingDoses());
+        }
+    }
+
+    /**
+     * Counts the leading chars shared by two strings, without splitting a surrogate pair.
+     */
+    static int sharedPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int shared = 0;
+        while (shared < max && a.charAt(shared) == b.charAt(shared)) {
+            shared++;
+        }
+        if (shared > 0 && java.lang.Character.isHighSurrogate(a.charAt(shared - 1))) {
+            shared--;
+        }
+        return shared;
+    }
+
+    static int kindOf(Place place) {
+        if (place instanceof Battlefield) return BATTLEFIELD;
+        if (place instanceof CreatureEnclosure) return CREATURE_ENCLOSURE;
+        if (place instanceof GaulVillage) return GAUL_VILLAGE;
+        if (place instanceof RomanCamp) return ROMAN_CAMP;
+        if (place instanceof GalloRomanTown) return GALLO_ROMAN_TOWN;
+        return ROMAN_CITY;
+    }
+
+    static int kindOf(Character c) {
+        if (c instanceof Merchant) return MERCHANT;
+        if (c instanceof Druid) return DRUID;
+        if (c instanceof BlackSmith) return BLACKSMITH;
+        if (c instanceof Innkeeper) return INNKEEPER;
+        if (c instanceof Legionnaire) return LEGIONNAIRE;
+        if (c instanceof General) return GENERAL;
+        if (c instanceof Prefect) return PREFECT;
+        if (c instanceof Lycanthrope) return LYCANTHROPE;
+        throw new IllegalArgumentException("Unsupported character type: " + c.getClass().getSimpleName());
+    }
+
+    /**
+     * Packs the type and the freshness of a food item: {@code ordinal * 4 + freshness}.
+     */
+    static int foodCode(Food food) {
+        int freshness = SIMPLE;
+        if (food instanceof PerishableFood perishable) {
+            FoodState state = perishable.getState();
+            if (state instanceof RottenState) freshness = ROTTEN;
+            else if (state instanceof PartiallyFreshState) freshness = PARTIALLY_FRESH;
+            else freshness = FRESH;
+        }
+        return food.getFoodType().ordinal() * 4 + freshness;
+    }
+
+    // --- Decoding ---
+
+    /**
+     * Rebuilds a theater, restoring every id in the registry before the places are added.
+     * Without a registry, the characters read only receive their saved id.
+     */
+    static final class Decoder {
+        private final BinaryReader in;
+        private String[] table;
+        private EntityRegistry registry;
+        private final List<Chief> chiefs = new ArrayList<>();
+        private final List<Integer> chiefLocations = new ArrayList<>();
+
+        Decoder(BinaryReader in) {
+            this.in = in;
+        }
+
+        Decoder(BinaryReader in, EntityRegistry registry) {
+            this.in = in;
+            this.registry = registry;
+        }
+
+        void useRegistry(EntityRegistry registry) {
+            this.registry = registry;
+        }
+
+        InvasionTheater decode() throws IOException {
+            readHeader();
+            InvasionTheater theater = new InvasionTheater(string(in.readVarInt()));
+            registry = theater.getRegistry();
+            long tick = in.readVarLong();
+            int compactionInterval = in.readVarInt();
+            long rejectedClones = in.readVarLong();
+            if (compactionInterval < 1) {
+                throw new IOException("Invalid compaction interval in snapshot: " + compactionInterval);
+            }
+            theater.setCompactionInterval(compactionInterval);
+            int characterCount = in.readVarInt();
+            int foodCount = in.readVarInt();
+            int placeCount = in.readVarInt();
+
+            int places = in.readCount();
+            for (int i = 0; i < places; i++) {
+                Place place = readPlaceShell();
+                readPlaceContents(place);
+                theater.addPlace(place);
+            }
+            List<Character> archive = readArchive();
+
+            resolveChiefLocations(theater);
+            registry.reserve(characterCount, foodCount, placeCount);
+            theater.restoreState(tick, rejectedClones, archive);
+            return theater;
+        }
+
+        /**
+         * Reads the characters archived by tombstone compaction.
+         */
+        List<Character> readArchive() throws IOException {
+            int archived = in.readCount();
+            List<Character> archive = new ArrayList<>(archived);
+            long previousId = EntityRegistry.UNASSIGNED_ID;
+            for (int i = 0; i < archived; i++) {
+                Character c = readCharacter(previousId);
+                previousId = c.getId();
+                archive.add(c);
+            }
+            return archive;
+        }
+
+        void readHeader() throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a theater snapshot.");
+            }
+            int version = in.readVarInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+            readStringTable();
+        }
+
+        void readStringTable() throws IOException {
+            int size = in.readCount();
+            table = new String[size];
+            String previous = "";
+            for (int i = 0; i < size; i++) {
+                int shared = in.readVarInt();
+                if (shared > previous.length()) {
+                    throw new IOException("Invalid string prefix in snapshot: " + shared);
+                }
+                table[i] = previous.substring(0, shared) + in.readString();
+                previous = table[i];
+            }
+        }
+
+        String string(int index) throws IOException {
+            if (index == 0) return null;
+            if (index < 0 || index > table.length) {
+                throw new IOException("Invalid string index in snapshot: " + index);
+            }
+            return table[index - 1];
+        }
+
+        /**
+         * Reads the shell of a place and restores its id. The chief's location is resolved
+         * later by {@link #resolveChiefLocations(InvasionTheater)}.
+         */
+        Place readPlaceShell() throws IOException {
+            int id = (int) in.readSignedVarLong();
+            int kind = in.readByte();
+            String name = string(in.readVarInt());
+            double area = in.readDouble();
+            int populationLimit = in.readVarInt();
+
+            Chief chief = null;
+            if (in.readByte() == 1) {
+                chief = new Chief(string(in.readVarInt()), string(in.readVarInt()), (int) in.readSignedVarLong(), null);
+                chiefs.add(chief);
+                chiefLocations.add((int) in.readSignedVarLong());
+            }
+
+            Place place = switch (kind) {
+                case BATTLEFIELD -> new Battlefield(name, area);
+                case CREATURE_ENCLOSURE -> new CreatureEnclosure(name, area);
+                case GAUL_VILLAGE -> new GaulVillage(name, area, chief);
+                case ROMAN_CAMP -> new RomanCamp(name, area, chief);
+                case ROMAN_CITY -> new RomanCity(name, area, chief);
+                case GALLO_ROMAN_TOWN -> new GalloRomanTown(name, area, chief);
+                default -> throw new IOException("Unknown place kind in snapshot: " + kind);
+            };
+            if (id >= 0) registry.restore(place, id);
+            place.setPopulationLimit(populationLimit);
+            return place;
+        }
+
+        /**
+         * Reads the contents of a place, restoring the ids of its characters and food items.
+         */
+        void readPlaceContents(Place place) throws IOException {
+            if (place instanceof GaulVillage village) {
+                readCauldron(village.getCauldron());
+            }
+
+            long previousId = place.getId();
+            int rosterSize = in.readCount();
+            for (int i = 0; i < rosterSize; i++) {
+                Character c = readCharacter(previousId);
+                previousId = c.getId();
+                place.addCharacter(c);
+            }
+            int tombstones = in.readCount();
+            for (int i = 0; i < tombstones; i++) {
+                Character c = readCharacter(previousId);
+                previousId = c.getId();
+                place.addCharacter(c);
+            }
+
+            int foods = in.readCount();
+            previousId = EntityRegistry.UNASSIGNED_ID;
+            for (int i = 0; i < foods; i++) {
+                int foodId = (int) (previousId + in.readSignedVarLong());
+                previousId = foodId;
+                Food food = readFood(in.readVarInt());
+                if (foodId >= 0) registry.restore(food, foodId);
+                place.addFood(food);
+            }
+        }
+
+        Character readCharacter(long previousId) throws IOException {
+            int id = (int) (previousId + in.readSignedVarLong());
+            int header = in.readByte();
+            int kind = header & 0x0F;
+            int genderCode = header >>> 4;
+            String name = string(in.readVarInt());
+            Gender gender = genderCode == 0 ? null : Gender.values()[checkIndex(genderCode - 1, Gender.values().length)];
+            int age = (int) in.readSignedVarLong();
+            double height = in.readDouble();
+            double strength = in.readDouble();
+            double stamina = in.readDouble();
+
+            Character c = switch (kind) {
+                case MERCHANT -> new Merchant(name, age, height, strength, stamina, gender);
+                case DRUID -> new Druid(name, age, height, strength, stamina, gender);
+                case BLACKSMITH -> new BlackSmith(name, age, height, strength, stamina, gender);
+                case INNKEEPER -> new Innkeeper(name, age, height, strength, stamina, gender);
+                case LEGIONNAIRE -> new Legionnaire(name, age, height, strength, stamina, gender);
+                case GENERAL -> new General(EntityRegistry.UNASSIGNED_ID, name, age, height, strength, stamina, gender);
+                case PREFECT -> new Prefect(name, age, height, strength, stamina, gender);
+                case LYCANTHROPE -> new Lycanthrope(name, age, height, strength, stamina, gender);
+                default -> throw new IOException("Unknown character kind in snapshot: " + kind);
+            };
+            readState(c);
+            if (id >= 0) {
+                if (registry != null) registry.restore(c, id);
+                else c.assignId(id);
+            }
+            return c;
+        }
+
+        /**
+         * Reads the state written by {@link Encoder#writeState}, replacing the current state of the character.
+         */
+        void readState(Character c) throws IOException {
+            int flags = in.readVarInt();
+            double health = (flags & HEALTH) != 0 ? in.readDouble() : Character.MAX_HEALTH;
+            double hunger = (flags & HUNGER) != 0 ? in.readDouble() : 0.0;
+            double belligerence = (flags & BELLIGERENCE) != 0 ? in.readDouble() : 0.0;
+            double potionLevel = (flags & POTION_LEVEL) != 0 ? in.readDouble() : 0.0;
+            double lifetimeDoses = (flags & LIFETIME_DOSES) != 0 ? in.readDouble() : 0.0;
+            c.restoreState(health, hunger, belligerence, potionLevel, lifetimeDoses,
+                    (flags & STATUE) != 0, (flags & LYCANTHROPY) != 0);
+
+            if (c instanceof Lycanthrope lycanthrope) {
+                if ((flags & WOLF_FORM) != 0) lycanthrope.transformToWolfForm();
+                else lycanthrope.revertToHumanForm();
+            }
+            if (c instanceof Creature creature) {
+                if ((flags & FERAL) != 0) creature.enterFeralState();
+                else creature.leaveFeralState();
+            }
+            if ((flags & HAS_CAULDRON) != 0) {
+                Cauldron cauldron = new Cauldron();
+                readCauldron(cauldron);
+                if (c instanceof Druid druid) druid.receiveCauldron(cauldron);
+            } else if (c instanceof Druid druid) {
+                druid.receiveCauldron(null);
+            }
+        }
+
+        void readCauldron(Cauldron cauldron) throws IOException {
+            int count = in.readCount();
+            List<Food> ingredients = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ingredients.add(readFood(in.readVarInt()));
+            }
+            if (!ingredients.isEmpty()) {
+                cauldron.addIngredients(ingredients);
+            }
+            int flags = in.readByte();
+            int doses = in.readVarInt();
+            cauldron.restoreBrew((flags & READY) != 0, doses, (flags & NOURISHING) != 0,
+                    (flags & DUPLICATION) != 0, (flags & LYCANTHROPY_EFFECT) != 0);
+        }
+
+        static Food readFood(int code) throws IOException {
+            FoodType type = FoodType.values()[checkIndex(code >>> 2, FoodType.values().length)];
+            return switch (code & 3) {
+                case FRESH -> new PerishableFood(type, new FreshState());
+                case PARTIALLY_FRESH -> new PerishableFood(type, new PartiallyFreshState());
+                case ROTTEN -> new PerishableFood(type, new RottenState());
+                default -> new SimpleFood(type);
+            };
+        }
+
+        void resolveChiefLocations(InvasionTheater theater) {
+            for (int i = 0; i < chiefs.size(); i++) {
+                chiefs.get(i).setLocation(theater.getPlaceById(chiefLocations.get(i)));
+            }
+        }
+
+        private static int checkIndex(int index, int length) throws IOException {
+            if (index < 0 || index >= length) {
+                throw new IOException("Invalid enum ordinal in snapshot: " + index);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.asterix.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with the primitive encodings of the binary snapshot formats.
+ * <p>
+ * Integers are written as unsigned LEB128 varints (7 bits per byte), signed values are
+ * zig-zag encoded first so that small negative deltas stay short. Doubles are stored as
+ * varints when they are whole numbers or exact hundredths (ages, stats, health...) and
+ * as raw IEEE 754 bits otherwise, so every value reads back bit for bit.
+ * </p>
+ */
+final class BinaryWriter {
+
+    /** Tag of a double stored as a whole number. */
+    static final int DOUBLE_INTEGER = 0;
+    /** Tag of a double stored as a whole number of hundredths. */
+    static final int DOUBLE_HUNDREDTHS = 1;
+    /** Tag of a double stored as its raw 64 bits. */
+    static final int DOUBLE_RAW = 2;
+
+    private static final double MAX_EXACT = 1L << 50;
+
+    private byte[] buffer;
+    private int size;
+
+    BinaryWriter() {
+        this(256);
+    }
+
+    BinaryWriter(int capacity) {
+        this.buffer = new byte[Math.max(16, capacity)];
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeInt(int value) {
+        ensure(4);
+        buffer[size++] = (byte) (value >>> 24);
+        buffer[size++] = (byte) (value >>> 16);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(double value) {
+        if (isWhole(value)) {
+            writeVarLong((zigZag((long) value) << 2) | DOUBLE_INTEGER);
+            return;
+        }
+        double scaled = value * 100.0;
+        if (isWhole(scaled)) {
+            long hundredths = (long) scaled;
+            if (hundredths / 100.0 == value) {
+                writeVarLong((zigZag(hundredths) << 2) | DOUBLE_HUNDREDTHS);
+                return;
+            }
+        }
+        writeVarLong(DOUBLE_RAW);
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    void writeBytes(BinaryWriter other) {
+        writeBytes(other.buffer, 0, other.size);
+    }
+
+    /**
+     * Overwrites four bytes already written, e.g. a length known only afterwards.
+     */
+    void putInt(int position, int value) {
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+    }
+
+    void putLong(int position, long value) {
+        putInt(position, (int) (value >>> 32));
+        putInt(position + 4, (int) value);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Wraps the written bytes without copying them.
+     */
+    ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, size);
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    private static boolean isWhole(double value) {
+        return Math.abs(value) < MAX_EXACT && value == Math.rint(value)
+                && !(value == 0.0 && Double.doubleToRawLongBits(value) != 0L);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
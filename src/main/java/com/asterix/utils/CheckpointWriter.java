@@ -0,0 +1,540 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Chief;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.Settlement;
+import com.asterix.model.simulation.EntityRegistry;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.SimulationLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes incremental checkpoints of a theater: a full base followed by deltas holding only
+ * the places that changed.
+ * <p>
+ * A place is saved again when its {@link Place#getDirtyEpoch() dirty epoch} moved (or its
+ * chief moved) since it was last written, so the cost of a delta follows the activity of the
+ * simulation rather than the size of the world. The counters of the theater and the newly
+ * archived characters are written every time. Ageing does not dirty a place: each checkpoint
+ * records the {@link InvasionTheater#getCharacterAgeingCount() ageing counters}, and a place
+ * restored from an older link is aged by the difference.
+ * </p>
+ * <p>
+ * Checkpoints are files of a directory, {@code checkpoint-<sequence>.base} or
+ * {@code .delta}, each written to a temporary file first and then moved in place.
+ * After {@code compactionThreshold} deltas, the next checkpoint is a new full base, and the
+ * chains older than the {@code retainedBases} latest bases are deleted. {@link #restore(File)}
+ * rebuilds the theater from the latest base and the deltas that follow it, decoding each
+ * place only once, from its latest record, and falls back on an older chain if needed.
+ * </p>
+ * <p>
+ * A checkpoint is taken in two steps: {@link #capture()} encodes it in memory at a tick
+ * boundary, and {@link #write(PendingCheckpoint)} writes it to the disk, which can be done
+ * on another thread while the simulation goes on (see {@link AutosaveService}).
+ * </p>
+ */
+public class CheckpointWriter {
+
+    /** First four bytes of every checkpoint: "ASTK". */
+    public static final int MAGIC = 0x4153544B;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Default number of deltas written before a new base. */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 8;
+    /** Default number of chains (a base and its deltas) kept on disk. */
+    public static final int DEFAULT_RETAINED_BASES = 1;
+
+    private static final int BASE = 0;
+    private static final int DELTA = 1;
+    private static final Pattern FILE_NAME = Pattern.compile("checkpoint-(\\d+)\\.(base|delta)");
+
+    /**
+     * Outcome of one checkpoint.
+     *
+     * @param sequence      The sequence number of the written file.
+     * @param base          {@code true} for a full base, {@code false} for a delta.
+     * @param placesWritten The number of places saved.
+     * @param bytes         The size of the file.
+     */
+    public record Checkpoint(long sequence, boolean base, int placesWritten, long bytes) { }
+
+    /**
+     * A checkpoint encoded by {@link #capture()} and not written yet.
+     */
+    public static final class PendingCheckpoint {
+        private final long sequence;
+        private final boolean base;
+        private final int placesWritten;
+        private final BinaryWriter content;
+
+        private PendingCheckpoint(long sequence, boolean base, int placesWritten, BinaryWriter content) {
+            this.sequence = sequence;
+            this.base = base;
+            this.placesWritten = placesWritten;
+            this.content = content;
+        }
+
+        /**
+         * @return The sequence number of the checkpoint.
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return {@code true} for a full base, {@code false} for a delta.
+         */
+        public boolean isBase() {
+            return base;
+        }
+
+        /**
+         * @return The number of places encoded.
+         */
+        public int getPlacesWritten() {
+            return placesWritten;
+        }
+
+        /**
+         * @return The size of the encoded checkpoint, in bytes.
+         */
+        public long getBytes() {
+            return content.size();
+        }
+    }
+
+    private final File directory;
+    private final InvasionTheater theater;
+    private final int compactionThreshold;
+    private final int retainedBases;
+
+    /** Dirty epoch of each place when it was last written. */
+    private final Map<Place, Long> writtenEpochs = new IdentityHashMap<>();
+    /** Location of the chief of each settlement when it was last written. */
+    private final Map<Place, Place> writtenChiefLocations = new IdentityHashMap<>();
+    private int writtenArchiveSize;
+    private long sequence;
+    private int deltasSinceBase;
+    private boolean hasBase;
+    /** Sequence of the oldest checkpoint that could not be written, -1 if the chain is whole. */
+    private long brokenAt = -1;
+
+    /**
+     * Creates a writer for a theater. Its first checkpoint is a full base.
+     *
+     * @param directory           The directory of the checkpoint files, created if missing.
+     * @param theater             The theater to save.
+     * @param compactionThreshold The number of deltas written before a new base, at least 0.
+     * @param retainedBases       The number of chains kept on disk, at least 1. Older chains
+     *                            are deleted once a new base is written.
+     * @throws IOException If the directory cannot be created or listed.
+     */
+    public CheckpointWriter(File directory, InvasionTheater theater, int compactionThreshold,
+                            int retainedBases) throws IOException {
+        if (compactionThreshold < 0) {
+            throw new IllegalArgumentException("Compaction threshold cannot be negative.");
+        }
+        if (retainedBases < 1) {
+            throw new IllegalArgumentException("At least one checkpoint chain must be retained.");
+        }
+        Files.createDirectories(directory.toPath());
+        this.directory = directory;
+        this.theater = theater;
+        this.compactionThreshold = compactionThreshold;
+        this.retainedBases = retainedBases;
+        TreeMap<Long, File> chain = listChain(directory);
+        this.sequence = chain.isEmpty() ? 0 : chain.lastKey() + 1;
+    }
+
+    /**
+     * Creates a writer keeping only the latest chain.
+     *
+     * @param directory           The directory of the checkpoint files, created if missing.
+     * @param theater             The theater to save.
+     * @param compactionThreshold The number of deltas written before a new base, at least 0.
+     * @throws IOException If the directory cannot be created or listed.
+     */
+    public CheckpointWriter(File directory, InvasionTheater theater, int compactionThreshold) throws IOException {
+        this(directory, theater, compactionThreshold, DEFAULT_RETAINED_BASES);
+    }
+
+    /**
+     * Creates a writer compacting every {@link #DEFAULT_COMPACTION_THRESHOLD} deltas.
+     *
+     * @param directory The directory of the checkpoint files, created if missing.
+     * @param theater   The theater to save.
+     * @throws IOException If the directory cannot be created or listed.
+     */
+    public CheckpointWriter(File directory, InvasionTheater theater) throws IOException {
+        this(directory, theater, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Writes a checkpoint: a delta of the places that changed, or a new base once enough
+     * deltas have been chained. Should be called between two ticks.
+     *
+     * @return What was written.
+     * @throws IOException If the file cannot be written.
+     */
+    public Checkpoint checkpoint() throws IOException {
+        return write(capture());
+    }
+
+    /**
+     * Encodes a checkpoint in memory without touching the disk. Must be called between two
+     * ticks, on the thread that runs the simulation.
+     * <p>
+     * Only the dirty places are encoded, so the pause of the simulation follows its activity.
+     * The places are then considered written: the returned checkpoint must be handed to
+     * {@link #write(PendingCheckpoint)}, possibly on another thread, before the next one.
+     * </p>
+     *
+     * @return The encoded checkpoint.
+     */
+    public synchronized PendingCheckpoint capture() {
+        boolean base = !hasBase || deltasSinceBase >= compactionThreshold;
+        List<Place> places = theater.getPlaces();
+        List<Place> written = new ArrayList<>();
+        for (Place place : places) {
+            if (base || isDirty(place)) {
+                written.add(place);
+            }
+        }
+        List<Character> archive = theater.getArchive();
+        int archiveFrom = base ? 0 : Math.min(writtenArchiveSize, archive.size());
+
+        BinarySnapshotCodec.Encoder encoder = new BinarySnapshotCodec.Encoder();
+        BinaryWriter body = new BinaryWriter(4096);
+        body.writeVarInt(encoder.string(theater.getName()));
+        body.writeVarLong(theater.getTick());
+        body.writeVarInt(theater.getCompactionInterval());
+        body.writeVarLong(theater.getRejectedCloneCount());
+        EntityRegistry registry = theater.getRegistry();
+        body.writeVarInt(registry.getCharacterCount());
+        body.writeVarInt(registry.getFoodCount());
+        body.writeVarInt(registry.getPlaceCount());
+        body.writeVarLong(theater.getCharacterAgeingCount());
+        body.writeVarLong(theater.getFoodAgeingCount());
+
+        body.writeVarInt(written.size());
+        BinaryWriter record = new BinaryWriter(1024);
+        for (Place place : written) {
+            // epoch read first: a change made while encoding leaves the place dirty
+            writtenEpochs.put(place, place.getDirtyEpoch());
+            if (place instanceof Settlement settlement) {
+                writtenChiefLocations.put(place, chiefLocation(settlement));
+            }
+            record.reset();
+            encoder.writePlaceShell(record, place);
+            encoder.writePlaceContents(record, place);
+            body.writeVarInt(record.size());
+            body.writeBytes(record);
+        }
+
+        body.writeVarInt(archiveFrom);
+        body.writeVarInt(archive.size() - archiveFrom);
+        long previousId = EntityRegistry.UNASSIGNED_ID;
+        for (Character c : archive.subList(archiveFrom, archive.size())) {
+            previousId = encoder.writeCharacter(body, c, previousId);
+        }
+        writtenArchiveSize = archive.size();
+
+        BinaryWriter out = new BinaryWriter(body.size() + 64);
+        out.writeInt(MAGIC);
+        out.writeVarInt(VERSION);
+        out.writeByte(base ? BASE : DELTA);
+        out.writeVarLong(sequence);
+        encoder.writeStringTable(out);
+        out.writeBytes(body);
+
+        if (base) {
+            hasBase = true;
+            deltasSinceBase = 0;
+        } else {
+            deltasSinceBase++;
+        }
+        return new PendingCheckpoint(sequence++, base, written.size(), out);
+    }
+
+    /**
+     * Writes a captured checkpoint to its file and forces it to the disk. Can be called from
+     * any thread, in the order of capture; it does not block {@link #capture()}.
+     * <p>
+     * If the file cannot be written, the chain is broken: the deltas captured after it are
+     * refused, and the next capture is a new full base.
+     * </p>
+     *
+     * @param pending A checkpoint returned by {@link #capture()}.
+     * @return What was written.
+     * @throws IOException If the file cannot be written, or a link before it is missing.
+     */
+    public Checkpoint write(PendingCheckpoint pending) throws IOException {
+        synchronized (this) {
+            if (!pending.base && brokenAt >= 0 && pending.sequence > brokenAt) {
+                throw new IOException("Checkpoint chain broken at " + brokenAt + ", delta "
+                        + pending.sequence + " not written.");
+            }
+        }
+        try {
+            write(pending.content, new File(directory, fileName(pending.sequence, pending.base)));
+        } catch (IOException e) {
+            breakChain(pending.sequence);
+            throw e;
+        }
+        if (pending.base) {
+            synchronized (this) {
+                if (brokenAt < pending.sequence) {
+                    brokenAt = -1;
+                }
+            }
+            deleteExpiredChains();
+        }
+        return new Checkpoint(pending.sequence, pending.base, pending.placesWritten, pending.content.size());
+    }
+
+    private synchronized void breakChain(long at) {
+        if (brokenAt < 0 || at < brokenAt) {
+            brokenAt = at;
+        }
+        // everything written since may be unusable: start over from a full base
+        hasBase = false;
+    }
+
+    private boolean isDirty(Place place) {
+        Long epoch = writtenEpochs.get(place);
+        if (epoch == null || epoch != place.getDirtyEpoch()) {
+            return true;
+        }
+        return place instanceof Settlement settlement
+                && writtenChiefLocations.get(place) != chiefLocation(settlement);
+    }
+
+    private static Place chiefLocation(Settlement settlement) {
+        Chief chief = settlement.getChief();
+        return chief == null ? null : chief.getLocation();
+    }
+
+    private static String fileName(long sequence, boolean base) {
+        return String.format("checkpoint-%08d.%s", sequence, base ? "base" : "delta");
+    }
+
+    private static void write(BinaryWriter content, File target) throws IOException {
+        File temporary = new File(target.getParentFile(), target.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = content.asByteBuffer();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes the links older than the {@code retainedBases} latest bases.
+     */
+    private void deleteExpiredChains() throws IOException {
+        TreeMap<Long, File> chain = listChain(directory);
+        int bases = 0;
+        long oldestKept = -1;
+        for (Map.Entry<Long, File> link : chain.descendingMap().entrySet()) {
+            if (isBase(link.getValue()) && ++bases == retainedBases) {
+                oldestKept = link.getKey();
+                break;
+            }
+        }
+        if (oldestKept < 0) return;
+        for (File expired : chain.headMap(oldestKept, false).values()) {
+            Files.deleteIfExists(expired.toPath());
+        }
+    }
+
+    private static boolean isBase(File file) {
+        return file.getName().endsWith(".base");
+    }
+
+    /**
+     * Lists the checkpoint files of a directory by sequence number.
+     */
+    private static TreeMap<Long, File> listChain(File directory) {
+        TreeMap<Long, File> chain = new TreeMap<>();
+        File[] files = directory.listFiles();
+        if (files == null) return chain;
+        for (File file : files) {
+            Matcher matcher = FILE_NAME.matcher(file.getName());
+            if (matcher.matches()) {
+                chain.put(Long.parseLong(matcher.group(1)), file);
+            }
+        }
+        return chain;
+    }
+
+    // --- Restoring ---
+
+    /**
+     * Rebuilds the theater saved in a checkpoint directory: the latest base, then every delta after it.
+     * <p>
+     * If that chain cannot be read (missing link, invalid file), the previous retained chain
+     * is tried, and so on.
+     * </p>
+     *
+     * @param directory The checkpoint directory.
+     * @return The theater as it was at the last readable checkpoint.
+     * @throws IOException If there is no base, or no chain can be read.
+     */
+    public static InvasionTheater restore(File directory) throws IOException {
+        TreeMap<Long, File> chain = listChain(directory);
+        IOException failure = null;
+        Long nextBase = null;
+        for (Map.Entry<Long, File> link : chain.descendingMap().entrySet()) {
+            if (!isBase(link.getValue())) continue;
+            long baseSequence = link.getKey();
+            try {
+                return restore(directory, nextBase == null
+                        ? chain.tailMap(baseSequence, true)
+                        : chain.subMap(baseSequence, true, nextBase, false), baseSequence);
+            } catch (IOException e) {
+                SimulationLog.warn(() -> "⚠️ Chaîne de sauvegarde " + baseSequence + " illisible : " + e.getMessage());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+            nextBase = baseSequence;
+        }
+        throw failure != null ? failure : new IOException("No checkpoint base in " + directory);
+    }
+
+    private static InvasionTheater restore(File directory, Map<Long, File> links, long baseSequence) throws IOException {
+        Restore restore = new Restore();
+        long expected = baseSequence;
+        for (Map.Entry<Long, File> link : links.entrySet()) {
+            if (link.getKey() != expected) {
+                throw new IOException("Missing checkpoint " + expected + " in " + directory);
+            }
+            restore.read(Files.readAllBytes(link.getValue().toPath()), link.getKey() == baseSequence);
+            expected++;
+        }
+        return restore.finish();
+    }
+
+    /**
+     * Latest record of a place within the chain, decoded once the whole chain has been read.
+     */
+    private record PlaceRecord(BinarySnapshotCodec.Decoder decoder, BinaryReader in, int offset,
+                               long characterAgeings, long foodAgeings) { }
+
+    /**
+     * State of a restore, fed with the links of the chain in order.
+     */
+    private static final class Restore {
+        private InvasionTheater theater;
+        private final Map<Integer, PlaceRecord> places = new LinkedHashMap<>();
+        private final List<BinarySnapshotCodec.Decoder> decoders = new ArrayList<>();
+        private final List<Character> archive = new ArrayList<>();
+        private long tick;
+        private int compactionInterval;
+        private long rejectedClones;
+        private int characterCount;
+        private int foodCount;
+        private int placeCount;
+        private long characterAgeings;
+        private long foodAgeings;
+
+        void read(byte[] bytes, boolean base) throws IOException {
+            BinaryReader in = new BinaryReader(bytes);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a theater checkpoint.");
+            }
+            int version = in.readVarInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version: " + version);
+            }
+            int kind = in.readByte();
+            if (kind != (base ? BASE : DELTA)) {
+                throw new IOException("Unexpected checkpoint kind: " + kind);
+            }
+            in.readVarLong();
+            BinarySnapshotCodec.Decoder decoder = new BinarySnapshotCodec.Decoder(in);
+            decoder.readStringTable();
+            String name = decoder.string(in.readVarInt());
+            if (theater == null) {
+                theater = new InvasionTheater(name);
+            }
+            decoder.useRegistry(theater.getRegistry());
+            decoders.add(decoder);
+
+            tick = in.readVarLong();
+            compactionInterval = in.readVarInt();
+            rejectedClones = in.readVarLong();
+            characterCount = in.readVarInt();
+            foodCount = in.readVarInt();
+            placeCount = in.readVarInt();
+            characterAgeings = in.readVarLong();
+            foodAgeings = in.readVarLong();
+            if (compactionInterval < 1) {
+                throw new IOException("Invalid compaction interval in checkpoint: " + compactionInterval);
+            }
+
+            int records = in.readCount();
+            for (int i = 0; i < records; i++) {
+                int length = in.readCount();
+                int offset = in.position();
+                int id = (int) in.readSignedVarLong();
+                places.put(id, new PlaceRecord(decoder, in, offset, characterAgeings, foodAgeings));
+                in.position(offset + length);
+            }
+
+            int archiveFrom = in.readVarInt();
+            if (archiveFrom != archive.size()) {
+                throw new IOException("Checkpoint archive starts at " + archiveFrom + " instead of " + archive.size());
+            }
+            archive.addAll(decoder.readArchive());
+        }
+
+        InvasionTheater finish() throws IOException {
+            theater.setCompactionInterval(compactionInterval);
+            for (PlaceRecord record : places.values()) {
+                record.in().position(record.offset());
+                Place place = record.decoder().readPlaceShell();
+                record.decoder().readPlaceContents(place);
+                for (long i = record.characterAgeings(); i < characterAgeings; i++) {
+                    place.ageCharacters();
+                }
+                for (long i = record.foodAgeings(); i < foodAgeings; i++) {
+                    place.ageFood();
+                }
+                theater.addPlace(place);
+            }
+            for (BinarySnapshotCodec.Decoder decoder : decoders) {
+                decoder.resolveChiefLocations(theater);
+            }
+            theater.getRegistry().reserve(characterCount, foodCount, placeCount);
+            theater.restoreState(tick, rejectedClones, archive);
+            return theater;
+        }
+    }
+}
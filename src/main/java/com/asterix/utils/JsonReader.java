@@ -0,0 +1,317 @@
+package com.asterix.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Minimal streaming (pull) JSON reader.
+ * <p>
+ * The document is read token by token: {@link #peek()} tells what comes next, and the
+ * {@code begin}/{@code end}/{@code next} methods consume it. Only the stack of open
+ * containers and the current token are kept in memory. Malformed input is reported as an
+ * {@link IOException} giving the line of the error.
+ * </p>
+ */
+final class JsonReader {
+
+    /** Kinds of token. */
+    enum Token { BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT }
+
+    // Scopes of the stack.
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    /** An object whose last token is a name, waiting for its value. */
+    private static final int DANGLING_NAME = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+
+    private Token peeked;
+    /** Text of the peeked name, string or number. */
+    private String peekedText;
+    private boolean peekedBoolean;
+    private final StringBuilder text = new StringBuilder();
+
+    JsonReader(Reader in) {
+        this.in = in;
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Tells what the next token is, without consuming it.
+     */
+    Token peek() throws IOException {
+        if (peeked != null) return peeked;
+        int scope = stack[stackSize - 1];
+        int c = nextNonWhitespace();
+        switch (scope) {
+            case EMPTY_ARRAY, NONEMPTY_ARRAY -> {
+                if (c == ']') return peeked = Token.END_ARRAY;
+                if (scope == NONEMPTY_ARRAY) {
+                    if (c != ',') throw syntaxError("',' or ']' expected");
+                    c = nextNonWhitespace();
+                }
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                if (c == '}') return peeked = Token.END_OBJECT;
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') throw syntaxError("',' or '}' expected");
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') throw syntaxError("name expected");
+                peekedText = readString();
+                stack[stackSize - 1] = DANGLING_NAME;
+                return peeked = Token.NAME;
+            }
+            case DANGLING_NAME -> {
+                if (c != ':') throw syntaxError("':' expected");
+                c = nextNonWhitespace();
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+            }
+            case EMPTY_DOCUMENT -> stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+            default -> {
+                if (c < 0) return peeked = Token.END_DOCUMENT;
+                throw syntaxError("end of document expected");
+            }
+        }
+        return peeked = readValue(c);
+    }
+
+    boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        stackSize--;
+    }
+
+    void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        stackSize--;
+    }
+
+    String nextName() throws IOException {
+        expect(Token.NAME);
+        return peekedText;
+    }
+
+    /**
+     * @return The next string, or {@code null} for a JSON {@code null}.
+     */
+    String nextString() throws IOException {
+        if (peek() == Token.NULL) {
+            peeked = null;
+            return null;
+        }
+        expect(Token.STRING);
+        return peekedText;
+    }
+
+    double nextDouble() throws IOException {
+        expect(Token.NUMBER);
+        try {
+            return Double.parseDouble(peekedText);
+        } catch (NumberFormatException e) {
+            throw syntaxError("invalid number " + peekedText);
+        }
+    }
+
+    long nextLong() throws IOException {
+        expect(Token.NUMBER);
+        try {
+            return Long.parseLong(peekedText);
+        } catch (NumberFormatException e) {
+            double value = Double.parseDouble(peekedText);
+            if (value != (long) value) throw syntaxError("integer expected, got " + peekedText);
+            return (long) value;
+        }
+    }
+
+    int nextInt() throws IOException {
+        long value = nextLong();
+        if (value != (int) value) throw syntaxError("integer too large: " + value);
+        return (int) value;
+    }
+
+    boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return peekedBoolean;
+    }
+
+    /**
+     * Skips the next value, with everything it contains.
+     */
+    void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT -> { beginObject(); depth++; }
+                case BEGIN_ARRAY -> { beginArray(); depth++; }
+                case END_OBJECT -> { endObject(); depth--; }
+                case END_ARRAY -> { endArray(); depth--; }
+                case END_DOCUMENT -> throw syntaxError("value expected");
+                default -> peeked = null;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Builds the error for an unexpected structure.
+     */
+    IOException syntaxError(String message) {
+        return new IOException("Malformed JSON at line " + line + ": " + message);
+    }
+
+    private void expect(Token token) throws IOException {
+        Token actual = peek();
+        if (actual != token) {
+            throw syntaxError(token + " expected but was " + actual);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private Token readValue(int c) throws IOException {
+        switch (c) {
+            case '{': return Token.BEGIN_OBJECT;
+            case '[': return Token.BEGIN_ARRAY;
+            case '"':
+                peekedText = readString();
+                return Token.STRING;
+            case 't':
+                readLiteral("rue");
+                peekedBoolean = true;
+                return Token.BOOLEAN;
+            case 'f':
+                readLiteral("alse");
+                peekedBoolean = false;
+                return Token.BOOLEAN;
+            case 'n':
+                readLiteral("ull");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    peekedText = readNumber(c);
+                    return Token.NUMBER;
+                }
+                throw syntaxError(c < 0 ? "unexpected end of document" : "unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void readLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) throw syntaxError("invalid literal");
+        }
+    }
+
+    private String readNumber(int first) throws IOException {
+        text.setLength(0);
+        text.append((char) first);
+        while (true) {
+            if (position == limit && !fill()) break;
+            char c = buffer[position];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                text.append(c);
+                position++;
+            } else {
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads a string whose opening quote was consumed. Runs without escapes are copied in bulk.
+     */
+    private String readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '"' || c == '\\' || c < 0x20) break;
+                position++;
+            }
+            text.append(buffer, start, position - start);
+            if (position == limit) {
+                if (!fill()) throw syntaxError("unterminated string");
+                continue;
+            }
+            char c = buffer[position++];
+            if (c == '"') return text.toString();
+            if (c != '\\') throw syntaxError("control character in string");
+            int escaped = read();
+            switch (escaped) {
+                case '"', '\\', '/' -> text.append((char) escaped);
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) throw syntaxError("invalid unicode escape");
+                        code = code * 16 + digit;
+                    }
+                    text.append((char) code);
+                }
+                default -> throw syntaxError("invalid escape");
+            }
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == '\n') {
+                line++;
+            } else if (c != ' ' && c != '\t' && c != '\r') {
+                return c;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
@@ -0,0 +1,596 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.creature.Creature;
+import com.asterix.model.character.creature.Lycanthrope;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.gaul.Innkeeper;
+import com.asterix.model.character.gaul.Merchant;
+import com.asterix.model.character.roman.General;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.character.roman.Prefect;
+import com.asterix.model.item.Cauldron;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.CreatureEnclosure;
+import com.asterix.model.place.GalloRomanTown;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.RomanCamp;
+import com.asterix.model.place.RomanCity;
+import com.asterix.model.place.Settlement;
+import com.asterix.model.simulation.EntityRegistry;
+import com.asterix.model.simulation.InvasionTheater;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ScenarioCodec} for JSON, holding the complete state of a theater.
+ * <p>
+ * The document covers what the XML saver writes (places, chiefs, characters) plus what
+ * {@link BinarySnapshotCodec} keeps to resume a run: entity ids, population limits, vitals,
+ * transformations, pantries with the freshness of each item, cauldrons, the archive and the
+ * theater counters. Runtime fields equal to those of a new character are left out.
+ * </p>
+ * <p>
+ * Reading and writing are streamed with {@link JsonReader} and {@link JsonWriter}: no tree
+ * model is built. Members may come in any order, unknown members are skipped, and a document
+ * without ids or runtime fields (e.g. written by hand) is read as a fresh scenario.
+ * </p>
+ */
+public class JsonScenarioCodec implements ScenarioCodec {
+
+    /** Value of the {@code "format"} member. */
+    public static final String FORMAT = "asterix-theater";
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    private static final String[] FRESHNESS = {null, "FRESH", "PARTIALLY_FRESH", "ROTTEN"};
+
+    private final boolean indent;
+
+    /**
+     * Creates a codec writing indented JSON.
+     */
+    public JsonScenarioCodec() {
+        this(true);
+    }
+
+    /**
+     * Creates a codec.
+     *
+     * @param indent {@code true} to indent the written members.
+     */
+    public JsonScenarioCodec(boolean indent) {
+        this.indent = indent;
+    }
+
+    @Override
+    public String getExtension() {
+        return "json";
+    }
+
+    // --- Writing ---
+
+    @Override
+    public void write(InvasionTheater theater, OutputStream out) throws IOException {
+        JsonWriter json = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE), indent);
+        json.beginObject();
+        json.name("format").value(FORMAT);
+        json.name("version").value(VERSION);
+        json.name("name").value(theater.getName());
+        json.name("tick").value(theater.getTick());
+        json.name("compactionInterval").value(theater.getCompactionInterval());
+        json.name("rejectedClones").value(theater.getRejectedCloneCount());
+        EntityRegistry registry = theater.getRegistry();
+        json.name("registry").beginObject()
+                .name("characters").value(registry.getCharacterCount())
+                .name("foods").value(registry.getFoodCount())
+                .name("places").value(registry.getPlaceCount())
+                .endObject();
+
+        json.name("places").beginArray();
+        for (Place place : theater.getPlaces()) {
+            writePlace(json, place);
+        }
+        json.endArray();
+        writeCharacters(json, "archive", theater.getArchive());
+        json.endObject();
+        json.flush();
+    }
+
+    private static void writePlace(JsonWriter json, Place place) throws IOException {
+        json.beginObject();
+        json.name("id").value(place.getId());
+        json.name("type").value(place.getClass().getSimpleName());
+        json.name("name").value(place.getName());
+        json.name("area").value(place.getArea());
+        json.name("populationLimit").value(place.getPopulationLimit());
+
+        Chief chief = place instanceof Settlement settlement ? settlement.getChief() : null;
+        if (chief != null) {
+            json.name("chief").beginObject();
+            json.name("name").value(chief.getName());
+            json.name("sex").value(chief.getGender());
+            json.name("age").value(chief.getAge());
+            if (chief.getLocation() != null) {
+                json.name("location").value(chief.getLocation().getId());
+            }
+            json.endObject();
+        }
+        if (place instanceof GaulVillage village) {
+            json.name("cauldron");
+            writeCauldron(json, village.getCauldron());
+        }
+
+        writeCharacters(json, "characters", place.getAliveCharacters());
+        List<Character> tombstones = place.getTombstones();
+        if (!tombstones.isEmpty()) {
+            writeCharacters(json, "tombstones", tombstones);
+        }
+        List<Food> foods = place.getFoods();
+        if (!foods.isEmpty()) {
+            json.name("foods").beginArray();
+            for (Food food : foods) {
+                json.beginObject();
+                json.name("id").value(food.getId());
+                writeFoodFields(json, food);
+                json.endObject();
+            }
+            json.endArray();
+        }
+        json.endObject();
+    }
+
+    private static void writeCharacters(JsonWriter json, String name, List<Character> characters) throws IOException {
+        json.name(name).beginArray();
+        for (Character c : characters) {
+            writeCharacter(json, c);
+        }
+        json.endArray();
+    }
+
+    private static void writeCharacter(JsonWriter json, Character c) throws IOException {
+        json.beginObject();
+        json.name("id").value(c.getId());
+        json.name("type").value(c.getClass().getSimpleName());
+        json.name("name").value(c.getName());
+        json.name("age").value(c.getAge());
+        json.name("height").value(c.getHeight());
+        if (c instanceof Lycanthrope lycanthrope) {
+            json.name("strength").value(lycanthrope.getBaseStrength());
+            json.name("stamina").value(lycanthrope.getBaseStamina());
+        } else {
+            json.name("strength").value(c.getStrength());
+            json.name("stamina").value(c.getStamina());
+        }
+        if (c.getGender() != null) {
+            json.name("gender").value(c.getGender().name());
+        }
+
+        // Runtime state, only when it differs from a new character.
+        if (Double.compare(c.getHealth(), Character.MAX_HEALTH) != 0) json.name("health").value(c.getHealth());
+        if (Double.compare(c.getHunger(), 0.0) != 0) json.name("hunger").value(c.getHunger());
+        if (Double.compare(c.getBelligerence(), 0.0) != 0) json.name("belligerence").value(c.getBelligerence());
+        if (Double.compare(c.getPotionLevel(), 0.0) != 0) json.name("potionLevel").value(c.getPotionLevel());
+        if (Double.compare(c.getLifetimePotionDoses(), 0.0) != 0) {
+            json.name("lifetimeDoses").value(c.getLifetimePotionDoses());
+        }
+        if (c.isStatue()) json.name("statue").value(true);
+        if (c.isLycanthrope()) json.name("lycanthropy").value(true);
+        if (c instanceof Creature creature && creature.isFeral()) json.name("feral").value(true);
+        if (c instanceof Lycanthrope lycanthrope && lycanthrope.isInWolfForm()) json.name("wolfForm").value(true);
+        if (c instanceof Druid druid) {
+            json.name("cauldron");
+            if (druid.getCauldron() == null) {
+                json.value((String) null);
+            } else {
+                writeCauldron(json, druid.getCauldron());
+            }
+        }
+        json.endObject();
+    }
+
+    private static void writeCauldron(JsonWriter json, Cauldron cauldron) throws IOException {
+        json.beginObject();
+        json.name("ingredients").beginArray();
+        for (Food food : cauldron.getIngredients()) {
+            json.beginObject();
+            writeFoodFields(json, food);
+            json.endObject();
+        }
+        json.endArray();
+        json.name("ready").value(cauldron.isReady());
+        json.name("doses").value(cauldron.getRemainingDoses());
+        json.name("nourishing").value(cauldron.isNourishing());
+        json.name("duplication").value(cauldron.causesDuplication());
+        json.name("lycanthropy").value(cauldron.causesLycanthropy());
+        json.endObject();
+    }
+
+    private static void writeFoodFields(JsonWriter json, Food food) throws IOException {
+        int code = BinarySnapshotCodec.foodCode(food);
+        json.name("type").value(food.getFoodType().name());
+        if (FRESHNESS[code & 3] != null) {
+            json.name("freshness").value(FRESHNESS[code & 3]);
+        }
+    }
+
+    // --- Reading ---
+
+    @Override
+    public InvasionTheater read(InputStream in) throws IOException {
+        JsonReader json = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            return new Reading(json).read();
+        } catch (IllegalArgumentException e) {
+            throw json.syntaxError(e.getMessage());
+        }
+    }
+
+    /**
+     * A character read with its saved id ({@link EntityRegistry#UNASSIGNED_ID} if none).
+     */
+    private record Entry<T>(T entity, int id) { }
+
+    /**
+     * A place read, waiting for the theater to be created to restore its ids.
+     */
+    private static final class PlaceEntry {
+        private int id = EntityRegistry.UNASSIGNED_ID;
+        private String type;
+        private String name;
+        private double area;
+        private int populationLimit = -1;
+        private Chief chief;
+        private Integer chiefLocation;
+        private CauldronEntry cauldron;
+        private List<Entry<Character>> characters = List.of();
+        private List<Entry<Character>> tombstones = List.of();
+        private final List<Entry<Food>> foods = new ArrayList<>();
+        private Place place;
+    }
+
+    /**
+     * The content of a cauldron, applied once the cauldron exists.
+     */
+    private static final class CauldronEntry {
+        private final List<Food> ingredients = new ArrayList<>();
+        private boolean ready;
+        private int doses;
+        private boolean nourishing;
+        private boolean duplication;
+        private boolean lycanthropy;
+
+        void applyTo(Cauldron cauldron) {
+            if (!ingredients.isEmpty()) {
+                cauldron.addIngredients(ingredients);
+            }
+            cauldron.restoreBrew(ready, doses, nourishing, duplication, lycanthropy);
+        }
+    }
+
+    /**
+     * State of one reading. The theater is assembled at the end, as its name may come last.
+     */
+    private static final class Reading {
+        private final JsonReader json;
+        private String name;
+        private long tick;
+        private int compactionInterval = -1;
+        private long rejectedClones;
+        private int characterCount = -1;
+        private int foodCount = -1;
+        private int placeCount = -1;
+        private final List<PlaceEntry> places = new ArrayList<>();
+        private List<Entry<Character>> archive = List.of();
+
+        Reading(JsonReader json) {
+            this.json = json;
+        }
+
+        InvasionTheater read() throws IOException {
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "format" -> {
+                        String format = json.nextString();
+                        if (!FORMAT.equals(format)) throw json.syntaxError("unknown format " + format);
+                    }
+                    case "version" -> {
+                        int version = json.nextInt();
+                        if (version > VERSION) throw new IOException("Unsupported JSON theater version: " + version);
+                    }
+                    case "name" -> name = json.nextString();
+                    case "tick" -> tick = json.nextLong();
+                    case "compactionInterval" -> compactionInterval = json.nextInt();
+                    case "rejectedClones" -> rejectedClones = json.nextLong();
+                    case "registry" -> readRegistry();
+                    case "places" -> {
+                        json.beginArray();
+                        while (json.hasNext()) places.add(readPlace());
+                        json.endArray();
+                    }
+                    case "archive" -> archive = readCharacters();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+            if (json.peek() != JsonReader.Token.END_DOCUMENT) {
+                throw json.syntaxError("end of document expected");
+            }
+            return assemble();
+        }
+
+        private void readRegistry() throws IOException {
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "characters" -> characterCount = json.nextInt();
+                    case "foods" -> foodCount = json.nextInt();
+                    case "places" -> placeCount = json.nextInt();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+
+        private PlaceEntry readPlace() throws IOException {
+            PlaceEntry entry = new PlaceEntry();
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "id" -> entry.id = json.nextInt();
+                    case "type" -> entry.type = json.nextString();
+                    case "name" -> entry.name = json.nextString();
+                    case "area" -> entry.area = json.nextDouble();
+                    case "populationLimit" -> entry.populationLimit = json.nextInt();
+                    case "chief" -> readChief(entry);
+                    case "cauldron" -> entry.cauldron = readCauldron();
+                    case "characters" -> entry.characters = readCharacters();
+                    case "tombstones" -> entry.tombstones = readCharacters();
+                    case "foods" -> {
+                        json.beginArray();
+                        while (json.hasNext()) entry.foods.add(readFood());
+                        json.endArray();
+                    }
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            Chief chief = entry.chief;
+            entry.place = switch (entry.type == null ? "" : entry.type) {
+                case "Battlefield" -> new Battlefield(entry.name, entry.area);
+                case "CreatureEnclosure" -> new CreatureEnclosure(entry.name, entry.area);
+                case "GaulVillage" -> new GaulVillage(entry.name, entry.area, chief);
+                case "RomanCamp" -> new RomanCamp(entry.name, entry.area, chief);
+                case "RomanCity" -> new RomanCity(entry.name, entry.area, chief);
+                case "GalloRomanTown" -> new GalloRomanTown(entry.name, entry.area, chief);
+                default -> throw json.syntaxError("unknown place type " + entry.type);
+            };
+            return entry;
+        }
+
+        private void readChief(PlaceEntry entry) throws IOException {
+            String chiefName = null;
+            String sex = null;
+            int age = 0;
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "name" -> chiefName = json.nextString();
+                    case "sex" -> sex = json.nextString();
+                    case "age" -> age = json.nextInt();
+                    case "location" -> entry.chiefLocation = json.nextInt();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+            entry.chief = new Chief(chiefName, sex, age, null);
+        }
+
+        private List<Entry<Character>> readCharacters() throws IOException {
+            List<Entry<Character>> characters = new ArrayList<>();
+            json.beginArray();
+            while (json.hasNext()) {
+                characters.add(readCharacter());
+            }
+            json.endArray();
+            return characters;
+        }
+
+        private Entry<Character> readCharacter() throws IOException {
+            int id = EntityRegistry.UNASSIGNED_ID;
+            String type = null;
+            String characterName = null;
+            int age = 0;
+            double height = 0.0, strength = 0.0, stamina = 0.0;
+            Gender gender = null;
+            double health = Character.MAX_HEALTH, hunger = 0.0, belligerence = 0.0;
+            double potionLevel = 0.0, lifetimeDoses = 0.0;
+            boolean statue = false, lycanthropy = false, feral = false, wolfForm = false;
+            boolean cauldronSet = false;
+            CauldronEntry cauldron = null;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "id" -> id = json.nextInt();
+                    case "type" -> type = json.nextString();
+                    case "name" -> characterName = json.nextString();
+                    case "age" -> age = json.nextInt();
+                    case "height" -> height = json.nextDouble();
+                    case "strength" -> strength = json.nextDouble();
+                    case "stamina" -> stamina = json.nextDouble();
+                    case "gender" -> {
+                        String value = json.nextString();
+                        gender = value == null ? null : Gender.valueOf(value);
+                    }
+                    case "health" -> health = json.nextDouble();
+                    case "hunger" -> hunger = json.nextDouble();
+                    case "belligerence" -> belligerence = json.nextDouble();
+                    case "potionLevel" -> potionLevel = json.nextDouble();
+                    case "lifetimeDoses" -> lifetimeDoses = json.nextDouble();
+                    case "statue" -> statue = json.nextBoolean();
+                    case "lycanthropy" -> lycanthropy = json.nextBoolean();
+                    case "feral" -> feral = json.nextBoolean();
+                    case "wolfForm" -> wolfForm = json.nextBoolean();
+                    case "cauldron" -> {
+                        cauldronSet = true;
+                        if (json.peek() == JsonReader.Token.NULL) {
+                            json.skipValue();
+                        } else {
+                            cauldron = readCauldron();
+                        }
+                    }
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            Character c = switch (type == null ? "" : type) {
+                case "Merchant" -> new Merchant(characterName, age, height, strength, stamina, gender);
+                case "Druid" -> new Druid(characterName, age, height, strength, stamina, gender);
+                case "BlackSmith" -> new BlackSmith(characterName, age, height, strength, stamina, gender);
+                case "Innkeeper" -> new Innkeeper(characterName, age, height, strength, stamina, gender);
+                case "Legionnaire" -> new Legionnaire(characterName, age, height, strength, stamina, gender);
+                case "General" -> new General(EntityRegistry.UNASSIGNED_ID, characterName, age, height, strength, stamina, gender);
+                case "Prefect" -> new Prefect(characterName, age, height, strength, stamina, gender);
+                case "Lycanthrope" -> new Lycanthrope(characterName, age, height, strength, stamina, gender);
+                default -> throw json.syntaxError("unknown character type " + type);
+            };
+            c.restoreState(health, hunger, belligerence, potionLevel, lifetimeDoses, statue, lycanthropy);
+            if (c instanceof Lycanthrope lycanthrope) {
+                if (wolfForm) lycanthrope.transformToWolfForm();
+                else lycanthrope.revertToHumanForm();
+            }
+            if (c instanceof Creature creature) {
+                if (feral) creature.enterFeralState();
+                else creature.leaveFeralState();
+            }
+            // an absent cauldron keeps the one of a new druid, an explicit null removes it
+            if (c instanceof Druid druid && cauldronSet) {
+                Cauldron restored = null;
+                if (cauldron != null) {
+                    restored = new Cauldron();
+                    cauldron.applyTo(restored);
+                }
+                druid.receiveCauldron(restored);
+            }
+            return new Entry<>(c, id);
+        }
+
+        private CauldronEntry readCauldron() throws IOException {
+            CauldronEntry cauldron = new CauldronEntry();
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "ingredients" -> {
+                        json.beginArray();
+                        while (json.hasNext()) cauldron.ingredients.add(readFood().entity());
+                        json.endArray();
+                    }
+                    case "ready" -> cauldron.ready = json.nextBoolean();
+                    case "doses" -> cauldron.doses = json.nextInt();
+                    case "nourishing" -> cauldron.nourishing = json.nextBoolean();
+                    case "duplication" -> cauldron.duplication = json.nextBoolean();
+                    case "lycanthropy" -> cauldron.lycanthropy = json.nextBoolean();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+            return cauldron;
+        }
+
+        private Entry<Food> readFood() throws IOException {
+            int id = EntityRegistry.UNASSIGNED_ID;
+            String type = null;
+            String freshness = null;
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "id" -> id = json.nextInt();
+                    case "type" -> type = json.nextString();
+                    case "freshness" -> freshness = json.nextString();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            int code = FoodType.valueOf(String.valueOf(type)).ordinal() * 4;
+            if (freshness != null) {
+                int index = 1;
+                while (index < FRESHNESS.length && !FRESHNESS[index].equals(freshness)) index++;
+                if (index == FRESHNESS.length) throw json.syntaxError("unknown freshness " + freshness);
+                code += index;
+            }
+            return new Entry<>(BinarySnapshotCodec.Decoder.readFood(code), id);
+        }
+
+        /**
+         * Creates the theater and restores the ids in the same order as {@link BinarySnapshotCodec}.
+         */
+        private InvasionTheater assemble() throws IOException {
+            InvasionTheater theater = new InvasionTheater(name != null ? name : "Unnamed Theater");
+            EntityRegistry registry = theater.getRegistry();
+            if (compactionInterval != -1) {
+                if (compactionInterval < 1) {
+                    throw new IOException("Invalid compaction interval in JSON theater: " + compactionInterval);
+                }
+                theater.setCompactionInterval(compactionInterval);
+            }
+
+            for (PlaceEntry entry : places) {
+                Place place = entry.place;
+                if (entry.id >= 0) registry.restore(place, entry.id);
+                if (entry.populationLimit >= 0) place.setPopulationLimit(entry.populationLimit);
+                if (entry.cauldron != null && place instanceof GaulVillage village) {
+                    entry.cauldron.applyTo(village.getCauldron());
+                }
+                for (List<Entry<Character>> roster : List.of(entry.characters, entry.tombstones)) {
+                    for (Entry<Character> c : roster) {
+                        if (c.id() >= 0) registry.restore(c.entity(), c.id());
+                        place.addCharacter(c.entity());
+                    }
+                }
+                for (Entry<Food> food : entry.foods) {
+                    if (food.id() >= 0) registry.restore(food.entity(), food.id());
+                    place.addFood(food.entity());
+                }
+                theater.addPlace(place);
+            }
+
+            List<Character> archived = new ArrayList<>(archive.size());
+            for (Entry<Character> c : archive) {
+                if (c.id() >= 0) registry.restore(c.entity(), c.id());
+                archived.add(c.entity());
+            }
+            for (PlaceEntry entry : places) {
+                if (entry.chief != null) {
+                    // without a saved location, the chief stands in its own settlement
+                    entry.chief.setLocation(entry.chiefLocation == null
+                            ? entry.place : theater.getPlaceById(entry.chiefLocation));
+                }
+            }
+            if (characterCount >= 0) {
+                registry.reserve(characterCount, foodCount, placeCount);
+            }
+            theater.restoreState(tick, rejectedClones, archived);
+            return theater;
+        }
+    }
+}
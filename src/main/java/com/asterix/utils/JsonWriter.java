@@ -0,0 +1,167 @@
+package com.asterix.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming JSON writer.
+ * <p>
+ * Values are written as they come: only the nesting depth and whether the current object or
+ * array already holds a value are kept, never the document. Commas, colons and the optional
+ * indentation are added automatically. The writer does not check that names and values
+ * alternate; it is used by codecs that know their own structure.
+ * </p>
+ */
+final class JsonWriter {
+
+    private static final String INDENT = "  ";
+
+    private final Writer out;
+    private final boolean indent;
+    /** Whether the container at each depth already holds a value, as a bit per depth. */
+    private long nonEmpty;
+    private int depth;
+    private boolean afterName;
+
+    JsonWriter(Writer out, boolean indent) {
+        this.out = out;
+        this.indent = indent;
+    }
+
+    JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    JsonWriter name(String name) throws IOException {
+        separate();
+        quote(name);
+        out.write(indent ? ": " : ":");
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            out.write("null");
+        } else {
+            quote(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a number. Whole numbers are written without a fraction; other values use the
+     * shortest form that reads back to the same double.
+     *
+     * @throws IllegalArgumentException If the value is NaN or infinite.
+     */
+    JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON cannot hold " + value);
+        }
+        separate();
+        if (value == (long) value && Math.abs(value) < 1e15 && Double.compare(value, -0.0) != 0) {
+            out.write(Long.toString((long) value));
+        } else {
+            out.write(Double.toString(value));
+        }
+        return this;
+    }
+
+    JsonWriter value(boolean value) throws IOException {
+        separate();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        separate();
+        out.write(bracket);
+        depth++;
+        if (depth >= Long.SIZE) {
+            throw new IllegalStateException("JSON nesting too deep.");
+        }
+        nonEmpty &= ~(1L << depth);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        boolean hadValues = (nonEmpty & (1L << depth)) != 0;
+        depth--;
+        if (hadValues) newLine();
+        out.write(bracket);
+        return this;
+    }
+
+    /**
+     * Writes what goes before a value or a name: nothing after a name, otherwise a comma if
+     * the container already holds a value, then the indentation.
+     */
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth == 0) return;
+        long bit = 1L << depth;
+        if ((nonEmpty & bit) != 0) {
+            out.write(',');
+        }
+        nonEmpty |= bit;
+        newLine();
+    }
+
+    private void newLine() throws IOException {
+        if (!indent) return;
+        out.write('\n');
+        for (int i = 0; i < depth; i++) {
+            out.write(INDENT);
+        }
+    }
+
+    private void quote(String s) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String escape = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (escape != null) {
+                out.write(s, start, i - start);
+                out.write(escape);
+                start = i + 1;
+            }
+        }
+        out.write(s, start, s.length() - start);
+        out.write('"');
+    }
+}
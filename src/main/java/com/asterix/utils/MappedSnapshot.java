@@ -0,0 +1,219 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.EntityRegistry;
+import com.asterix.model.simulation.InvasionTheater;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexed variant of the {@link BinarySnapshotCodec} format, opened through a memory mapping.
+ * <p>
+ * The file starts with a directory holding the theater counters and the shell of every place
+ * (id, kind, name, area, population limit, chief) along with the offset and length of its
+ * contents. Opening a snapshot maps the file with {@link FileChannel#map} and only decodes
+ * this directory: each place gets a {@link Place.ContentLoader} decoding its roster, pantry
+ * and cauldron straight from the mapping the first time the place is touched. Opening time
+ * therefore depends on the number of places, not on the number of characters.
+ * </p>
+ * <p>
+ * Layout: the magic number {@code "ASTM"}, the version, the length of the directory, the
+ * directory, then one section per place and one for the archive. Each section starts with
+ * its own string table so that it can be decoded on its own. The file must not be modified
+ * while a theater opened from it still has places that are not resident.
+ * </p>
+ */
+public class MappedSnapshot {
+
+    /** First four bytes of every indexed snapshot: "ASTM". */
+    public static final int MAGIC = 0x4153544D;
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    private static final int PREAMBLE_SIZE = 12;
+
+    /**
+     * Saves an indexed snapshot of a theater. Places that are not resident are loaded first.
+     *
+     * @param theater The theater to save.
+     * @param file    The destination file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(InvasionTheater theater, File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(theater, channel);
+        }
+    }
+
+    /**
+     * Writes an indexed snapshot of a theater at the position of a channel. Bytes written
+     * after it are ignored by {@link #open(File)}.
+     *
+     * @param theater The theater to save.
+     * @param channel The destination channel.
+     * @throws IOException If the channel cannot be written.
+     */
+    static void write(InvasionTheater theater, FileChannel channel) throws IOException {
+        List<Place> places = theater.getPlaces();
+        List<BinaryWriter> sections = new ArrayList<>(places.size() + 1);
+        for (Place place : places) {
+            BinarySnapshotCodec.Encoder encoder = new BinarySnapshotCodec.Encoder();
+            BinaryWriter body = new BinaryWriter();
+            encoder.writePlaceContents(body, place);
+            sections.add(section(encoder, body));
+        }
+        BinarySnapshotCodec.Encoder archiveEncoder = new BinarySnapshotCodec.Encoder();
+        BinaryWriter archiveBody = new BinaryWriter();
+        List<Character> archive = theater.getArchive();
+        archiveBody.writeVarInt(archive.size());
+        long previousId = EntityRegistry.UNASSIGNED_ID;
+        for (Character c : archive) {
+            previousId = archiveEncoder.writeCharacter(archiveBody, c, previousId);
+        }
+        sections.add(section(archiveEncoder, archiveBody));
+
+        // Directory: counters, then each place shell followed by the position of its contents.
+        BinarySnapshotCodec.Encoder encoder = new BinarySnapshotCodec.Encoder();
+        BinaryWriter directory = new BinaryWriter();
+        directory.writeVarInt(encoder.string(theater.getName()));
+        directory.writeVarLong(theater.getTick());
+        directory.writeVarInt(theater.getCompactionInterval());
+        directory.writeVarLong(theater.getRejectedCloneCount());
+        EntityRegistry registry = theater.getRegistry();
+        directory.writeVarInt(registry.getCharacterCount());
+        directory.writeVarInt(registry.getFoodCount());
+        directory.writeVarInt(registry.getPlaceCount());
+        directory.writeVarInt(places.size());
+        long offset = 0;
+        for (int i = 0; i < places.size(); i++) {
+            encoder.writePlaceShell(directory, places.get(i));
+            directory.writeVarLong(offset);
+            directory.writeVarInt(sections.get(i).size());
+            offset += sections.get(i).size();
+        }
+        directory.writeVarLong(offset);
+        directory.writeVarInt(sections.get(places.size()).size());
+
+        BinaryWriter head = new BinaryWriter(directory.size() + 256);
+        head.writeInt(MAGIC);
+        head.writeInt(VERSION);
+        head.writeInt(0);
+        encoder.writeStringTable(head);
+        head.writeBytes(directory);
+        head.putInt(8, head.size() - PREAMBLE_SIZE);
+
+        write(channel, head);
+        for (BinaryWriter section : sections) {
+            write(channel, section);
+        }
+    }
+
+    /**
+     * Opens an indexed snapshot. Only the directory is decoded; the contents of each place
+     * are decoded from the mapped file when the place is first touched.
+     *
+     * @param file The snapshot file.
+     * @return The theater, with no resident place.
+     * @throws IOException If the file cannot be mapped or is not a valid indexed snapshot.
+     */
+    public static InvasionTheater open(File file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to be mapped: " + channel.size() + " bytes.");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        BinaryReader preamble = new BinaryReader(mapped.duplicate());
+        if (preamble.readInt() != MAGIC) {
+            throw new IOException("Not an indexed theater snapshot.");
+        }
+        int version = preamble.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        int headLength = preamble.readInt();
+        if (headLength < 0 || headLength > mapped.capacity() - PREAMBLE_SIZE) {
+            throw new IOException("Invalid snapshot directory length: " + headLength);
+        }
+        int contentBase = PREAMBLE_SIZE + headLength;
+
+        BinaryReader in = new BinaryReader(mapped.slice(PREAMBLE_SIZE, headLength));
+        BinarySnapshotCodec.Decoder decoder = new BinarySnapshotCodec.Decoder(in);
+        decoder.readStringTable();
+        InvasionTheater theater = new InvasionTheater(decoder.string(in.readVarInt()));
+        EntityRegistry registry = theater.getRegistry();
+        decoder.useRegistry(registry);
+        long tick = in.readVarLong();
+        int compactionInterval = in.readVarInt();
+        long rejectedClones = in.readVarLong();
+        if (compactionInterval < 1) {
+            throw new IOException("Invalid compaction interval in snapshot: " + compactionInterval);
+        }
+        theater.setCompactionInterval(compactionInterval);
+        int characterCount = in.readVarInt();
+        int foodCount = in.readVarInt();
+        int placeCount = in.readVarInt();
+
+        int places = in.readCount();
+        for (int i = 0; i < places; i++) {
+            Place place = decoder.readPlaceShell();
+            ByteBuffer contents = section(mapped, contentBase, in.readVarLong(), in.readVarInt());
+            place.deferContents(p -> loadContents(p, contents, registry));
+            theater.addPlace(place);
+        }
+        decoder.resolveChiefLocations(theater);
+
+        ByteBuffer archiveSection = section(mapped, contentBase, in.readVarLong(), in.readVarInt());
+        BinarySnapshotCodec.Decoder archiveDecoder = new BinarySnapshotCodec.Decoder(new BinaryReader(archiveSection), registry);
+        archiveDecoder.readStringTable();
+        List<Character> archive = archiveDecoder.readArchive();
+
+        registry.reserve(characterCount, foodCount, placeCount);
+        theater.restoreState(tick, rejectedClones, archive);
+        return theater;
+    }
+
+    private static void loadContents(Place place, ByteBuffer contents, EntityRegistry registry) {
+        try {
+            BinarySnapshotCodec.Decoder decoder = new BinarySnapshotCodec.Decoder(new BinaryReader(contents.duplicate()), registry);
+            decoder.readStringTable();
+            decoder.readPlaceContents(place);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load the contents of " + place.getName(), e);
+        }
+    }
+
+    private static ByteBuffer section(MappedByteBuffer mapped, int contentBase, long offset, int length) throws IOException {
+        long start = contentBase + offset;
+        if (offset < 0 || length < 0 || start + length > mapped.capacity()) {
+            throw new IOException("Snapshot section out of bounds: " + offset + "+" + length);
+        }
+        return mapped.slice((int) start, length);
+    }
+
+    private static BinaryWriter section(BinarySnapshotCodec.Encoder encoder, BinaryWriter body) {
+        BinaryWriter section = new BinaryWriter(body.size() + 64);
+        encoder.writeStringTable(section);
+        section.writeBytes(body);
+        return section;
+    }
+
+    private static void write(FileChannel channel, BinaryWriter writer) throws IOException {
+        ByteBuffer buffer = writer.asByteBuffer();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
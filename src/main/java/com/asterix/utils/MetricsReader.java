@@ -0,0 +1,268 @@
+package com.asterix.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the columnar files written by {@link MetricsRecorder}.
+ * <p>
+ * Opening a file only reads the column directory and the block headers. Reading a column then
+ * inflates its segment in every block and nothing else: the other columns are never read from
+ * disk. A block left incomplete by a crash is ignored.
+ * </p>
+ */
+public class MetricsReader implements Closeable {
+
+    private static final int FILE_HEADER_SIZE = 12;
+
+    /**
+     * Position of a block and of its column segments.
+     *
+     * @param rows      The number of rows.
+     * @param firstTick The tick of the first row.
+     * @param lastTick  The tick of the last row.
+     * @param offsets   The position of each column segment in the file.
+     * @param lengths   The compressed length of each column segment.
+     */
+    record Block(int rows, long firstTick, long lastTick, long[] offsets, int[] lengths) { }
+
+    /**
+     * Structure of a metrics file.
+     *
+     * @param columns The column names.
+     * @param widths  The width in bytes of each column.
+     * @param blocks  The complete blocks, in file order.
+     * @param end     The end of the last complete block.
+     */
+    record Layout(List<String> columns, int[] widths, List<Block> blocks, long end) { }
+
+    private final FileChannel channel;
+    private final Layout layout;
+    private final long rowCount;
+    private final Inflater inflater = new Inflater();
+    private long inflatedSegments;
+
+    /**
+     * Opens a metrics file.
+     *
+     * @param file The file written by a {@link MetricsRecorder}.
+     * @throws IOException If the file cannot be read or is not a metrics file.
+     */
+    public MetricsReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            this.layout = scan(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        long rows = 0;
+        for (Block block : layout.blocks) {
+            rows += block.rows;
+        }
+        this.rowCount = rows;
+    }
+
+    /**
+     * Gets the names of the columns, in file order.
+     *
+     * @return The column names.
+     */
+    public List<String> getColumns() {
+        return layout.columns;
+    }
+
+    /**
+     * Gets the number of complete rows in the file.
+     *
+     * @return The row count.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the number of complete blocks in the file.
+     *
+     * @return The block count.
+     */
+    public int getBlockCount() {
+        return layout.blocks.size();
+    }
+
+    /**
+     * Gets the number of column segments inflated since the file was opened. Reading a column
+     * inflates one segment per block.
+     *
+     * @return The inflated segment count.
+     */
+    public long getInflatedSegmentCount() {
+        return inflatedSegments;
+    }
+
+    /**
+     * Reads the tick of every row.
+     *
+     * @return The tick column.
+     * @throws IOException If a block cannot be read.
+     */
+    public long[] readTicks() throws IOException {
+        int index = indexOf(MetricsRecorder.TICK, MetricsRecorder.LONG_WIDTH);
+        long[] ticks = new long[checkedRowCount()];
+        int row = 0;
+        for (Block block : layout.blocks) {
+            inflate(block, index).asLongBuffer().get(ticks, row, block.rows);
+            row += block.rows;
+        }
+        return ticks;
+    }
+
+    /**
+     * Reads one int column, inflating only its own segments.
+     *
+     * @param name The column name (see {@link MetricsRecorder#COLUMNS}).
+     * @return The value of every row.
+     * @throws IOException If a block cannot be read.
+     * @throws IllegalArgumentException If the file has no int column with that name.
+     */
+    public int[] readColumn(String name) throws IOException {
+        int index = indexOf(name, MetricsRecorder.INT_WIDTH);
+        int[] values = new int[checkedRowCount()];
+        int row = 0;
+        for (Block block : layout.blocks) {
+            inflate(block, index).asIntBuffer().get(values, row, block.rows);
+            row += block.rows;
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+
+    private int indexOf(String name, int width) {
+        int index = layout.columns.indexOf(name);
+        if (index < 0 || layout.widths[index] != width) {
+            throw new IllegalArgumentException("No " + (width * 8) + "-bit column named " + name);
+        }
+        return index;
+    }
+
+    private int checkedRowCount() throws IOException {
+        if (rowCount > Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many rows to read at once: " + rowCount);
+        }
+        return (int) rowCount;
+    }
+
+    private ByteBuffer inflate(Block block, int column) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(block.lengths[column]);
+        readFully(channel, compressed, block.offsets[column]);
+        byte[] raw = new byte[block.rows * layout.widths[column]];
+        inflatedSegments++;
+        inflater.reset();
+        inflater.setInput(compressed.array());
+        try {
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                length += inflated;
+            }
+            if (length != raw.length || !inflater.finished()) {
+                throw new IOException("Corrupted metrics column " + layout.columns.get(column));
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted metrics column " + layout.columns.get(column), e);
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    // --- Layout ---
+
+    static int blockHeaderSize(int columnCount) {
+        return 4 + 8 + 8 + 4 * columnCount + 4;
+    }
+
+    /**
+     * Reads the column directory and the block headers, stopping at the first incomplete block.
+     */
+    static Layout scan(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        if (size < FILE_HEADER_SIZE) {
+            throw new IOException("Not a metrics file.");
+        }
+        readFully(channel, fileHeader, 0);
+        if (fileHeader.getInt(0) != MetricsRecorder.MAGIC) {
+            throw new IOException("Not a metrics file.");
+        }
+        int version = fileHeader.getInt(4);
+        if (version != MetricsRecorder.VERSION) {
+            throw new IOException("Unsupported metrics version: " + version);
+        }
+        int directoryLength = fileHeader.getInt(8);
+        if (directoryLength < 0 || directoryLength > size - FILE_HEADER_SIZE) {
+            throw new IOException("Truncated metrics file.");
+        }
+        ByteBuffer directory = ByteBuffer.allocate(directoryLength);
+        readFully(channel, directory, FILE_HEADER_SIZE);
+        BinaryReader in = new BinaryReader(directory.array());
+        int columnCount = in.readCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        int[] widths = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(in.readString());
+            widths[i] = in.readByte();
+        }
+
+        List<Block> blocks = new ArrayList<>();
+        long position = FILE_HEADER_SIZE + directoryLength;
+        int headerSize = blockHeaderSize(columnCount);
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        while (size - position >= headerSize) {
+            header.clear();
+            readFully(channel, header, position);
+            CRC32 crc = new CRC32();
+            crc.update(header.array(), 0, headerSize - 4);
+            int rows = header.getInt(0);
+            if ((int) crc.getValue() != header.getInt(headerSize - 4) || rows <= 0) {
+                break;
+            }
+            long[] offsets = new long[columnCount];
+            int[] lengths = new int[columnCount];
+            long offset = position + headerSize;
+            for (int i = 0; i < columnCount; i++) {
+                offsets[i] = offset;
+                lengths[i] = header.getInt(20 + 4 * i);
+                offset += lengths[i];
+            }
+            if (offset > size) {
+                break;
+            }
+            blocks.add(new Block(rows, header.getLong(4), header.getLong(12), offsets, lengths));
+            position = offset;
+        }
+        return new Layout(Collections.unmodifiableList(columns), widths, blocks, position);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated metrics file.");
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.creature.Creature;
+import com.asterix.model.character.gaul.Gaul;
+import com.asterix.model.character.roman.Roman;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.SimulationEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Records per-tick, per-place metrics of a running theater into a columnar file.
+ * <p>
+ * At the end of every tick, one row is added per place: the tick, the place id, the living
+ * population by faction, the potion-boosted characters, the casualties and clones of the tick,
+ * and the pantry by food type and freshness (see {@link #COLUMNS}). Sampling a place loads its
+ * contents if they were deferred.
+ * </p>
+ * <p>
+ * Layout: the magic number {@code "ASTR"}, the version and the column directory (name and
+ * width of each column), then the blocks. A block holds up to {@code blockRows} rows stored
+ * column by column: each column is a run of fixed-width big-endian values, deflated on its
+ * own. The block header gives the row count, the tick range and the compressed length of every
+ * column, and ends with its CRC-32, so {@link MetricsReader} can inflate one column and skip
+ * the others.
+ * </p>
+ * <p>
+ * The file is only ever appended to. Reopening it continues the recording, after cutting off
+ * a block left incomplete by a crash. IO errors do not stop the simulation: they are reported
+ * by the next {@link #flush()} or by {@link #close()}.
+ * </p>
+ */
+public class MetricsRecorder implements SimulationEventListener, Closeable {
+
+    /** First four bytes of every metrics file: "ASTR". */
+    public static final int MAGIC = 0x41535452;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Default number of rows per block. */
+    public static final int DEFAULT_BLOCK_ROWS = 4096;
+
+    /** Names of the columns, in file order. The first one holds longs, the others ints. */
+    public static final List<String> COLUMNS;
+    /** Name of the tick column. */
+    public static final String TICK = "tick";
+
+    static final int LONG_WIDTH = 8;
+    static final int INT_WIDTH = 4;
+
+    // Fixed int columns, indexed from 0 after the tick column.
+    private static final int PLACE = 0;
+    private static final int GAULS = 1;
+    private static final int ROMANS = 2;
+    private static final int CREATURES = 3;
+    private static final int ALIVE = 4;
+    private static final int BOOSTED = 5;
+    private static final int CASUALTIES = 6;
+    private static final int CLONES = 7;
+
+    /** Int column of each food code (see {@link BinarySnapshotCodec#foodCode(Food)}). */
+    private static final int[] FOOD_COLUMN = new int[FoodType.values().length * 4];
+
+    static {
+        List<String> columns = new ArrayList<>(List.of(TICK, "place", "gauls", "romans", "creatures",
+                "alive", "boosted", "casualties", "clones"));
+        String[] states = {null, "FRESH", "PARTIALLY_FRESH", "ROTTEN"};
+        for (FoodType type : FoodType.values()) {
+            for (int freshness = 0; freshness < states.length; freshness++) {
+                int code = type.ordinal() * 4 + freshness;
+                if (type.isPerishable() == (freshness != 0)) {
+                    FOOD_COLUMN[code] = columns.size() - 1;
+                    columns.add("food." + type.name() + (freshness != 0 ? "." + states[freshness] : ""));
+                } else {
+                    // no food item of this type can have this freshness
+                    FOOD_COLUMN[code] = -1;
+                }
+            }
+        }
+        COLUMNS = Collections.unmodifiableList(columns);
+    }
+
+    private final InvasionTheater theater;
+    private final FileChannel channel;
+    private final int blockRows;
+
+    private final long[] ticks;
+    private final int[][] values;
+    private int pendingRows;
+
+    /** Counters of each place at the previous sample: casualties, spawns. */
+    private final Map<Place, long[]> previousCounters = new IdentityHashMap<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    private long rowsWritten;
+    private long blocksWritten;
+    private long bytesWritten;
+    private IOException failure;
+
+    /**
+     * Opens a metrics file and starts recording a theater.
+     * <p>
+     * An existing file is continued: a block left incomplete by a crash is cut off first.
+     * </p>
+     *
+     * @param file      The metrics file, created if missing.
+     * @param theater   The theater to record.
+     * @param blockRows The number of rows per block, at least 1.
+     * @throws IOException If the file cannot be opened, or is not a metrics file with the same columns.
+     */
+    public MetricsRecorder(File file, InvasionTheater theater, int blockRows) throws IOException {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("A block must hold at least 1 row.");
+        }
+        this.theater = theater;
+        this.blockRows = blockRows;
+        this.ticks = new long[blockRows];
+        this.values = new int[COLUMNS.size() - 1][blockRows];
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = encodeFileHeader();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } else {
+                MetricsReader.Layout layout = MetricsReader.scan(channel);
+                if (!layout.columns().equals(COLUMNS)) {
+                    throw new IOException("Metrics file has other columns: " + file);
+                }
+                channel.truncate(layout.end());
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        for (Place place : theater.getPlaces()) {
+            previousCounters.put(place, new long[]{place.getCasualtyCount(), place.getSpawnCount()});
+        }
+        theater.addEventListener(this);
+    }
+
+    /**
+     * Opens a metrics file with blocks of {@link #DEFAULT_BLOCK_ROWS} rows.
+     *
+     * @param file    The metrics file, created if missing.
+     * @param theater The theater to record.
+     * @throws IOException If the file cannot be opened, or is not a metrics file with the same columns.
+     */
+    public MetricsRecorder(File file, InvasionTheater theater) throws IOException {
+        this(file, theater, DEFAULT_BLOCK_ROWS);
+    }
+
+    @Override
+    public synchronized void tickEnded(InvasionTheater theater) {
+        try {
+            for (Place place : theater.getPlaces()) {
+                sample(theater.getTick(), place);
+                if (pendingRows == blockRows) {
+                    writeBlock();
+                }
+            }
+        } catch (IOException e) {
+            // the simulation goes on; the error is reported by the next flush or by close()
+            failure = e;
+        }
+    }
+
+    private void sample(long tick, Place place) {
+        int row = pendingRows++;
+        ticks[row] = tick;
+        for (int[] column : values) {
+            column[row] = 0;
+        }
+        values[PLACE][row] = place.getId();
+        for (Character c : place.getAliveCharacters()) {
+            if (c instanceof Gaul) values[GAULS][row]++;
+            else if (c instanceof Roman) values[ROMANS][row]++;
+            else if (c instanceof Creature) values[CREATURES][row]++;
+            if (c.getPotionLevel() > 0) values[BOOSTED][row]++;
+        }
+        values[ALIVE][row] = place.getAliveCharacters().size();
+        for (Food food : place.getFoods()) {
+            int column = FOOD_COLUMN[BinarySnapshotCodec.foodCode(food)];
+            if (column >= 0) values[column][row]++;
+        }
+
+        long[] previous = previousCounters.computeIfAbsent(place, p -> new long[2]);
+        values[CASUALTIES][row] = (int) (place.getCasualtyCount() - previous[0]);
+        values[CLONES][row] = (int) (place.getSpawnCount() - previous[1]);
+        previous[0] = place.getCasualtyCount();
+        previous[1] = place.getSpawnCount();
+    }
+
+    // --- Writing ---
+
+    /**
+     * Appends the pending rows to the file as one block and forces it to disk.
+     *
+     * @throws IOException If the block cannot be written, or a previous automatic write failed.
+     */
+    public synchronized void flush() throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+        if (pendingRows > 0) {
+            writeBlock();
+        }
+        channel.force(false);
+    }
+
+    private void writeBlock() throws IOException {
+        int rows = pendingRows;
+        ByteBuffer raw = ByteBuffer.allocate(rows * LONG_WIDTH);
+        List<byte[]> segments = new ArrayList<>(COLUMNS.size());
+        for (int i = 0; i < rows; i++) {
+            raw.putLong(ticks[i]);
+        }
+        segments.add(deflate(raw));
+        for (int[] column : values) {
+            raw.clear();
+            for (int i = 0; i < rows; i++) {
+                raw.putInt(column[i]);
+            }
+            segments.add(deflate(raw));
+        }
+
+        BinaryWriter header = new BinaryWriter(MetricsReader.blockHeaderSize(COLUMNS.size()));
+        header.writeInt(rows);
+        header.writeLong(ticks[0]);
+        header.writeLong(ticks[rows - 1]);
+        for (byte[] segment : segments) {
+            header.writeInt(segment.length);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(header.asByteBuffer());
+        header.writeInt((int) crc.getValue());
+
+        ByteBuffer[] block = new ByteBuffer[segments.size() + 1];
+        block[0] = header.asByteBuffer();
+        long length = header.size();
+        for (int i = 0; i < segments.size(); i++) {
+            block[i + 1] = ByteBuffer.wrap(segments.get(i));
+            length += segments.get(i).length;
+        }
+        long written = 0;
+        while (written < length) {
+            written += channel.write(block);
+        }
+        bytesWritten += length;
+        rowsWritten += rows;
+        blocksWritten++;
+        pendingRows = 0;
+    }
+
+    private byte[] deflate(ByteBuffer raw) {
+        raw.flip();
+        deflater.reset();
+        deflater.setInput(raw.array(), 0, raw.limit());
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.limit() / 4 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static ByteBuffer encodeFileHeader() {
+        BinaryWriter columns = new BinaryWriter(1024);
+        columns.writeVarInt(COLUMNS.size());
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columns.writeString(COLUMNS.get(i));
+            columns.writeByte(i == 0 ? LONG_WIDTH : INT_WIDTH);
+        }
+        BinaryWriter header = new BinaryWriter(columns.size() + 12);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(columns.size());
+        header.writeBytes(columns);
+        return header.asByteBuffer();
+    }
+
+    /**
+     * Stops recording the theater, writes the pending rows and closes the file.
+     *
+     * @throws IOException If the last block cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        theater.removeEventListener(this);
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                deflater.end();
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rows recorded since the file was opened, written or pending.
+     *
+     * @return The row count.
+     */
+    public synchronized long getRowCount() {
+        return rowsWritten + pendingRows;
+    }
+
+    /**
+     * Gets the number of blocks appended since the file was opened.
+     *
+     * @return The written block count.
+     */
+    public synchronized long getBlocksWritten() {
+        return blocksWritten;
+    }
+
+    /**
+     * Gets the number of bytes appended since the file was opened.
+     *
+     * @return The written byte count.
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+}
@@ -0,0 +1,478 @@
+package com.asterix.utils;
+
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.SimulationLog;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scenario loader parsing the {@code <place>} elements of a file in parallel.
+ * <p>
+ * Every {@code <place>} is self-contained, so the file is first scanned for the byte ranges
+ * of its places by a light tokenizer that only tracks tags, comments, CDATA sections and
+ * quoted attributes. The ranges are copied into batches of about {@link #DEFAULT_BATCH_BYTES}
+ * bytes, and each batch is parsed on a worker thread with the same StAX pass as
+ * {@link StaxScenarioLoader}, while the scan goes on. The places are finally registered in
+ * document order, so the theater is exactly the one the sequential loaders build.
+ * </p>
+ * <p>
+ * The number of batches in memory is bounded, so the scan never runs far ahead of the
+ * workers. Files the tokenizer cannot split safely (non UTF-8 compatible encoding, DTD,
+ * namespace prefixes) are handed to {@link StaxScenarioLoader} instead.
+ * </p>
+ */
+public class ParallelScenarioLoader {
+
+    /** Default number of worker threads. */
+    public static final int DEFAULT_WORKERS = Runtime.getRuntime().availableProcessors();
+    /** Default size of a batch of places parsed by one task. */
+    public static final int DEFAULT_BATCH_BYTES = 1 << 20;
+
+    private static final byte[] BATCH_START = "<r>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BATCH_END = "</r>".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Loads a scenario file with {@link #DEFAULT_WORKERS} workers.
+     *
+     * @param filePath The path of the XML file.
+     * @return The theater described by the file.
+     * @throws IOException        If the file cannot be read.
+     * @throws XMLStreamException If the XML is malformed.
+     */
+    public static InvasionTheater loadTheater(String filePath) throws IOException, XMLStreamException {
+        return loadTheaterFromFile(new File(filePath));
+    }
+
+    /**
+     * Loads a scenario file with {@link #DEFAULT_WORKERS} workers.
+     *
+     * @param file The XML file.
+     * @return The theater described by the file.
+     * @throws IOException        If the file cannot be read.
+     * @throws XMLStreamException If the XML is malformed.
+     */
+    public static InvasionTheater loadTheaterFromFile(File file) throws IOException, XMLStreamException {
+        return loadTheaterFromFile(file, DEFAULT_WORKERS);
+    }
+
+    /**
+     * Loads a scenario file.
+     *
+     * @param file    The XML file.
+     * @param workers The number of worker threads, at least 1.
+     * @return The theater described by the file.
+     * @throws IOException        If the file cannot be read.
+     * @throws XMLStreamException If the XML is malformed.
+     */
+    public static InvasionTheater loadTheaterFromFile(File file, int workers) throws IOException, XMLStreamException {
+        return load(file, workers, DEFAULT_BATCH_BYTES);
+    }
+
+    static InvasionTheater load(File file, int workers, int batchBytes) throws IOException, XMLStreamException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("A parallel loader needs at least 1 worker.");
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "scenario-parser-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (InputStream in = new FileInputStream(file)) {
+            return new Split(in, executor, new Semaphore(workers * 2), batchBytes).run();
+        } catch (UnsplittableException e) {
+            SimulationLog.info(() -> "Chargement séquentiel de " + file.getName() + " : " + e.getMessage());
+            return StaxScenarioLoader.loadTheaterFromFile(file);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses a batch of places, wrapped in a synthetic root element.
+     */
+    private static List<Place> parse(Batch batch, String encoding) throws XMLStreamException {
+        XMLStreamReader reader = StaxScenarioLoader.inputFactory().createXMLStreamReader(
+                new ByteArrayInputStream(batch.bytes, 0, batch.size), encoding);
+        try {
+            return new StaxScenarioLoader.Pass(reader).read().places();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Thrown when the file cannot be split safely and must be read sequentially.
+     */
+    private static final class UnsplittableException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        UnsplittableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Growable byte buffer holding copied elements.
+     */
+    private static final class Batch {
+        private byte[] bytes = new byte[1024];
+        private int size;
+        private int places;
+
+        void append(byte[] source, int from, int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+            System.arraycopy(source, from, bytes, size, length);
+            size += length;
+        }
+
+        void append(byte b) {
+            append(new byte[]{b}, 0, 1);
+        }
+    }
+
+    /**
+     * One scan of a file, submitting batches of places as they are found.
+     * <p>
+     * Outside of the places, the open elements are kept on a stack so that the structure of
+     * the document is still checked; inside a place, only the depth is counted and the StAX
+     * parser of the batch checks the rest. The bytes of an element being copied are appended
+     * to its batch in bulk, from {@link #copyFrom} to the end of the buffer or of the element.
+     * </p>
+     */
+    private static final class Split {
+        private final InputStream in;
+        private final ExecutorService executor;
+        private final Semaphore inFlight;
+        private final int batchBytes;
+        private final List<Future<List<Place>>> parsed = new ArrayList<>();
+        private final Deque<String> open = new ArrayDeque<>();
+        private final byte[] buffer = new byte[1 << 16];
+        private final byte[] name = new byte[256];
+        private int nameLength;
+        private boolean namePrefixed;
+        private int position;
+        private int limit;
+        private String encoding = "UTF-8";
+
+        private Batch batch = newBatch();
+        private Batch theaterName;
+        /** Batch receiving the bytes of the element being copied, or {@code null}. */
+        private Batch copy;
+        private int copyFrom;
+        /** Depth of the element being copied, counted from 1 for its own start tag. */
+        private int copyDepth;
+        private boolean rootSeen;
+
+        Split(InputStream in, ExecutorService executor, Semaphore inFlight, int batchBytes) {
+            this.in = in;
+            this.executor = executor;
+            this.inFlight = inFlight;
+            this.batchBytes = batchBytes;
+        }
+
+        InvasionTheater run() throws IOException, XMLStreamException, UnsplittableException {
+            readProlog();
+            int c;
+            while ((c = next()) >= 0) {
+                if (c == '<') {
+                    markup();
+                }
+            }
+            if (!rootSeen || !open.isEmpty() || copy != null) {
+                throw new XMLStreamException("Unexpected end of document.");
+            }
+            if (batch.places > 0) {
+                submit();
+            }
+
+            String name = null;
+            if (theaterName != null) {
+                theaterName.append(BATCH_END, 0, BATCH_END.length);
+                XMLStreamReader reader = StaxScenarioLoader.inputFactory().createXMLStreamReader(
+                        new ByteArrayInputStream(theaterName.bytes, 0, theaterName.size), encoding);
+                try {
+                    name = new StaxScenarioLoader.Pass(reader).read().theaterName();
+                } finally {
+                    reader.close();
+                }
+            }
+            List<Place> places = new ArrayList<>();
+            for (Future<List<Place>> batchPlaces : parsed) {
+                places.addAll(await(batchPlaces));
+            }
+            return StaxScenarioLoader.assemble(name, places);
+        }
+
+        /**
+         * Skips a byte order mark and checks the declared encoding.
+         */
+        private void readProlog() throws IOException, UnsplittableException {
+            fill();
+            if (limit >= 2 && ((buffer[0] == (byte) 0xFE && buffer[1] == (byte) 0xFF)
+                    || (buffer[0] == (byte) 0xFF && buffer[1] == (byte) 0xFE))) {
+                throw new UnsplittableException("UTF-16");
+            }
+            if (limit >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF) {
+                position = 3;
+            }
+            String head = new String(buffer, position, Math.min(limit - position, 200), StandardCharsets.ISO_8859_1);
+            if (head.startsWith("<?xml")) {
+                int end = head.indexOf("?>");
+                String declaration = end < 0 ? head : head.substring(0, end);
+                int at = declaration.indexOf("encoding");
+                if (at >= 0) {
+                    int open = declaration.indexOf('"', at) >= 0 ? declaration.indexOf('"', at) : declaration.indexOf('\'', at);
+                    char quote = open >= 0 ? declaration.charAt(open) : '"';
+                    int close = open >= 0 ? declaration.indexOf(quote, open + 1) : -1;
+                    if (close > open) {
+                        encoding = declaration.substring(open + 1, close);
+                    }
+                }
+            }
+            switch (encoding.toUpperCase(Locale.ROOT)) {
+                case "UTF-8", "UTF8", "US-ASCII", "ASCII", "ISO-8859-1", "LATIN1", "ISO-8859-15", "WINDOWS-1252" -> { }
+                default -> throw new UnsplittableException("encoding " + encoding);
+            }
+        }
+
+        private void fill() throws IOException {
+            if (copy != null) {
+                copy.append(buffer, copyFrom, limit - copyFrom);
+                copyFrom = 0;
+            }
+            int read = in.read(buffer);
+            position = 0;
+            limit = Math.max(read, 0);
+        }
+
+        private int next() throws IOException {
+            if (position == limit) {
+                fill();
+                if (limit == 0) return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private int require() throws IOException, XMLStreamException {
+            int c = next();
+            if (c < 0) {
+                throw new XMLStreamException("Unexpected end of document.");
+            }
+            return c;
+        }
+
+        /**
+         * Reads what follows a {@code '<'}.
+         */
+        private void markup() throws IOException, XMLStreamException, UnsplittableException {
+            int c = require();
+            if (c == '!') {
+                c = require();
+                if (c == '-') {
+                    require();
+                    skipUntil("-->");
+                } else if (c == '[') {
+                    skipUntil("]]>");
+                } else {
+                    throw new UnsplittableException("DTD");
+                }
+            } else if (c == '?') {
+                skipUntil("?>");
+            } else if (c == '/') {
+                c = readName(require());
+                while (c != '>') c = require();
+                endElement();
+            } else {
+                startElement(readName(c));
+            }
+        }
+
+        /**
+         * Reads a tag name into {@link #name}.
+         *
+         * @param c The first character of the name.
+         * @return The first character after the name.
+         */
+        private int readName(int c) throws IOException, XMLStreamException {
+            nameLength = 0;
+            namePrefixed = false;
+            while (c != '>' && c != '/' && c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                if (nameLength < name.length) name[nameLength++] = (byte) c;
+                if (c == ':') namePrefixed = true;
+                c = require();
+            }
+            return c;
+        }
+
+        private boolean nameIs(String tag) {
+            if (nameLength != tag.length()) return false;
+            for (int i = 0; i < nameLength; i++) {
+                if (name[i] != tag.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        private void startElement(int c) throws IOException, XMLStreamException, UnsplittableException {
+            if (namePrefixed) {
+                throw new UnsplittableException("namespace prefix");
+            }
+            if (copy == null && rootSeen && !open.isEmpty()) {
+                if (nameIs("place")) {
+                    startCopy(batch);
+                    batch.places++;
+                } else if (theaterName == null && open.size() == 1 && nameIs("name")) {
+                    theaterName = newBatch();
+                    startCopy(theaterName);
+                }
+            }
+            boolean selfClosing = skipAttributes(c);
+
+            if (copy != null) {
+                if (!selfClosing) {
+                    copyDepth++;
+                } else if (copyDepth == 0) {
+                    endCopy();
+                }
+            } else if (!selfClosing) {
+                if (open.isEmpty() && rootSeen) {
+                    throw new XMLStreamException("More than one root element.");
+                }
+                rootSeen = true;
+                open.push(new String(name, 0, nameLength, StandardCharsets.UTF_8));
+            } else if (open.isEmpty()) {
+                rootSeen = true;
+            }
+        }
+
+        private void endElement() throws IOException, XMLStreamException {
+            if (copy != null) {
+                if (--copyDepth == 0) {
+                    endCopy();
+                }
+                return;
+            }
+            String expected = open.poll();
+            if (expected == null || !nameIs(expected)) {
+                throw new XMLStreamException("Unexpected closing tag: </"
+                        + new String(name, 0, nameLength, StandardCharsets.UTF_8) + ">");
+            }
+        }
+
+        /**
+         * Skips the attributes of a start tag.
+         *
+         * @param c The first character after the tag name.
+         * @return {@code true} for an empty-element tag.
+         */
+        private boolean skipAttributes(int c) throws IOException, XMLStreamException {
+            int previous = 0;
+            while (c != '>') {
+                if (c == '"' || c == '\'') {
+                    int quote = c;
+                    while (require() != quote) { }
+                }
+                previous = c;
+                c = require();
+            }
+            return previous == '/';
+        }
+
+        private void skipUntil(String end) throws IOException, XMLStreamException {
+            int pattern = 0;
+            int mask = (1 << (8 * end.length())) - 1;
+            for (int i = 0; i < end.length(); i++) {
+                pattern = (pattern << 8) | end.charAt(i);
+            }
+            int window = 0;
+            do {
+                window = ((window << 8) | require()) & mask;
+            } while (window != pattern);
+        }
+
+        /**
+         * Starts copying the element whose name was just read, from the character that ended
+         * the name (still in the buffer).
+         */
+        private void startCopy(Batch target) {
+            target.append((byte) '<');
+            target.append(name, 0, nameLength);
+            copy = target;
+            copyFrom = position - 1;
+            copyDepth = 0;
+        }
+
+        private void endCopy() throws XMLStreamException {
+            copy.append(buffer, copyFrom, position - copyFrom);
+            boolean place = copy == batch;
+            copy = null;
+            if (place && batch.size >= batchBytes) {
+                submit();
+            }
+        }
+
+        private void submit() throws XMLStreamException {
+            Batch full = batch;
+            batch = newBatch();
+            full.append(BATCH_END, 0, BATCH_END.length);
+            String charset = encoding;
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new XMLStreamException("Interrupted while loading the scenario.");
+            }
+            parsed.add(executor.submit(() -> {
+                try {
+                    return parse(full, charset);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        private static Batch newBatch() {
+            Batch batch = new Batch();
+            batch.append(BATCH_START, 0, BATCH_START.length);
+            return batch;
+        }
+
+        private static List<Place> await(Future<List<Place>> future) throws IOException, XMLStreamException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while loading the scenario.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof XMLStreamException xml) throw xml;
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                if (cause instanceof Error error) throw error;
+                throw new IOException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.asterix.utils;
+
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.SimulationLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache of parsed scenarios, stored in a working directory of their own.
+ * <p>
+ * The first load of {@code scenario.xml} parses it with {@link XmlScenarioLoader} and writes
+ * {@code scenario.xml-<hash of its path>.snap} in the cache directory: an indexed {@link MappedSnapshot} of the fresh theater followed
+ * by a trailer holding the key of the XML file (canonical path, size, modification time and
+ * CRC-32C of its content). The next loads open the snapshot instead of parsing the XML, which
+ * only decodes the place directory: the contents of each place are read from the mapping
+ * when first touched.
+ * </p>
+ * <p>
+ * The key is checked on every load. The content hash is only computed when the path, size and
+ * modification time already match, so a stale cache costs a single {@code stat}. A cache that
+ * is stale, unreadable or cannot be written is ignored: the XML is parsed as before.
+ * </p>
+ */
+public class ScenarioCache {
+
+    /** Last four bytes of every cache file: "ASTC". */
+    public static final int MAGIC = 0x41535443;
+    /** Current trailer version. */
+    public static final int VERSION = 1;
+    /** Extension appended to the name of the XML file. */
+    public static final String SUFFIX = ".snap";
+
+    /** Trailer end: payload length, version, magic. */
+    private static final int TRAILER_END_SIZE = 12;
+
+    /**
+     * Identity of a scenario file.
+     *
+     * @param path     The canonical path.
+     * @param size     The size in bytes.
+     * @param modified The modification time, in milliseconds.
+     * @param crc      The CRC-32C of the content, or {@code 0} if not computed.
+     */
+    private record Key(String path, long size, long modified, int crc) {
+
+        boolean sameFile(Key other) {
+            return path.equals(other.path) && size == other.size && modified == other.modified;
+        }
+    }
+
+    private final File directory;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a cache writing its files in a directory. The scenarios themselves are never
+     * written to, so they can live in read-only or versioned folders.
+     *
+     * @param directory The cache directory, created on the first write.
+     */
+    public ScenarioCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cache file of a scenario. Scenarios with the same name in different folders
+     * get different files.
+     *
+     * @param xml The XML scenario.
+     * @return The file of the cache directory holding the compiled form.
+     * @throws IOException If the canonical path of the scenario cannot be resolved.
+     */
+    public File cacheFileOf(File xml) throws IOException {
+        String path = xml.getCanonicalPath();
+        return new File(directory, xml.getName() + "-" + Integer.toHexString(path.hashCode()) + SUFFIX);
+    }
+
+    /**
+     * Loads a scenario from its cache when it is valid, and from the XML file otherwise,
+     * then refreshes the cache.
+     *
+     * @param xml The XML scenario.
+     * @return The theater described by the file.
+     * @throws Exception If the XML file cannot be read or parsed.
+     */
+    public InvasionTheater load(File xml) throws Exception {
+        Key key = keyOf(xml);
+        File cache = cacheFileOf(xml);
+        if (cache.isFile()) {
+            try {
+                Key cached = readKey(cache);
+                if (cached != null && cached.sameFile(key)) {
+                    key = new Key(key.path, key.size, key.modified, crcOf(xml));
+                    if (cached.equals(key)) {
+                        InvasionTheater theater = MappedSnapshot.open(cache);
+                        hitCount.incrementAndGet();
+                        return theater;
+                    }
+                }
+            } catch (IOException e) {
+                SimulationLog.warn(() -> "⚠️ Cache de scénario illisible, relecture du XML : " + e.getMessage());
+            }
+        }
+
+        missCount.incrementAndGet();
+        InvasionTheater theater = XmlScenarioLoader.loadTheaterFromFile(xml);
+        try {
+            if (key.crc == 0) {
+                key = new Key(key.path, key.size, key.modified, crcOf(xml));
+            }
+            write(theater, key, cache);
+        } catch (IOException e) {
+            SimulationLog.warn(() -> "⚠️ Impossible d'écrire le cache de scénario : " + e.getMessage());
+        }
+        return theater;
+    }
+
+    /**
+     * Returns the number of loads served from a cache file.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of loads that had to parse the XML file.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static Key keyOf(File xml) throws IOException {
+        File canonical = xml.getCanonicalFile();
+        if (!canonical.isFile()) {
+            throw new IOException("Scenario not found: " + xml);
+        }
+        return new Key(canonical.getPath(), canonical.length(), canonical.lastModified(), 0);
+    }
+
+    private static int crcOf(File file) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads the key stored in the trailer of a cache file.
+     *
+     * @return The key, or {@code null} if the file has no valid trailer.
+     */
+    private static Key readKey(File cache) throws IOException {
+        try (FileChannel channel = FileChannel.open(cache.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TRAILER_END_SIZE) return null;
+            ByteBuffer end = ByteBuffer.allocate(TRAILER_END_SIZE);
+            readFully(channel, end, size - TRAILER_END_SIZE);
+            int length = end.getInt(0);
+            if (end.getInt(8) != MAGIC || end.getInt(4) != VERSION
+                    || length < 0 || length > size - TRAILER_END_SIZE) {
+                return null;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, size - TRAILER_END_SIZE - length);
+            BinaryReader in = new BinaryReader(payload.array());
+            return new Key(in.readString(), in.readVarLong(), in.readVarLong(), in.readInt());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated scenario cache.");
+            }
+        }
+    }
+
+    /**
+     * Writes a cache file: the indexed snapshot, then the trailer. The file is written to a
+     * temporary file first and moved in place, so a theater still reading the previous
+     * mapping is not disturbed.
+     */
+    private static void write(InvasionTheater theater, Key key, File cache) throws IOException {
+        BinaryWriter trailer = new BinaryWriter(key.path.length() + 64);
+        trailer.writeString(key.path);
+        trailer.writeVarLong(key.size);
+        trailer.writeVarLong(key.modified);
+        trailer.writeInt(key.crc);
+        int length = trailer.size();
+        trailer.writeInt(length);
+        trailer.writeInt(VERSION);
+        trailer.writeInt(MAGIC);
+
+        File parent = cache.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create the cache directory " + parent);
+        }
+        File temporary = new File(parent, cache.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedSnapshot.write(theater, channel);
+            ByteBuffer buffer = trailer.asByteBuffer();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temporary.toPath(), cache.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.asterix.utils;
+
+import com.asterix.model.simulation.InvasionTheater;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Reads and writes theaters in a text format.
+ * <p>
+ * Implementations stream the document: a theater is written while its places are visited and
+ * read token by token, so no tree of the whole document is built. {@link #forFile(File)}
+ * picks the codec from the file extension.
+ * </p>
+ */
+public interface ScenarioCodec {
+
+    /** Size of the buffers used by {@link #load(File)} and {@link #save(InvasionTheater, File)}. */
+    int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * @return The file extension of the format, without the dot (e.g. "xml").
+     */
+    String getExtension();
+
+    /**
+     * Reads a theater from a stream. The stream is not closed.
+     *
+     * @param in The content.
+     * @return The theater.
+     * @throws IOException If the stream cannot be read or the content is invalid.
+     */
+    InvasionTheater read(InputStream in) throws IOException;
+
+    /**
+     * Writes a theater to a stream. The stream is flushed, not closed.
+     *
+     * @param theater The theater.
+     * @param out     The destination stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    void write(InvasionTheater theater, OutputStream out) throws IOException;
+
+    /**
+     * Reads a theater from a file.
+     *
+     * @param file The file.
+     * @return The theater.
+     * @throws IOException If the file cannot be read or is invalid.
+     */
+    default InvasionTheater load(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Writes a theater to a file.
+     *
+     * @param theater The theater.
+     * @param file    The destination file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    default void save(InvasionTheater theater, File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE)) {
+            write(theater, out);
+        }
+    }
+
+    /**
+     * Picks the codec of a file from its extension: JSON for {@code .json}, XML otherwise.
+     *
+     * @param file The file.
+     * @return The codec.
+     */
+    static ScenarioCodec forFile(File file) {
+        return file.getName().toLowerCase(Locale.ROOT).endsWith(".json")
+                ? new JsonScenarioCodec()
+                : new XmlScenarioCodec();
+    }
+}
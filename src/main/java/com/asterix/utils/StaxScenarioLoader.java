@@ -0,0 +1,261 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming scenario loader based on StAX.
+ * <p>
+ * Reads the same format as {@link XmlScenarioLoader} and builds exactly the same theater,
+ * but in a single forward pass over the file: no DOM tree is kept in memory and no element
+ * is searched twice. Only the fields of the element being read (a place header, a chief or
+ * a character) are buffered, so the extra memory does not grow with the size of the file.
+ * </p>
+ * <p>
+ * Places and characters are created with the factories shared with the DOM loader
+ * ({@link XmlScenarioLoader#buildPlace} and {@link XmlScenarioLoader#buildCharacter}).
+ * </p>
+ */
+public class StaxScenarioLoader {
+
+    private static final String DEFAULT_VALUE = "0";
+    /** One configured factory per thread: creating a factory costs more than reading a small file. */
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY =
+            ThreadLocal.withInitial(StaxScenarioLoader::newInputFactory);
+
+    /**
+     * Loads a scenario file.
+     *
+     * @param filePath The path of the XML file.
+     * @return The theater described by the file.
+     * @throws IOException        If the file cannot be read.
+     * @throws XMLStreamException If the XML is malformed.
+     */
+    public static InvasionTheater loadTheater(String filePath) throws IOException, XMLStreamException {
+        return loadTheaterFromFile(new File(filePath));
+    }
+
+    /**
+     * Loads a scenario file.
+     *
+     * @param file The XML file.
+     * @return The theater described by the file.
+     * @throws IOException        If the file cannot be read.
+     * @throws XMLStreamException If the XML is malformed.
+     */
+    public static InvasionTheater loadTheaterFromFile(File file) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 64 * 1024)) {
+            return loadTheater(in);
+        }
+    }
+
+    /**
+     * Loads a scenario from a stream. The stream is not closed.
+     *
+     * @param in The XML content.
+     * @return The theater described by the content.
+     * @throws XMLStreamException If the XML is malformed.
+     */
+    public static InvasionTheater loadTheater(InputStream in) throws XMLStreamException {
+        XMLStreamReader reader = inputFactory().createXMLStreamReader(in);
+        try {
+            return new Pass(reader).read().toTheater();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * @return The input factory of the current thread.
+     */
+    static XMLInputFactory inputFactory() {
+        return INPUT_FACTORY.get();
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Builds a theater from the places of a scenario, registering them in order.
+     *
+     * @param name   The theater name, or {@code null}.
+     * @param places The places, in document order.
+     * @return The theater.
+     */
+    static InvasionTheater assemble(String name, List<Place> places) {
+        InvasionTheater theater = new InvasionTheater(name != null ? name : "Unnamed Theater");
+        for (Place place : places) {
+            theater.addPlace(place);
+        }
+        return theater;
+    }
+
+    /**
+     * State of one pass over a document.
+     * <p>
+     * Every {@code <place>} is read as a header (its own {@code <name>} and {@code <area>},
+     * the first {@code <chief>}) followed by its {@code <character>} elements, at any depth.
+     * The direct text children of the element being read (the root, a place, a chief or a
+     * character) are collected in {@link #fields}.
+     * </p>
+     */
+    static final class Pass {
+        private final XMLStreamReader reader;
+        private final List<Place> places = new ArrayList<>();
+        private final Map<String, String> rootFields = new HashMap<>();
+        private final Map<String, String> placeFields = new HashMap<>();
+        private final Map<String, String> chiefFields = new HashMap<>();
+        private final Map<String, String> characterFields = new HashMap<>();
+        private final List<Character> characters = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        private int depth;
+        private int placeDepth = -1;
+        private String placeType;
+        private boolean chiefSeen;
+        private int chiefDepth = -1;
+        private int characterDepth = -1;
+        private String characterType;
+        private Map<String, String> fields;
+        private int fieldsDepth = -1;
+
+        Pass(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the whole document.
+         *
+         * @return This pass.
+         * @throws XMLStreamException If the XML is malformed.
+         */
+        Pass read() throws XMLStreamException {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> startElement();
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (depth == fieldsDepth + 1) text.append(reader.getText());
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> endElement();
+                    default -> { }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * @return The places read, in document order, not registered in any theater yet.
+         */
+        List<Place> places() {
+            return places;
+        }
+
+        /**
+         * @return The {@code <name>} of the root element, or {@code null}.
+         */
+        String theaterName() {
+            return rootFields.get("name");
+        }
+
+        InvasionTheater toTheater() {
+            return assemble(theaterName(), places);
+        }
+
+        private void startElement() {
+            depth++;
+            String tag = reader.getLocalName();
+            text.setLength(0);
+
+            if (depth == 1) {
+                collect(rootFields);
+            } else if (placeDepth < 0 && "place".equals(tag)) {
+                placeDepth = depth;
+                placeType = attribute("type");
+                placeFields.clear();
+                chiefFields.clear();
+                characters.clear();
+                chiefSeen = false;
+                collect(placeFields);
+            } else if (placeDepth >= 0 && characterDepth < 0 && chiefDepth < 0 && "character".equals(tag)) {
+                characterDepth = depth;
+                characterType = attribute("type");
+                characterFields.clear();
+                collect(characterFields);
+            } else if (placeDepth >= 0 && characterDepth < 0 && chiefDepth < 0 && !chiefSeen && "chief".equals(tag)) {
+                chiefDepth = depth;
+                chiefSeen = true;
+                collect(chiefFields);
+            }
+        }
+
+        private void endElement() {
+            String tag = reader.getLocalName();
+
+            if (depth == fieldsDepth + 1) {
+                fields.putIfAbsent(tag, text.toString());
+            } else if (depth == characterDepth) {
+                Character c = XmlScenarioLoader.buildCharacter(characterType, this::characterField);
+                if (c != null) characters.add(c);
+                characterDepth = -1;
+                collect(placeFields, placeDepth);
+            } else if (depth == chiefDepth) {
+                chiefDepth = -1;
+                collect(placeFields, placeDepth);
+            } else if (depth == placeDepth) {
+                Place place = XmlScenarioLoader.buildPlace(placeType,
+                        placeFields.getOrDefault("name", DEFAULT_VALUE),
+                        placeFields.getOrDefault("area", DEFAULT_VALUE),
+                        chiefSeen ? key -> chiefFields.getOrDefault(key, DEFAULT_VALUE) : null);
+                if (place != null) {
+                    for (Character c : characters) {
+                        place.addCharacter(c);
+                    }
+                    places.add(place);
+                }
+                characters.clear();
+                placeDepth = -1;
+                collect(rootFields, 1);
+            }
+            text.setLength(0);
+            depth--;
+        }
+
+        private String characterField(String tag) {
+            return characterFields.getOrDefault(tag, DEFAULT_VALUE);
+        }
+
+        private void collect(Map<String, String> target) {
+            collect(target, depth);
+        }
+
+        private void collect(Map<String, String> target, int ownerDepth) {
+            fields = target;
+            fieldsDepth = ownerDepth;
+        }
+
+        private String attribute(String name) {
+            String value = reader.getAttributeValue(null, name);
+            return value != null ? value : "";
+        }
+    }
+}
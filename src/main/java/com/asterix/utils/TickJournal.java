@@ -0,0 +1,551 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.gaul.Merchant;
+import com.asterix.model.item.Cauldron;
+import com.asterix.model.item.Food;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.Settlement;
+import com.asterix.model.simulation.EntityRegistry;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.SimulationEventListener;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the domain events of a theater, used to recover a run after a crash.
+ * <p>
+ * The journal listens to a theater (see {@link SimulationEventListener}) and encodes every event
+ * in memory, with the record layouts of {@link BinarySnapshotCodec}. Every
+ * {@code groupCommitTicks} ticks the pending records are appended to the file as one frame
+ * and forced to disk: a crash loses at most the ticks of the current group, and the cost of
+ * the disk is paid once per group instead of once per event.
+ * </p>
+ * <p>
+ * Layout: the magic number {@code "ASTJ"} and the version, then the frames. Each frame holds
+ * its length and CRC-32, followed by the tick it starts at, its own string table and its
+ * records. A frame cut by a crash fails its checksum: it is dropped when the journal is
+ * reopened, and ignored by {@link #replay(InvasionTheater, File)}.
+ * </p>
+ * <p>
+ * Recovery loads the latest snapshot and replays the journal from the snapshot's tick on
+ * (see {@link #recover(File, File)}). Random outcomes (fight pairings, food, recipes, recruits)
+ * are journaled as results, while the deterministic phases of a tick are replayed by calling
+ * the same theater methods. Snapshots should be taken between two ticks.
+ * </p>
+ */
+public class TickJournal implements SimulationEventListener, Closeable {
+
+    /** First four bytes of every journal: "ASTJ". */
+    public static final int MAGIC = 0x4153544A;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Default number of ticks per frame. */
+    public static final int DEFAULT_GROUP_COMMIT_TICKS = 10;
+
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int FRAME_HEADER_SIZE = 8;
+
+    // Record tags
+    private static final int ENTERED = 1;
+    private static final int LEFT = 2;
+    private static final int CHANGED = 3;
+    private static final int ARCHIVED = 4;
+    private static final int FOOD_ADDED = 5;
+    private static final int FOOD_REMOVED = 6;
+    private static final int BREWED = 7;
+    private static final int CHARACTERS_AGED = 8;
+    private static final int FOOD_AGED = 9;
+    private static final int TICK_ENDED = 10;
+    private static final int CHIEF_MOVED = 11;
+    private static final int CAULDRON_CHANGED = 12;
+
+    private final InvasionTheater theater;
+    private final FileChannel channel;
+    private final int groupCommitTicks;
+
+    private BinarySnapshotCodec.Encoder encoder = new BinarySnapshotCodec.Encoder();
+    private final BinaryWriter records = new BinaryWriter(8192);
+    private int recordCount;
+    /** Tick of the first record of the pending group. */
+    private long groupStartTick;
+    /** Tick the theater is at, as seen by the journal. */
+    private long tick;
+    private int pendingTicks;
+
+    private long committedFrames;
+    private long bytesWritten;
+    private IOException failure;
+
+    /**
+     * Opens a journal and starts listening to a theater.
+     * <p>
+     * An existing journal is continued: frames left incomplete by a crash are cut off first.
+     * </p>
+     *
+     * @param file             The journal file, created if missing.
+     * @param theater          The theater to journal.
+     * @param groupCommitTicks The number of ticks between two writes to disk, at least 1.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+    public TickJournal(File file, InvasionTheater theater, int groupCommitTicks) throws IOException {
+        if (groupCommitTicks < 1) {
+            throw new IllegalArgumentException("Group commit interval must be at least 1 tick.");
+        }
+        this.theater = theater;
+        this.groupCommitTicks = groupCommitTicks;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                BinaryWriter header = new BinaryWriter(FILE_HEADER_SIZE);
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                writeFully(header.asByteBuffer(), 0);
+            } else {
+                channel.truncate(validLength(channel));
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.tick = theater.getTick();
+        this.groupStartTick = tick;
+        theater.addEventListener(this);
+    }
+
+    /**
+     * Opens a journal committing every {@link #DEFAULT_GROUP_COMMIT_TICKS} ticks.
+     *
+     * @param file    The journal file, created if missing.
+     * @param theater The theater to journal.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+    public TickJournal(File file, InvasionTheater theater) throws IOException {
+        this(file, theater, DEFAULT_GROUP_COMMIT_TICKS);
+    }
+
+    // --- Events ---
+
+    @Override
+    public synchronized void characterEntered(Place place, Character character) {
+        begin(ENTERED);
+        records.writeVarInt(place.getId());
+        encoder.writeCharacter(records, character, EntityRegistry.UNASSIGNED_ID);
+    }
+
+    @Override
+    public synchronized void characterLeft(Place place, Character character) {
+        begin(LEFT);
+        records.writeVarInt(place.getId());
+        records.writeVarInt(character.getId());
+    }
+
+    @Override
+    public synchronized void characterChanged(Character character) {
+        begin(CHANGED);
+        records.writeVarInt(character.getId());
+        encoder.writeState(records, character);
+    }
+
+    @Override
+    public synchronized void characterArchived(Place place, Character character) {
+        begin(ARCHIVED);
+        records.writeVarInt(place.getId());
+        records.writeVarInt(character.getId());
+    }
+
+    @Override
+    public synchronized void foodAdded(Place place, Food food) {
+        begin(FOOD_ADDED);
+        records.writeVarInt(place.getId());
+        records.writeVarInt(food.getId());
+        records.writeVarInt(BinarySnapshotCodec.foodCode(food));
+    }
+
+    @Override
+    public synchronized void foodRemoved(Place place, Food food) {
+        begin(FOOD_REMOVED);
+        records.writeVarInt(place.getId());
+        records.writeVarInt(food.getId());
+    }
+
+    @Override
+    public synchronized void potionBrewed(Druid druid) {
+        begin(BREWED);
+        records.writeVarInt(druid.getId());
+        encoder.writeState(records, druid);
+    }
+
+    @Override
+    public synchronized void chiefMoved(Settlement settlement, Place destination) {
+        begin(CHIEF_MOVED);
+        records.writeVarInt(settlement.getId());
+        records.writeVarInt(destination.getId());
+    }
+
+    @Override
+    public synchronized void cauldronChanged(GaulVillage village) {
+        begin(CAULDRON_CHANGED);
+        records.writeVarInt(village.getId());
+        encoder.writeCauldron(records, village.getCauldron());
+    }
+
+    @Override
+    public synchronized void charactersAged() {
+        begin(CHARACTERS_AGED);
+    }
+
+    @Override
+    public synchronized void foodAged() {
+        begin(FOOD_AGED);
+    }
+
+    @Override
+    public synchronized void tickEnded(InvasionTheater theater) {
+        begin(TICK_ENDED);
+        records.writeVarLong(theater.getTick());
+        records.writeVarLong(theater.getRejectedCloneCount());
+        tick = theater.getTick();
+        if (++pendingTicks >= groupCommitTicks) {
+            try {
+                commit();
+            } catch (IOException e) {
+                // the simulation goes on; the error is reported by the next commit or by close()
+                failure = e;
+            }
+        }
+    }
+
+    private void begin(int tag) {
+        if (recordCount == 0) {
+            groupStartTick = tick;
+        }
+        records.writeByte(tag);
+        recordCount++;
+    }
+
+    // --- Writing ---
+
+    /**
+     * Appends the pending records to the file as one frame and forces it to disk.
+     * Call it before taking a snapshot, so that the snapshot falls between two frames.
+     *
+     * @throws IOException If the frame cannot be written, or a previous automatic commit failed.
+     */
+    public synchronized void commit() throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+        pendingTicks = 0;
+        if (recordCount == 0) {
+            return;
+        }
+        BinaryWriter prefix = new BinaryWriter(256);
+        prefix.writeVarLong(groupStartTick);
+        encoder.writeStringTable(prefix);
+        prefix.writeVarInt(recordCount);
+
+        ByteBuffer head = prefix.asByteBuffer();
+        ByteBuffer body = records.asByteBuffer();
+        CRC32 crc = new CRC32();
+        crc.update(head.duplicate());
+        crc.update(body.duplicate());
+        BinaryWriter frameHeader = new BinaryWriter(FRAME_HEADER_SIZE);
+        frameHeader.writeInt(head.remaining() + body.remaining());
+        frameHeader.writeInt((int) crc.getValue());
+
+        long start = channel.position();
+        ByteBuffer[] frame = {frameHeader.asByteBuffer(), head, body};
+        long length = FRAME_HEADER_SIZE + (long) head.remaining() + body.remaining();
+        long written = 0;
+        while (written < length) {
+            written += channel.write(frame);
+        }
+        channel.force(false);
+
+        bytesWritten += channel.position() - start;
+        committedFrames++;
+        records.reset();
+        recordCount = 0;
+        encoder = new BinarySnapshotCodec.Encoder();
+    }
+
+    /**
+     * Stops listening to the theater, commits the pending records and closes the file.
+     *
+     * @throws IOException If the last frame cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        theater.removeEventListener(this);
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gets the number of frames written since the journal was opened.
+     *
+     * @return The committed frame count.
+     */
+    public synchronized long getCommittedFrames() {
+        return committedFrames;
+    }
+
+    /**
+     * Gets the number of bytes appended since the journal was opened.
+     *
+     * @return The written byte count.
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // --- Recovery ---
+
+    /**
+     * Loads a snapshot saved by {@link BinarySnapshotCodec} and replays the journal on top of it.
+     *
+     * @param snapshot The snapshot file.
+     * @param journal  The journal file.
+     * @return The theater as it was at the last committed tick.
+     * @throws IOException If a file cannot be read, or the journal does not follow the snapshot.
+     */
+    public static InvasionTheater recover(File snapshot, File journal) throws IOException {
+        InvasionTheater theater = BinarySnapshotCodec.load(snapshot);
+        replay(theater, journal);
+        return theater;
+    }
+
+    /**
+     * Replays the committed frames of a journal on a theater, starting at the tick the theater is at.
+     * Records of earlier ticks are skipped; the replay stops at the first incomplete frame.
+     *
+     * @param theater The theater, usually just loaded from a snapshot.
+     * @param journal The journal file.
+     * @return The number of replayed ticks.
+     * @throws IOException If the journal cannot be read, or does not follow the theater.
+     */
+    public static long replay(InvasionTheater theater, File journal) throws IOException {
+        long startTick = theater.getTick();
+        try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.READ)) {
+            long position = readFileHeader(channel);
+            ByteBuffer payload;
+            while ((payload = readFrame(channel, position)) != null) {
+                position += FRAME_HEADER_SIZE + payload.remaining();
+                new Replay(theater, new BinaryReader(payload)).run();
+            }
+        }
+        return theater.getTick() - startTick;
+    }
+
+    /**
+     * Finds the end of the last complete frame of a journal.
+     */
+    private static long validLength(FileChannel channel) throws IOException {
+        long position = readFileHeader(channel);
+        ByteBuffer payload;
+        while ((payload = readFrame(channel, position)) != null) {
+            position += FRAME_HEADER_SIZE + payload.remaining();
+        }
+        return position;
+    }
+
+    private static long readFileHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        if (channel.read(header, 0) < FILE_HEADER_SIZE || header.getInt(0) != MAGIC) {
+            throw new IOException("Not a tick journal.");
+        }
+        int version = header.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version: " + version);
+        }
+        return FILE_HEADER_SIZE;
+    }
+
+    /**
+     * Reads the payload of the frame at a position.
+     *
+     * @return The payload, or {@code null} at the end of the file or on an incomplete frame.
+     */
+    private static ByteBuffer readFrame(FileChannel channel, long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, position + header.position()) < 0) return null;
+        }
+        int length = header.getInt(0);
+        int checksum = header.getInt(4);
+        if (length < 0 || length > channel.size() - position - FRAME_HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        while (payload.hasRemaining()) {
+            if (channel.read(payload, position + FRAME_HEADER_SIZE + payload.position()) < 0) return null;
+        }
+        payload.flip();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue() == checksum ? payload : null;
+    }
+
+    /**
+     * Applies the records of one frame.
+     */
+    private static final class Replay {
+        private final InvasionTheater theater;
+        private final BinaryReader in;
+        private final BinarySnapshotCodec.Decoder decoder;
+        /** Receives the states of the records that are skipped. */
+        private final Character scratch = new Merchant("", 0, 0, 0, 0, null);
+        private long tick;
+
+        Replay(InvasionTheater theater, BinaryReader in) {
+            this.theater = theater;
+            this.in = in;
+            this.decoder = new BinarySnapshotCodec.Decoder(in);
+        }
+
+        void run() throws IOException {
+            tick = in.readVarLong();
+            decoder.readStringTable();
+            int count = in.readCount();
+            for (int i = 0; i < count; i++) {
+                int tag = in.readByte();
+                boolean apply = tick >= theater.getTick();
+                if (apply && tick > theater.getTick()) {
+                    throw new IOException("Journal resumes at tick " + tick + " but the theater is at tick " + theater.getTick());
+                }
+                try {
+                    read(tag, apply);
+                } catch (RuntimeException e) {
+                    throw new IOException("Cannot replay journal record of tick " + tick, e);
+                }
+            }
+        }
+
+        private void read(int tag, boolean apply) throws IOException {
+            switch (tag) {
+                case ENTERED -> {
+                    Place place = place(apply);
+                    Character c = decoder.readCharacter(EntityRegistry.UNASSIGNED_ID);
+                    if (!apply) return;
+                    Character known = theater.getCharacterById(c.getId());
+                    if (known == null) {
+                        theater.getRegistry().restore(c, c.getId());
+                        known = c;
+                    }
+                    place.addCharacter(known);
+                }
+                case LEFT -> {
+                    Place place = place(apply);
+                    Character c = character(apply);
+                    if (apply) place.removeCharacter(c);
+                }
+                case CHANGED, BREWED -> decoder.readState(apply ? character(true) : skipCharacter());
+                case ARCHIVED -> {
+                    Place place = place(apply);
+                    Character c = character(apply);
+                    if (apply) theater.archiveFallen(place, c);
+                }
+                case FOOD_ADDED -> {
+                    Place place = place(apply);
+                    int id = in.readVarInt();
+                    Food food = BinarySnapshotCodec.Decoder.readFood(in.readVarInt());
+                    if (!apply) return;
+                    theater.getRegistry().restore(food, id);
+                    place.addFood(food);
+                }
+                case FOOD_REMOVED -> {
+                    Place place = place(apply);
+                    int id = in.readVarInt();
+                    if (!apply) return;
+                    Food food = theater.getFoodById(id);
+                    if (food == null) throw new IOException("Unknown food in journal: " + id);
+                    place.removeFood(food);
+                }
+                case CHIEF_MOVED -> {
+                    Place settlement = place(apply);
+                    Place destination = place(apply);
+                    if (!apply) return;
+                    if (!(settlement instanceof Settlement s) || s.getChief() == null) {
+                        throw new IOException("No chief in journal place: " + settlement.getId());
+                    }
+                    s.getChief().setLocation(destination);
+                }
+                case CAULDRON_CHANGED -> {
+                    Place village = place(apply);
+                    if (!apply) {
+                        decoder.readCauldron(new Cauldron());
+                        return;
+                    }
+                    if (!(village instanceof GaulVillage v)) {
+                        throw new IOException("No cauldron in journal place: " + village.getId());
+                    }
+                    v.getCauldron().empty();
+                    decoder.readCauldron(v.getCauldron());
+                }
+                case CHARACTERS_AGED -> {
+                    if (apply) theater.ageCharacters();
+                }
+                case FOOD_AGED -> {
+                    if (apply) theater.ageFood();
+                }
+                case TICK_ENDED -> {
+                    long next = in.readVarLong();
+                    long rejectedClones = in.readVarLong();
+                    if (apply) {
+                        theater.endTick();
+                        if (theater.getTick() != next) {
+                            throw new IOException("Journal expected tick " + next + " but the theater reached " + theater.getTick());
+                        }
+                        theater.restoreState(next, rejectedClones, new ArrayList<>(theater.getArchive()));
+                    }
+                    tick = next;
+                }
+                default -> throw new IOException("Unknown journal record: " + tag);
+            }
+        }
+
+        private Place place(boolean apply) throws IOException {
+            int id = in.readVarInt();
+            if (!apply) return null;
+            Place place = theater.getPlaceById(id);
+            if (place == null) throw new IOException("Unknown place in journal: " + id);
+            return place;
+        }
+
+        private Character character(boolean apply) throws IOException {
+            int id = in.readVarInt();
+            if (!apply) return null;
+            Character c = theater.getCharacterById(id);
+            if (c == null) throw new IOException("Unknown character in journal: " + id);
+            return c;
+        }
+
+        private Character skipCharacter() throws IOException {
+            in.readVarInt();
+            return scratch;
+        }
+    }
+}
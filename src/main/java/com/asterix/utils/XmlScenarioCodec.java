@@ -0,0 +1,59 @@
+package com.asterix.utils;
+
+import com.asterix.model.simulation.InvasionTheater;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * {@link ScenarioCodec} for the XML scenario format.
+ * <p>
+ * Reads with {@link StaxScenarioLoader} and writes with {@link XmlScenarioSaver}. The format
+ * holds the places, chiefs and characters of a scenario, not the runtime state of a run.
+ * </p>
+ */
+public class XmlScenarioCodec implements ScenarioCodec {
+
+    private final boolean indent;
+
+    /**
+     * Creates a codec writing indented XML.
+     */
+    public XmlScenarioCodec() {
+        this(true);
+    }
+
+    /**
+     * Creates a codec.
+     *
+     * @param indent {@code true} to indent the written elements.
+     */
+    public XmlScenarioCodec(boolean indent) {
+        this.indent = indent;
+    }
+
+    @Override
+    public String getExtension() {
+        return "xml";
+    }
+
+    @Override
+    public InvasionTheater read(InputStream in) throws IOException {
+        try {
+            return StaxScenarioLoader.loadTheater(in);
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid XML scenario: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void write(InvasionTheater theater, OutputStream out) throws IOException {
+        try {
+            XmlScenarioSaver.writeTheater(theater, out, indent);
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write the XML scenario: " + e.getMessage(), e);
+        }
+    }
+}
@@ -12,9 +12,17 @@ import org.w3c.dom.*;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 
 public class XmlScenarioLoader {
 
+    /** Maximum number of idle document builders kept for reuse. */
+    private static final int MAX_POOLED_BUILDERS = 4;
+    private static final DocumentBuilderFactory FACTORY = DocumentBuilderFactory.newInstance();
+    private static final Queue<DocumentBuilder> BUILDERS = new ConcurrentLinkedQueue<>();
+
     public static InvasionTheater loadTheater(String filePath) throws Exception {
         return loadTheaterFromFile(new File(filePath));
     }
@@ -33,12 +41,16 @@ public class XmlScenarioLoader {
      * @throws Exception If the XML structure is invalid or a parsing error occurs.
      */
     public static InvasionTheater loadTheaterFromFile(File file) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(file);
+        DocumentBuilder builder = borrowBuilder();
+        Document doc;
+        try {
+            doc = builder.parse(file);
+        } finally {
+            returnBuilder(builder);
+        }
         doc.getDocumentElement().normalize();
 
-        String theaterName = getTagValue("name", doc.getDocumentElement());
+        String theaterName = childText("name", doc.getDocumentElement());
         InvasionTheater theater = new InvasionTheater(theaterName != null ? theaterName : "Unnamed Theater");
 
         NodeList placeNodes = doc.getElementsByTagName("place");
@@ -46,43 +58,17 @@ public class XmlScenarioLoader {
         for (int i = 0; i < placeNodes.getLength(); i++) {
             Element placeElement = (Element) placeNodes.item(i);
 
-            String type = placeElement.getAttribute("type");
-            String name = getTagValue("name", placeElement);
-            double area = Double.parseDouble(getTagValue("area", placeElement));
-            Place place = null;
-
-            if ("Battlefield".equalsIgnoreCase(type)) {
-                place = new Battlefield(name, area);
-            } else if ("Enclos".equalsIgnoreCase(type) || "CreatureEnclosure".equalsIgnoreCase(type)) {
-                place = new CreatureEnclosure(name, area);
-            } else {
-                Element chiefElement = (Element) placeElement.getElementsByTagName("chief").item(0);
-                if (chiefElement != null) {
-                    String cName = getTagValue("name", chiefElement);
-                    String cSex = getTagValue("sex", chiefElement);
-                    int cAge = Integer.parseInt(getTagValue("age", chiefElement));
-
-                    Chief chief = new Chief(cName, cSex, cAge, null);
-
-                    if (type.equalsIgnoreCase("RomanCamp")) {
-                        place = new RomanCamp(name, area, chief);
-                    } else if (type.equalsIgnoreCase("RomanCity") || type.equalsIgnoreCase("RomanVillage")) {
-                        place = new RomanCity(name, area, chief);
-                    } else if (type.equalsIgnoreCase("GalloRomanTown")) {
-                        place = new GalloRomanTown(name, area, chief);
-                    } else {
-                        place = new GaulVillage(name, area, chief);
-                    }
-
-                    chief.setLocation(place);
-                }
-            }
+            Element chiefElement = (Element) placeElement.getElementsByTagName("chief").item(0);
+            Place place = buildPlace(placeElement.getAttribute("type"),
+                    getTagValue("name", placeElement),
+                    getTagValue("area", placeElement),
+                    chiefElement == null ? null : tag -> getTagValue(tag, chiefElement));
 
             if (place != null) {
                 NodeList charNodes = placeElement.getElementsByTagName("character");
                 for (int j = 0; j < charNodes.getLength(); j++) {
                     Element charElement = (Element) charNodes.item(j);
-                    Character c = createCharacter(charElement);
+                    Character c = buildCharacter(charElement.getAttribute("type"), tag -> getTagValue(tag, charElement));
                     if (c != null) {
                         place.addCharacter(c);
                     }
@@ -93,16 +79,101 @@ public class XmlScenarioLoader {
         return theater;
     }
 
+    /**
+     * Takes an idle document builder from the pool, or creates one.
+     * <p>
+     * Creating the factory and its builders is much slower than parsing a small scenario, so
+     * both are kept between loads. A builder is used by one thread at a time.
+     * </p>
+     */
+    private static DocumentBuilder borrowBuilder() throws Exception {
+        DocumentBuilder builder = BUILDERS.poll();
+        if (builder != null) {
+            return builder;
+        }
+        synchronized (FACTORY) {
+            return FACTORY.newDocumentBuilder();
+        }
+    }
 
-    private static String getTagValue(String tag, Element element) {
-        NodeList nodeList = element.getElementsByTagName(tag);
-        if (nodeList != null && nodeList.getLength() > 0) {
-            Node node = nodeList.item(0);
-            if (node != null) {
+    private static void returnBuilder(DocumentBuilder builder) {
+        builder.reset();
+        if (BUILDERS.size() < MAX_POOLED_BUILDERS) {
+            BUILDERS.offer(builder);
+        }
+    }
+
+    /**
+     * Reads the text of a direct child of an element.
+     * <p>
+     * Only direct children are searched, so the {@code <name>} of a place is never mistaken
+     * for the {@code <name>} of its chief or of one of its characters.
+     * </p>
+     *
+     * @param tag     The child tag name.
+     * @param element The parent element.
+     * @return The text content, or {@code null} if there is no such child.
+     */
+    private static String childText(String tag, Element element) {
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.ELEMENT_NODE && tag.equals(node.getNodeName())) {
                 return node.getTextContent();
             }
         }
-        return "0"; // Retourne "0" par défaut pour éviter de faire planter parseInt/parseDouble
+        return null;
+    }
+
+    private static String getTagValue(String tag, Element element) {
+        String value = childText(tag, element);
+        return value != null ? value : "0"; // Retourne "0" par défaut pour éviter de faire planter parseInt/parseDouble
+    }
+
+    /**
+     * Creates a place from the values read in a {@code <place>} element.
+     * <p>
+     * Shared by the DOM and streaming loaders so both build exactly the same theater.
+     * Settlements need a chief: the Chief is first created with a null location, then the
+     * concrete Settlement, and finally the Chief is linked to it. A settlement without a
+     * {@code <chief>} element is skipped.
+     * </p>
+     *
+     * @param type      The {@code type} attribute of the place ("" if absent).
+     * @param name      The place name.
+     * @param area      The place area, as read in the file.
+     * @param chiefTags Reads a tag of the {@code <chief>} element ("0" if absent),
+     *                  or {@code null} if the place has no chief.
+     * @return The place, or {@code null} if it cannot be built.
+     */
+    static Place buildPlace(String type, String name, String area, Function<String, String> chiefTags) {
+        double surface = Double.parseDouble(area);
+
+        if ("Battlefield".equalsIgnoreCase(type)) {
+            return new Battlefield(name, surface);
+        } else if ("Enclos".equalsIgnoreCase(type) || "CreatureEnclosure".equalsIgnoreCase(type)) {
+            return new CreatureEnclosure(name, surface);
+        } else if (chiefTags == null) {
+            return null;
+        }
+
+        String cName = chiefTags.apply("name");
+        String cSex = chiefTags.apply("sex");
+        int cAge = Integer.parseInt(chiefTags.apply("age"));
+
+        Chief chief = new Chief(cName, cSex, cAge, null);
+        Place place;
+
+        if (type.equalsIgnoreCase("RomanCamp")) {
+            place = new RomanCamp(name, surface, chief);
+        } else if (type.equalsIgnoreCase("RomanCity") || type.equalsIgnoreCase("RomanVillage")) {
+            place = new RomanCity(name, surface, chief);
+        } else if (type.equalsIgnoreCase("GalloRomanTown")) {
+            place = new GalloRomanTown(name, surface, chief);
+        } else {
+            place = new GaulVillage(name, surface, chief);
+        }
+
+        chief.setLocation(place);
+        return place;
     }
 
     /**
@@ -136,24 +207,33 @@ public class XmlScenarioLoader {
         };
     }
 
-    private static Character createCharacter(Element element) {
+    /**
+     * Creates a character from the values read in a {@code <character>} element.
+     * <p>
+     * Shared by the DOM and streaming loaders. Unreadable stats keep their default of zero.
+     * </p>
+     *
+     * @param type The {@code type} attribute of the character ("" if absent).
+     * @param tags Reads a tag of the {@code <character>} element ("0" if absent).
+     * @return The character, or {@code null} if the type is unknown.
+     */
+    static Character buildCharacter(String type, Function<String, String> tags) {
         // Parsing des attributs
-        String type = element.getAttribute("type");
-        String name = getTagValue("name", element);
-        int id =  Integer.parseInt(getTagValue("id", element));
+        String name = tags.apply("name");
+        int id =  Integer.parseInt(tags.apply("id"));
         int age = 0;
         double height = 0.0, strength = 0.0, stamina = 0.0;
 
         try {
-            age = Integer.parseInt(getTagValue("age", element));
-            height = Double.parseDouble(getTagValue("height", element));
-            strength = Double.parseDouble(getTagValue("strength", element));
-            stamina = Double.parseDouble(getTagValue("stamina", element));
+            age = Integer.parseInt(tags.apply("age"));
+            height = Double.parseDouble(tags.apply("height"));
+            strength = Double.parseDouble(tags.apply("strength"));
+            stamina = Double.parseDouble(tags.apply("stamina"));
         } catch (NumberFormatException e) {
             System.err.println("Erreur de lecture des stats pour le personnage : " + name);
         }
 
-        String genderStr = getTagValue("gender", element);
+        String genderStr = tags.apply("gender");
         Gender gender = Gender.MALE; // Valeur par défaut
         try {
             if (genderStr != null && !genderStr.equals("0")) {
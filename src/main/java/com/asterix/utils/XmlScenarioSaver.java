@@ -6,17 +6,16 @@ import com.asterix.model.place.Settlement;
 import com.asterix.model.character.Character;
 import com.asterix.model.character.Chief;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Utility class to save the current state of an InvasionTheater to an XML file.
@@ -28,120 +27,163 @@ import java.io.File;
  */
 public class XmlScenarioSaver {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String INDENT = "    ";
+
     /**
-     * Saves the provided theater model to an XML file.
+     * Saves the provided theater model to an indented XML file.
      *
      * @param theater The theater model to save.
      * @param file    The destination file.
-     * @throws Exception If an error occurs during DOM creation or file writing.
+     * @throws IOException        If the file cannot be written.
+     * @throws XMLStreamException If an error occurs while writing the XML.
+     */
+    public static void saveTheater(InvasionTheater theater, File file) throws IOException, XMLStreamException {
+        saveTheater(theater, file, true);
+    }
+
+    /**
+     * Saves the provided theater model to an XML file.
+     * <p>
+     * The document is streamed: places and characters are written as they are visited,
+     * through a buffer flushed to a {@link FileChannel}, so memory use does not depend on
+     * the size of the theater.
+     * </p>
+     *
+     * @param theater The theater model to save.
+     * @param file    The destination file, replaced if it exists.
+     * @param indent  {@code true} to indent the elements by four spaces, {@code false} for
+     *                the most compact output.
+     * @throws IOException        If the file cannot be written.
+     * @throws XMLStreamException If an error occurs while writing the XML.
      */
-    public static void saveTheater(InvasionTheater theater, File file) throws Exception {
-        DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
+    public static void saveTheater(InvasionTheater theater, File file, boolean indent) throws IOException, XMLStreamException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+            writeTheater(theater, out, indent);
+        }
+    }
+
+    /**
+     * Writes the provided theater model as XML to a stream. The stream is flushed, not closed.
+     *
+     * @param theater The theater model to save.
+     * @param out     The destination stream.
+     * @param indent  {@code true} to indent the elements.
+     * @throws XMLStreamException If an error occurs while writing the XML.
+     */
+    public static void writeTheater(InvasionTheater theater, OutputStream out, boolean indent) throws XMLStreamException {
+        XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+        IndentingWriter writer = new IndentingWriter(xml, indent);
+
+        xml.writeStartDocument("UTF-8", "1.0");
 
         // 1. Root Element <InvasionTheater>
-        Document doc = docBuilder.newDocument();
-        Element rootElement = doc.createElement("InvasionTheater");
-        doc.appendChild(rootElement);
+        writer.start("InvasionTheater");
 
         // 2. Theater Name <name>
-        createElementWithText(doc, rootElement, "name", theater.getName());
-
-        // 3. Places Container <places> (Optional wrapper, but good for structure)
-        // Note: The loader iterates directly on "place" tags, but having a parent is cleaner XML.
-        // We will append <place> directly to root or a wrapper depending on your Loader logic.
-        // Based on previous Loader: doc.getElementsByTagName("place") finds them anywhere.
+        writer.text("name", theater.getName());
 
+        // 3. Places: the loader finds <place> tags anywhere, they are written directly under the root.
         if (theater.getPlaces() != null) {
             for (Place place : theater.getPlaces()) {
-                Element placeElement = doc.createElement("place");
-
-                // Attribute: type (e.g., GaulVillage, Battlefield...)
-                // We use the simple class name as the type
-                placeElement.setAttribute("type", place.getClass().getSimpleName());
-
-                // Place Properties
-                createElementWithText(doc, placeElement, "name", place.getName());
-
-                // We assume Place has a getter for area. If not, using a default or formatted string.
-                // You must ensure public double getArea() exists in Place.java
-                // Using 100.0 as fallback if you haven't implemented getArea() yet.
-                try {
-                    // Reflection or cast could be used if getArea isn't on abstract Place
-                    // Assuming Place has: public double getArea();
-                    createElementWithText(doc, placeElement, "area", String.valueOf(place.getArea()));
-                } catch (Exception e) {
-                    createElementWithText(doc, placeElement, "area", "100.0");
-                }
+                // Attribute: type, the simple class name (e.g., GaulVillage, Battlefield...)
+                writer.start("place");
+                xml.writeAttribute("type", place.getClass().getSimpleName());
+
+                writer.text("name", place.getName());
+                writer.text("area", String.valueOf(place.getArea()));
 
                 // 4a. Save Chief (Only for Settlements)
-                if (place instanceof Settlement) {
-                    Chief chief = ((Settlement) place).getChief();
-                    if (chief != null) {
-                        Element chiefElement = doc.createElement("chief");
-                        createElementWithText(doc, chiefElement, "name", chief.getName());
-                        createElementWithText(doc, chiefElement, "age", String.valueOf(chief.getAge()));
-                        createElementWithText(doc, chiefElement, "sex", String.valueOf(chief.getGender()));
-                        placeElement.appendChild(chiefElement);
-                    }
+                if (place instanceof Settlement settlement && settlement.getChief() != null) {
+                    Chief chief = settlement.getChief();
+                    writer.start("chief");
+                    writer.text("name", chief.getName());
+                    writer.text("age", String.valueOf(chief.getAge()));
+                    writer.text("sex", String.valueOf(chief.getGender()));
+                    writer.end();
                 }
 
-                // 4b. Save Characters <characters>
-                // Although the loader looks for "character" tags inside "place", a wrapper is polite.
-                // However, let's stick to simple direct children if desired, or wrapper.
-                // XML standard often prefers specific lists.
-
+                // 4b. Save Characters
                 for (Character character : place.getCharacters()) {
-                    Element charElement = doc.createElement("character");
-
-                    // Attribute: type (e.g., Merchant, Legionnaire...)
-                    charElement.setAttribute("type", character.getClass().getSimpleName());
-
-                    createElementWithText(doc, charElement, "name", character.getName());
-                    createElementWithText(doc, charElement, "age", String.valueOf(character.getAge()));
-                    createElementWithText(doc, charElement, "height", String.valueOf(character.getHeight()));
-                    createElementWithText(doc, charElement, "strength", String.valueOf(character.getStrength()));
-                    createElementWithText(doc, charElement, "stamina", String.valueOf(character.getStamina()));
-                    createElementWithText(doc, charElement, "gender", String.valueOf(character.getGender()));
-
-                    placeElement.appendChild(charElement);
+                    writer.start("character");
+                    xml.writeAttribute("type", character.getClass().getSimpleName());
+
+                    writer.text("name", character.getName());
+                    writer.text("age", String.valueOf(character.getAge()));
+                    writer.text("height", String.valueOf(character.getHeight()));
+                    writer.text("strength", String.valueOf(character.getStrength()));
+                    writer.text("stamina", String.valueOf(character.getStamina()));
+                    writer.text("gender", String.valueOf(character.getGender()));
+                    writer.end();
                 }
 
-                rootElement.appendChild(placeElement);
+                writer.end();
             }
         }
 
-        // 5. Write to physical file
-        writeXmlToFile(doc, file);
+        writer.end();
+        xml.writeEndDocument();
+        xml.flush();
+        xml.close();
     }
 
     // --- Utility Methods ---
 
     /**
-     * Helper to create a simple XML tag containing text.
-     * Example: <name>Value</name>
+     * Thin layer over an {@link XMLStreamWriter} adding optional indentation.
+     * Only the current depth is kept, never the written elements.
      */
-    private static void createElementWithText(Document doc, Element parent, String tagName, String textValue) {
-        Element element = doc.createElement(tagName);
-        element.appendChild(doc.createTextNode(textValue));
-        parent.appendChild(element);
-    }
+    private static final class IndentingWriter {
+        private final XMLStreamWriter xml;
+        private final boolean indent;
+        private int depth;
+        private boolean hasChildren;
+
+        IndentingWriter(XMLStreamWriter xml, boolean indent) {
+            this.xml = xml;
+            this.indent = indent;
+        }
 
-    /**
-     * Helper to write the DOM to a file with indentation.
-     */
-    private static void writeXmlToFile(Document doc, File file) throws Exception {
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
+        /**
+         * Opens an element on a new line.
+         */
+        void start(String tagName) throws XMLStreamException {
+            newLine(depth);
+            xml.writeStartElement(tagName);
+            depth++;
+            hasChildren = false;
+        }
 
-        // Configuration for Pretty Print (Indentation)
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        /**
+         * Writes a simple XML tag containing text.
+         * Example: <name>Value</name>
+         */
+        void text(String tagName, String textValue) throws XMLStreamException {
+            newLine(depth);
+            xml.writeStartElement(tagName);
+            xml.writeCharacters(textValue != null ? textValue : "");
+            xml.writeEndElement();
+            hasChildren = true;
+        }
 
-        DOMSource source = new DOMSource(doc);
-        StreamResult result = new StreamResult(file);
+        /**
+         * Closes the last opened element, on its own line if it has children.
+         */
+        void end() throws XMLStreamException {
+            depth--;
+            if (hasChildren) newLine(depth);
+            xml.writeEndElement();
+            hasChildren = true;
+        }
 
-        transformer.transform(source, result);
+        private void newLine(int level) throws XMLStreamException {
+            if (!indent) return;
+            xml.writeCharacters("\n");
+            for (int i = 0; i < level; i++) {
+                xml.writeCharacters(INDENT);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.asterix.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LogPump} class. Frames are driven by hand, without the JavaFX toolkit.
+ */
+class LogPumpTest {
+
+    private final List<List<String>> frames = new ArrayList<>();
+    private final List<Long> droppedReports = new ArrayList<>();
+
+    @Test
+    void drainFrameShouldDeliverAtMostOneFrameOfLinesInOrder() {
+        LogPump<String> pump = new LogPump<>(frames::add, droppedReports::add, 100, 1000);
+        for (int i = 0; i < 250; i++) {
+            pump.offer("line " + i);
+        }
+
+        assertEquals(100, pump.drainFrame());
+        assertEquals(100, pump.drainFrame());
+        assertEquals(50, pump.drainFrame());
+        assertEquals(0, pump.drainFrame());
+
+        assertEquals(3, frames.size());
+        assertEquals("line 0", frames.get(0).get(0));
+        assertEquals("line 249", frames.get(2).get(49));
+        assertEquals(250, pump.getDeliveredCount());
+        assertEquals(0, pump.getBacklog());
+        assertTrue(droppedReports.isEmpty());
+    }
+
+    @Test
+    void fullBacklogShouldDropLinesAndReportCountOncePerChange() {
+        LogPump<String> pump = new LogPump<>(frames::add, droppedReports::add, 10, 50);
+        int accepted = 0;
+        for (int i = 0; i < 80; i++) {
+            if (pump.offer("line " + i)) accepted++;
+        }
+
+        assertEquals(50, accepted);
+        assertEquals(30, pump.getDroppedCount());
+        pump.drainFrame();
+        pump.drainFrame();
+        assertEquals(List.of(30L), droppedReports);
+
+        assertTrue(pump.offer("after a frame"));
+        assertEquals(31, pump.getBacklog());
+    }
+
+    @Test
+    void concurrentProducersShouldNotLoseAcceptedLines() throws InterruptedException {
+        LogPump<String> pump = new LogPump<>(frames::add, droppedReports::add, 500, 1_000_000);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    pump.offer("line " + i);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        while (pump.drainFrame() > 0) {
+            assertTrue(frames.get(frames.size() - 1).size() <= 500);
+        }
+
+        assertEquals(40_000, pump.getDeliveredCount());
+        assertEquals(80, frames.size());
+    }
+
+    @Test
+    void constructorShouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new LogPump<String>(frames::add, droppedReports::add, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new LogPump<String>(frames::add, droppedReports::add, 10, 5));
+    }
+}
@@ -0,0 +1,103 @@
+package com.asterix.controller;
+
+import com.asterix.model.simulation.SimulationLog.Level;
+import javafx.collections.ListChangeListener;
+import javafx.collections.transformation.FilteredList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LogRing} class and the filtering of {@link LogLine}s.
+ */
+class LogRingTest {
+
+    private static List<String> lines(int from, int to) {
+        List<String> lines = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            lines.add("line " + i);
+        }
+        return lines;
+    }
+
+    @Test
+    void appendShouldEvictOldestLinesBeyondCapacity() {
+        LogRing<String> ring = new LogRing<>(5);
+
+        ring.append(lines(0, 3));
+        ring.append(lines(3, 7));
+
+        assertEquals(List.of("line 2", "line 3", "line 4", "line 5", "line 6"), ring);
+        assertEquals(5, ring.getCapacity());
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.get(5));
+    }
+
+    @Test
+    void appendShouldKeepOnlyTheTailOfAnOversizedBatch() {
+        LogRing<String> ring = new LogRing<>(3);
+        ring.append(lines(0, 2));
+
+        ring.append(lines(2, 10));
+
+        assertEquals(List.of("line 7", "line 8", "line 9"), ring);
+    }
+
+    @Test
+    void appendShouldReportOneChangeWithRemovalAndAddition() {
+        LogRing<String> ring = new LogRing<>(4);
+        ring.append(lines(0, 4));
+        List<String> removed = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        int[] changes = new int[1];
+        ring.addListener((ListChangeListener<String>) change -> {
+            changes[0]++;
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+                if (change.wasAdded()) added.addAll(change.getAddedSubList());
+            }
+        });
+
+        ring.append(lines(4, 6));
+
+        assertEquals(1, changes[0]);
+        assertEquals(List.of("line 0", "line 1"), removed);
+        assertEquals(List.of("line 4", "line 5"), added);
+    }
+
+    @Test
+    void filteredViewShouldFollowEvictionsAndFilters() {
+        LogRing<LogLine> ring = new LogRing<>(100);
+        FilteredList<LogLine> visible = new FilteredList<>(ring, line -> line.matches(Level.INFO, null));
+        List<LogLine> batch = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            Level level = i % 3 == 0 ? Level.DEBUG : i % 3 == 1 ? Level.INFO : Level.WARN;
+            batch.add(new LogLine(level, "Tick " + i + (i % 10 == 0 ? " Obélix" : "")));
+        }
+
+        ring.append(batch);
+        assertEquals(100, ring.size());
+        assertEquals(67, visible.size());
+
+        visible.setPredicate(line -> line.matches(Level.DEBUG, "obéLIX"));
+        assertEquals(10, visible.size());
+        assertEquals("Tick 50 Obélix", visible.get(0).text());
+
+        visible.setPredicate(line -> line.matches(Level.WARN, ""));
+        assertTrue(visible.stream().allMatch(line -> line.level() == Level.WARN));
+    }
+
+    @Test
+    void clearShouldEmptyTheRing() {
+        LogRing<String> ring = new LogRing<>(3);
+        ring.append(lines(0, 5));
+
+        ring.clear();
+        ring.append(lines(5, 6));
+
+        assertEquals(List.of("line 5"), ring);
+        assertThrows(IllegalArgumentException.class, () -> new LogRing<String>(0));
+    }
+}
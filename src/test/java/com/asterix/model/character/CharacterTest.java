@@ -1,6 +1,9 @@
 package com.asterix.model.character;
 
 import com.asterix.model.ability.Fighter;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.simulation.EntityRegistry;
 import com.asterix.model.item.Food;
 import com.asterix.model.item.FoodType;
 import org.junit.jupiter.api.Test;
@@ -12,4 +15,38 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class CharacterTest {
 
-}
\ No newline at end of file
+    /**
+     * Verifies that a duplicate keeps the concrete type and the state of the original.
+     */
+    @Test
+    void duplicateShouldKeepConcreteTypeAndState() {
+        Legionnaire original = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        original.setHunger(42.0);
+        original.drinkPotion(1.0);
+        new EntityRegistry().register(original);
+
+        Character copy = original.duplicate();
+
+        assertInstanceOf(Legionnaire.class, copy);
+        assertNotSame(original, copy);
+        assertEquals("Fortus (Clone)", copy.getName());
+        assertEquals(EntityRegistry.UNASSIGNED_ID, copy.getId());
+        assertEquals(42.0, copy.getHunger(), 0.0001);
+        assertEquals(1.0, copy.getPotionLevel(), 0.0001);
+        assertEquals(original.getStrength(), copy.getStrength(), 0.0001);
+    }
+
+    /**
+     * Verifies that a duplicated druid stays a druid but does not share the cauldron.
+     */
+    @Test
+    void duplicateDruidShouldNotShareCauldron() {
+        Druid druid = new Druid("Panoramix", 80, 1.70, 2.0, 5.0, Gender.MALE);
+        druid.concoctPotion();
+
+        Druid copy = druid.duplicate();
+
+        assertNotNull(druid.getCauldron());
+        assertNull(copy.getCauldron());
+    }
+}
@@ -0,0 +1,98 @@
+package com.asterix.model.character;
+
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.Battlefield;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link FeedingAllocator} used by the Clan Chief to feed a location.
+ */
+class FeedingAllocatorTest {
+
+    /**
+     * Verifies that the hungriest character is served first and receives the best item.
+     */
+    @Test
+    void allocateShouldServeHungriestWithBestFood() {
+        BlackSmith starving = new BlackSmith("Obelix", 35, 1.90, 30.0, 20.0, Gender.MALE);
+        BlackSmith peckish = new BlackSmith("Asterix", 35, 1.60, 20.0, 20.0, Gender.MALE);
+        starving.setHunger(50);
+        peckish.setHunger(10);
+        Food salt = FoodType.SALT.create();
+        Food boar = FoodType.WILDBOAR.create();
+
+        List<FeedingAllocator.Meal> meals = FeedingAllocator.allocate(List.of(peckish, starving), List.of(salt, boar));
+
+        assertEquals(2, meals.size());
+        assertSame(starving, meals.get(0).eater());
+        assertSame(boar, meals.get(0).food());
+        assertSame(peckish, meals.get(1).eater());
+        assertSame(salt, meals.get(1).food());
+    }
+
+    /**
+     * Verifies that food a faction cannot eat is never allocated to it.
+     */
+    @Test
+    void allocateShouldRespectEdibility() {
+        Legionnaire roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        roman.setHunger(40);
+        Food boar = FoodType.WILDBOAR.create(); // Gauls only
+
+        assertTrue(FeedingAllocator.allocate(List.of(roman), List.of(boar)).isEmpty());
+    }
+
+    /**
+     * Verifies that an item edible by both factions is only served once.
+     */
+    @Test
+    void allocateShouldNotServeTheSameItemTwice() {
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.60, 20.0, 20.0, Gender.MALE);
+        Legionnaire roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        gaul.setHunger(20);
+        roman.setHunger(30);
+        Food honey = FoodType.HONEY.create();
+
+        List<FeedingAllocator.Meal> meals = FeedingAllocator.allocate(List.of(gaul, roman), List.of(honey));
+
+        assertEquals(1, meals.size());
+        assertSame(roman, meals.get(0).eater());
+    }
+
+    /**
+     * Verifies that characters who are not hungry are skipped.
+     */
+    @Test
+    void allocateShouldSkipCharactersWithoutHunger() {
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.60, 20.0, 20.0, Gender.MALE);
+
+        assertTrue(FeedingAllocator.allocate(List.of(gaul), List.of(FoodType.HONEY.create())).isEmpty());
+    }
+
+    /**
+     * Verifies that the chief removes exactly the eaten items from the pantry.
+     */
+    @Test
+    void chiefFeedingShouldRemoveOnlyEatenFood() {
+        Battlefield field = new Battlefield("Field", 100.0);
+        Legionnaire roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        roman.setHunger(40);
+        field.addCharacter(roman);
+        Food boar = FoodType.WILDBOAR.create();
+        Food honey = FoodType.HONEY.create();
+        field.addFood(boar);
+        field.addFood(honey);
+
+        new Chief("Chief", "MALE", 50, field).feedCharactersInLocation();
+
+        assertEquals(List.of(boar), field.getFoods());
+        assertTrue(roman.getHunger() < 40);
+    }
+}
@@ -7,8 +7,14 @@ import com.asterix.model.character.Character;
 import com.asterix.model.character.Gender;
 import com.asterix.model.item.Cauldron;
 import com.asterix.model.item.FoodType;
+import com.asterix.model.character.PotionDistribution;
+import com.asterix.model.item.Food;
+import com.asterix.model.place.GaulVillage;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -140,4 +146,78 @@ public class DruidTest {
         assertEquals(initialPotionLevel, clarix.getPotionLevel(), 0.0001,
                 "Potion level should not change if the cauldron is empty or not created");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that a whole squad is served in one call, within the available doses.
+     */
+    @Test
+    public void testDistributePotionServesSquadWithinAvailableDoses() {
+        Druid nevotix = createInstantiableDruid("Nevotix", 100.0);
+        List<Gaul> squad = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            squad.add(createInstantiableGaul("Gaul" + i));
+        }
+
+        nevotix.concoctPotion();
+        PotionDistribution distribution = nevotix.distributePotion(squad);
+
+        assertEquals(10, distribution.served().size(), "A cauldron holds 10 doses.");
+        assertEquals(1.0, squad.get(0).getPotionLevel(), 0.0001);
+        assertEquals(0.0, squad.get(11).getPotionLevel(), 0.0001);
+        assertEquals(0, nevotix.getCauldron().getRemainingDoses());
+    }
+
+    /**
+     * Verifies that distributing without a brewed cauldron serves nobody.
+     */
+    @Test
+    public void testDistributePotionWithoutBrewing() {
+        Druid nevotix = createInstantiableDruid("Nevotix", 100.0);
+
+        assertSame(PotionDistribution.NONE, nevotix.distributePotion(List.of(createInstantiableGaul("Clarix"))));
+    }
+
+    /**
+     * Verifies that gathering picks up exactly the food flagged as potion ingredient.
+     */
+    @Test
+    public void testGatherIngredientsUsesFoodTypeMetadata() {
+        Druid nevotix = createInstantiableDruid("Nevotix", 100.0);
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        village.addFood(FoodType.MISTLETOE.create());
+        village.addFood(FoodType.WILDBOAR.create());
+        village.addFood(FoodType.CARROT.create());
+        village.addFood(FoodType.WINE.create());
+
+        int gathered = nevotix.gatherIngredients(village);
+
+        assertEquals(2, gathered);
+        assertEquals(2, village.getFoods().size());
+        for (Food left : village.getFoods()) {
+            assertFalse(left.getFoodType().isUsableInPotion(), left.getName() + " should have been gathered.");
+        }
+        assertEquals(1, village.getCauldron().getIngredientCount(FoodType.MISTLETOE));
+        assertEquals(1, village.getCauldron().getIngredientCount(FoodType.CARROT));
+    }
+
+    /**
+     * Verifies that the gathering budget caps the pick-up and keeps the pantry order.
+     */
+    @Test
+    public void testGatherIngredientsRespectsBudget() {
+        Druid nevotix = createInstantiableDruid("Nevotix", 100.0);
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        village.addFood(FoodType.MISTLETOE.create());
+        village.addFood(FoodType.WILDBOAR.create());
+        village.addFood(FoodType.CARROT.create());
+        village.addFood(FoodType.FISH.create());
+        village.addFood(FoodType.WINE.create());
+
+        assertEquals(2, nevotix.gatherIngredients(village, 2));
+
+        List<FoodType> left = new ArrayList<>();
+        for (Food food : village.getFoods()) left.add(food.getFoodType());
+        assertEquals(List.of(FoodType.WILDBOAR, FoodType.FISH, FoodType.WINE), left);
+        assertEquals(0, nevotix.gatherIngredients(village, 0));
+    }
+}
@@ -3,6 +3,10 @@ package com.asterix.model.item;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -167,4 +171,59 @@ class CauldronTest {
         cauldron.addIngredient(null);
         assertEquals(initialSize, cauldron.getIngredients().size(), "Null ingredient should be ignored.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that the ingredient mask and per-type counts follow the added ingredients.
+     */
+    @Test
+    void addIngredientShouldUpdateMaskAndCounts() {
+        cauldron.addIngredient(FoodType.MISTLETOE.create());
+        cauldron.addIngredient(FoodType.MISTLETOE.create());
+        cauldron.addIngredient(FoodType.CARROT.create());
+
+        assertEquals(FoodType.maskOf(FoodType.MISTLETOE, FoodType.CARROT), cauldron.getIngredientMask());
+        assertEquals(2, cauldron.getIngredientCount(FoodType.MISTLETOE));
+        assertEquals(1, cauldron.getIngredientCount(FoodType.CARROT));
+        assertEquals(0, cauldron.getIngredientCount(FoodType.FISH));
+    }
+
+    /**
+     * Verifies that {@code serve()} grants at most the remaining doses.
+     */
+    @Test
+    void serveShouldGrantAtMostRemainingDoses() {
+        cauldron.addIngredient(FoodType.MISTLETOE.create());
+        cauldron.brew();
+
+        assertEquals(4, cauldron.serve(4));
+        assertEquals(6, cauldron.serve(50));
+        assertEquals(0, cauldron.serve(1));
+        assertEquals(0, cauldron.getRemainingDoses());
+    }
+
+    /**
+     * Verifies that concurrent servings never hand out more doses than were brewed.
+     */
+    @Test
+    void serveShouldBeSafeUnderConcurrency() throws InterruptedException {
+        cauldron.addIngredient(FoodType.MISTLETOE.create());
+        cauldron.brew();
+        AtomicInteger total = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            Thread t = new Thread(() -> {
+                for (int j = 0; j < 10; j++) {
+                    total.addAndGet(cauldron.serve(1));
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(10, total.get());
+    }
+}
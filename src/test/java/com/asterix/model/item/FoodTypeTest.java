@@ -70,4 +70,22 @@ class FoodTypeTest {
         assertTrue(type.isRomanCanEat());
         assertTrue(type.isUsableInPotion());
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks that the potion ingredient mask is derived from the usableInPotion flags.
+     */
+    @Test
+    void potionIngredientMaskShouldMatchFlags() {
+        long mask = FoodType.potionIngredientMask();
+
+        for (FoodType type : FoodType.values()) {
+            assertEquals(type.isUsableInPotion(), (mask & type.bit()) != 0L, type.name());
+        }
+        assertTrue(FoodType.MISTLETOE.isUsableInPotion());
+        assertTrue(FoodType.CARROT.isUsableInPotion());
+        assertTrue(FoodType.FISH.isUsableInPotion());
+        assertTrue(FoodType.ROCK_OIL.isUsableInPotion());
+        assertFalse(FoodType.WILDBOAR.isUsableInPotion());
+        assertFalse(FoodType.WINE.isUsableInPotion());
+    }
+}
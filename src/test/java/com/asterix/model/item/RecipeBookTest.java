@@ -0,0 +1,61 @@
+package com.asterix.model.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the compiled {@link RecipeBook} lookup table.
+ */
+class RecipeBookTest {
+
+    /**
+     * Verifies that a mask without the mandatory ingredient fails to brew.
+     */
+    @Test
+    void lookupShouldFailWithoutMistletoe() {
+        RecipeBook.Outcome outcome = RecipeBook.lookup(FoodType.maskOf(FoodType.CARROT, FoodType.LOBSTER));
+
+        assertFalse(outcome.isSuccess());
+        assertTrue(outcome.effects().isEmpty(), "A failed brew carries no effect.");
+    }
+
+    /**
+     * Verifies that the magic potion is matched and effects are resolved from the mask.
+     */
+    @Test
+    void lookupShouldResolveRecipeAndEffects() {
+        long mask = FoodType.maskOf(FoodType.MISTLETOE, FoodType.BEET_JUICE, FoodType.IDEFIX_HAIR);
+
+        RecipeBook.Outcome outcome = RecipeBook.lookup(mask);
+
+        assertEquals(PotionRecipe.MAGIC_POTION, outcome.recipe());
+        assertEquals(Set.of(PotionEffect.NOURISHING, PotionEffect.LYCANTHROPY), outcome.effects());
+    }
+
+    /**
+     * Verifies that ingredients outside every recipe and effect do not change the outcome.
+     */
+    @Test
+    void lookupShouldIgnoreIrrelevantIngredients() {
+        long base = FoodType.maskOf(FoodType.MISTLETOE, FoodType.UNICORN_MILK);
+        long noisy = base | FoodType.maskOf(FoodType.SALT, FoodType.HONEY, FoodType.ROCK_OIL);
+
+        assertSame(RecipeBook.lookup(base), RecipeBook.lookup(noisy));
+    }
+
+    /**
+     * Verifies that each food type owns a distinct bit.
+     */
+    @Test
+    void foodTypeBitsShouldBeDistinct() {
+        long all = 0L;
+        for (FoodType type : FoodType.values()) {
+            assertEquals(0L, all & type.bit());
+            all |= type.bit();
+        }
+        assertEquals(FoodType.values().length, Long.bitCount(all));
+    }
+}
@@ -6,9 +6,13 @@ import com.asterix.model.character.gaul.BlackSmith;
 import com.asterix.model.character.roman.Legionnaire;
 import com.asterix.model.item.Food;
 import com.asterix.model.item.FoodType; // Import required for the Fix
+import com.asterix.model.simulation.EntityRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,4 +22,285 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class PlaceTest {
 
-}
\ No newline at end of file
+    /**
+     * Verifies that removing a character in the middle of the roster keeps the other ones.
+     */
+    @Test
+    void removeCharacterShouldSwapLastIntoFreedSlot() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        Legionnaire roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        Lycanthrope creature = new Lycanthrope("Lupus", 25, 1.85, 22.0, 10.0, Gender.MALE);
+        battlefield.addCharacter(gaul);
+        battlefield.addCharacter(roman);
+        battlefield.addCharacter(creature);
+
+        battlefield.removeCharacter(gaul);
+
+        List<com.asterix.model.character.Character> chars = battlefield.getCharacters();
+        assertEquals(2, chars.size());
+        assertFalse(battlefield.containsCharacter(gaul));
+        assertTrue(chars.contains(roman));
+        assertTrue(chars.contains(creature));
+
+        battlefield.removeCharacter(creature);
+        assertEquals(List.of(roman), battlefield.getCharacters());
+    }
+
+    /**
+     * Verifies that adding the same character twice does not duplicate it.
+     */
+    @Test
+    void addCharacterShouldIgnoreCharacterAlreadyPresent() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+
+        battlefield.addCharacter(gaul);
+        battlefield.addCharacter(gaul);
+
+        assertEquals(1, battlefield.getCharacters().size());
+    }
+
+    /**
+     * Verifies the id-based removal once the place is attached to a registry.
+     */
+    @Test
+    void removeCharacterByIdShouldUseRegistryIds() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        battlefield.addCharacter(gaul);
+
+        assertFalse(battlefield.removeCharacterById(0), "Standalone places cannot resolve ids.");
+
+        battlefield.attachTo(new EntityRegistry());
+
+        assertTrue(battlefield.removeCharacterById(gaul.getId()));
+        assertFalse(battlefield.removeCharacterById(gaul.getId()));
+        assertTrue(battlefield.getCharacters().isEmpty());
+    }
+
+    /**
+     * Verifies that food items receive ids when added to an attached place.
+     */
+    @Test
+    void addFoodShouldRegisterFoodInAttachedPlace() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        EntityRegistry registry = new EntityRegistry();
+        battlefield.attachTo(registry);
+        Food honey = FoodType.HONEY.create();
+
+        battlefield.addFood(honey);
+        assertSame(honey, registry.getFood(honey.getId()));
+
+        battlefield.removeFood(honey);
+        assertNull(registry.getFood(honey.getId()));
+    }
+
+    /**
+     * Verifies that removing several food items only releases the ids of the items of this pantry.
+     */
+    @Test
+    void removeFoodsShouldOnlyReleaseItemsOfThisPantry() {
+        EntityRegistry registry = new EntityRegistry();
+        Battlefield field = new Battlefield("Field", 100.0);
+        Battlefield other = new Battlefield("Other", 100.0);
+        field.attachTo(registry);
+        other.attachTo(registry);
+        Food honey = FoodType.HONEY.create();
+        Food foreign = FoodType.HONEY.create();
+        field.addFood(honey);
+        other.addFood(foreign);
+
+        assertEquals(1, field.removeFoods(List.of(honey, foreign)));
+
+        assertNull(registry.getFood(honey.getId()));
+        assertSame(foreign, registry.getFood(foreign.getId()));
+        assertEquals(List.of(foreign), other.getFoods());
+    }
+
+    /**
+     * Verifies that dead characters leave the alive segment on sweep but stay listed
+     * until their tombstones are drained.
+     */
+    @Test
+    void sweepDeadShouldMoveDeadCharactersToTombstones() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        Legionnaire roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        battlefield.addCharacter(gaul);
+        battlefield.addCharacter(roman);
+
+        roman.die();
+        assertEquals(1, battlefield.sweepDead());
+
+        assertEquals(List.of(gaul), battlefield.getAliveCharacters());
+        assertEquals(List.of(roman), battlefield.getTombstones());
+        assertEquals(2, battlefield.getCharacters().size());
+        assertTrue(battlefield.containsCharacter(roman));
+
+        assertEquals(List.of(roman), battlefield.drainTombstones());
+        assertEquals(List.of(gaul), battlefield.getCharacters());
+    }
+
+    /**
+     * Verifies that a character already dead on arrival goes straight to the tombstones.
+     */
+    @Test
+    void addCharacterShouldPutDeadCharacterInTombstones() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        Legionnaire roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        roman.die();
+
+        battlefield.addCharacter(roman);
+
+        assertTrue(battlefield.getAliveCharacters().isEmpty());
+        assertEquals(List.of(roman), battlefield.getTombstones());
+
+        battlefield.removeCharacter(roman);
+        assertTrue(battlefield.getCharacters().isEmpty());
+    }
+
+    /**
+     * Verifies that tombstones are indexed like live characters: removing one from the middle
+     * swaps the last tombstone into its slot, and a drained tombstone is no longer contained.
+     */
+    @Test
+    void removeCharacterShouldSwapLastTombstoneIntoFreedSlot() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        Legionnaire first = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        Legionnaire second = new Legionnaire("Caius", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        Legionnaire third = new Legionnaire("Brutus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        for (Legionnaire roman : List.of(first, second, third)) {
+            battlefield.addCharacter(roman);
+            roman.die();
+        }
+        assertEquals(3, battlefield.sweepDead());
+
+        battlefield.removeCharacter(first);
+
+        assertFalse(battlefield.containsCharacter(first));
+        assertEquals(2, battlefield.getTombstones().size());
+        battlefield.removeCharacter(third);
+        assertEquals(List.of(second), battlefield.getTombstones());
+
+        battlefield.drainTombstones();
+        assertFalse(battlefield.containsCharacter(second));
+        battlefield.addCharacter(second);
+        assertEquals(List.of(second), battlefield.getTombstones());
+    }
+
+    /**
+     * Verifies that a place stays non-resident while its loader runs, and that another thread
+     * reading it waits for the complete contents.
+     */
+    @Test
+    void ensureResidentShouldWaitForLoadingInProgress() throws InterruptedException {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        Legionnaire roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        CountDownLatch firstAdded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        battlefield.deferContents(place -> {
+            place.addCharacter(gaul);
+            firstAdded.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            place.addCharacter(roman);
+        });
+        Thread loader = new Thread(battlefield::ensureResident);
+        loader.start();
+        assertTrue(firstAdded.await(5, TimeUnit.SECONDS));
+
+        assertFalse(battlefield.isResident());
+        AtomicInteger seen = new AtomicInteger(-1);
+        Thread reader = new Thread(() -> seen.set(battlefield.getCharacters().size()));
+        reader.start();
+        reader.join(100);
+        assertTrue(reader.isAlive(), "The reader must wait for the loader.");
+
+        release.countDown();
+        loader.join(5000);
+        reader.join(5000);
+        assertTrue(battlefield.isResident());
+        assertEquals(2, seen.get());
+    }
+
+    /**
+     * Verifies that a failed load leaves the place deferred and empty, with the ids of the
+     * partly loaded entities released, instead of marking it resident.
+     */
+    @Test
+    void failedLoadShouldRollBackAndKeepThePlaceDeferred() {
+        EntityRegistry registry = new EntityRegistry();
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        village.attachTo(registry);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        Food honey = FoodType.HONEY.create();
+        AtomicInteger attempts = new AtomicInteger();
+        village.deferContents(place -> {
+            attempts.incrementAndGet();
+            place.addCharacter(gaul);
+            place.addFood(honey);
+            ((GaulVillage) place).getCauldron().addIngredient(FoodType.MISTLETOE.create());
+            throw new IllegalStateException("Truncated section");
+        });
+
+        assertThrows(IllegalStateException.class, village::ensureResident);
+
+        assertFalse(village.isResident());
+        assertFalse(registry.contains(gaul));
+        assertFalse(registry.contains(honey));
+        assertThrows(IllegalStateException.class, village::getCharacters, "The load is tried again.");
+        assertEquals(2, attempts.get());
+
+        village.deferContents(place -> { });
+        assertTrue(village.getCharacters().isEmpty());
+        assertTrue(village.getFoods().isEmpty());
+        assertTrue(village.getCauldron().getIngredients().isEmpty());
+    }
+
+    /**
+     * Verifies that admit refuses characters once the population budget is reached.
+     */
+    @Test
+    void admitShouldRespectPopulationLimit() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        battlefield.setPopulationLimit(1);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+
+        assertEquals(1, battlefield.remainingCapacity());
+        assertTrue(battlefield.admit(gaul));
+        assertEquals(0, battlefield.remainingCapacity());
+        assertFalse(battlefield.admit(gaul.duplicate()));
+        assertEquals(1, battlefield.getAliveCharacters().size());
+        assertThrows(IllegalArgumentException.class, () -> battlefield.setPopulationLimit(-1));
+    }
+
+    /**
+     * Verifies that changes of the contents bump the dirty epoch, while reads and ageing do not.
+     */
+    @Test
+    void dirtyEpochShouldFollowContentChangesOnly() {
+        Battlefield battlefield = new Battlefield("Field", 100.0);
+        BlackSmith gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        long initial = battlefield.getDirtyEpoch();
+
+        battlefield.addCharacter(gaul);
+        long afterAdd = battlefield.getDirtyEpoch();
+        battlefield.getCharacters();
+        battlefield.ageCharacters();
+        battlefield.ageFood();
+        battlefield.removeFood(FoodType.HONEY.create());
+
+        assertTrue(afterAdd > initial);
+        assertEquals(afterAdd, battlefield.getDirtyEpoch());
+        assertEquals(2.0, gaul.getHunger());
+
+        gaul.die();
+        battlefield.sweepDead();
+        assertTrue(battlefield.getDirtyEpoch() > afterAdd);
+    }
+}
@@ -0,0 +1,137 @@
+package com.asterix.model.simulation;
+
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.item.Cauldron;
+import com.asterix.model.place.GaulVillage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BrewingService} class.
+ */
+class BrewingServiceTest {
+
+    /**
+     * Druid whose cauldrons only finish brewing once the latch is released.
+     */
+    private static Druid blockingDruid(String name, CountDownLatch release) {
+        return new Druid(name, 60, 1.7, 2.0, 5.0, Gender.MALE) {
+            @Override
+            public Cauldron prepareCauldron() {
+                Cauldron cauldron = super.prepareCauldron();
+                return new Cauldron() {
+                    @Override
+                    public boolean brew() {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        cauldron.getIngredients().forEach(this::addIngredient);
+                        return super.brew();
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    void submittedBrewShouldBeCollectedOnceFinished() throws InterruptedException {
+        try (BrewingService service = new BrewingService(2, 4)) {
+            Druid druid = new Druid("Panoramix", 80, 1.7, 2.0, 5.0, Gender.MALE);
+
+            assertTrue(service.submit(druid));
+            assertTrue(service.isPending(druid));
+            assertFalse(service.submit(druid), "A druid cannot have two brews in flight.");
+            assertTrue(service.awaitIdle(5000));
+
+            List<BrewingService.Brew> brews = service.collectCompleted();
+            assertEquals(1, brews.size());
+            assertSame(druid, brews.get(0).druid());
+            assertTrue(brews.get(0).success());
+            assertTrue(brews.get(0).cauldron().isReady());
+            assertFalse(service.isPending(druid));
+            assertEquals(1, service.getCompletedCount());
+            assertEquals(0, service.getInFlightCount());
+            assertTrue(service.getMaxLatencyMillis() >= service.getAverageLatencyMillis());
+        }
+    }
+
+    @Test
+    void cauldronShouldBeFilledOnAWorkerThread() throws InterruptedException {
+        List<String> fillingThreads = new CopyOnWriteArrayList<>();
+        Druid druid = new Druid("Panoramix", 80, 1.7, 2.0, 5.0, Gender.MALE) {
+            @Override
+            public Cauldron prepareCauldron() {
+                fillingThreads.add(Thread.currentThread().getName());
+                return super.prepareCauldron();
+            }
+        };
+        try (BrewingService service = new BrewingService(1, 4)) {
+            assertTrue(service.submit(druid));
+            assertTrue(service.awaitIdle(5000));
+
+            assertEquals(1, fillingThreads.size());
+            assertNotEquals(Thread.currentThread().getName(), fillingThreads.get(0));
+            assertTrue(fillingThreads.get(0).startsWith("brewing-"));
+        }
+    }
+
+    @Test
+    void fullQueueShouldRejectSubmissions() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (BrewingService service = new BrewingService(1, 1)) {
+            assertTrue(service.submit(blockingDruid("D1", release)));
+            Druid second = blockingDruid("D2", release);
+            // Wait until the first job is taken by the worker, so the second one stays queued.
+            long deadline = System.currentTimeMillis() + 5000;
+            while (service.getQueueDepth() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(service.submit(second));
+            assertEquals(1, service.getQueueDepth());
+
+            Druid third = blockingDruid("D3", release);
+            assertFalse(service.submit(third));
+            assertEquals(1, service.getRejectedCount());
+            assertFalse(service.isPending(third), "A rejected druid can submit again later.");
+
+            release.countDown();
+            assertTrue(service.awaitIdle(5000));
+            assertEquals(2, service.collectCompleted().size());
+        }
+    }
+
+    @Test
+    void theaterShouldHandBrewsBackAtTickBoundary() throws InterruptedException {
+        try (BrewingService service = new BrewingService(1, 4)) {
+            InvasionTheater theater = new InvasionTheater("Armorica");
+            theater.setBrewingService(service);
+            GaulVillage village = new GaulVillage("Village", 100.0, null);
+            Druid druid = new Druid("Panoramix", 80, 1.7, 2.0, 5.0, Gender.MALE);
+            village.addCharacter(druid);
+            theater.addPlace(village);
+
+            assertTrue(service.submit(druid));
+            assertTrue(service.awaitIdle(5000));
+            assertNull(druid.getCauldron(), "The cauldron is only handed back at the tick boundary.");
+
+            theater.endTick();
+            assertNotNull(druid.getCauldron());
+            assertTrue(druid.getCauldron().isReady());
+        }
+    }
+
+    @Test
+    void constructorShouldRejectEmptyPool() {
+        assertThrows(IllegalArgumentException.class, () -> new BrewingService(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BrewingService(1, 0));
+    }
+}
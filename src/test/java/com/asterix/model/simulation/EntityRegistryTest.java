@@ -0,0 +1,119 @@
+package com.asterix.model.simulation;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.Battlefield;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link EntityRegistry} id index.
+ */
+class EntityRegistryTest {
+
+    /**
+     * Verifies that ids are dense, start at 0 and resolve back to the entity.
+     */
+    @Test
+    void registerShouldAssignDenseIds() {
+        EntityRegistry registry = new EntityRegistry();
+        Character first = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        Character second = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+
+        assertEquals(0, registry.register(first));
+        assertEquals(1, registry.register(second));
+
+        assertSame(first, registry.getCharacter(0));
+        assertSame(second, registry.getCharacter(1));
+        assertEquals(2, registry.getCharacterCount());
+    }
+
+    /**
+     * Verifies that registering the same entity twice keeps its id.
+     */
+    @Test
+    void registerShouldBeIdempotent() {
+        EntityRegistry registry = new EntityRegistry();
+        Character gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+
+        int id = registry.register(gaul);
+
+        assertEquals(id, registry.register(gaul));
+        assertEquals(1, registry.getCharacterCount());
+    }
+
+    /**
+     * Verifies that a released food item can no longer be looked up and its id is not reused.
+     */
+    @Test
+    void releaseShouldClearFoodSlotWithoutReusingId() {
+        EntityRegistry registry = new EntityRegistry();
+        Food honey = FoodType.HONEY.create();
+        Food salt = FoodType.SALT.create();
+
+        registry.register(honey);
+        registry.release(honey);
+
+        assertNull(registry.getFood(0));
+        assertFalse(registry.contains(honey));
+        assertEquals(1, registry.register(salt));
+    }
+
+    /**
+     * Verifies that unknown ids resolve to {@code null}.
+     */
+    @Test
+    void unknownIdsShouldResolveToNull() {
+        EntityRegistry registry = new EntityRegistry();
+
+        assertNull(registry.getCharacter(EntityRegistry.UNASSIGNED_ID));
+        assertNull(registry.getPlace(3));
+        assertNull(registry.getFood(0));
+    }
+
+    /**
+     * Verifies that adding a place to a theater registers the place and its content,
+     * and that later arrivals are registered too.
+     */
+    @Test
+    void theaterShouldRegisterPlacesAndTheirContent() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        Battlefield field = new Battlefield("Field", 100.0);
+        Character gaul = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        field.addCharacter(gaul);
+
+        theater.addPlace(field);
+        Character roman = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+        field.addCharacter(roman);
+
+        assertSame(field, theater.getPlaceById(field.getId()));
+        assertSame(gaul, theater.getCharacterById(gaul.getId()));
+        assertSame(roman, theater.getCharacterById(roman.getId()));
+        assertNotEquals(gaul.getId(), roman.getId());
+    }
+
+    /**
+     * Verifies that restored ids are kept and that later registrations continue after them.
+     */
+    @Test
+    void restoreShouldKeepSavedIdsAndLeaveGaps() {
+        EntityRegistry registry = new EntityRegistry();
+        Character restored = new BlackSmith("Asterix", 35, 1.70, 20.0, 15.0, Gender.MALE);
+        Character other = new Legionnaire("Fortus", 30, 1.80, 18.0, 12.0, Gender.MALE);
+
+        registry.restore(restored, 3);
+        registry.reserve(6, 0, 0);
+
+        assertEquals(3, restored.getId());
+        assertSame(restored, registry.getCharacter(3));
+        assertNull(registry.getCharacter(1));
+        assertEquals(3, registry.register(restored));
+        assertEquals(6, registry.register(other));
+        assertThrows(IllegalStateException.class, () -> registry.restore(other, 3));
+    }
+}
@@ -1,13 +1,26 @@
 package com.asterix.model.simulation;
 
 import com.asterix.model.character.Character;
+import com.asterix.model.character.CharacterType;
 import com.asterix.model.character.Chief;
 import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Merchant;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodType;
 import com.asterix.model.place.Battlefield;
 import com.asterix.model.place.GaulVillage;
 import com.asterix.model.place.Place;
+import com.asterix.model.place.PlaceType;
+import com.asterix.model.simulation.policy.ChiefCommand;
+import com.asterix.model.simulation.policy.ScriptedChiefPolicy;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 class InvasionTheaterTest {
@@ -135,4 +148,189 @@ class InvasionTheaterTest {
         assertTrue(text.contains("BATTLEFIELD"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void endTickShouldSweepDeadAndCompactOnSchedule() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        theater.setCompactionInterval(2);
+        Battlefield field = new Battlefield("Battlefield", 50.0);
+        theater.addPlace(field);
+
+        FakeWeakGaul alive = new FakeWeakGaul("Asterix");
+        FakeWeakGaul dead = new FakeWeakGaul("Assurancetourix");
+        field.addCharacter(alive);
+        field.addCharacter(dead);
+        dead.isDead = true;
+
+        assertEquals(1, theater.endTick());
+        assertEquals(1, theater.getTick());
+        assertEquals(List.of(alive), field.getAliveCharacters());
+        assertEquals(List.of(dead), field.getTombstones());
+        assertTrue(theater.getArchive().isEmpty());
+
+        assertEquals(0, theater.endTick());
+        assertTrue(field.getTombstones().isEmpty());
+        assertEquals(List.of(dead), theater.getArchive());
+    }
+
+    @Test
+    void setCompactionIntervalShouldRejectZero() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        assertThrows(IllegalArgumentException.class, () -> theater.setCompactionInterval(0));
+    }
+
+
+    @Test
+    void playChiefTurnsShouldUsePerChiefPolicy() {
+        InvasionTheater theater = new InvasionTheater("T");
+        GaulVillage village = new GaulVillage("V", 10, null);
+        GaulVillage other = new GaulVillage("W", 10, null);
+        TestChief chief = new TestChief("C", village);
+        TestChief otherChief = new TestChief("D", other);
+        village.setChief(chief);
+        other.setChief(otherChief);
+        theater.addPlace(village);
+        theater.addPlace(other);
+        ScriptedChiefPolicy scripted = new ScriptedChiefPolicy(List.of(List.of(ChiefCommand.heal())), false);
+        theater.setChiefPolicy(chief, scripted);
+        theater.setDefaultChiefPolicy((c, t) -> List.of());
+
+        assertEquals(1, theater.playChiefTurns());
+        assertSame(scripted, theater.getChiefPolicy(chief));
+        assertSame(theater.getDefaultChiefPolicy(), theater.getChiefPolicy(otherChief));
+        assertEquals(0, theater.playChiefTurns(), "The script is exhausted.");
+    }
+
+    @Test
+    void stepShouldRunWholeTickHeadless() {
+        InvasionTheater theater = new InvasionTheater("T");
+        GaulVillage village = new GaulVillage("V", 10, null);
+        village.setChief(new TestChief("C", village));
+        theater.addPlace(village);
+
+        for (int i = 0; i < 100; i++) {
+            theater.step();
+        }
+
+        assertEquals(100, theater.getTick());
+    }
+
+    @Test
+    void playChiefTurnsShouldApplyParallelDecisionsInSettlementOrder() throws InterruptedException {
+        InvasionTheater theater = new InvasionTheater("T");
+        for (int i = 0; i < 8; i++) {
+            GaulVillage village = new GaulVillage("V" + i, 10, null);
+            village.setChief(new TestChief("C" + i, village));
+            theater.addPlace(village);
+        }
+        // Later settlements decide faster, so decisions finish in reverse order.
+        theater.setDefaultChiefPolicy((chief, snapshot) -> {
+            try {
+                Thread.sleep(5L * (8 - chief.settlementId()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(ChiefCommand.recruit(CharacterType.GAUL_MERCHANT, "R" + chief.settlementId(), 30));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            theater.setDecisionExecutor(executor);
+            assertEquals(8, theater.playChiefTurns());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        // Recruits receive their id when applied: ids follow the settlement order.
+        int previousId = -1;
+        for (Place place : theater.getPlaces()) {
+            Character recruit = place.getAliveCharacters().get(0);
+            assertTrue(recruit.getId() > previousId, recruit.getName() + " was applied out of order.");
+            previousId = recruit.getId();
+        }
+    }
+
+    @Test
+    void snapshotShouldNotFollowLaterChanges() {
+        InvasionTheater theater = new InvasionTheater("T");
+        GaulVillage village = new GaulVillage("V", 10, null);
+        theater.addPlace(village);
+
+        TheaterSnapshot snapshot = theater.snapshot();
+        village.addFood(FoodType.HONEY.create());
+
+        assertEquals(1, snapshot.getChiefs().size());
+        assertTrue(snapshot.getChiefs().get(0).automated());
+        assertTrue(snapshot.getPlace(village.getId()).foods().isEmpty());
+        assertEquals(PlaceType.GAUL_VILLAGE, snapshot.getPlace(village.getId()).type());
+        assertThrows(UnsupportedOperationException.class,
+                () -> snapshot.getPlaces().get(0).characters().add(null));
+    }
+
+    @Test
+    void eventListenersShouldReceivePlaceAndTickEvents() {
+        InvasionTheater theater = new InvasionTheater("T");
+        GaulVillage village = new GaulVillage("V", 10, null);
+        theater.addPlace(village);
+        List<String> received = new ArrayList<>();
+        SimulationEventListener listener = new SimulationEventListener() {
+            @Override
+            public void characterEntered(Place place, Character character) {
+                received.add("entered " + character.getName());
+            }
+
+            @Override
+            public void foodAdded(Place place, Food food) {
+                received.add("food " + food.getName());
+            }
+
+            @Override
+            public void tickEnded(InvasionTheater t) {
+                received.add("tick " + t.getTick());
+            }
+        };
+
+        theater.addEventListener(listener);
+        village.addCharacter(new Merchant("Ordralfabétix", 40, 1.7, 10, 10, Gender.MALE));
+        village.addFood(FoodType.HONEY.create());
+        theater.endTick();
+        theater.removeEventListener(listener);
+        village.addFood(FoodType.WINE.create());
+        theater.endTick();
+
+        assertEquals(List.of("entered Ordralfabétix", "food " + FoodType.HONEY.create().getName(), "tick 1"), received);
+    }
+
+    @Test
+    void handleFightsShouldArchiveEachFallenOnceWithOneEvent() {
+        InvasionTheater theater = new InvasionTheater("T");
+        Battlefield field = new Battlefield("Field", 500.0);
+        for (int i = 0; i < 20; i++) {
+            field.addCharacter(new BlackSmith("G" + i, 30, 1.80, 30.0, 20.0, Gender.MALE));
+            field.addCharacter(new Legionnaire("R" + i, 25, 1.75, 15.0, 15.0, Gender.MALE));
+        }
+        theater.addPlace(field);
+        List<Character> archived = new ArrayList<>();
+        List<Character> left = new ArrayList<>();
+        theater.addEventListener(new SimulationEventListener() {
+            @Override
+            public void characterArchived(Place place, Character character) {
+                archived.add(character);
+            }
+
+            @Override
+            public void characterLeft(Place place, Character character) {
+                left.add(character);
+            }
+        });
+
+        for (int i = 0; i < 200 && theater.getArchive().size() < 10; i++) {
+            theater.handleFights();
+        }
+
+        assertFalse(archived.isEmpty());
+        assertEquals(theater.getArchive(), archived);
+        assertTrue(left.isEmpty(), "Archiving is not a departure.");
+        assertTrue(field.getTombstones().isEmpty());
+        assertEquals(40, field.getCharacters().size() + archived.size());
+    }
+}
@@ -0,0 +1,139 @@
+package com.asterix.model.simulation;
+
+import com.asterix.model.simulation.SimulationLog.Entry;
+import com.asterix.model.simulation.SimulationLog.Level;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SimulationLog} class.
+ */
+class SimulationLogTest {
+
+    @Test
+    void messagesShouldReachSinksInOrder() throws InterruptedException {
+        try (SimulationLog log = new SimulationLog(2048, Level.DEBUG)) {
+            List<Entry> received = Collections.synchronizedList(new ArrayList<>());
+            log.addSink(received::add);
+
+            for (int i = 0; i < 1000; i++) {
+                int n = i;
+                assertTrue(log.log(Level.INFO, () -> "message " + n));
+            }
+
+            assertTrue(log.awaitIdle(5000));
+            assertEquals(1000, received.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("message " + i, received.get(i).message());
+                assertEquals(i, received.get(i).sequence());
+            }
+            assertEquals(1000, log.getDrainedCount());
+            assertEquals(0, log.getDroppedCount());
+        }
+    }
+
+    @Test
+    void disabledLevelsShouldNotBuildMessages() throws InterruptedException {
+        try (SimulationLog log = new SimulationLog(16, Level.WARN)) {
+            AtomicInteger built = new AtomicInteger();
+            List<Entry> received = Collections.synchronizedList(new ArrayList<>());
+            log.addSink(received::add);
+
+            assertFalse(log.log(Level.DEBUG, () -> "debug " + built.incrementAndGet()));
+            assertFalse(log.log(Level.INFO, () -> "info " + built.incrementAndGet()));
+            assertTrue(log.log(Level.WARN, () -> "warn " + built.incrementAndGet()));
+            log.setLevel(Level.SILENT);
+            assertFalse(log.log(Level.WARN, () -> "silent " + built.incrementAndGet()));
+            assertFalse(log.isEnabled(Level.WARN));
+
+            assertTrue(log.awaitIdle(5000));
+            assertEquals(1, built.get());
+            assertEquals(List.of("warn 1"), received.stream().map(Entry::message).toList());
+            assertEquals(Level.SILENT, log.getLevel());
+        }
+    }
+
+    @Test
+    void concurrentProducersShouldDeliverEveryAcceptedMessageOnce() throws InterruptedException {
+        try (SimulationLog log = new SimulationLog(1000, Level.DEBUG)) {
+            assertEquals(1024, log.getCapacity());
+            Set<Long> sequences = Collections.synchronizedSet(new HashSet<>());
+            AtomicInteger duplicates = new AtomicInteger();
+            log.addSink(entry -> {
+                if (!sequences.add(entry.sequence())) duplicates.incrementAndGet();
+            });
+            AtomicLong accepted = new AtomicLong();
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread producer = new Thread(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        if (log.log(Level.DEBUG, "tick " + i)) accepted.incrementAndGet();
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertTrue(log.awaitIdle(5000));
+            assertEquals(0, duplicates.get());
+            assertEquals(accepted.get(), sequences.size());
+            assertEquals(accepted.get(), log.getDrainedCount());
+            assertEquals(80_000, accepted.get() + log.getDroppedCount());
+        }
+    }
+
+    @Test
+    void fullRingShouldDropInsteadOfBlocking() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (SimulationLog log = new SimulationLog(4, Level.DEBUG)) {
+            log.addSink(entry -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            int accepted = 0;
+            for (int i = 0; i < 20; i++) {
+                if (log.log(Level.INFO, "message " + i)) accepted++;
+            }
+            release.countDown();
+
+            assertTrue(accepted <= 5, "accepted " + accepted);
+            assertEquals(20 - accepted, log.getDroppedCount());
+            assertTrue(log.awaitIdle(5000));
+            assertEquals(accepted, log.getDrainedCount());
+        }
+    }
+
+    @Test
+    void closeShouldDrainQueuedMessagesThenDropLaterOnes() {
+        SimulationLog log = new SimulationLog(64, Level.DEBUG);
+        List<Entry> received = Collections.synchronizedList(new ArrayList<>());
+        log.addSink(received::add);
+        for (int i = 0; i < 10; i++) {
+            log.log(Level.INFO, "message " + i);
+        }
+
+        log.close();
+
+        assertEquals(10, received.size());
+        assertFalse(log.log(Level.INFO, "too late"));
+        assertEquals(1, log.getDroppedCount());
+    }
+}
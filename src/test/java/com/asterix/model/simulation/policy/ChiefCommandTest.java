@@ -0,0 +1,67 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.character.CharacterType;
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ChiefCommand} commands.
+ */
+class ChiefCommandTest {
+
+    @Test
+    void transferShouldMoveCharacterById() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        Battlefield field = new Battlefield("Field", 100.0);
+        Chief chief = new Chief("Abraracourcix", "MALE", 50, village);
+        BlackSmith smith = new BlackSmith("Cetautomatix", 40, 1.70, 20.0, 15.0, Gender.MALE);
+        village.addCharacter(smith);
+        theater.addPlace(village);
+        theater.addPlace(field);
+
+        assertTrue(ChiefCommand.transfer(smith.getId(), field.getId()).apply(chief, theater));
+        assertTrue(field.containsCharacter(smith));
+        assertFalse(village.containsCharacter(smith));
+        assertFalse(ChiefCommand.transfer(smith.getId(), field.getId()).apply(chief, theater),
+                "A character outside the chief's location cannot be transferred.");
+    }
+
+    @Test
+    void orderPotionShouldBrewAndServeVillage() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        Chief chief = new Chief("Abraracourcix", "MALE", 50, village);
+        BlackSmith smith = new BlackSmith("Cetautomatix", 40, 1.70, 20.0, 15.0, Gender.MALE);
+        Druid druid = new Druid("Panoramix", 80, 1.70, 2.0, 5.0, Gender.MALE);
+        village.addCharacter(smith);
+        village.addCharacter(druid);
+        theater.addPlace(village);
+
+        assertTrue(ChiefCommand.orderPotion(druid.getId()).apply(chief, theater));
+        assertNotNull(druid.getCauldron());
+        assertTrue(smith.getPotionLevel() > 0 || smith.isStatue());
+        assertEquals(0.0, druid.getPotionLevel(), "Druids serve the squad but do not drink.");
+        assertFalse(ChiefCommand.orderPotion(smith.getId()).apply(chief, theater));
+    }
+
+    @Test
+    void recruitShouldRespectEntryRules() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        Chief chief = new Chief("Abraracourcix", "MALE", 50, village);
+        theater.addPlace(village);
+
+        assertTrue(ChiefCommand.recruit(CharacterType.GAUL_MERCHANT, "Ordralfabetix", 45).apply(chief, theater));
+        assertFalse(ChiefCommand.recruit(CharacterType.ROMAN_LEGIONNAIRE, "Caius", 25).apply(chief, theater));
+        assertEquals(1, village.getAliveCharacters().size());
+    }
+}
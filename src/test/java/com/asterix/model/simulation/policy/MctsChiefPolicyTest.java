@@ -0,0 +1,114 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.RomanCamp;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.TheaterSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MctsChiefPolicy} class.
+ */
+class MctsChiefPolicyTest {
+
+    private static final long NO_TIME_LIMIT = 60_000;
+
+    /**
+     * Builds a theater with a Gaul village (two warriors and a druid) and a battlefield
+     * held by three legionnaires.
+     */
+    private static InvasionTheater gaulsVersusLegion() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        village.setChief(new Chief("Abraracourcix", "MALE", 50, village));
+        village.addCharacter(new BlackSmith("Cetautomatix", 40, 1.70, 25.0, 15.0, Gender.MALE));
+        village.addCharacter(new BlackSmith("Obelix", 30, 1.90, 40.0, 30.0, Gender.MALE));
+        village.addCharacter(new Druid("Panoramix", 80, 1.70, 2.0, 5.0, Gender.MALE));
+        Battlefield field = new Battlefield("Field", 100.0);
+        for (int i = 0; i < 3; i++) {
+            field.addCharacter(new Legionnaire("Legionnaire" + i, 25, 1.75, 15.0, 15.0, Gender.MALE));
+        }
+        theater.addPlace(village);
+        theater.addPlace(field);
+        return theater;
+    }
+
+    @Test
+    void decideShouldSendStrongestWarriorToFightRomans() {
+        InvasionTheater theater = gaulsVersusLegion();
+        TheaterSnapshot snapshot = theater.snapshot();
+        int obelix = theater.getPlaces().get(0).getAliveCharacters().get(1).getId();
+        int field = theater.getPlaces().get(1).getId();
+
+        try (MctsChiefPolicy policy = new MctsChiefPolicy(NO_TIME_LIMIT, 2000, 1, 4, MctsChiefPolicy.DEFAULT_EXPLORATION, 42L)) {
+            List<ChiefCommand> commands = policy.decide(snapshot.getChiefs().get(0), snapshot);
+
+            assertEquals(List.of(ChiefCommand.transfer(obelix, field)), commands);
+            assertEquals(2000, policy.getLastReport().playouts());
+            assertEquals("SEND -> Field", policy.getLastReport().bestAction());
+        }
+    }
+
+    @Test
+    void decideShouldNotSendRomansToBeBeaten() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        RomanCamp camp = new RomanCamp("Camp", 100.0, null);
+        camp.setChief(new Chief("Caius", "MALE", 50, camp));
+        camp.addCharacter(new Legionnaire("Legionnaire", 25, 1.75, 15.0, 15.0, Gender.MALE));
+        Battlefield field = new Battlefield("Field", 100.0);
+        field.addCharacter(new BlackSmith("Obelix", 30, 1.90, 40.0, 30.0, Gender.MALE));
+        theater.addPlace(camp);
+        theater.addPlace(field);
+        TheaterSnapshot snapshot = theater.snapshot();
+
+        try (MctsChiefPolicy policy = new MctsChiefPolicy(NO_TIME_LIMIT, 2000, 1, 4, MctsChiefPolicy.DEFAULT_EXPLORATION, 7L)) {
+            List<ChiefCommand> commands = policy.decide(snapshot.getChiefs().get(0), snapshot);
+
+            assertTrue(commands.stream().noneMatch(c -> c instanceof ChiefCommand.Transfer), commands.toString());
+        }
+    }
+
+    @Test
+    void rootParallelSearchShouldReportThroughput() {
+        InvasionTheater theater = gaulsVersusLegion();
+
+        try (MctsChiefPolicy policy = new MctsChiefPolicy(20, 2)) {
+            theater.setDefaultChiefPolicy(policy);
+            theater.step();
+
+            MctsChiefPolicy.SearchReport report = policy.getLastReport();
+            assertNotNull(report);
+            assertTrue(report.playouts() > 0);
+            assertTrue(report.playoutsPerSecond() > 0);
+            assertEquals(report.playouts(), policy.getTotalPlayouts());
+        }
+    }
+
+    @Test
+    void decideShouldIgnoreChiefWithoutLocation() {
+        InvasionTheater theater = gaulsVersusLegion();
+        TheaterSnapshot snapshot = theater.snapshot();
+
+        try (MctsChiefPolicy policy = new MctsChiefPolicy(5, 1)) {
+            assertTrue(policy.decide(new TheaterSnapshot.ChiefView(0, "Nobody", -1, false), snapshot).isEmpty());
+            assertNull(policy.getLastReport());
+        }
+    }
+
+    @Test
+    void constructorShouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsChiefPolicy(10, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MctsChiefPolicy(10, 100, 1, 0, MctsChiefPolicy.DEFAULT_EXPLORATION, 1L));
+    }
+}
@@ -0,0 +1,59 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.TheaterSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RuleBasedChiefPolicy} class.
+ */
+class RuleBasedChiefPolicyTest {
+
+    @Test
+    void decideShouldFeedAndOrderPotionWhenNeeded() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        Chief chief = new Chief("Abraracourcix", "MALE", 50, village);
+        BlackSmith smith = new BlackSmith("Cetautomatix", 40, 1.70, 20.0, 15.0, Gender.MALE);
+        Druid druid = new Druid("Panoramix", 80, 1.70, 2.0, 5.0, Gender.MALE);
+        smith.setHunger(30.0);
+        village.addCharacter(smith);
+        village.addCharacter(druid);
+        village.addFood(FoodType.WILDBOAR.create());
+        theater.addPlace(village);
+
+        village.setChief(chief);
+        TheaterSnapshot snapshot = theater.snapshot();
+        List<ChiefCommand> commands = new RuleBasedChiefPolicy().decide(snapshot.getChiefs().get(0), snapshot);
+
+        assertEquals(List.of(ChiefCommand.feed(), ChiefCommand.orderPotion(druid.getId())), commands);
+    }
+
+    @Test
+    void decideShouldDoNothingInQuietLocation() {
+        InvasionTheater theater = new InvasionTheater("Armorica");
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        Chief chief = new Chief("Abraracourcix", "MALE", 50, village);
+        BlackSmith smith = new BlackSmith("Cetautomatix", 40, 1.70, 20.0, 15.0, Gender.MALE);
+        smith.drinkPotion(1.0);
+        village.addCharacter(smith);
+        theater.addPlace(village);
+
+        village.setChief(chief);
+        TheaterSnapshot snapshot = theater.snapshot();
+
+        assertTrue(new RuleBasedChiefPolicy().decide(snapshot.getChiefs().get(0), snapshot).isEmpty());
+        TheaterSnapshot.ChiefView homeless = new TheaterSnapshot.ChiefView(village.getId(), "Nobody", -1, false);
+        assertTrue(new RuleBasedChiefPolicy().decide(homeless, snapshot).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.asterix.model.simulation.policy;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.CharacterType;
+import com.asterix.model.character.Chief;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.TheaterSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ScriptedChiefPolicy} class.
+ */
+class ScriptedChiefPolicyTest {
+
+    private static final TheaterSnapshot.ChiefView CHIEF = new TheaterSnapshot.ChiefView(0, "C", 0, true);
+    private static final TheaterSnapshot.ChiefView OTHER_CHIEF = new TheaterSnapshot.ChiefView(1, "D", 1, true);
+
+    @Test
+    void decideShouldPlayScriptOnceThenIdle() {
+        ScriptedChiefPolicy policy = new ScriptedChiefPolicy(
+                List.of(List.of(ChiefCommand.heal()), List.of(ChiefCommand.feed())), false);
+
+        assertEquals(List.of(ChiefCommand.heal()), policy.decide(CHIEF, null));
+        assertEquals(List.of(ChiefCommand.feed()), policy.decide(CHIEF, null));
+        assertTrue(policy.decide(CHIEF, null).isEmpty());
+    }
+
+    @Test
+    void decideShouldLoopWhenAsked() {
+        ScriptedChiefPolicy policy = new ScriptedChiefPolicy(List.of(List.of(ChiefCommand.heal())), true);
+
+        policy.decide(CHIEF, null);
+
+        assertEquals(List.of(ChiefCommand.heal()), policy.decide(CHIEF, null));
+        assertEquals(1, policy.getNextTurn(CHIEF.settlementId()));
+    }
+
+    @Test
+    void decideShouldKeepOnePositionPerChief() {
+        ScriptedChiefPolicy policy = new ScriptedChiefPolicy(
+                List.of(List.of(ChiefCommand.heal()), List.of(ChiefCommand.feed())), false);
+
+        assertEquals(List.of(ChiefCommand.heal()), policy.decide(CHIEF, null));
+        assertEquals(List.of(ChiefCommand.heal()), policy.decide(OTHER_CHIEF, null));
+        assertEquals(List.of(ChiefCommand.feed()), policy.decide(OTHER_CHIEF, null));
+
+        assertEquals(1, policy.getNextTurn(CHIEF.settlementId()));
+        assertEquals(2, policy.getNextTurn(OTHER_CHIEF.settlementId()));
+    }
+
+    @Test
+    void sharedScriptShouldGiveEveryChiefTheSameTurnsWithParallelDecisions() throws InterruptedException {
+        InvasionTheater theater = new InvasionTheater("T");
+        for (int i = 0; i < 8; i++) {
+            GaulVillage village = new GaulVillage("V" + i, 10, null);
+            village.setChief(new Chief("C" + i, "MALE", 50, village));
+            theater.addPlace(village);
+        }
+        theater.setDefaultChiefPolicy(new ScriptedChiefPolicy(List.of(
+                List.of(ChiefCommand.recruit(CharacterType.GAUL_MERCHANT, "Turn0", 30)),
+                List.of(ChiefCommand.recruit(CharacterType.GAUL_MERCHANT, "Turn1", 30))), false));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            theater.setDecisionExecutor(executor);
+            assertEquals(8, theater.playChiefTurns());
+            assertEquals(8, theater.playChiefTurns());
+            assertEquals(0, theater.playChiefTurns(), "Every chief exhausted the script.");
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        for (Place place : theater.getPlaces()) {
+            assertEquals(List.of("Turn0", "Turn1"),
+                    place.getAliveCharacters().stream().map(Character::getName).sorted().toList());
+        }
+    }
+}
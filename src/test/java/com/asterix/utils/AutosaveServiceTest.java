@@ -0,0 +1,71 @@
+package com.asterix.utils;
+
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AutosaveService} class.
+ */
+class AutosaveServiceTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void serviceShouldSaveEveryIntervalInBackground() throws Exception {
+        InvasionTheater theater = TickJournalTest.battleTheater();
+        long bytes = 0;
+        try (AutosaveService autosave = new AutosaveService(tempDir, theater, 3, 1)) {
+            for (int i = 0; i < 9; i++) {
+                theater.step();
+                assertTrue(autosave.awaitIdle(5000));
+                if (autosave.getLastCheckpoint() != null && theater.getTick() % 3 == 0) {
+                    bytes += autosave.getLastCheckpoint().bytes();
+                }
+            }
+
+            assertEquals(3, autosave.getCompletedCount());
+            assertEquals(0, autosave.getSkippedCount());
+            assertEquals(0, autosave.getFailedCount());
+            assertEquals(bytes, autosave.getBytesWritten());
+            assertFalse(autosave.getLastCheckpoint().base());
+            assertFalse(autosave.getAverageSaveMillis() > autosave.getMaxSaveMillis());
+            assertTrue(autosave.getMaxCaptureMillis() >= autosave.getLastCaptureMillis());
+
+            assertTrue(autosave.saveAsync());
+            assertTrue(autosave.awaitIdle(5000));
+        }
+
+        assertArrayEquals(BinarySnapshotCodec.encode(theater),
+                BinarySnapshotCodec.encode(CheckpointWriter.restore(tempDir)));
+    }
+
+    @Test
+    void closedServiceShouldStopSaving() throws Exception {
+        InvasionTheater theater = TickJournalTest.battleTheater();
+        AutosaveService autosave = new AutosaveService(tempDir, theater, 1, 1);
+        theater.step();
+        autosave.close();
+        long saved = autosave.getCompletedCount();
+
+        theater.step();
+
+        assertEquals(1, saved);
+        assertEquals(saved, autosave.getCompletedCount());
+        assertFalse(autosave.saveAsync());
+        assertEquals(1, autosave.getSkippedCount());
+    }
+
+    @Test
+    void constructorShouldRejectInvalidSettings() {
+        InvasionTheater theater = new InvasionTheater("T");
+        assertThrows(IllegalArgumentException.class, () -> new AutosaveService(tempDir, theater, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AutosaveService(tempDir, theater, 1, 0));
+    }
+}
@@ -0,0 +1,267 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.creature.Lycanthrope;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.roman.General;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.item.Cauldron;
+import com.asterix.model.item.Food;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.item.PerishableFood;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.CreatureEnclosure;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.RomanCamp;
+import com.asterix.model.place.Settlement;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BinarySnapshotCodec} class.
+ */
+class BinarySnapshotCodecTest {
+
+    @TempDir
+    File tempDir;
+
+    /**
+     * Builds a theater in the middle of a run: wounded, hungry and boosted characters,
+     * a statue, a lycanthrope in wolf form, aged food, brewed cauldrons and an archive.
+     */
+    static InvasionTheater midRunTheater() {
+        InvasionTheater theater = new InvasionTheater("Armorique 50 av. J.C.");
+        GaulVillage village = new GaulVillage("Village", 850.0, null);
+        Chief chief = new Chief("Abraracourcix", "MALE", 55, village);
+        village.setChief(chief);
+        village.setPopulationLimit(42);
+        BlackSmith obelix = new BlackSmith("Obélix", 35, 1.95, 120.0, 80.0, Gender.MALE);
+        obelix.restoreState(72.5, 6.0, 0.25, 3.5, 12.0, false, true);
+        BlackSmith statue = new BlackSmith("Cétautomatix", 40, 1.85, 60.0, 40.0, Gender.MALE);
+        Druid panoramix = new Druid("Panoramix", 85, 1.80, 5.0, 30.0, Gender.MALE);
+        Cauldron druidCauldron = new Cauldron();
+        druidCauldron.addIngredients(List.of(FoodType.MISTLETOE.create(), FoodType.CARROT.create(),
+                FoodType.FISH.create(), FoodType.ROCK_OIL.create()));
+        druidCauldron.brew();
+        druidCauldron.serve(3);
+        panoramix.receiveCauldron(druidCauldron);
+        village.addCharacter(obelix);
+        village.addCharacter(statue);
+        village.addCharacter(panoramix);
+        village.getCauldron().addIngredient(FoodType.LOBSTER.create());
+
+        Food rotten = FoodType.FISH.create();
+        ((PerishableFood) rotten).passTime();
+        ((PerishableFood) rotten).passTime();
+        village.addFood(rotten);
+        village.addFood(FoodType.WINE.create());
+
+        RomanCamp camp = new RomanCamp("Babaorum", 120.0, null);
+        camp.setChief(new Chief("Caius Bonus", "MALE", 40, village));
+        General general = new General(99, "Jules", 55, 1.70, 20.0, 12.0, Gender.MALE);
+        camp.addCharacter(general);
+        Legionnaire dead = new Legionnaire("Caius Mort", 20, 1.75, 15.0, 15.0, Gender.MALE);
+        camp.addCharacter(dead);
+
+        CreatureEnclosure enclosure = new CreatureEnclosure("Enclos", 30.0);
+        Lycanthrope wolf = new Lycanthrope("Lupus", 25, 1.85, 22.0, 10.0, Gender.FEMALE);
+        wolf.transformToWolfForm();
+        enclosure.addCharacter(wolf);
+
+        Battlefield field = new Battlefield("Plaine", 200.0);
+        field.addCharacter(new Legionnaire("Archivé", 30, 1.75, 15.0, 15.0, null));
+
+        theater.addPlace(village);
+        theater.addPlace(camp);
+        theater.addPlace(enclosure);
+        theater.addPlace(field);
+
+        village.removeFood(village.getFoods().get(1));
+        village.addFood(FoodType.HONEY.create());
+        statue.restoreState(100.0, 0.0, 0.0, 0.0, 21.0, true, false);
+        field.getAliveCharacters().get(0).die();
+        theater.endTick();
+        theater.compactTombstones();
+        dead.die();
+        theater.endTick();
+        return theater;
+    }
+
+    private static void assertSameCharacter(Character expected, Character actual) {
+        assertSame(expected.getClass(), actual.getClass());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getGender(), actual.getGender());
+        assertEquals(expected.getAge(), actual.getAge());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getStrength(), actual.getStrength());
+        assertEquals(expected.getStamina(), actual.getStamina());
+        assertEquals(expected.getHealth(), actual.getHealth());
+        assertEquals(expected.getHunger(), actual.getHunger());
+        assertEquals(expected.getBelligerence(), actual.getBelligerence());
+        assertEquals(expected.getPotionLevel(), actual.getPotionLevel());
+        assertEquals(expected.getLifetimePotionDoses(), actual.getLifetimePotionDoses());
+        assertEquals(expected.isStatue(), actual.isStatue());
+        assertEquals(expected.isLycanthrope(), actual.isLycanthrope());
+        if (expected instanceof Lycanthrope lycanthrope) {
+            assertEquals(lycanthrope.isInWolfForm(), ((Lycanthrope) actual).isInWolfForm());
+            assertEquals(lycanthrope.isFeral(), ((Lycanthrope) actual).isFeral());
+        }
+        if (expected instanceof Druid druid) {
+            assertSameCauldron(druid.getCauldron(), ((Druid) actual).getCauldron());
+        }
+    }
+
+    private static void assertSameCauldron(Cauldron expected, Cauldron actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(describe(expected.getIngredients()), describe(actual.getIngredients()));
+        assertEquals(expected.getIngredientMask(), actual.getIngredientMask());
+        assertEquals(expected.isReady(), actual.isReady());
+        assertEquals(expected.getRemainingDoses(), actual.getRemainingDoses());
+        assertEquals(expected.isNourishing(), actual.isNourishing());
+        assertEquals(expected.causesDuplication(), actual.causesDuplication());
+        assertEquals(expected.causesLycanthropy(), actual.causesLycanthropy());
+    }
+
+    private static List<String> describe(List<Food> foods) {
+        return foods.stream()
+                .map(f -> f.getId() + ":" + f.getFoodType() + ":" + f.getScore() + ":" + f.getClass().getSimpleName())
+                .toList();
+    }
+
+    static void assertSameTheater(InvasionTheater expected, InvasionTheater actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getTick(), actual.getTick());
+        assertEquals(expected.getCompactionInterval(), actual.getCompactionInterval());
+        assertEquals(expected.getRejectedCloneCount(), actual.getRejectedCloneCount());
+        assertEquals(expected.getRegistry().getCharacterCount(), actual.getRegistry().getCharacterCount());
+        assertEquals(expected.getRegistry().getFoodCount(), actual.getRegistry().getFoodCount());
+        assertEquals(expected.getRegistry().getPlaceCount(), actual.getRegistry().getPlaceCount());
+        assertEquals(expected.getPlaces().size(), actual.getPlaces().size());
+        for (int i = 0; i < expected.getPlaces().size(); i++) {
+            Place e = expected.getPlaces().get(i);
+            Place a = actual.getPlaces().get(i);
+            assertSame(e.getClass(), a.getClass());
+            assertEquals(e.getId(), a.getId());
+            assertSame(a, actual.getPlaceById(a.getId()));
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getArea(), a.getArea());
+            assertEquals(e.getPopulationLimit(), a.getPopulationLimit());
+            if (e instanceof Settlement settlement) {
+                Chief ec = settlement.getChief();
+                Chief ac = ((Settlement) a).getChief();
+                assertEquals(ec.getName(), ac.getName());
+                assertEquals(ec.getGender(), ac.getGender());
+                assertEquals(ec.getAge(), ac.getAge());
+                assertEquals(ec.getLocation().getId(), ac.getLocation().getId());
+            }
+            if (e instanceof GaulVillage village) {
+                assertSameCauldron(village.getCauldron(), ((GaulVillage) a).getCauldron());
+            }
+            assertEquals(e.getAliveCharacters().size(), a.getAliveCharacters().size());
+            assertEquals(e.getTombstones().size(), a.getTombstones().size());
+            for (int j = 0; j < e.getCharacters().size(); j++) {
+                assertSameCharacter(e.getCharacters().get(j), a.getCharacters().get(j));
+                assertSame(a.getCharacters().get(j), actual.getCharacterById(a.getCharacters().get(j).getId()));
+            }
+            assertEquals(describe(e.getFoods()), describe(a.getFoods()));
+        }
+        assertEquals(expected.getArchive().size(), actual.getArchive().size());
+        for (int i = 0; i < expected.getArchive().size(); i++) {
+            assertSameCharacter(expected.getArchive().get(i), actual.getArchive().get(i));
+        }
+    }
+
+    @Test
+    void decodeShouldRestoreCompleteRuntimeState() throws IOException {
+        InvasionTheater theater = midRunTheater();
+
+        InvasionTheater restored = BinarySnapshotCodec.decode(BinarySnapshotCodec.encode(theater));
+
+        assertSameTheater(theater, restored);
+        assertEquals(2, restored.getArchive().size());
+        assertTrue(((Lycanthrope) restored.getPlaces().get(2).getCharacters().get(0)).isInWolfForm());
+        assertEquals(44.0, restored.getPlaces().get(2).getCharacters().get(0).getStrength());
+    }
+
+    @Test
+    void restoredTheaterShouldHandOutFreshIds() throws IOException {
+        InvasionTheater theater = midRunTheater();
+        InvasionTheater restored = BinarySnapshotCodec.decode(BinarySnapshotCodec.encode(theater));
+
+        Place village = restored.getPlaces().get(0);
+        BlackSmith newcomer = new BlackSmith("Assurancetourix", 30, 1.70, 10.0, 10.0, Gender.MALE);
+        village.addCharacter(newcomer);
+
+        assertEquals(theater.getRegistry().getCharacterCount(), newcomer.getId());
+    }
+
+    @Test
+    void saveAndLoadShouldRoundTripDefaultScenario() throws Exception {
+        File scenario = new File(getClass().getResource("/com/asterix/data/scenarioDefaut.xml").toURI());
+        InvasionTheater theater = StaxScenarioLoader.loadTheaterFromFile(scenario);
+        File snapshot = new File(tempDir, "scenario.snap");
+
+        BinarySnapshotCodec.save(theater, snapshot);
+
+        assertSameTheater(theater, BinarySnapshotCodec.load(snapshot));
+        assertTrue(snapshot.length() < scenario.length() / 10,
+                snapshot.length() + " bytes vs " + scenario.length() + " bytes of XML");
+    }
+
+    @Test
+    void encodeShouldBeMuchSmallerThanXml() throws Exception {
+        InvasionTheater theater = new InvasionTheater("Big");
+        Battlefield field = new Battlefield("Field", 1000.0);
+        for (int i = 0; i < 5_000; i++) {
+            field.addCharacter(new Legionnaire("Legionnaire" + i, 20 + i % 30, 1.75, 15.0, 15.0, Gender.MALE));
+        }
+        theater.addPlace(field);
+
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        XmlScenarioSaver.writeTheater(theater, xml, false);
+        byte[] binary = BinarySnapshotCodec.encode(theater);
+
+        assertTrue(binary.length * 10 < xml.size(), binary.length + " bytes vs " + xml.size() + " bytes of XML");
+        assertSameTheater(theater, BinarySnapshotCodec.decode(binary));
+    }
+
+    @Test
+    void decodeShouldRejectForeignOrTruncatedData() {
+        byte[] snapshot = BinarySnapshotCodec.encode(midRunTheater());
+
+        assertThrows(IOException.class, () -> BinarySnapshotCodec.decode("<xml/>".getBytes()));
+        assertThrows(IOException.class, () -> BinarySnapshotCodec.decode(Arrays.copyOf(snapshot, snapshot.length / 2)));
+    }
+
+    @Test
+    void writerShouldStoreDoublesExactly() throws IOException {
+        double[] values = {0.0, -0.0, 1.0, -3.0, 1.75, 0.1, 1.0 / 3.0, 1e300, Double.NaN, -12.34, 72.5};
+        BinaryWriter writer = new BinaryWriter();
+        for (double value : values) {
+            writer.writeDouble(value);
+        }
+        BinaryReader reader = new BinaryReader(writer.toByteArray());
+
+        for (double value : values) {
+            assertEquals(Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(reader.readDouble()));
+        }
+        assertEquals(0, reader.remaining());
+    }
+}
@@ -0,0 +1,188 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.RomanCamp;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CheckpointWriter} class.
+ */
+class CheckpointWriterTest {
+
+    @TempDir
+    File tempDir;
+
+    /**
+     * Builds a theater of many crowded places where nothing happens on its own.
+     */
+    private static InvasionTheater largeQuietTheater() {
+        InvasionTheater theater = new InvasionTheater("Quiet");
+        for (int p = 0; p < 50; p++) {
+            Battlefield field = new Battlefield("Field" + p, 100.0);
+            for (int i = 0; i < 20; i++) {
+                field.addCharacter(new Legionnaire("L" + p + "-" + i, 25, 1.75, 15.0, 15.0, Gender.MALE));
+            }
+            theater.addPlace(field);
+        }
+        return theater;
+    }
+
+    private static void assertRestored(InvasionTheater expected, File directory) throws IOException {
+        assertArrayEquals(BinarySnapshotCodec.encode(expected),
+                BinarySnapshotCodec.encode(CheckpointWriter.restore(directory)));
+    }
+
+    @Test
+    void deltaShouldOnlyHoldDirtyPlaces() throws IOException {
+        InvasionTheater theater = largeQuietTheater();
+        CheckpointWriter writer = new CheckpointWriter(tempDir, theater);
+        CheckpointWriter.Checkpoint base = writer.checkpoint();
+
+        Place fed = theater.getPlaces().get(3);
+        fed.addFood(FoodType.HONEY.create());
+        Place battle = theater.getPlaces().get(41);
+        battle.getAliveCharacters().get(5).die();
+        theater.endTick();
+        CheckpointWriter.Checkpoint delta = writer.checkpoint();
+        CheckpointWriter.Checkpoint idle = writer.checkpoint();
+
+        assertTrue(base.base());
+        assertEquals(50, base.placesWritten());
+        assertFalse(delta.base());
+        assertEquals(2, delta.placesWritten());
+        assertEquals(0, idle.placesWritten());
+        assertTrue(delta.bytes() * 20 < base.bytes(), delta + " vs " + base);
+        assertRestored(theater, tempDir);
+    }
+
+    @Test
+    void chainShouldRestoreRunningTheaterAndCompact() throws IOException {
+        InvasionTheater theater = TickJournalTest.battleTheater();
+        CheckpointWriter writer = new CheckpointWriter(tempDir, theater, 3);
+
+        int bases = 0;
+        for (int round = 0; round < 9; round++) {
+            CheckpointWriter.Checkpoint checkpoint = writer.checkpoint();
+            if (checkpoint.base()) bases++;
+            assertRestored(theater, tempDir);
+            theater.step();
+            theater.step();
+            theater.ageFood();
+        }
+        writer.checkpoint();
+
+        assertEquals(3, bases);
+        assertTrue(theater.getArchive().size() > 1);
+        assertTrue(tempDir.list().length <= 4, String.join(", ", tempDir.list()));
+        assertRestored(theater, tempDir);
+    }
+
+    @Test
+    void movingChiefShouldDirtyItsSettlement() throws IOException {
+        InvasionTheater theater = largeQuietTheater();
+        RomanCamp camp = new RomanCamp("Camp", 50.0, null);
+        Chief chief = new Chief("Caius", "MALE", 40, camp);
+        camp.setChief(chief);
+        theater.addPlace(camp);
+        CheckpointWriter writer = new CheckpointWriter(tempDir, theater);
+        writer.checkpoint();
+
+        chief.setLocation(theater.getPlaces().get(0));
+
+        assertEquals(1, writer.checkpoint().placesWritten());
+        RomanCamp restored = (RomanCamp) CheckpointWriter.restore(tempDir).getPlaceById(camp.getId());
+        assertEquals(0, restored.getChief().getLocation().getId());
+    }
+
+    @Test
+    void newWriterShouldStartANewBaseAfterExistingChain() throws IOException {
+        InvasionTheater theater = largeQuietTheater();
+        new CheckpointWriter(tempDir, theater).checkpoint();
+        theater.getPlaces().get(0).addFood(FoodType.WINE.create());
+
+        CheckpointWriter.Checkpoint next = new CheckpointWriter(tempDir, theater).checkpoint();
+
+        assertEquals(1, next.sequence());
+        assertTrue(next.base());
+        assertEquals(1, tempDir.list().length);
+        assertRestored(theater, tempDir);
+    }
+
+    @Test
+    void restoreShouldRejectBrokenChains() throws IOException {
+        assertThrows(IOException.class, () -> CheckpointWriter.restore(tempDir));
+
+        InvasionTheater theater = largeQuietTheater();
+        CheckpointWriter writer = new CheckpointWriter(tempDir, theater);
+        writer.checkpoint();
+        writer.checkpoint();
+        writer.checkpoint();
+        Files.delete(new File(tempDir, "checkpoint-00000001.delta").toPath());
+
+        assertThrows(IOException.class, () -> CheckpointWriter.restore(tempDir));
+        assertThrows(IllegalArgumentException.class, () -> new CheckpointWriter(tempDir, theater, -1));
+    }
+
+    @Test
+    void restoreShouldFallBackOnOlderRetainedChain() throws IOException {
+        InvasionTheater theater = TickJournalTest.battleTheater();
+        CheckpointWriter writer = new CheckpointWriter(tempDir, theater, 1, 2);
+        writer.checkpoint();
+        theater.step();
+        writer.checkpoint();
+        byte[] firstChain = BinarySnapshotCodec.encode(theater);
+        theater.step();
+        assertTrue(writer.checkpoint().base());
+        theater.step();
+        writer.checkpoint();
+
+        assertEquals(4, tempDir.list().length);
+        assertRestored(theater, tempDir);
+
+        Files.write(new File(tempDir, "checkpoint-00000002.base").toPath(), "torn".getBytes());
+        assertArrayEquals(firstChain, BinarySnapshotCodec.encode(CheckpointWriter.restore(tempDir)));
+
+        theater.step();
+        writer.checkpoint();
+        assertFalse(new File(tempDir, "checkpoint-00000000.base").exists());
+        assertFalse(new File(tempDir, "checkpoint-00000001.delta").exists());
+        assertEquals(3, tempDir.list().length);
+        assertThrows(IllegalArgumentException.class, () -> new CheckpointWriter(tempDir, theater, 1, 0));
+    }
+
+    @Test
+    void failedWriteShouldBreakChainUntilNextBase() throws IOException {
+        InvasionTheater theater = largeQuietTheater();
+        CheckpointWriter writer = new CheckpointWriter(tempDir, theater);
+        writer.checkpoint();
+
+        theater.getPlaces().get(0).addFood(FoodType.WINE.create());
+        CheckpointWriter.PendingCheckpoint failing = writer.capture();
+        theater.getPlaces().get(1).addFood(FoodType.WINE.create());
+        CheckpointWriter.PendingCheckpoint orphan = writer.capture();
+        // a directory in the way of the temporary file makes the write fail
+        Files.createDirectory(new File(tempDir, "checkpoint-00000001.delta.tmp").toPath());
+
+        assertFalse(failing.isBase());
+        assertThrows(IOException.class, () -> writer.write(failing));
+        assertThrows(IOException.class, () -> writer.write(orphan));
+
+        CheckpointWriter.PendingCheckpoint next = writer.capture();
+        assertTrue(next.isBase());
+        assertEquals(50, writer.write(next).placesWritten());
+        assertRestored(theater, tempDir);
+    }
+}
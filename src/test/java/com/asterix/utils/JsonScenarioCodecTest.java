@@ -0,0 +1,158 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link JsonScenarioCodec} class and the {@link ScenarioCodec} interface.
+ */
+class JsonScenarioCodecTest {
+
+    @TempDir
+    File tempDir;
+
+    private static byte[] write(ScenarioCodec codec, InvasionTheater theater) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(theater, out);
+        return out.toByteArray();
+    }
+
+    private static InvasionTheater read(ScenarioCodec codec, byte[] bytes) throws IOException {
+        return codec.read(new ByteArrayInputStream(bytes));
+    }
+
+    private static InvasionTheater read(String json) throws IOException {
+        return read(new JsonScenarioCodec(), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTripShouldKeepTheCompleteRuntimeState() throws IOException {
+        InvasionTheater theater = TickJournalTest.battleTheater();
+        for (int i = 0; i < 5; i++) {
+            theater.step();
+        }
+
+        for (JsonScenarioCodec codec : new JsonScenarioCodec[]{new JsonScenarioCodec(), new JsonScenarioCodec(false)}) {
+            InvasionTheater copy = read(codec, write(codec, theater));
+
+            BinarySnapshotCodecTest.assertSameTheater(theater, copy);
+            assertArrayEquals(BinarySnapshotCodec.encode(theater), BinarySnapshotCodec.encode(copy));
+        }
+    }
+
+    @Test
+    void roundTripShouldKeepDruidWithoutCauldron() throws IOException {
+        InvasionTheater theater = new InvasionTheater("Sans chaudron");
+        GaulVillage village = new GaulVillage("Village", 100.0, null);
+        Druid druid = new Druid("Panoramix", 85, 1.80, 5.0, 30.0, Gender.MALE);
+        druid.receiveCauldron(null);
+        village.addCharacter(druid);
+        theater.addPlace(village);
+
+        InvasionTheater copy = read(new JsonScenarioCodec(), write(new JsonScenarioCodec(), theater));
+
+        assertNull(((Druid) copy.getPlaces().get(0).getCharacters().get(0)).getCauldron());
+        assertArrayEquals(BinarySnapshotCodec.encode(theater), BinarySnapshotCodec.encode(copy));
+    }
+
+    @Test
+    void readShouldAcceptHandWrittenScenarios() throws IOException {
+        InvasionTheater theater = read("""
+                {
+                  "places": [{
+                    "unknown": {"nested": [1, 2.5e3, null, "x\\"y"]},
+                    "type": "Battlefield", "area": 50, "name": "Plaine",
+                    "characters": [{"type": "Legionnaire", "name": "Caius", "age": 20,
+                                    "height": 1.7, "strength": 10, "stamina": 10, "gender": "MALE"}]
+                  }],
+                  "name": "Manuel \\u00e9crit"
+                }
+                """);
+
+        assertEquals("Manuel écrit", theater.getName());
+        assertEquals("Plaine", theater.getPlaces().get(0).getName());
+        assertEquals(100.0, theater.getPlaces().get(0).getCharacters().get(0).getHealth());
+        assertEquals(0, theater.getTick());
+    }
+
+    @Test
+    void readShouldRejectMalformedDocuments() {
+        assertThrows(IOException.class, () -> read("{\"name\": \"Broken\", \"places\": ["));
+        assertThrows(IOException.class, () -> read("{\"name\": \"A\" \"tick\": 1}"));
+        assertThrows(IOException.class, () -> read("{\"format\": \"other\"}"));
+        assertThrows(IOException.class, () -> read("{\"places\": [{\"type\": \"Castle\", \"name\": \"X\"}]}"));
+        assertThrows(IOException.class, () -> read("{\"places\": [{\"type\": \"Battlefield\", \"area\": \"big\"}]}"));
+        assertThrows(IOException.class, () -> read("{} {}"));
+    }
+
+    @Test
+    void forFileShouldPickCodecFromExtension() throws Exception {
+        InvasionTheater theater = BinarySnapshotCodecTest.midRunTheater();
+        File json = new File(tempDir, "theater.json");
+        File xml = new File(tempDir, "theater.xml");
+
+        ScenarioCodec.forFile(json).save(theater, json);
+        ScenarioCodec.forFile(xml).save(theater, xml);
+
+        assertInstanceOf(JsonScenarioCodec.class, ScenarioCodec.forFile(json));
+        assertInstanceOf(XmlScenarioCodec.class, ScenarioCodec.forFile(xml));
+        assertTrue(Files.readString(json.toPath()).startsWith("{"));
+        assertArrayEquals(BinarySnapshotCodec.encode(theater),
+                BinarySnapshotCodec.encode(ScenarioCodec.forFile(json).load(json)));
+        StaxScenarioLoaderTest.assertSameTheater(XmlScenarioLoader.loadTheaterFromFile(xml),
+                ScenarioCodec.forFile(xml).load(xml));
+    }
+
+    /**
+     * Compares the throughput of both codecs on a large theater and prints it; the numbers are
+     * informative, only the round trips are checked. Tagged as a benchmark, so it only runs
+     * when asked for (see the {@code test.excludedGroups} property of the pom).
+     */
+    @Test
+    @Tag("benchmark")
+    void throughputShouldBeMeasuredAgainstXml() throws IOException {
+        InvasionTheater theater = new InvasionTheater("Big");
+        for (int p = 0; p < 100; p++) {
+            Battlefield field = new Battlefield("Field" + p, 100.0);
+            for (int i = 0; i < 200; i++) {
+                field.addCharacter(new Legionnaire("L" + p + "-" + i, 25, 1.75, 15.0, 15.0, Gender.MALE));
+            }
+            theater.addPlace(field);
+        }
+
+        for (ScenarioCodec codec : new ScenarioCodec[]{new XmlScenarioCodec(false), new JsonScenarioCodec(false)}) {
+            byte[] bytes = write(codec, theater);
+            read(codec, bytes);
+            long start = System.nanoTime();
+            bytes = write(codec, theater);
+            long written = System.nanoTime();
+            InvasionTheater copy = read(codec, bytes);
+            long read = System.nanoTime();
+
+            assertEquals(20_000, copy.getPlaces().stream().mapToInt(place -> place.getCharacters().size()).sum());
+            System.out.printf("%s : %d Ko, écriture %.1f Mo/s, lecture %.1f Mo/s%n", codec.getExtension(),
+                    bytes.length / 1024, mbPerSecond(bytes.length, written - start),
+                    mbPerSecond(bytes.length, read - written));
+        }
+    }
+
+    private static double mbPerSecond(long bytes, long nanos) {
+        return bytes / 1e6 / Math.max(nanos, 1) * 1e9;
+    }
+}
@@ -0,0 +1,103 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MappedSnapshot} class.
+ */
+class MappedSnapshotTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void openShouldDecodeOnlyTheDirectory() throws IOException {
+        InvasionTheater theater = BinarySnapshotCodecTest.midRunTheater();
+        File file = new File(tempDir, "theater.snapm");
+        MappedSnapshot.save(theater, file);
+
+        InvasionTheater opened = MappedSnapshot.open(file);
+
+        assertEquals(0, opened.getResidentPlaceCount());
+        assertEquals(theater.getPlaces().size(), opened.getPlaces().size());
+        assertEquals("Babaorum", opened.getPlaces().get(1).getName());
+        assertEquals(theater.getTick(), opened.getTick());
+        assertEquals(theater.getArchive().size(), opened.getArchive().size());
+    }
+
+    @Test
+    void touchingPlaceShouldMaterializeOnlyThatPlace() throws IOException {
+        InvasionTheater theater = BinarySnapshotCodecTest.midRunTheater();
+        File file = new File(tempDir, "theater.snapm");
+        MappedSnapshot.save(theater, file);
+        InvasionTheater opened = MappedSnapshot.open(file);
+
+        Place camp = opened.getPlaces().get(1);
+        int population = camp.getCharacters().size();
+
+        assertEquals(theater.getPlaces().get(1).getCharacters().size(), population);
+        assertTrue(camp.isResident());
+        assertEquals(1, opened.getResidentPlaceCount());
+    }
+
+    @Test
+    void materializedTheaterShouldMatchFullSnapshot() throws IOException {
+        InvasionTheater theater = BinarySnapshotCodecTest.midRunTheater();
+        File file = new File(tempDir, "theater.snapm");
+        MappedSnapshot.save(theater, file);
+
+        InvasionTheater opened = MappedSnapshot.open(file);
+        opened.loadDeferredPlaces();
+
+        BinarySnapshotCodecTest.assertSameTheater(theater, opened);
+    }
+
+    @Test
+    void lookupByIdShouldLoadDeferredPlaces() throws IOException {
+        InvasionTheater theater = new InvasionTheater("Big");
+        for (int p = 0; p < 20; p++) {
+            Battlefield field = new Battlefield("Field" + p, 100.0);
+            for (int i = 0; i < 50; i++) {
+                field.addCharacter(new Legionnaire("L" + p + "-" + i, 25, 1.75, 15.0, 15.0, Gender.MALE));
+            }
+            theater.addPlace(field);
+        }
+        Character wanted = theater.getPlaces().get(17).getCharacters().get(3);
+        File file = new File(tempDir, "big.snapm");
+        MappedSnapshot.save(theater, file);
+
+        InvasionTheater opened = MappedSnapshot.open(file);
+        Character found = opened.getCharacterById(wanted.getId());
+
+        assertNotNull(found);
+        assertEquals(wanted.getName(), found.getName());
+        assertTrue(opened.getPlaces().get(17).containsCharacter(found));
+        Legionnaire recruit = new Legionnaire("Recruit", 20, 1.75, 15.0, 15.0, Gender.MALE);
+        opened.getPlaces().get(0).addCharacter(recruit);
+        assertEquals(theater.getRegistry().getCharacterCount(), recruit.getId());
+    }
+
+    @Test
+    void openShouldRejectOtherFiles() throws IOException {
+        File file = new File(tempDir, "scenario.snap");
+        BinarySnapshotCodec.save(BinarySnapshotCodecTest.midRunTheater(), file);
+        File empty = new File(tempDir, "empty.snapm");
+        Files.write(empty.toPath(), new byte[0]);
+
+        assertThrows(IOException.class, () -> MappedSnapshot.open(file));
+        assertThrows(IOException.class, () -> MappedSnapshot.open(empty));
+    }
+}
@@ -0,0 +1,107 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MetricsReader} class.
+ */
+class MetricsReaderTest {
+
+    @TempDir
+    File tempDir;
+
+    /**
+     * Records a quiet theater of one place for the given number of ticks.
+     */
+    private File record(int ticks) throws IOException {
+        InvasionTheater theater = new InvasionTheater("Quiet");
+        Battlefield field = new Battlefield("Field", 100.0);
+        field.addCharacter(new Legionnaire("Caius", 25, 1.75, 15.0, 15.0, Gender.MALE));
+        theater.addPlace(field);
+        File file = new File(tempDir, "quiet.metrics");
+        try (MetricsRecorder recorder = new MetricsRecorder(file, theater)) {
+            for (int i = 0; i < ticks; i++) {
+                theater.endTick();
+            }
+            assertEquals(ticks, recorder.getRowCount());
+        }
+        return file;
+    }
+
+    @Test
+    void readColumnShouldOnlyInflateItsOwnSegments() throws IOException {
+        File file = record(10_000);
+        MetricsReader.Layout layout;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            layout = MetricsReader.scan(channel);
+        }
+        int romans = layout.columns().indexOf("romans");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            for (MetricsReader.Block block : layout.blocks()) {
+                raf.seek(block.offsets()[romans]);
+                raf.write(new byte[block.lengths()[romans]]);
+            }
+        }
+
+        try (MetricsReader reader = new MetricsReader(file)) {
+            assertEquals(10_000, reader.getRowCount());
+            assertEquals(3, reader.getBlockCount());
+            int[] alive = reader.readColumn("alive");
+            for (int value : alive) {
+                assertEquals(1, value);
+            }
+            assertEquals(reader.getBlockCount(), reader.getInflatedSegmentCount());
+            assertThrows(IOException.class, () -> reader.readColumn("romans"));
+        }
+    }
+
+    @Test
+    void readColumnShouldInflateOneSegmentPerBlockOverMillionsOfTicks() throws IOException {
+        File file = record(1_000_000);
+
+        try (MetricsReader reader = new MetricsReader(file)) {
+            int blocks = reader.getBlockCount();
+            assertEquals(0, reader.getInflatedSegmentCount(), "Opening only reads the headers.");
+
+            int[] alive = reader.readColumn("alive");
+            assertEquals(blocks, reader.getInflatedSegmentCount());
+            long[] ticks = reader.readTicks();
+            assertEquals(2L * blocks, reader.getInflatedSegmentCount());
+
+            assertEquals(1_000_000, alive.length);
+            assertEquals(1_000_000, ticks[ticks.length - 1]);
+        }
+    }
+
+    @Test
+    void readersShouldRejectEachOtherFormats() throws IOException {
+        File metrics = record(3);
+        File snapshot = new File(tempDir, "theater.snap");
+        MappedSnapshot.save(BinarySnapshotCodecTest.midRunTheater(), snapshot);
+
+        assertThrows(IOException.class, () -> MappedSnapshot.open(metrics));
+        assertThrows(IOException.class, () -> new MetricsReader(snapshot));
+        assertNotEquals(MappedSnapshot.MAGIC, MetricsRecorder.MAGIC);
+    }
+
+    @Test
+    void readColumnShouldRejectUnknownColumns() throws IOException {
+        try (MetricsReader reader = new MetricsReader(record(3))) {
+            assertThrows(IllegalArgumentException.class, () -> reader.readColumn("unicorns"));
+            assertThrows(IllegalArgumentException.class, () -> reader.readColumn(MetricsRecorder.TICK));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.asterix.utils;
+
+import com.asterix.model.item.Food;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MetricsRecorder} class.
+ */
+class MetricsRecorderTest {
+
+    @TempDir
+    File tempDir;
+
+    private static void run(InvasionTheater theater, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            theater.step();
+        }
+    }
+
+    @Test
+    void recorderShouldWriteOneRowPerPlaceAndTick() throws IOException {
+        InvasionTheater theater = TickJournalTest.battleTheater();
+        int places = theater.getPlaces().size();
+        long casualtiesBefore = theater.getPlaces().stream().mapToLong(Place::getCasualtyCount).sum();
+        File file = new File(tempDir, "run.metrics");
+
+        try (MetricsRecorder recorder = new MetricsRecorder(file, theater, 7)) {
+            run(theater, 20);
+            assertEquals(20L * places, recorder.getRowCount());
+            assertEquals(20L * places / 7, recorder.getBlocksWritten());
+        }
+
+        try (MetricsReader reader = new MetricsReader(file)) {
+            assertEquals(MetricsRecorder.COLUMNS, reader.getColumns());
+            assertEquals(20L * places, reader.getRowCount());
+            long[] ticks = reader.readTicks();
+            int[] placeIds = reader.readColumn("place");
+            int[] alive = reader.readColumn("alive");
+            int[] casualties = reader.readColumn("casualties");
+            int last = ticks.length - places;
+
+            assertEquals(theater.getTick(), ticks[ticks.length - 1]);
+            for (int i = 0; i < places; i++) {
+                Place place = theater.getPlaces().get(i);
+                assertEquals(ticks[last], ticks[last + i]);
+                assertEquals(place.getId(), placeIds[last + i]);
+                assertEquals(place.getAliveCharacters().size(), alive[last + i]);
+            }
+            long casualtiesAfter = theater.getPlaces().stream().mapToLong(Place::getCasualtyCount).sum();
+            assertEquals(casualtiesAfter - casualtiesBefore, Arrays.stream(casualties).sum());
+        }
+    }
+
+    @Test
+    void foodColumnsShouldCountPantryByTypeAndFreshness() throws IOException {
+        InvasionTheater theater = BinarySnapshotCodecTest.midRunTheater();
+        File file = new File(tempDir, "food.metrics");
+        try (MetricsRecorder recorder = new MetricsRecorder(file, theater)) {
+            theater.endTick();
+            assertEquals(theater.getPlaces().size(), recorder.getRowCount());
+        }
+
+        try (MetricsReader reader = new MetricsReader(file)) {
+            Place village = theater.getPlaces().get(0);
+            String[] states = {"", ".FRESH", ".PARTIALLY_FRESH", ".ROTTEN"};
+            for (Food food : village.getFoods()) {
+                String column = "food." + food.getFoodType().name() + states[BinarySnapshotCodec.foodCode(food) & 3];
+                assertTrue(reader.readColumn(column)[0] > 0, column);
+            }
+            int total = 0;
+            for (String column : reader.getColumns()) {
+                if (column.startsWith("food.")) total += reader.readColumn(column)[0];
+            }
+            assertEquals(village.getFoods().size(), total);
+        }
+    }
+
+    @Test
+    void reopenedRecorderShouldAppendAfterCuttingIncompleteBlock() throws IOException {
+        InvasionTheater theater = TickJournalTest.battleTheater();
+        int places = theater.getPlaces().size();
+        File file = new File(tempDir, "run.metrics");
+        try (MetricsRecorder recorder = new MetricsRecorder(file, theater, 4)) {
+            run(theater, 5);
+            assertEquals(5L * places, recorder.getRowCount());
+        }
+        long complete = file.length();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(complete);
+            raf.write(new byte[]{0, 0, 0, 3, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+            for (int i = 0; i < 200; i++) raf.write(0x5A);
+        }
+
+        try (MetricsRecorder recorder = new MetricsRecorder(file, theater, 4)) {
+            run(theater, 5);
+            assertEquals(5L * places, recorder.getRowCount());
+        }
+
+        try (MetricsReader reader = new MetricsReader(file)) {
+            long[] ticks = reader.readTicks();
+            assertEquals(10L * places, ticks.length);
+            for (int i = 1; i < ticks.length; i++) {
+                assertTrue(ticks[i] >= ticks[i - 1]);
+            }
+            assertEquals(theater.getTick(), ticks[ticks.length - 1]);
+        }
+    }
+
+    @Test
+    void recorderShouldRefuseFilesOfAnotherFormat() throws IOException {
+        File file = new File(tempDir, "other.metrics");
+        Files.writeString(file.toPath(), "not a metrics file at all");
+
+        assertThrows(IOException.class, () -> new MetricsRecorder(file, new InvasionTheater("Vide")));
+    }
+}
@@ -0,0 +1,141 @@
+package com.asterix.utils;
+
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ParallelScenarioLoader} class.
+ */
+class ParallelScenarioLoaderTest {
+
+    @TempDir
+    File tempDir;
+
+    private File write(String content, Charset charset) throws IOException {
+        File file = new File(tempDir, "scenario.xml");
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes(charset));
+        }
+        return file;
+    }
+
+    /**
+     * Loads a file with tiny batches, so that every place is parsed by its own task.
+     */
+    private static InvasionTheater loadInSmallBatches(File file) throws Exception {
+        return ParallelScenarioLoader.load(file, 4, 1);
+    }
+
+    @Test
+    void loadShouldMatchSequentialLoaderOnDefaultScenario() throws Exception {
+        File scenario = new File(getClass().getResource("/com/asterix/data/scenarioDefaut.xml").toURI());
+
+        InvasionTheater parallel = loadInSmallBatches(scenario);
+
+        assertFalse(parallel.getPlaces().isEmpty());
+        StaxScenarioLoaderTest.assertSameTheater(StaxScenarioLoader.loadTheaterFromFile(scenario), parallel);
+        StaxScenarioLoaderTest.assertSameTheater(XmlScenarioLoader.loadTheaterFromFile(scenario),
+                ParallelScenarioLoader.loadTheaterFromFile(scenario));
+    }
+
+    @Test
+    void loadShouldKeepNestedNamesAndDocumentOrder() throws Exception {
+        File file = write(StaxScenarioLoaderTest.NESTED_XML, StandardCharsets.UTF_8);
+
+        InvasionTheater parallel = loadInSmallBatches(file);
+
+        assertEquals("Nested Names", parallel.getName());
+        assertEquals("Babaorum", parallel.getPlaces().get(0).getName());
+        StaxScenarioLoaderTest.assertSameTheater(StaxScenarioLoader.loadTheaterFromFile(file), parallel);
+    }
+
+    @Test
+    void scanShouldIgnoreMarkupInCommentsCdataAndAttributes() throws Exception {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!-- <place type="Battlefield"><name>Fake</name></place> -->
+                <theater note="a > b &amp; c">
+                    <places>
+                        <place type="Battlefield" label='a > b'>
+                            <name><![CDATA[Plaine <des> </place> Géants]]></name>
+                            <area>5</area>
+                            <?render </place>?>
+                        </place>
+                        <place type="Enclos"/>
+                        <place type="Enclos"><name>Zoo &amp; Cie</name><area>2</area></place>
+                    </places>
+                    <name>Théâtre &lt;1&gt;</name>
+                </theater>
+                """;
+        File file = write(xml, StandardCharsets.UTF_8);
+
+        InvasionTheater parallel = loadInSmallBatches(file);
+
+        assertEquals("Théâtre <1>", parallel.getName());
+        assertEquals(3, parallel.getPlaces().size());
+        assertEquals("Plaine <des> </place> Géants", parallel.getPlaces().get(0).getName());
+        assertEquals("Zoo & Cie", parallel.getPlaces().get(2).getName());
+        StaxScenarioLoaderTest.assertSameTheater(StaxScenarioLoader.loadTheaterFromFile(file), parallel);
+    }
+
+    @Test
+    void loadShouldFallBackOnFilesItCannotSplit() throws Exception {
+        File utf16 = write("<theater><name>Seize</name><place type=\"Enclos\"><name>Z</name><area>1</area></place></theater>",
+                StandardCharsets.UTF_16);
+        assertEquals("Seize", loadInSmallBatches(utf16).getName());
+
+        File prefixed = write("<a:theater xmlns:a=\"urn:x\"><a:name>Pref</a:name>"
+                + "<a:place type=\"Enclos\"><a:name>Z</a:name><a:area>1</a:area></a:place></a:theater>", StandardCharsets.UTF_8);
+        InvasionTheater theater = loadInSmallBatches(prefixed);
+        assertEquals("Pref", theater.getName());
+        assertEquals(1, theater.getPlaces().size());
+    }
+
+    @Test
+    void loadShouldThrowOnMalformedXml() throws Exception {
+        File truncated = write("<theater><name>Invalid XML", StandardCharsets.UTF_8);
+        assertThrows(XMLStreamException.class, () -> loadInSmallBatches(truncated));
+
+        File mismatched = write("<theater><places></theater></places>", StandardCharsets.UTF_8);
+        assertThrows(XMLStreamException.class, () -> loadInSmallBatches(mismatched));
+
+        File brokenPlace = write("<theater><place type=\"Enclos\"><name>Z</area></place></theater>", StandardCharsets.UTF_8);
+        assertThrows(XMLStreamException.class, () -> loadInSmallBatches(brokenPlace));
+
+        assertThrows(IllegalArgumentException.class, () -> ParallelScenarioLoader.loadTheaterFromFile(brokenPlace, 0));
+    }
+
+    @Test
+    void loadShouldMatchSequentialLoaderOnLargeScenarios() throws Exception {
+        StringBuilder xml = new StringBuilder("<theater><name>Big</name><places>");
+        for (int p = 0; p < 2_000; p++) {
+            xml.append("<place type=\"").append(p % 2 == 0 ? "Battlefield" : "RomanCamp").append("\">")
+                    .append("<name>P").append(p).append("</name><area>").append(p + 1).append("</area>")
+                    .append("<chief><name>C").append(p).append("</name><sex>MALE</sex><age>40</age></chief>");
+            for (int i = 0; i < 25; i++) {
+                xml.append("<character type=\"Legionnaire\"><name>L").append(p).append('-').append(i)
+                        .append("</name><age>20</age><height>1.7</height><strength>10</strength><stamina>10</stamina><gender>MALE</gender></character>");
+            }
+            xml.append("</place>");
+        }
+        xml.append("</places></theater>");
+        File file = write(xml.toString(), StandardCharsets.UTF_8);
+
+        InvasionTheater parallel = ParallelScenarioLoader.load(file, 4, 16 * 1024);
+
+        assertEquals(2_000, parallel.getPlaces().size());
+        assertEquals("L1999-24", parallel.getPlaces().get(1_999).getCharacters().get(24).getName());
+        StaxScenarioLoaderTest.assertSameTheater(StaxScenarioLoader.loadTheaterFromFile(file), parallel);
+    }
+}
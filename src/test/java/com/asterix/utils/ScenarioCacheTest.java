@@ -0,0 +1,106 @@
+package com.asterix.utils;
+
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ScenarioCache} class.
+ */
+class ScenarioCacheTest {
+
+    @TempDir
+    File tempDir;
+
+    private File cacheDirectory() {
+        return new File(tempDir, "cache");
+    }
+
+    private File copyDefaultScenario() throws Exception {
+        File source = new File(getClass().getResource("/com/asterix/data/scenarioDefaut.xml").toURI());
+        File copy = new File(tempDir, "scenario.xml");
+        Files.copy(source.toPath(), copy.toPath());
+        return copy;
+    }
+
+    @Test
+    void secondLoadShouldBeServedFromCache() throws Exception {
+        File xml = copyDefaultScenario();
+        ScenarioCache cache = new ScenarioCache(cacheDirectory());
+
+        InvasionTheater parsed = cache.load(xml);
+        assertTrue(cache.cacheFileOf(xml).isFile());
+        assertEquals(cacheDirectory(), cache.cacheFileOf(xml).getParentFile());
+        assertFalse(new File(tempDir, "scenario.xml" + ScenarioCache.SUFFIX).exists());
+        InvasionTheater cached = cache.load(xml);
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertFalse(cached.getPlaces().isEmpty());
+        StaxScenarioLoaderTest.assertSameTheater(XmlScenarioLoader.loadTheaterFromFile(xml), cached);
+        assertArrayEquals(BinarySnapshotCodec.encode(parsed), BinarySnapshotCodec.encode(cached));
+    }
+
+    @Test
+    void changedContentShouldBeReparsedEvenWithSameSizeAndDate() throws Exception {
+        File xml = new File(tempDir, "scenario.xml");
+        Files.writeString(xml.toPath(), "<theater><name>Alpha</name></theater>", StandardCharsets.UTF_8);
+        ScenarioCache cache = new ScenarioCache(cacheDirectory());
+        cache.load(xml);
+        long modified = xml.lastModified();
+
+        Files.writeString(xml.toPath(), "<theater><name>Omega</name></theater>", StandardCharsets.UTF_8);
+        assertTrue(xml.setLastModified(modified));
+
+        assertEquals("Omega", cache.load(xml).getName());
+        assertEquals("Omega", cache.load(xml).getName());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void cacheOfAnotherFileShouldBeIgnored() throws Exception {
+        File xml = copyDefaultScenario();
+        ScenarioCache cache = new ScenarioCache(cacheDirectory());
+        cache.load(xml);
+
+        File moved = new File(tempDir, "moved.xml");
+        Files.copy(xml.toPath(), moved.toPath());
+        Files.copy(cache.cacheFileOf(xml).toPath(), cache.cacheFileOf(moved).toPath());
+        cache.load(moved);
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void damagedCacheShouldBeReplaced() throws Exception {
+        File xml = copyDefaultScenario();
+        ScenarioCache cache = new ScenarioCache(cacheDirectory());
+        InvasionTheater parsed = cache.load(xml);
+        File cacheFile = cache.cacheFileOf(xml);
+
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.seek(0);
+            file.writeInt(0);
+        }
+        assertArrayEquals(BinarySnapshotCodec.encode(parsed), BinarySnapshotCodec.encode(cache.load(xml)));
+        assertEquals(2, cache.getMissCount());
+
+        assertArrayEquals(BinarySnapshotCodec.encode(parsed), BinarySnapshotCodec.encode(cache.load(xml)));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void missingScenarioShouldThrow() {
+        assertThrows(IOException.class, () -> new ScenarioCache(cacheDirectory()).load(new File(tempDir, "absent.xml")));
+    }
+}
@@ -0,0 +1,174 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Character;
+import com.asterix.model.character.Chief;
+import com.asterix.model.place.*;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link StaxScenarioLoader} class.
+ */
+class StaxScenarioLoaderTest {
+
+    @TempDir
+    File tempDir;
+
+    static final String NESTED_XML = """
+            <theater>
+                <name>Nested Names</name>
+                <places>
+                    <place type="RomanCamp">
+                        <chief>
+                            <name>Caius Bonus</name>
+                            <sex>MALE</sex>
+                            <age>40</age>
+                        </chief>
+                        <name>Babaorum</name>
+                        <area>75.5</area>
+                        <characters>
+                            <character type="Legionnaire">
+                                <name>Caius</name>
+                                <age>30</age>
+                                <height>1.80</height>
+                                <strength>15.0</strength>
+                                <stamina>10.0</stamina>
+                                <gender>MALE</gender>
+                            </character>
+                            <character type="General">
+                                <name>Jules</name>
+                                <id>7</id>
+                                <age>55</age>
+                                <height>1.70</height>
+                                <strength>20.0</strength>
+                                <stamina>12.0</stamina>
+                                <gender>MALE</gender>
+                            </character>
+                        </characters>
+                    </place>
+                    <place type="RomanCity">
+                        <name>Without chief</name>
+                        <area>10</area>
+                    </place>
+                    <place type="Enclos">
+                        <name>Enclos</name>
+                        <area>30</area>
+                    </place>
+                </places>
+            </theater>
+            """;
+
+    private File write(String content) throws IOException {
+        File file = new File(tempDir, "scenario.xml");
+        try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    /**
+     * Checks that two theaters hold the same places, chiefs and characters, in the same order.
+     */
+    static void assertSameTheater(InvasionTheater expected, InvasionTheater actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getPlaces().size(), actual.getPlaces().size());
+        for (int i = 0; i < expected.getPlaces().size(); i++) {
+            Place e = expected.getPlaces().get(i);
+            Place a = actual.getPlaces().get(i);
+            assertSame(e.getClass(), a.getClass());
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getArea(), a.getArea());
+            if (e instanceof Settlement settlement) {
+                Chief ec = settlement.getChief();
+                Chief ac = ((Settlement) a).getChief();
+                assertEquals(ec.getName(), ac.getName());
+                assertEquals(ec.getAge(), ac.getAge());
+                assertEquals(ec.getGender(), ac.getGender());
+                assertSame(a, ac.getLocation());
+            }
+            assertEquals(e.getCharacters().size(), a.getCharacters().size());
+            for (int j = 0; j < e.getCharacters().size(); j++) {
+                Character ech = e.getCharacters().get(j);
+                Character ach = a.getCharacters().get(j);
+                assertSame(ech.getClass(), ach.getClass());
+                assertEquals(ech.getId(), ach.getId());
+                assertEquals(ech.getName(), ach.getName());
+                assertEquals(ech.getAge(), ach.getAge());
+                assertEquals(ech.getHeight(), ach.getHeight());
+                assertEquals(ech.getStrength(), ach.getStrength());
+                assertEquals(ech.getStamina(), ach.getStamina());
+                assertEquals(ech.getGender(), ach.getGender());
+            }
+        }
+    }
+
+    @Test
+    void loadTheaterShouldMatchDomLoaderOnDefaultScenario() throws Exception {
+        File scenario = new File(getClass().getResource("/com/asterix/data/scenarioDefaut.xml").toURI());
+
+        InvasionTheater dom = XmlScenarioLoader.loadTheaterFromFile(scenario);
+        InvasionTheater stax = StaxScenarioLoader.loadTheaterFromFile(scenario);
+
+        assertFalse(stax.getPlaces().isEmpty());
+        assertSameTheater(dom, stax);
+    }
+
+    @Test
+    void loadTheaterShouldReadPlaceNameRatherThanNestedNames() throws Exception {
+        File file = write(NESTED_XML);
+
+        InvasionTheater stax = StaxScenarioLoader.loadTheaterFromFile(file);
+
+        assertEquals("Nested Names", stax.getName());
+        assertEquals(2, stax.getPlaces().size());
+        RomanCamp camp = assertInstanceOf(RomanCamp.class, stax.getPlaces().get(0));
+        assertEquals("Babaorum", camp.getName());
+        assertEquals(75.5, camp.getArea());
+        assertEquals("Caius Bonus", camp.getChief().getName());
+        assertEquals(2, camp.getCharacters().size());
+        assertInstanceOf(CreatureEnclosure.class, stax.getPlaces().get(1));
+        assertSameTheater(XmlScenarioLoader.loadTheaterFromFile(file), stax);
+    }
+
+    @Test
+    void loadTheaterShouldDefaultMissingTheaterName() throws Exception {
+        String xml = "<theater><place type=\"Battlefield\"><name>Plaine</name><area>5</area></place></theater>";
+
+        InvasionTheater stax = StaxScenarioLoader.loadTheater(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("Unnamed Theater", stax.getName());
+        assertEquals("Plaine", stax.getPlaces().get(0).getName());
+    }
+
+    @Test
+    void loadTheaterShouldThrowOnMalformedXml() throws Exception {
+        File file = write("<theater><name>Invalid XML");
+
+        assertThrows(Exception.class, () -> StaxScenarioLoader.loadTheaterFromFile(file));
+    }
+
+    @Test
+    void loadTheaterShouldScaleToLargeScenarios() throws Exception {
+        StringBuilder xml = new StringBuilder("<theater><name>Big</name><place type=\"Battlefield\"><name>Field</name><area>1</area>");
+        for (int i = 0; i < 50_000; i++) {
+            xml.append("<character type=\"Legionnaire\"><name>L").append(i)
+                    .append("</name><age>20</age><height>1.7</height><strength>10</strength><stamina>10</stamina><gender>MALE</gender></character>");
+        }
+        xml.append("</place></theater>");
+
+        InvasionTheater stax = StaxScenarioLoader.loadTheater(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(50_000, stax.getPlaces().get(0).getCharacters().size());
+        assertEquals("L49999", stax.getPlaces().get(0).getCharacters().get(49_999).getName());
+    }
+}
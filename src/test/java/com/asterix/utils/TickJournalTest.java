@@ -0,0 +1,205 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.BlackSmith;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.item.FoodType;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.place.Settlement;
+import com.asterix.model.simulation.InvasionTheater;
+import com.asterix.model.simulation.policy.ChiefCommand;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TickJournal} class.
+ */
+class TickJournalTest {
+
+    @TempDir
+    File tempDir;
+
+    /**
+     * Builds the theater of {@link BinarySnapshotCodecTest#midRunTheater()} with an extra
+     * battlefield where Gauls and Romans fight every tick.
+     */
+    static InvasionTheater battleTheater() {
+        InvasionTheater theater = BinarySnapshotCodecTest.midRunTheater();
+        Battlefield arena = new Battlefield("Arène", 300.0);
+        for (int i = 0; i < 4; i++) {
+            arena.addCharacter(new BlackSmith("Gaulois" + i, 30, 1.80, 30.0, 20.0, Gender.MALE));
+            arena.addCharacter(new Legionnaire("Romain" + i, 25, 1.75, 15.0, 15.0, Gender.MALE));
+        }
+        theater.addPlace(arena);
+        return theater;
+    }
+
+    private static void run(InvasionTheater theater, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            theater.step();
+        }
+    }
+
+    @Test
+    void recoverShouldRebuildTheaterFromSnapshotAndJournal() throws IOException {
+        InvasionTheater theater = battleTheater();
+        File snapshot = new File(tempDir, "theater.snap");
+        File journal = new File(tempDir, "theater.journal");
+        BinarySnapshotCodec.save(theater, snapshot);
+
+        try (TickJournal tickJournal = new TickJournal(journal, theater, 4)) {
+            run(theater, 25);
+            assertEquals(6, tickJournal.getCommittedFrames());
+        }
+
+        InvasionTheater recovered = TickJournal.recover(snapshot, journal);
+
+        assertEquals(theater.getTick(), recovered.getTick());
+        assertFalse(theater.getArchive().isEmpty());
+        BinarySnapshotCodecTest.assertSameTheater(theater, recovered);
+        assertArrayEquals(BinarySnapshotCodec.encode(theater), BinarySnapshotCodec.encode(recovered));
+    }
+
+    @Test
+    void recoverShouldStopAtLastCommittedGroup() throws IOException {
+        InvasionTheater theater = battleTheater();
+        File snapshot = new File(tempDir, "theater.snap");
+        File journal = new File(tempDir, "theater.journal");
+        BinarySnapshotCodec.save(theater, snapshot);
+
+        TickJournal tickJournal = new TickJournal(journal, theater, 3);
+        run(theater, 6);
+        byte[] committed = BinarySnapshotCodec.encode(theater);
+        run(theater, 2);
+
+        // the JVM "dies" here: the last two ticks were never committed
+        InvasionTheater recovered = TickJournal.recover(snapshot, journal);
+        tickJournal.close();
+
+        assertEquals(theater.getTick() - 2, recovered.getTick());
+        assertArrayEquals(committed, BinarySnapshotCodec.encode(recovered));
+    }
+
+    @Test
+    void recoverShouldReplayTheActionsOfAUserChief() throws IOException {
+        InvasionTheater theater = battleTheater();
+        GaulVillage village = (GaulVillage) theater.getPlaces().get(0);
+        Place arena = theater.getPlaces().get(theater.getPlaces().size() - 1);
+        Chief chief = village.getChief();
+        Druid druid = (Druid) village.getCharacters().stream()
+                .filter(c -> c instanceof Druid).findFirst().orElseThrow();
+        File snapshot = new File(tempDir, "theater.snap");
+        File journal = new File(tempDir, "theater.journal");
+        BinarySnapshotCodec.save(theater, snapshot);
+
+        try (TickJournal tickJournal = new TickJournal(journal, theater, 4)) {
+            run(theater, 2);
+            village.addFood(FoodType.MISTLETOE.create());
+            village.addFood(FoodType.CARROT.create());
+            village.addFood(FoodType.ROCK_OIL.create());
+            assertTrue(theater.gatherIngredients(druid, village) > 0);
+            theater.brewCauldron(village);
+            assertTrue(theater.applyCommand(chief, ChiefCommand.heal()));
+            assertTrue(theater.applyCommand(chief, ChiefCommand.feed()));
+            theater.moveChief(chief, arena);
+            run(theater, 1);
+            assertEquals(0, tickJournal.getCommittedFrames());
+        }
+
+        InvasionTheater recovered = TickJournal.recover(snapshot, journal);
+
+        Settlement recoveredVillage = (Settlement) recovered.getPlaceById(village.getId());
+        assertEquals(arena.getId(), recoveredVillage.getChief().getLocation().getId());
+        assertArrayEquals(BinarySnapshotCodec.encode(theater), BinarySnapshotCodec.encode(recovered));
+    }
+
+    @Test
+    void replayShouldSkipTicksAlreadyInSnapshot() throws IOException {
+        InvasionTheater theater = battleTheater();
+        File early = new File(tempDir, "early.snap");
+        File late = new File(tempDir, "late.snap");
+        File journal = new File(tempDir, "theater.journal");
+        BinarySnapshotCodec.save(theater, early);
+
+        try (TickJournal tickJournal = new TickJournal(journal, theater, 10)) {
+            run(theater, 4);
+            // taken in the middle of a group
+            BinarySnapshotCodec.save(theater, late);
+            run(theater, 5);
+            assertEquals(0, tickJournal.getCommittedFrames());
+        }
+
+        InvasionTheater fromLate = BinarySnapshotCodec.load(late);
+        assertEquals(5, TickJournal.replay(fromLate, journal));
+        assertArrayEquals(BinarySnapshotCodec.encode(theater), BinarySnapshotCodec.encode(fromLate));
+        assertArrayEquals(BinarySnapshotCodec.encode(theater),
+                BinarySnapshotCodec.encode(TickJournal.recover(early, journal)));
+    }
+
+    @Test
+    void reopenedJournalShouldDropTornFrameAndContinue() throws IOException {
+        InvasionTheater theater = battleTheater();
+        File snapshot = new File(tempDir, "theater.snap");
+        File journal = new File(tempDir, "theater.journal");
+        BinarySnapshotCodec.save(theater, snapshot);
+
+        try (TickJournal tickJournal = new TickJournal(journal, theater, 2)) {
+            run(theater, 4);
+            assertEquals(2, tickJournal.getCommittedFrames());
+        }
+        long committedLength = journal.length();
+        try (OutputStream out = new FileOutputStream(journal, true)) {
+            out.write(new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 5, 6});
+        }
+        assertArrayEquals(BinarySnapshotCodec.encode(theater),
+                BinarySnapshotCodec.encode(TickJournal.recover(snapshot, journal)));
+
+        try (TickJournal tickJournal = new TickJournal(journal, theater, 2)) {
+            assertEquals(committedLength, journal.length());
+            run(theater, 3);
+            assertEquals(1, tickJournal.getCommittedFrames());
+        }
+
+        assertArrayEquals(BinarySnapshotCodec.encode(theater),
+                BinarySnapshotCodec.encode(TickJournal.recover(snapshot, journal)));
+    }
+
+    @Test
+    void replayShouldRejectJournalStartingAfterSnapshot() throws IOException {
+        InvasionTheater theater = battleTheater();
+        File snapshot = new File(tempDir, "theater.snap");
+        File journal = new File(tempDir, "theater.journal");
+        BinarySnapshotCodec.save(theater, snapshot);
+        run(theater, 2);
+
+        try (TickJournal tickJournal = new TickJournal(journal, theater, 1)) {
+            run(theater, 2);
+            assertEquals(2, tickJournal.getCommittedFrames());
+        }
+
+        assertThrows(IOException.class, () -> TickJournal.recover(snapshot, journal));
+    }
+
+    @Test
+    void constructorShouldRejectForeignFile() throws IOException {
+        File foreign = new File(tempDir, "foreign.bin");
+        try (OutputStream out = new FileOutputStream(foreign)) {
+            out.write("not a journal".getBytes());
+        }
+
+        assertThrows(IOException.class, () -> new TickJournal(foreign, new InvasionTheater("T")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TickJournal(new File(tempDir, "j"), new InvasionTheater("T"), 0));
+    }
+}
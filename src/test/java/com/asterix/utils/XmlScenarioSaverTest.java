@@ -0,0 +1,87 @@
+package com.asterix.utils;
+
+import com.asterix.model.character.Chief;
+import com.asterix.model.character.Gender;
+import com.asterix.model.character.gaul.Druid;
+import com.asterix.model.character.roman.Legionnaire;
+import com.asterix.model.place.Battlefield;
+import com.asterix.model.place.GaulVillage;
+import com.asterix.model.place.Place;
+import com.asterix.model.simulation.InvasionTheater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link XmlScenarioSaver} class.
+ */
+class XmlScenarioSaverTest {
+
+    @TempDir
+    File tempDir;
+
+    private static InvasionTheater sampleTheater() {
+        InvasionTheater theater = new InvasionTheater("Armorique & Co");
+        GaulVillage village = new GaulVillage("Village <Irréductible>", 850.0, null);
+        village.setChief(new Chief("Abraracourcix", "MALE", 55, village));
+        village.addCharacter(new Druid("Panoramix", 85, 1.80, 5.0, 30.0, Gender.MALE));
+        Battlefield field = new Battlefield("Plaine", 200.0);
+        field.addCharacter(new Legionnaire("Caius", 30, 1.75, 15.0, 10.0, Gender.MALE));
+        theater.addPlace(village);
+        theater.addPlace(field);
+        return theater;
+    }
+
+    @Test
+    void saveTheaterShouldRoundTripThroughLoader() throws Exception {
+        File file = new File(tempDir, "saved.xml");
+
+        XmlScenarioSaver.saveTheater(sampleTheater(), file);
+        InvasionTheater loaded = XmlScenarioLoader.loadTheaterFromFile(file);
+
+        assertEquals("Armorique & Co", loaded.getName());
+        assertEquals(2, loaded.getPlaces().size());
+        GaulVillage village = assertInstanceOf(GaulVillage.class, loaded.getPlaces().get(0));
+        assertEquals("Village <Irréductible>", village.getName());
+        assertEquals(850.0, village.getArea());
+        assertEquals("Abraracourcix", village.getChief().getName());
+        assertEquals(55, village.getChief().getAge());
+        assertInstanceOf(Druid.class, village.getCharacters().get(0));
+        Place field = loaded.getPlaces().get(1);
+        assertInstanceOf(Battlefield.class, field);
+        assertEquals(1.75, field.getCharacters().get(0).getHeight());
+        assertEquals(15.0, field.getCharacters().get(0).getStrength());
+    }
+
+    @Test
+    void saveTheaterShouldIndentOnlyWhenAsked() throws Exception {
+        File indented = new File(tempDir, "indented.xml");
+        File compact = new File(tempDir, "compact.xml");
+
+        XmlScenarioSaver.saveTheater(sampleTheater(), indented, true);
+        XmlScenarioSaver.saveTheater(sampleTheater(), compact, false);
+
+        String pretty = Files.readString(indented.toPath(), StandardCharsets.UTF_8);
+        String flat = Files.readString(compact.toPath(), StandardCharsets.UTF_8);
+        assertTrue(pretty.contains("\n    <place type=\"GaulVillage\">\n        <name>"), pretty);
+        assertFalse(flat.contains("\n"), flat);
+        assertTrue(flat.length() < pretty.length());
+        assertEquals(XmlScenarioLoader.loadTheaterFromFile(indented).getPlaces().size(),
+                StaxScenarioLoader.loadTheaterFromFile(compact).getPlaces().size());
+    }
+
+    @Test
+    void saveTheaterShouldReplaceExistingFile() throws Exception {
+        File file = new File(tempDir, "saved.xml");
+        Files.writeString(file.toPath(), "x".repeat(100_000));
+
+        XmlScenarioSaver.saveTheater(sampleTheater(), file);
+
+        assertEquals("Armorique & Co", StaxScenarioLoader.loadTheaterFromFile(file).getName());
+    }
+}